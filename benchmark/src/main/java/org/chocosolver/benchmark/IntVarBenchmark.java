@@ -0,0 +1,144 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmark;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.propagation.PropagationEngine;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.impl.BitsetArrayIntVarImpl;
+import org.chocosolver.solver.variables.impl.BitsetIntVarImpl;
+import org.chocosolver.solver.variables.impl.IntervalIntVarImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of the main domain operations of {@link IntVar} implementations.
+ * <p>
+ * Each modifying operation is executed in a fresh world, which is popped afterwards.
+ * The pending events are ignored since no propagator is attached to the variable.
+ * Note that {@link IntervalIntVarImpl} ignores value removals that do not modify its bounds.
+ * </p>
+ * <p> Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class IntVarBenchmark {
+
+    @Param({"bitset", "interval", "bitsetarray"})
+    public String impl;
+
+    @Param({"64", "4096"})
+    public int size;
+
+    private IntVar var;
+
+    private IEnvironment environment;
+
+    private PropagationEngine engine;
+
+    @Setup
+    public void setup() {
+        Model model = new Model();
+        switch (impl) {
+            case "bitset":
+                var = new BitsetIntVarImpl("x", 0, size - 1, model);
+                break;
+            case "interval":
+                var = new IntervalIntVarImpl("x", 0, size - 1, model);
+                break;
+            case "bitsetarray":
+                var = new BitsetArrayIntVarImpl("x", IntStream.range(0, size).toArray(), model);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown implementation: " + impl);
+        }
+        environment = model.getEnvironment();
+        engine = model.getSolver().getEngine();
+    }
+
+    @Benchmark
+    public int removeValues() throws ContradictionException {
+        environment.worldPush();
+        for (int v = 1; v < size; v += 3) {
+            var.removeValue(v, Cause.Null);
+        }
+        int s = var.getDomainSize();
+        engine.ignoreModifications();
+        environment.worldPop();
+        return s;
+    }
+
+    @Benchmark
+    public int shrinkBounds() throws ContradictionException {
+        environment.worldPush();
+        for (int l = 0, u = size - 1; l < u; l += 2, u -= 2) {
+            var.updateBounds(l, u, Cause.Null);
+        }
+        int s = var.getDomainSize();
+        engine.ignoreModifications();
+        environment.worldPop();
+        return s;
+    }
+
+    @Benchmark
+    public int removeInterval() throws ContradictionException {
+        environment.worldPush();
+        for (int v = 1; v < size - 8; v += 16) {
+            var.removeInterval(v, v + 7, Cause.Null);
+        }
+        int s = var.getDomainSize();
+        engine.ignoreModifications();
+        environment.worldPop();
+        return s;
+    }
+
+    @Benchmark
+    public int iterate() {
+        int sum = 0;
+        int ub = var.getUB();
+        for (int v = var.getLB(); v <= ub; v = var.nextValue(v)) {
+            sum += v;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int contains() {
+        int c = 0;
+        for (int v = 0; v < size; v++) {
+            if (var.contains(v)) {
+                c++;
+            }
+        }
+        return c;
+    }
+}
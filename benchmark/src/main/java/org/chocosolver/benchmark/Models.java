@@ -0,0 +1,259 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmark;
+
+import org.chocosolver.memory.EnvironmentBuilder;
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Task;
+
+/**
+ * A factory of canonical models used by the benchmarks.
+ * Each model stores its decision variables in the hook named {@link #DECISION_VARS}.
+ * <p>
+ * The models are deterministic: building the same kind twice produces two identical models,
+ * so that two runs (or two versions of the solver) can be compared.
+ * </p>
+ * <p> Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public final class Models {
+
+    /**
+     * Name of the hook storing decision variables
+     */
+    public static final String DECISION_VARS = "decision";
+
+    /**
+     * Jobshop instance ft06 (Fisher and Thompson), 6 jobs and 6 machines, optimal makespan is 55.
+     * For each job, pairs of (machine, duration) in processing order.
+     */
+    private static final int[][] FT06 = {
+            {2, 1, 0, 3, 1, 6, 3, 7, 5, 3, 4, 6},
+            {1, 8, 2, 5, 4, 10, 5, 10, 0, 10, 3, 4},
+            {2, 5, 3, 4, 5, 8, 0, 9, 1, 1, 4, 7},
+            {1, 5, 0, 5, 2, 5, 3, 3, 4, 8, 5, 9},
+            {2, 9, 1, 3, 4, 5, 5, 4, 0, 3, 3, 1},
+            {1, 3, 3, 3, 5, 9, 0, 10, 4, 4, 2, 1}
+    };
+
+    private Models() {
+    }
+
+    /**
+     * Build a model from its kind, with the default environment
+     *
+     * @param kind one of "queens", "golomb", "magic" or "jobshop"
+     * @return a new model
+     */
+    public static Model make(String kind) {
+        return make(kind, environment("trail"));
+    }
+
+    /**
+     * Build a model from its kind
+     *
+     * @param kind        one of "queens", "golomb", "magic" or "jobshop"
+     * @param environment the backtracking environment of the model
+     * @return a new model
+     */
+    public static Model make(String kind, IEnvironment environment) {
+        switch (kind) {
+            case "queens":
+                return nqueens(12, environment);
+            case "golomb":
+                return golombRuler(9, environment);
+            case "magic":
+                return magicSquare(5, environment);
+            case "jobshop":
+                return jobshop(FT06, environment);
+            default:
+                throw new IllegalArgumentException("Unknown model: " + kind);
+        }
+    }
+
+    /**
+     * Build a backtracking environment from its kind
+     *
+     * @param kind one of "trail" (flat trailing), "chunk" (chunked trailing),
+     *             "slots" (trailing by slot) or "copy" (copying)
+     * @return a new environment
+     */
+    public static IEnvironment environment(String kind) {
+        switch (kind) {
+            case "trail":
+                return new EnvironmentBuilder().fromFlat().build();
+            case "chunk":
+                return new EnvironmentBuilder().fromChunk().build();
+            case "slots":
+                return new EnvironmentBuilder().fromSlots().build();
+            case "copy":
+                return new EnvironmentBuilder().buildCopying();
+            default:
+                throw new IllegalArgumentException("Unknown environment: " + kind);
+        }
+    }
+
+    /**
+     * @param model a model built by this factory
+     * @return the decision variables of <i>model</i>
+     */
+    public static IntVar[] decisionVars(Model model) {
+        return (IntVar[]) model.getHook(DECISION_VARS);
+    }
+
+    /**
+     * N-queens, modelled with one allDifferent constraint and binary constraints.
+     *
+     * @param n number of queens
+     * @param environment the backtracking environment of the model
+     * @return a satisfaction model
+     */
+    public static Model nqueens(int n, IEnvironment environment) {
+        Model model = new Model(environment, "queens-" + n);
+        IntVar[] vars = model.intVarArray("Q", n, 1, n, false);
+        model.allDifferent(vars, "AC").post();
+        for (int i = 0; i < n - 1; i++) {
+            for (int j = i + 1; j < n; j++) {
+                int k = j - i;
+                model.arithm(vars[i], "!=", vars[j], "+", -k).post();
+                model.arithm(vars[i], "!=", vars[j], "+", k).post();
+            }
+        }
+        model.addHook(DECISION_VARS, vars);
+        return model;
+    }
+
+    /**
+     * Golomb ruler with <i>m</i> marks.
+     *
+     * @param m number of marks
+     * @param environment the backtracking environment of the model
+     * @return an optimization model
+     */
+    public static Model golombRuler(int m, IEnvironment environment) {
+        Model model = new Model(environment, "golomb-" + m);
+        int ub = (m < 31) ? (1 << (m + 1)) - 1 : 9999;
+        IntVar[] ticks = model.intVarArray("a", m, 0, ub, false);
+        IntVar[] diffs = model.intVarArray("d", (m * m - m) / 2, 0, ub, false);
+        model.arithm(ticks[0], "=", 0).post();
+        for (int i = 0; i < m - 1; i++) {
+            model.arithm(ticks[i + 1], ">", ticks[i]).post();
+        }
+        for (int k = 0, i = 0; i < m - 1; i++) {
+            for (int j = i + 1; j < m; j++, k++) {
+                model.arithm(ticks[j], "-", ticks[i], "=", diffs[k]).post();
+                model.arithm(diffs[k], ">=", (j - i) * (j - i + 1) / 2).post();
+                model.arithm(diffs[k], "-", ticks[m - 1], "<=", -((m - 1 - j + i) * (m - j + i)) / 2).post();
+                model.arithm(diffs[k], "<=", ticks[m - 1], "-", ((m - 1 - j + i) * (m - j + i)) / 2).post();
+            }
+        }
+        model.allDifferent(diffs, "BC").post();
+        model.arithm(diffs[0], "<", diffs[diffs.length - 1]).post();
+        model.setObjective(Model.MINIMIZE, ticks[m - 1]);
+        model.addHook(DECISION_VARS, ticks);
+        return model;
+    }
+
+    /**
+     * Magic square of order <i>n</i>.
+     *
+     * @param n order of the square
+     * @param environment the backtracking environment of the model
+     * @return a satisfaction model
+     */
+    public static Model magicSquare(int n, IEnvironment environment) {
+        Model model = new Model(environment, "magic-" + n);
+        int ms = n * (n * n + 1) / 2;
+        IntVar[][] matrix = new IntVar[n][n];
+        IntVar[][] invMatrix = new IntVar[n][n];
+        IntVar[] vars = new IntVar[n * n];
+        IntVar[] diag1 = new IntVar[n];
+        IntVar[] diag2 = new IntVar[n];
+        for (int i = 0, k = 0; i < n; i++) {
+            for (int j = 0; j < n; j++, k++) {
+                matrix[i][j] = model.intVar("square" + i + "," + j, 1, n * n, false);
+                vars[k] = matrix[i][j];
+                invMatrix[j][i] = matrix[i][j];
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            diag1[i] = matrix[i][i];
+            diag2[i] = matrix[(n - 1) - i][i];
+        }
+        model.allDifferent(vars, "BC").post();
+        for (int i = 0; i < n; i++) {
+            model.sum(matrix[i], "=", ms).post();
+            model.sum(invMatrix[i], "=", ms).post();
+        }
+        model.sum(diag1, "=", ms).post();
+        model.sum(diag2, "=", ms).post();
+        // symmetry breaking
+        model.arithm(matrix[0][n - 1], "<", matrix[n - 1][0]).post();
+        model.arithm(matrix[0][0], "<", matrix[n - 1][n - 1]).post();
+        model.arithm(matrix[0][0], "<", matrix[n - 1][0]).post();
+        model.addHook(DECISION_VARS, vars);
+        return model;
+    }
+
+    /**
+     * Jobshop where each machine is modelled with a {@code cumulative} constraint of capacity 1.
+     * The decision variables are the starting times, then the makespan.
+     *
+     * @param data for each job, pairs of (machine, duration) in processing order
+     * @param environment the backtracking environment of the model
+     * @return an optimization model, minimizing the makespan
+     */
+    public static Model jobshop(int[][] data, IEnvironment environment) {
+        Model model = new Model(environment, "jobshop");
+        int nJobs = data.length;
+        int nMachines = data[0].length / 2;
+        int horizon = 0;
+        for (int[] job : data) {
+            for (int k = 1; k < job.length; k += 2) {
+                horizon += job[k];
+            }
+        }
+        IntVar makespan = model.intVar("makespan", 0, horizon, true);
+        Task[][] byMachine = new Task[nMachines][nJobs];
+        IntVar[] starts = new IntVar[nJobs * nMachines + 1];
+        for (int j = 0, k = 0; j < nJobs; j++) {
+            Task prev = null;
+            for (int o = 0; o < nMachines; o++, k++) {
+                int m = data[j][2 * o];
+                int d = data[j][2 * o + 1];
+                IntVar s = model.intVar("S_" + j + "_" + o, 0, horizon - d, true);
+                Task t = model.taskVar(s, d);
+                byMachine[m][j] = t;
+                starts[k] = s;
+                if (prev != null) {
+                    model.arithm(prev.getEnd(), "<=", s).post();
+                }
+                prev = t;
+            }
+            model.arithm(prev.getEnd(), "<=", makespan).post();
+        }
+        IntVar one = model.intVar(1);
+        for (int m = 0; m < nMachines; m++) {
+            IntVar[] heights = new IntVar[nJobs];
+            for (int j = 0; j < nJobs; j++) {
+                heights[j] = one;
+            }
+            model.cumulative(byMachine[m], heights, one).post();
+        }
+        starts[starts.length - 1] = makespan;
+        model.setObjective(Model.MINIMIZE, makespan);
+        model.addHook(DECISION_VARS, starts);
+        return model;
+    }
+}
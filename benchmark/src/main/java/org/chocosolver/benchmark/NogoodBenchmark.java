@@ -0,0 +1,117 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmark;
+
+import org.chocosolver.sat.PropNogoods;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.search.limits.FailCounter;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.variables.IntVar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the (variable, value) to literal mapping of {@link PropNogoods}
+ * and of the search with nogoods recorded from restarts
+ * ({@link Solver#setNoGoodRecordingFromRestarts()}), which relies on it.
+ * <p>
+ * {@link #literal(Literals)} looks up <i>lookups</i> already declared literals, for "= value" and "&le; value",
+ * on variables whose domain has <i>span</i> values.
+ * {@link #restarts(Restarts)} solves a model with Luby restarts and nogoods recorded from restarts.
+ * </p>
+ * <p> Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class NogoodBenchmark {
+
+    @State(Scope.Thread)
+    public static class Literals {
+
+        @Param({"64", "1048576"})
+        public int span;
+
+        @Param({"4096"})
+        public int lookups;
+
+        private PropNogoods png;
+
+        private IntVar[] vars;
+
+        private int[] values;
+
+        @Setup
+        public void setup() {
+            Model model = new Model();
+            vars = model.intVarArray("x", 32, 0, span - 1, true);
+            png = model.getNogoodStore().getPropNogoods();
+            Random rnd = new Random(0);
+            values = new int[lookups];
+            for (int i = 0; i < lookups; i++) {
+                values[i] = rnd.nextInt(span);
+                png.Literal(vars[i % vars.length], values[i], (i & 1) == 0);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Restarts {
+
+        @Param({"queens", "golomb"})
+        public String kind;
+
+        private Solver solver;
+
+        @Setup(Level.Invocation)
+        public void setup() {
+            Model model = Models.make(kind);
+            solver = model.getSolver();
+            solver.setSearch(Search.inputOrderLBSearch(Models.decisionVars(model)));
+            solver.setNoGoodRecordingFromRestarts();
+            solver.setLubyRestart(50, new FailCounter(model, 50), 5000);
+            solver.limitFail(10000);
+        }
+    }
+
+    @Benchmark
+    public int literal(Literals state) {
+        int s = 0;
+        for (int i = 0; i < state.lookups; i++) {
+            s += state.png.Literal(state.vars[i % state.vars.length], state.values[i], (i & 1) == 0);
+        }
+        return s;
+    }
+
+    @Benchmark
+    public long restarts(Restarts state) {
+        while (state.solver.solve()) ;
+        return state.solver.getNodeCount();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmark;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.propagation.DensePropagationEngine;
+import org.chocosolver.solver.variables.IntVar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixpoint throughput of {@link org.chocosolver.solver.propagation.PropagationEngine#propagate()}.
+ * <p>
+ * The root node of a canonical model is propagated once, then each operation:
+ * pushes a world, applies a (pre-computed, seeded) decision, reaches the fixpoint and pops the world.
+ * </p>
+ * <p> Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PropagationBenchmark {
+
+    /**
+     * Number of pre-computed decisions
+     */
+    private static final int NB_DECISIONS = 1024;
+
+    @Param({"queens", "golomb", "magic", "jobshop"})
+    public String kind;
+
+    @Param({"trail", "copy"})
+    public String env;
+
+    @Param({"queues", "dense"})
+    public String engine;
+
+    private Solver solver;
+
+    private IEnvironment environment;
+
+    private IntVar[] dvars;
+
+    private int[] values;
+
+    private int next;
+
+    @Setup
+    public void setup() throws ContradictionException {
+        Model model = Models.make(kind, Models.environment(env));
+        solver = model.getSolver();
+        if (engine.equals("dense")) {
+            solver.setEngine(new DensePropagationEngine(model));
+        }
+        environment = model.getEnvironment();
+        environment.worldPush();
+        solver.propagate();
+        IntVar[] vars = Models.decisionVars(model);
+        Random rnd = new Random(0);
+        dvars = new IntVar[NB_DECISIONS];
+        values = new int[NB_DECISIONS];
+        for (int i = 0; i < NB_DECISIONS; i++) {
+            IntVar var;
+            do {
+                var = vars[rnd.nextInt(vars.length)];
+            } while (var.isInstantiated());
+            int v = var.getLB() + rnd.nextInt(var.getUB() - var.getLB() + 1);
+            dvars[i] = var;
+            values[i] = var.nextValue(v - 1);
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    public boolean decideAndPropagate() {
+        int i = next++ & (NB_DECISIONS - 1);
+        boolean ok = true;
+        environment.worldPush();
+        try {
+            dvars[i].instantiateTo(values[i], Cause.Null);
+            solver.propagate();
+        } catch (ContradictionException e) {
+            ok = false;
+        }
+        environment.worldPop();
+        return ok;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmark;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.propagation.DensePropagationEngine;
+import org.chocosolver.solver.search.strategy.Search;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link Solver#searchLoop()} on canonical models.
+ * <p>
+ * The search strategy is static and the exploration is bounded by a number of failures,
+ * so that every invocation explores exactly the same search tree.
+ * </p>
+ * <p> Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SearchBenchmark {
+
+    @Param({"queens", "golomb", "magic", "jobshop"})
+    public String kind;
+
+    @Param({"trail", "copy"})
+    public String env;
+
+    @Param({"queues", "dense"})
+    public String engine;
+
+    @Param({"10000"})
+    public int failLimit;
+
+    private Solver solver;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        Model model = Models.make(kind, Models.environment(env));
+        solver = model.getSolver();
+        if (engine.equals("dense")) {
+            solver.setEngine(new DensePropagationEngine(model));
+        }
+        solver.setSearch(Search.minDomLBSearch(Models.decisionVars(model)));
+        solver.limitFail(failLimit);
+    }
+
+    @Benchmark
+    public long search() {
+        while (solver.solve()) ;
+        return solver.getNodeCount();
+    }
+}
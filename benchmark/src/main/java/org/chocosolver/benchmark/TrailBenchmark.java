@@ -0,0 +1,91 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmark;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateInt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link IEnvironment#worldPush()}, {@link IEnvironment#worldPop()} and of the saving of
+ * stored integers, for each kind of int trail
+ * ({@link org.chocosolver.memory.trailing.trail.flatten.StoredIntTrail},
+ * {@link org.chocosolver.memory.trailing.trail.chunck.ChunckedIntTrail} and
+ * {@link org.chocosolver.memory.trailing.trail.slot.SlotIntTrail}) and for the copying environment
+ * ({@link org.chocosolver.memory.copying.EnvironmentCopying}).
+ * <p>
+ * One operation goes down <i>depth</i> worlds, modifying <i>1/stride</i> of the stored integers in
+ * each of them, then backtracks to the initial world.
+ * Copying wins when most of the stored integers are modified in each world (small <i>stride</i>),
+ * trailing wins otherwise.
+ * </p>
+ * <p> Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TrailBenchmark {
+
+    @Param({"trail", "chunk", "slots", "copy"})
+    public String trail;
+
+    @Param({"4096"})
+    public int size;
+
+    @Param({"32"})
+    public int depth;
+
+    @Param({"1", "8", "64"})
+    public int stride;
+
+    private IEnvironment environment;
+
+    private IStateInt[] ints;
+
+    @Setup
+    public void setup() {
+        environment = Models.environment(trail);
+        ints = new IStateInt[size];
+        for (int i = 0; i < size; i++) {
+            ints[i] = environment.makeInt(i);
+        }
+    }
+
+    @Benchmark
+    public int pushSetPop() {
+        int w = environment.getWorldIndex();
+        for (int d = 1; d <= depth; d++) {
+            environment.worldPush();
+            for (int i = (d % stride); i < size; i += stride) {
+                ints[i].add(d);
+            }
+        }
+        environment.worldPopUntil(w);
+        return ints[0].get();
+    }
+}
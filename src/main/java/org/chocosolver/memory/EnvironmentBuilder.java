@@ -9,10 +9,13 @@
  */
 package org.chocosolver.memory;
 
+import org.chocosolver.memory.copying.EnvironmentCopying;
 import org.chocosolver.memory.trailing.EnvironmentTrailing;
 import org.chocosolver.memory.trailing.trail.*;
 import org.chocosolver.memory.trailing.trail.chunck.*;
 import org.chocosolver.memory.trailing.trail.flatten.*;
+import org.chocosolver.memory.trailing.trail.slot.SlotIntTrail;
+import org.chocosolver.memory.trailing.trail.slot.SlotLongTrail;
 
 /**
  * <p>
@@ -178,6 +181,19 @@ public class EnvironmentBuilder {
         return env;
     }
 
+    /**
+     * Build a copying environment: stored values are copied on each world push instead of being trailed
+     * (see {@link EnvironmentCopying}).
+     * Only the operation trail, if set, is considered, the other trails are ignored.
+     * @return the resulting environment
+     */
+    public EnvironmentCopying buildCopying(){
+        if (ot == null) {
+            ot = new OperationTrail(worldsize, worldnumber, loadfactor);
+        }
+        return new EnvironmentCopying(worldsize, worldnumber, loadfactor, ot);
+    }
+
     /**
      * Build a chunk environment
      * @return {@code this}
@@ -203,4 +219,18 @@ public class EnvironmentBuilder {
         setTrail(new OperationTrail(worldsize, worldnumber, loadfactor));
         return this;
     }
-}
\ No newline at end of file
+
+    /**
+     * Build a flat environment where stored ints and stored longs are addressed by slot
+     * (see {@link SlotIntTrail} and {@link SlotLongTrail}).
+     * @return {@code this}
+     */
+    public EnvironmentBuilder fromSlots(){
+        setTrail(new StoredBoolTrail(worldsize, worldnumber, loadfactor));
+        setTrail(new SlotIntTrail(worldsize, worldnumber, loadfactor));
+        setTrail(new StoredDoubleTrail(worldsize, worldnumber, loadfactor));
+        setTrail(new SlotLongTrail(worldsize, worldnumber, loadfactor));
+        setTrail(new OperationTrail(worldsize, worldnumber, loadfactor));
+        return this;
+    }
+}
@@ -26,6 +26,21 @@ public interface IStateBitSet  {
      */
     int cardinality();
 
+    /**
+     * Number of bits on in [<i>fromIndex</i>, <i>toIndex</i>).
+     *
+     * @param fromIndex index of the first bit to count (inclusive)
+     * @param toIndex   index after the last bit to count (exclusive)
+     * @return the number of bits on in the range
+     */
+    default int cardinality(int fromIndex, int toIndex) {
+        int sum = 0;
+        for (int i = nextSetBit(fromIndex); i > -1 && i < toIndex; i = nextSetBit(i + 1)) {
+            sum++;
+        }
+        return sum;
+    }
+
     /**
      * Size of the bitset
      *
@@ -117,4 +132,21 @@ public interface IStateBitSet  {
     int prevClearBit(int fromIndex);
 
     boolean isEmpty();
+
+    /**
+     * Intersects this bit set with <i>mask</i>: a bit <i>i</i> remains on only if
+     * the bit <i>i - shift</i> of <i>mask</i> is on. Bits out of <i>mask</i> are considered as off.
+     * The bit <i>j</i> of <i>mask</i> is stored in <code>mask[j / 64]</code>, at position <code>j % 64</code>.
+     *
+     * @param mask  words of the mask
+     * @param shift shift of this bit set wrt the mask
+     */
+    default void and(long[] mask, int shift) {
+        for (int i = nextSetBit(0); i > -1; i = nextSetBit(i + 1)) {
+            int j = i - shift;
+            if (j < 0 || (j >> 6) >= mask.length || (mask[j >> 6] & (1L << j)) == 0) {
+                clear(i);
+            }
+        }
+    }
 }
@@ -89,6 +89,13 @@ public abstract class IStateDoubleVector  {
         return index < size.get() && index >= 0;
     }
 
+    /**
+     * @return the current size of this vector
+     */
+    public final int size() {
+        return size.get();
+    }
+
     /**
      * Unsafe setter => don't do bound verification
      *
@@ -70,6 +70,13 @@ public abstract class IStateIntVector  {
         return index < size.get() && index >= 0;
     }
 
+    /**
+     * @return the current size of this vector
+     */
+    public final int size() {
+        return size.get();
+    }
+
     /**
      * Adds a new search at the end of the vector.
      *
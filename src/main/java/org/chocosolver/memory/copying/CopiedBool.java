@@ -0,0 +1,54 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+import org.chocosolver.memory.IStateBool;
+
+/**
+ * A class implementing backtrackable boolean, restored by copy.
+ * <p>
+ * The former value is not saved on modification:
+ * the values of all booleans are copied on {@link EnvironmentCopying#worldPush()}.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class CopiedBool extends IStateBool {
+
+    /**
+     * Value given on creation, restored on backtrack when this was created with a fake history
+     */
+    final boolean initialValue;
+
+    /**
+     * Set to <tt>true</tt> when this was created with a fake history
+     */
+    final boolean fake;
+
+    /**
+     * Constructs a copied boolean with an initial value.
+     * Note: this constructor should not be used directly: one should instead
+     * use the IEnvironment factory
+     */
+    public CopiedBool(final EnvironmentCopying env, final boolean i) {
+        super(env, i);
+        this.initialValue = i;
+        this.fake = env.fakeHistoryNeeded();
+        env.register(this);
+    }
+
+    @Override
+    public final void set(final boolean y) {
+        currentValue = y;
+    }
+}
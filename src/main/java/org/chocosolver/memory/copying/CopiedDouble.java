@@ -0,0 +1,54 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+import org.chocosolver.memory.IStateDouble;
+
+/**
+ * A class implementing backtrackable double, restored by copy.
+ * <p>
+ * The former value is not saved on modification:
+ * the values of all doubles are copied on {@link EnvironmentCopying#worldPush()}.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class CopiedDouble extends IStateDouble {
+
+    /**
+     * Value given on creation, restored on backtrack when this was created with a fake history
+     */
+    final double initialValue;
+
+    /**
+     * Set to <tt>true</tt> when this was created with a fake history
+     */
+    final boolean fake;
+
+    /**
+     * Constructs a copied double with an initial value.
+     * Note: this constructor should not be used directly: one should instead
+     * use the IEnvironment factory
+     */
+    public CopiedDouble(final EnvironmentCopying env, final double i) {
+        super(env, i);
+        this.initialValue = i;
+        this.fake = env.fakeHistoryNeeded();
+        env.register(this);
+    }
+
+    @Override
+    public final void set(final double y) {
+        currentValue = y;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+import org.chocosolver.memory.IStateIntVector;
+
+/**
+ * Implements a backtrackable vector of ints, restored by copy.
+ * <p>
+ * The size of the vector is a copied int, and its first <i>size</i> elements
+ * are copied on {@link EnvironmentCopying#worldPush()}.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public final class CopiedIntVector extends IStateIntVector {
+
+    /**
+     * Elements given on creation, restored on backtrack when this was created with a fake history,
+     * <i>null</i> otherwise
+     */
+    private final int[] initialData;
+
+    /**
+     * Constructs a copied vector with an initial size, and initial values.
+     *
+     * @param env          The current environment.
+     * @param initialSize  The initial size.
+     * @param initialValue The initial common value.
+     */
+    public CopiedIntVector(EnvironmentCopying env, int initialSize, int initialValue) {
+        super(env, initialSize, initialValue);
+        this.initialData = env.fakeHistoryNeeded() ? elementData.clone() : null;
+        env.register(this);
+    }
+
+    /**
+     * Checks if the capacity is great enough, else the capacity
+     * is extended.
+     *
+     * @param minCapacity the necessary capacity.
+     */
+    public void ensureCapacity(int minCapacity) {
+        int oldCapacity = elementData.length;
+        if (minCapacity > oldCapacity) {
+            int[] oldData = elementData;
+            int newCapacity = (oldCapacity * 3) / 2 + 1;
+            if (newCapacity < minCapacity)
+                newCapacity = minCapacity;
+            elementData = new int[newCapacity];
+            System.arraycopy(oldData, 0, elementData, 0, oldData.length);
+        }
+    }
+
+    /**
+     * Adds a new element at the end of the vector.
+     *
+     * @param i The element to add.
+     */
+    @Override
+    public void add(int i) {
+        int newsize = size.get() + 1;
+        ensureCapacity(newsize);
+        size.set(newsize);
+        elementData[newsize - 1] = i;
+    }
+
+    /**
+     * Assigns a new value <code>val</code> to the element <code>index</code>.
+     */
+    @Override
+    public int set(int index, int val) {
+        if (rangeCheck(index)) {
+            return quickSet(index, val);
+        }
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size.get());
+    }
+
+    @Override
+    public final int quickSet(int index, int val) {
+        assert (rangeCheck(index));
+        final int oldValue = elementData[index];
+        elementData[index] = val;
+        return oldValue;
+    }
+
+    /**
+     * Copy the first <i>size</i> elements of this vector into <i>dest</i>.
+     *
+     * @param dest destination array
+     * @param pos  starting position in <i>dest</i>
+     * @return the number of elements copied
+     */
+    int copyTo(int[] dest, int pos) {
+        int n = size.get();
+        System.arraycopy(elementData, 0, dest, pos, n);
+        return n;
+    }
+
+    /**
+     * Restore the first <i>size</i> elements of this vector from <i>src</i>,
+     * the size being already restored.
+     *
+     * @param src source array
+     * @param pos starting position in <i>src</i>
+     * @return the number of elements restored
+     */
+    int copyFrom(int[] src, int pos) {
+        int n = size.get();
+        System.arraycopy(src, pos, elementData, 0, n);
+        return n;
+    }
+
+    /**
+     * Restore the elements given on creation, if this was created with a fake history.
+     */
+    void reset() {
+        if (initialData != null) {
+            ensureCapacity(initialData.length);
+            System.arraycopy(initialData, 0, elementData, 0, initialData.length);
+        }
+    }
+}
@@ -0,0 +1,381 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+import org.chocosolver.memory.AbstractEnvironment;
+import org.chocosolver.memory.IStateBool;
+import org.chocosolver.memory.IStateDouble;
+import org.chocosolver.memory.IStateDoubleVector;
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.memory.IStateIntVector;
+import org.chocosolver.memory.IStateLong;
+import org.chocosolver.memory.structure.IOperation;
+import org.chocosolver.memory.trailing.trail.IOperationTrail;
+
+import java.util.Arrays;
+
+/**
+ * An environment which restores backtrackable values by copy instead of trailing.
+ * <p>
+ * On {@link #worldPush()}, the current values of all stored booleans, ints, longs, doubles and vectors are copied,
+ * one after the other, into contiguous primitive stacks.
+ * On {@link #worldPop()}, they are all restored from these stacks.
+ * Thus, modifying a stored value costs nothing more than a field write (no time stamp check and no save),
+ * but pushing and popping a world costs a copy of the whole state.
+ * This is worth it when a large part of the state is modified between two worlds,
+ * for instance with many small and heavily modified values
+ * (e.g., bit sets of {@link org.chocosolver.solver.constraints.extension.nary.PropCompactTable}),
+ * whereas trailing is better when only a few values are modified.
+ * </p>
+ * <p>
+ * This environment is hybrid: {@link IOperation}s, which cannot be copied, are trailed.
+ * </p>
+ * <p>
+ * Note that values created with a fake history (see {@link #buildFakeHistoryOn(org.chocosolver.memory.ICondition)})
+ * are reset to their initial value when backtracking before their creation,
+ * and that stored values referenced by this environment are never released.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @see org.chocosolver.memory.EnvironmentBuilder#buildCopying()
+ * @since 18/10/2019.
+ */
+public class EnvironmentCopying extends AbstractEnvironment {
+
+    /**
+     * Load factor
+     */
+    private final double loadfactor;
+
+    /**
+     * Trail for operations
+     */
+    private final IOperationTrail operationTrail;
+
+    private CopiedBool[] bools = new CopiedBool[16];
+    private CopiedInt[] ints = new CopiedInt[16];
+    private CopiedLong[] longs = new CopiedLong[16];
+    private CopiedDouble[] doubles = new CopiedDouble[16];
+    private CopiedIntVector[] intVectors = new CopiedIntVector[0];
+    private CopiedDoubleVector[] doubleVectors = new CopiedDoubleVector[0];
+    private int nbBools, nbInts, nbLongs, nbDoubles, nbIntVectors, nbDoubleVectors;
+
+    /**
+     * Copies of the values, booleans and ints first then elements of int vectors
+     */
+    private int[] intStack;
+    /**
+     * Copies of the values
+     */
+    private long[] longStack;
+    /**
+     * Copies of the values, doubles first then elements of double vectors
+     */
+    private double[] doubleStack;
+    private int intTop, longTop, doubleTop;
+
+    /**
+     * For each world, the state of this environment when it was pushed:
+     * tops of the three stacks and number of values of each kind
+     */
+    private int[][] worlds;
+
+    /**
+     * Number of ints needed to describe a world
+     */
+    private static final int WORLD_WIDTH = 9;
+
+    /**
+     * Constructs a copying environment.
+     *
+     * @param nUpdates       initial capacity of the stacks of copies
+     * @param nWorlds        initial number of worlds
+     * @param loadfactor     load factor for structures
+     * @param operationTrail trail to use for operations
+     */
+    public EnvironmentCopying(int nUpdates, int nWorlds, double loadfactor, IOperationTrail operationTrail) {
+        this.loadfactor = loadfactor;
+        this.operationTrail = operationTrail;
+        this.intStack = new int[nUpdates];
+        this.longStack = new long[nUpdates];
+        this.doubleStack = new double[nUpdates];
+        this.worlds = new int[nWorlds][];
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void worldPush() {
+        timestamp++;
+        final int wi = currentWorld + 1;
+        if (wi >= worlds.length) {
+            worlds = Arrays.copyOf(worlds, Math.max(wi + 1, (int) (worlds.length * loadfactor)));
+        }
+        int[] world = worlds[wi];
+        if (world == null) {
+            world = worlds[wi] = new int[WORLD_WIDTH];
+        }
+        world[0] = intTop;
+        world[1] = longTop;
+        world[2] = doubleTop;
+        world[3] = nbBools;
+        world[4] = nbInts;
+        world[5] = nbLongs;
+        world[6] = nbDoubles;
+        world[7] = nbIntVectors;
+        world[8] = nbDoubleVectors;
+        ensureIntCapacity(intTop + nbBools + nbInts);
+        for (int i = 0; i < nbBools; i++) {
+            intStack[intTop++] = bools[i].get() ? 1 : 0;
+        }
+        for (int i = 0; i < nbInts; i++) {
+            intStack[intTop++] = ints[i].get();
+        }
+        for (int i = 0; i < nbIntVectors; i++) {
+            ensureIntCapacity(intTop + intVectors[i].size());
+            intTop += intVectors[i].copyTo(intStack, intTop);
+        }
+        ensureLongCapacity(longTop + nbLongs);
+        for (int i = 0; i < nbLongs; i++) {
+            longStack[longTop++] = longs[i].get();
+        }
+        ensureDoubleCapacity(doubleTop + nbDoubles);
+        for (int i = 0; i < nbDoubles; i++) {
+            doubleStack[doubleTop++] = doubles[i].get();
+        }
+        for (int i = 0; i < nbDoubleVectors; i++) {
+            ensureDoubleCapacity(doubleTop + doubleVectors[i].size());
+            doubleTop += doubleVectors[i].copyTo(doubleStack, doubleTop);
+        }
+        operationTrail.worldPush(wi);
+        currentWorld++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void worldPop() {
+        timestamp++;
+        final int wi = currentWorld;
+        operationTrail.worldPop(wi);
+        final int pw = wi - 1;
+        final int[] world = worlds[wi];
+        int k = world[0];
+        int n = world[3];
+        for (int i = 0; i < n; i++) {
+            bools[i]._set(intStack[k++] == 1, pw);
+        }
+        for (int i = n; i < nbBools; i++) {
+            if (bools[i].fake) bools[i]._set(bools[i].initialValue, pw);
+        }
+        n = world[4];
+        for (int i = 0; i < n; i++) {
+            ints[i]._set(intStack[k++], pw);
+        }
+        for (int i = n; i < nbInts; i++) {
+            if (ints[i].fake) ints[i]._set(ints[i].initialValue, pw);
+        }
+        n = world[7];
+        for (int i = 0; i < n; i++) {
+            k += intVectors[i].copyFrom(intStack, k);
+        }
+        for (int i = n; i < nbIntVectors; i++) {
+            intVectors[i].reset();
+        }
+        k = world[1];
+        n = world[5];
+        for (int i = 0; i < n; i++) {
+            longs[i]._set(longStack[k++], pw);
+        }
+        for (int i = n; i < nbLongs; i++) {
+            if (longs[i].fake) longs[i]._set(longs[i].initialValue, pw);
+        }
+        k = world[2];
+        n = world[6];
+        for (int i = 0; i < n; i++) {
+            doubles[i]._set(doubleStack[k++], pw);
+        }
+        for (int i = n; i < nbDoubles; i++) {
+            if (doubles[i].fake) doubles[i]._set(doubles[i].initialValue, pw);
+        }
+        n = world[8];
+        for (int i = 0; i < n; i++) {
+            k += doubleVectors[i].copyFrom(doubleStack, k);
+        }
+        for (int i = n; i < nbDoubleVectors; i++) {
+            doubleVectors[i].reset();
+        }
+        discard(world);
+        currentWorld--;
+        assert currentWorld >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void worldCommit() {
+        if (currentWorld == 0) {
+            throw new IllegalStateException("Commit in world 0?");
+        }
+        // the copies made when pushing the current world are not needed anymore
+        operationTrail.worldCommit(currentWorld);
+        discard(worlds[currentWorld]);
+        currentWorld--;
+    }
+
+    private void discard(int[] world) {
+        intTop = world[0];
+        longTop = world[1];
+        doubleTop = world[2];
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateInt makeInt() {
+        return makeInt(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateInt makeInt(final int initialValue) {
+        return new CopiedInt(this, initialValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateBool makeBool(final boolean initialValue) {
+        return new CopiedBool(this, initialValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateIntVector makeIntVector(final int size, final int initialValue) {
+        return new CopiedIntVector(this, size, initialValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateDoubleVector makeDoubleVector(final int size, final double initialValue) {
+        return new CopiedDoubleVector(this, size, initialValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateDouble makeFloat() {
+        return makeFloat(0d);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateDouble makeFloat(final double initialValue) {
+        return new CopiedDouble(this, initialValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateLong makeLong() {
+        return makeLong(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateLong makeLong(final long init) {
+        return new CopiedLong(this, init);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void save(IOperation operation) {
+        operationTrail.savePreviousState(operation);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    void register(CopiedBool v) {
+        if (nbBools == bools.length) bools = Arrays.copyOf(bools, grow(nbBools));
+        bools[nbBools++] = v;
+    }
+
+    void register(CopiedInt v) {
+        if (nbInts == ints.length) ints = Arrays.copyOf(ints, grow(nbInts));
+        ints[nbInts++] = v;
+    }
+
+    void register(CopiedLong v) {
+        if (nbLongs == longs.length) longs = Arrays.copyOf(longs, grow(nbLongs));
+        longs[nbLongs++] = v;
+    }
+
+    void register(CopiedDouble v) {
+        if (nbDoubles == doubles.length) doubles = Arrays.copyOf(doubles, grow(nbDoubles));
+        doubles[nbDoubles++] = v;
+    }
+
+    void register(CopiedIntVector v) {
+        if (nbIntVectors == intVectors.length) intVectors = Arrays.copyOf(intVectors, grow(nbIntVectors));
+        intVectors[nbIntVectors++] = v;
+    }
+
+    void register(CopiedDoubleVector v) {
+        if (nbDoubleVectors == doubleVectors.length) doubleVectors = Arrays.copyOf(doubleVectors, grow(nbDoubleVectors));
+        doubleVectors[nbDoubleVectors++] = v;
+    }
+
+    private int grow(int length) {
+        return Math.max(length + 1, (int) (length * loadfactor));
+    }
+
+    private void ensureIntCapacity(int capacity) {
+        if (capacity > intStack.length) {
+            intStack = Arrays.copyOf(intStack, Math.max(capacity, grow(intStack.length)));
+        }
+    }
+
+    private void ensureLongCapacity(int capacity) {
+        if (capacity > longStack.length) {
+            longStack = Arrays.copyOf(longStack, Math.max(capacity, grow(longStack.length)));
+        }
+    }
+
+    private void ensureDoubleCapacity(int capacity) {
+        if (capacity > doubleStack.length) {
+            doubleStack = Arrays.copyOf(doubleStack, Math.max(capacity, grow(doubleStack.length)));
+        }
+    }
+}
@@ -561,6 +561,61 @@ public class S64BitSet implements IStateBitSet {
         return sum;
     }
 
+    @Override
+    public int cardinality(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+        int wiu = wordsInUse.get();
+        toIndex = Math.min(toIndex, wiu * BITS_PER_WORD);
+        if (fromIndex >= toIndex)
+            return 0;
+        int startWordIndex = wordIndex(fromIndex);
+        int endWordIndex = wordIndex(toIndex - 1);
+        long firstWordMask = WORD_MASK << fromIndex;
+        long lastWordMask = WORD_MASK >>> -toIndex;
+        if (startWordIndex == endWordIndex) {
+            return Long.bitCount(words[startWordIndex].get() & firstWordMask & lastWordMask);
+        }
+        int sum = Long.bitCount(words[startWordIndex].get() & firstWordMask);
+        for (int i = startWordIndex + 1; i < endWordIndex; i++)
+            sum += Long.bitCount(words[i].get());
+        return sum + Long.bitCount(words[endWordIndex].get() & lastWordMask);
+    }
+
+    @Override
+    public void and(long[] mask, int shift) {
+        int wiu = wordsInUse.get();
+        for (int i = 0; i < wiu; i++) {
+            long word = words[i].get();
+            if (word != 0) {
+                long nword = word & bits(mask, i * BITS_PER_WORD - shift);
+                if (nword != word) {
+                    words[i].set(nword);
+                }
+            }
+        }
+        recalculateWordsInUse();
+        if (CHECK) checkInvariants();
+    }
+
+    /**
+     * Extracts 64 consecutive bits from <i>mask</i>, starting at <i>fromIndex</i>,
+     * which may be negative. Bits out of <i>mask</i> are off.
+     *
+     * @param mask      words of a mask
+     * @param fromIndex index of the first bit to extract
+     * @return a word whose bit <i>k</i> is the bit <i>fromIndex + k</i> of <i>mask</i>
+     */
+    public static long bits(long[] mask, int fromIndex) {
+        int w = fromIndex >> ADDRESS_BITS_PER_WORD;
+        int r = fromIndex & (BITS_PER_WORD - 1);
+        long lo = w >= 0 && w < mask.length ? mask[w] : 0L;
+        if (r == 0) {
+            return lo;
+        }
+        long hi = w + 1 >= 0 && w + 1 < mask.length ? mask[w + 1] : 0L;
+        return (lo >>> r) | (hi << (BITS_PER_WORD - r));
+    }
+
     public int hashCode() {
         long h = 1234;
         for (int i = wordsInUse.get(); --i >= 0; )
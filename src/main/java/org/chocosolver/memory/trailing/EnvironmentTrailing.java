@@ -50,6 +50,7 @@ public class EnvironmentTrailing extends AbstractEnvironment {
     private IOperationTrail operationTrail;
     private StoredIntVectorTrail intVectorTrail;
     private StoredDoubleVectorTrail doubleVectorTrail;
+    private StoredBitSetTrail bitSetTrail;
 
     /**
      * Contains all the {@link org.chocosolver.memory.IStorage} trails for
@@ -98,7 +99,7 @@ public class EnvironmentTrailing extends AbstractEnvironment {
             throw new IllegalStateException("Commit in world 0?");
         }
         final int wi = currentWorld;
-        for (int i = trailSize; i >= 0; i--) {
+        for (int i = trailSize - 1; i >= 0; i--) {
             trails[i].worldCommit(wi);
         }
         currentWorld--;
@@ -144,6 +145,19 @@ public class EnvironmentTrailing extends AbstractEnvironment {
         return new StoredDoubleVector(this, size, initialValue);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Bit sets of more than 64 bits are backed by a contiguous array of words (see {@link StoredBitSet}).
+     */
+    @Override
+    public IStateBitSet makeBitSet(final int size) {
+        if (size < 64) {
+            return super.makeBitSet(size);
+        }
+        return new StoredBitSet(this, size);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -285,6 +299,14 @@ public class EnvironmentTrailing extends AbstractEnvironment {
         return doubleVectorTrail;
     }
 
+    public StoredBitSetTrail getBitSetTrail() {
+        if (bitSetTrail == null) {
+            increaseTrail();
+            trails[trailSize++] = bitSetTrail = new StoredBitSetTrail(this, NBUPATES, NBWORLDS, LOADFACTOR);
+        }
+        return bitSetTrail;
+    }
+
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
 
@@ -0,0 +1,350 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.trailing;
+
+import org.chocosolver.memory.IStateBitSet;
+import org.chocosolver.memory.structure.S64BitSet;
+import org.chocosolver.memory.trailing.trail.StoredBitSetTrail;
+
+import java.util.Arrays;
+
+/**
+ * A backtrackable bit set whose words are stored in one contiguous array.
+ * <p>
+ * Unlike {@link S64BitSet}, which relies on one stored long per word, words are trailed by a dedicated trail,
+ * {@link StoredBitSetTrail}, the first time they are modified in a world (world stamps are maintained per word).
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public final class StoredBitSet implements IStateBitSet {
+
+    private final static int ADDRESS_BITS_PER_WORD = 6;
+    private final static int BITS_PER_WORD = 1 << ADDRESS_BITS_PER_WORD;
+    private static final long WORD_MASK = 0xffffffffffffffffL;
+
+    /**
+     * The current environment.
+     */
+    private final EnvironmentTrailing environment;
+
+    /**
+     * The trail of words.
+     */
+    private final StoredBitSetTrail myTrail;
+
+    /**
+     * Words of the bit set.
+     */
+    private long[] words;
+
+    /**
+     * Contains time stamps for all words (the world index of the last update for each word)
+     */
+    public int[] worldStamps;
+
+    /**
+     * Creates a bit set whose initial size is large enough to explicitly
+     * represent bits with indices in the range <code>0</code> through
+     * <code>nbits-1</code>. All bits are initially <code>false</code>.
+     *
+     * @param env   backtrackable environment
+     * @param nbits the initial size of the bit set.
+     * @throws NegativeArraySizeException if the specified initial size is negative.
+     */
+    public StoredBitSet(EnvironmentTrailing env, int nbits) {
+        if (nbits < 0)
+            throw new NegativeArraySizeException("nbits < 0: " + nbits);
+        this.environment = env;
+        this.myTrail = env.getBitSetTrail();
+        int n = wordIndex(nbits - 1) + 1;
+        this.words = new long[n];
+        this.worldStamps = new int[n];
+        // with fake history, words are cleared again when backtracking before the current world
+        Arrays.fill(worldStamps, env.fakeHistoryNeeded() ? -1 : env.getWorldIndex());
+    }
+
+    private static int wordIndex(int bitIndex) {
+        return bitIndex >> ADDRESS_BITS_PER_WORD;
+    }
+
+    /**
+     * Ensures that the bit set can hold enough words.
+     * New words are considered as cleared in all worlds.
+     *
+     * @param wordsRequired the minimum acceptable number of words.
+     */
+    private void ensureCapacity(int wordsRequired) {
+        if (words.length < wordsRequired) {
+            int request = Math.max(2 * words.length, wordsRequired);
+            int oldSize = words.length;
+            words = Arrays.copyOf(words, request);
+            worldStamps = Arrays.copyOf(worldStamps, request);
+            // force the trailing of new words on their first modification
+            Arrays.fill(worldStamps, oldSize, request, -1);
+        }
+    }
+
+    /**
+     * Assigns a new value to the word at <i>index</i>, and trails the previous one if needed.
+     *
+     * @param index index of a word
+     * @param word  its new value
+     */
+    private void setWord(int index, long word) {
+        final long oldWord = words[index];
+        if (word != oldWord) {
+            final int wi = environment.getWorldIndex();
+            final int oldStamp = worldStamps[index];
+            if (oldStamp < wi) {
+                myTrail.savePreviousState(this, index, oldWord, oldStamp);
+                worldStamps[index] = wi;
+            }
+            words[index] = word;
+        }
+    }
+
+    /**
+     * Sets a word without storing the previous value.
+     */
+    public void _set(int index, long word, int stamp) {
+        words[index] = word;
+        worldStamps[index] = stamp;
+    }
+
+    private static void checkRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0)
+            throw new IndexOutOfBoundsException("fromIndex < 0: " + fromIndex);
+        if (toIndex < 0)
+            throw new IndexOutOfBoundsException("toIndex < 0: " + toIndex);
+        if (fromIndex > toIndex)
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + " > toIndex: " + toIndex);
+    }
+
+    @Override
+    public int cardinality() {
+        int sum = 0;
+        for (int i = words.length - 1; i >= 0; i--)
+            sum += Long.bitCount(words[i]);
+        return sum;
+    }
+
+    @Override
+    public int cardinality(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+        toIndex = Math.min(toIndex, size());
+        if (fromIndex >= toIndex)
+            return 0;
+        int startWordIndex = wordIndex(fromIndex);
+        int endWordIndex = wordIndex(toIndex - 1);
+        long firstWordMask = WORD_MASK << fromIndex;
+        long lastWordMask = WORD_MASK >>> -toIndex;
+        if (startWordIndex == endWordIndex) {
+            return Long.bitCount(words[startWordIndex] & firstWordMask & lastWordMask);
+        }
+        int sum = Long.bitCount(words[startWordIndex] & firstWordMask);
+        for (int i = startWordIndex + 1; i < endWordIndex; i++)
+            sum += Long.bitCount(words[i]);
+        return sum + Long.bitCount(words[endWordIndex] & lastWordMask);
+    }
+
+    @Override
+    public int size() {
+        return words.length * BITS_PER_WORD;
+    }
+
+    @Override
+    public void set(int bitIndex) {
+        if (bitIndex < 0)
+            throw new IndexOutOfBoundsException("bitIndex < 0: " + bitIndex);
+        int wordIndex = wordIndex(bitIndex);
+        ensureCapacity(wordIndex + 1);
+        setWord(wordIndex, words[wordIndex] | (1L << bitIndex));
+    }
+
+    @Override
+    public void clear(int bitIndex) {
+        if (bitIndex < 0)
+            throw new IndexOutOfBoundsException("bitIndex < 0: " + bitIndex);
+        int wordIndex = wordIndex(bitIndex);
+        if (wordIndex < words.length)
+            setWord(wordIndex, words[wordIndex] & ~(1L << bitIndex));
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < words.length; i++)
+            setWord(i, 0L);
+    }
+
+    @Override
+    public void clear(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+        toIndex = Math.min(toIndex, size());
+        if (fromIndex >= toIndex)
+            return;
+        int startWordIndex = wordIndex(fromIndex);
+        int endWordIndex = wordIndex(toIndex - 1);
+        long firstWordMask = WORD_MASK << fromIndex;
+        long lastWordMask = WORD_MASK >>> -toIndex;
+        if (startWordIndex == endWordIndex) {
+            setWord(startWordIndex, words[startWordIndex] & ~(firstWordMask & lastWordMask));
+        } else {
+            setWord(startWordIndex, words[startWordIndex] & ~firstWordMask);
+            for (int i = startWordIndex + 1; i < endWordIndex; i++)
+                setWord(i, 0L);
+            setWord(endWordIndex, words[endWordIndex] & ~lastWordMask);
+        }
+    }
+
+    @Override
+    public void set(int index, boolean value) {
+        if (value)
+            set(index);
+        else
+            clear(index);
+    }
+
+    @Override
+    public void set(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+        if (fromIndex == toIndex)
+            return;
+        int startWordIndex = wordIndex(fromIndex);
+        int endWordIndex = wordIndex(toIndex - 1);
+        ensureCapacity(endWordIndex + 1);
+        long firstWordMask = WORD_MASK << fromIndex;
+        long lastWordMask = WORD_MASK >>> -toIndex;
+        if (startWordIndex == endWordIndex) {
+            setWord(startWordIndex, words[startWordIndex] | (firstWordMask & lastWordMask));
+        } else {
+            setWord(startWordIndex, words[startWordIndex] | firstWordMask);
+            for (int i = startWordIndex + 1; i < endWordIndex; i++)
+                setWord(i, WORD_MASK);
+            setWord(endWordIndex, words[endWordIndex] | lastWordMask);
+        }
+    }
+
+    @Override
+    public void and(long[] mask, int shift) {
+        for (int i = 0; i < words.length; i++) {
+            if (words[i] != 0) {
+                setWord(i, words[i] & S64BitSet.bits(mask, i * BITS_PER_WORD - shift));
+            }
+        }
+    }
+
+    @Override
+    public boolean get(int bitIndex) {
+        int wordIndex = bitIndex >> ADDRESS_BITS_PER_WORD;
+        return wordIndex < words.length && ((words[wordIndex] & (1L << bitIndex)) != 0);
+    }
+
+    @Override
+    public int nextSetBit(int fromIndex) {
+        if (fromIndex < 0)
+            fromIndex = 0;
+        int u = wordIndex(fromIndex);
+        if (u >= words.length)
+            return -1;
+        long word = words[u] & (WORD_MASK << fromIndex);
+        while (true) {
+            if (word != 0)
+                return (u * BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+            if (++u == words.length)
+                return -1;
+            word = words[u];
+        }
+    }
+
+    @Override
+    public int nextClearBit(int fromIndex) {
+        if (fromIndex < 0)
+            fromIndex = 0;
+        int u = wordIndex(fromIndex);
+        if (u >= words.length)
+            return fromIndex;
+        long word = ~words[u] & (WORD_MASK << fromIndex);
+        while (true) {
+            if (word != 0)
+                return (u * BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+            if (++u == words.length)
+                return words.length * BITS_PER_WORD;
+            word = ~words[u];
+        }
+    }
+
+    @Override
+    public int prevSetBit(int fromIndex) {
+        if (fromIndex < 0)
+            return -1;
+        int u = wordIndex(fromIndex);
+        long word;
+        if (u >= words.length) {
+            u = words.length - 1;
+            if (u < 0)
+                return -1;
+            word = words[u];
+        } else {
+            word = words[u] & (WORD_MASK >>> -(fromIndex + 1));
+        }
+        while (true) {
+            if (word != 0)
+                return (u + 1) * BITS_PER_WORD - 1 - Long.numberOfLeadingZeros(word);
+            if (u-- == 0)
+                return -1;
+            word = words[u];
+        }
+    }
+
+    @Override
+    public int prevClearBit(int fromIndex) {
+        if (fromIndex < 0)
+            return -1;
+        int u = wordIndex(fromIndex);
+        if (u >= words.length)
+            return fromIndex;
+        long word = ~words[u] & (WORD_MASK >>> -(fromIndex + 1));
+        while (true) {
+            if (word != 0)
+                return (u + 1) * BITS_PER_WORD - 1 - Long.numberOfLeadingZeros(word);
+            if (u-- == 0)
+                return -1;
+            word = ~words[u];
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0)
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder b = new StringBuilder();
+        b.append('{');
+        int i = nextSetBit(0);
+        if (i != -1) {
+            b.append(i);
+            for (i = nextSetBit(i + 1); i >= 0; i = nextSetBit(i + 1)) {
+                b.append(", ").append(i);
+            }
+        }
+        b.append('}');
+        return b.toString();
+    }
+}
@@ -20,6 +20,11 @@ public class StoredInt extends IStateInt {
 
     protected final IStoredIntTrail myTrail;
 
+    /**
+     * Slot of this in {@link #myTrail}, or -1 when the trail does not address stored ints by slot
+     */
+    protected final int slot;
+
     /**
      * Constructs a stored search with an initial value.
      * Note: this constructor should not be used directly: one should instead
@@ -28,11 +33,19 @@ public class StoredInt extends IStateInt {
     public StoredInt(final EnvironmentTrailing env, final int i) {
         super(env, i);
         myTrail = env.getIntTrail();
+        slot = myTrail.allocateSlot(this);
         if(env.fakeHistoryNeeded()){
             myTrail.buildFakeHistory(this, i, timeStamp);
         }
     }
 
+    /**
+     * @return the slot of this in its trail, or -1 when the trail does not address stored values by slot
+     */
+    public final int getSlot() {
+        return slot;
+    }
+
     /**
      * Modifies the value and stores if needed the former value on the
      * trailing stack.
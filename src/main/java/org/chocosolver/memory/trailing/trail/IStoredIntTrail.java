@@ -23,4 +23,14 @@ public interface IStoredIntTrail extends IStorage {
     void savePreviousState(StoredInt v, int oldValue, int oldStamp);
 
     void buildFakeHistory(StoredInt v, int initValue, int fromStamp);
+
+    /**
+     * Declare a new stored int to this trail.
+     * Trails which address stored ints by slot return a new slot, others return -1.
+     * @param v a new stored int
+     * @return the slot of <i>v</i> in this trail, or -1
+     */
+    default int allocateSlot(StoredInt v) {
+        return -1;
+    }
 }
@@ -23,4 +23,14 @@ public interface IStoredLongTrail extends IStorage {
     void savePreviousState(StoredLong v, long oldValue, int oldStamp);
 
     void buildFakeHistory(StoredLong v, long initValue, int fromStamp);
+
+    /**
+     * Declare a new stored long to this trail.
+     * Trails which address stored longs by slot return a new slot, others return -1.
+     * @param v a new stored long
+     * @return the slot of <i>v</i> in this trail, or -1
+     */
+    default int allocateSlot(StoredLong v) {
+        return -1;
+    }
 }
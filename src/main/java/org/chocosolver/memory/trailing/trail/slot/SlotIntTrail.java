@@ -0,0 +1,200 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.trailing.trail.slot;
+
+import org.chocosolver.memory.trailing.StoredInt;
+import org.chocosolver.memory.trailing.trail.IStoredIntTrail;
+
+/**
+ * A trail which addresses stored ints by slot.
+ * <p>
+ * Each {@link StoredInt} is given a slot when created, and is registered once in a table of slots.
+ * Then, an update is stored as three consecutive ints (slot, former value and former stamp)
+ * in a single primitive stack, and no object reference is written on save.
+ * Thus, saving an update does not trigger any GC card marking,
+ * the stack is not scanned by the GC and restoring a world is a sequential loop over a contiguous array.
+ * </p>
+ * <p>
+ * Note that stored ints referenced by this trail are never released, even if they are not used anymore.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class SlotIntTrail implements IStoredIntTrail {
+
+    /**
+     * Number of ints per update: slot, former value and former stamp
+     */
+    private static final int WIDTH = 3;
+
+    /**
+     * Load factor
+     */
+    private final double loadfactor;
+
+    /**
+     * Stored ints, by slot.
+     */
+    private StoredInt[] slots;
+
+    /**
+     * Number of slots allocated.
+     */
+    private int nbSlots;
+
+    /**
+     * Stack of updates, each of them stored as {@link #WIDTH} consecutive ints.
+     */
+    private int[] stack;
+
+    /**
+     * Points the level of the last entry.
+     */
+    private int currentLevel;
+
+    /**
+     * A stack of pointers (for each start of a world).
+     */
+    private int[] worldStartLevels;
+
+    /**
+     * Constructs a trail with predefined size.
+     *
+     * @param nUpdates   maximal number of updates that will be stored
+     * @param nWorlds    maximal number of worlds that will be stored
+     * @param loadfactor load factor for structures
+     */
+    public SlotIntTrail(int nUpdates, int nWorlds, double loadfactor) {
+        currentLevel = 0;
+        slots = new StoredInt[nUpdates];
+        stack = new int[nUpdates * WIDTH];
+        worldStartLevels = new int[nWorlds];
+        this.loadfactor = loadfactor;
+    }
+
+    @Override
+    public int allocateSlot(StoredInt v) {
+        if (nbSlots == slots.length) {
+            StoredInt[] tmp = new StoredInt[(int) (slots.length * loadfactor) + 1];
+            System.arraycopy(slots, 0, tmp, 0, nbSlots);
+            slots = tmp;
+        }
+        slots[nbSlots] = v;
+        return nbSlots++;
+    }
+
+    /**
+     * Moving up to the next world.
+     *
+     * @param worldIndex current world index
+     */
+    @Override
+    public void worldPush(int worldIndex) {
+        worldStartLevels[worldIndex] = currentLevel;
+        if (worldIndex == worldStartLevels.length - 1) {
+            resizeWorldCapacity((int) (worldStartLevels.length * loadfactor));
+        }
+    }
+
+    /**
+     * Moving down to the previous world.
+     *
+     * @param worldIndex current world index
+     */
+    @Override
+    public void worldPop(int worldIndex) {
+        final int wsl = worldStartLevels[worldIndex] * WIDTH;
+        int i = currentLevel * WIDTH;
+        while (i > wsl) {
+            i -= WIDTH;
+            slots[stack[i]]._set(stack[i + 1], stack[i + 2]);
+        }
+        currentLevel = wsl / WIDTH;
+    }
+
+    /**
+     * Comits a world: merging it with the previous one.
+     */
+    @Override
+    public void worldCommit(int worldIndex) {
+        // see StoredIntTrail#worldCommit for the principle
+        final int startLevel = worldStartLevels[worldIndex];
+        final int prevWorld = worldIndex - 1;
+        int writeIdx = startLevel * WIDTH;
+        for (int i = startLevel * WIDTH; i < currentLevel * WIDTH; i += WIDTH) {
+            final int slot = stack[i];
+            final int stamp = stack[i + 2];
+            slots[slot].overrideTimeStamp(prevWorld);
+            if (stamp != prevWorld) {
+                if (writeIdx != i) {
+                    stack[writeIdx] = slot;
+                    stack[writeIdx + 1] = stack[i + 1];
+                    stack[writeIdx + 2] = stamp;
+                }
+                writeIdx += WIDTH;
+            }
+        }
+        currentLevel = writeIdx / WIDTH;
+    }
+
+    /**
+     * Reacts when a StoredInt is modified: push the former value & timestamp
+     * on the stack.
+     */
+    @Override
+    public void savePreviousState(StoredInt v, int oldValue, int oldStamp) {
+        int i = currentLevel * WIDTH;
+        stack[i] = v.getSlot();
+        stack[i + 1] = oldValue;
+        stack[i + 2] = oldStamp;
+        currentLevel++;
+        if (i + WIDTH == stack.length) {
+            resizeUpdateCapacity();
+        }
+    }
+
+    @Override
+    public void buildFakeHistory(StoredInt v, int initValue, int olderStamp) {
+        // see StoredIntTrail#buildFakeHistory for the principle
+        savePreviousState(v, initValue, olderStamp - 1);
+        while ((currentLevel + olderStamp) * WIDTH > stack.length) {
+            resizeUpdateCapacity();
+        }
+        int i1, f, s = currentLevel;
+        for (int w = olderStamp; w > 1; w--) {
+            f = worldStartLevels[w];
+            i1 = f + w - 1;
+            s -= f;
+            System.arraycopy(stack, f * WIDTH, stack, i1 * WIDTH, s * WIDTH);
+            int k = (i1 - 1) * WIDTH;
+            stack[k] = v.getSlot();
+            stack[k + 1] = initValue;
+            stack[k + 2] = w - 2;
+            worldStartLevels[w] += w - 1;
+            currentLevel++;
+            s = f;
+        }
+    }
+
+    private void resizeUpdateCapacity() {
+        final int[] tmp = new int[(int) (stack.length / WIDTH * loadfactor) * WIDTH];
+        System.arraycopy(stack, 0, tmp, 0, stack.length);
+        stack = tmp;
+    }
+
+    private void resizeWorldCapacity(int newWorldCapacity) {
+        final int[] tmp = new int[newWorldCapacity];
+        System.arraycopy(worldStartLevels, 0, tmp, 0, worldStartLevels.length);
+        worldStartLevels = tmp;
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.trailing.trail.slot;
+
+import org.chocosolver.memory.trailing.StoredLong;
+import org.chocosolver.memory.trailing.trail.IStoredLongTrail;
+
+/**
+ * A trail which addresses stored longs by slot.
+ * <p>
+ * Each {@link StoredLong} is given a slot when created, and is registered once in a table of slots.
+ * Then, an update is stored as two consecutive ints (slot and former stamp) in a primitive stack
+ * and a long (former value) in a parallel primitive stack, and no object reference is written on save.
+ * Thus, saving an update does not trigger any GC card marking,
+ * the stack is not scanned by the GC and restoring a world is a sequential loop over a contiguous array.
+ * </p>
+ * <p>
+ * Note that stored longs referenced by this trail are never released, even if they are not used anymore.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class SlotLongTrail implements IStoredLongTrail {
+
+    /**
+     * Number of ints per update: slot and former stamp
+     */
+    private static final int WIDTH = 2;
+
+    /**
+     * Load factor
+     */
+    private final double loadfactor;
+
+    /**
+     * Stored ints, by slot.
+     */
+    private StoredLong[] slots;
+
+    /**
+     * Number of slots allocated.
+     */
+    private int nbSlots;
+
+    /**
+     * Stack of updates, each of them stored as {@link #WIDTH} consecutive ints.
+     */
+    private int[] stack;
+
+    /**
+     * Stack of values (former values that need be restored upon backtracking).
+     */
+    private long[] valueStack;
+
+    /**
+     * Points the level of the last entry.
+     */
+    private int currentLevel;
+
+    /**
+     * A stack of pointers (for each start of a world).
+     */
+    private int[] worldStartLevels;
+
+    /**
+     * Constructs a trail with predefined size.
+     *
+     * @param nUpdates   maximal number of updates that will be stored
+     * @param nWorlds    maximal number of worlds that will be stored
+     * @param loadfactor load factor for structures
+     */
+    public SlotLongTrail(int nUpdates, int nWorlds, double loadfactor) {
+        currentLevel = 0;
+        slots = new StoredLong[nUpdates];
+        stack = new int[nUpdates * WIDTH];
+        valueStack = new long[nUpdates];
+        worldStartLevels = new int[nWorlds];
+        this.loadfactor = loadfactor;
+    }
+
+    @Override
+    public int allocateSlot(StoredLong v) {
+        if (nbSlots == slots.length) {
+            StoredLong[] tmp = new StoredLong[(int) (slots.length * loadfactor) + 1];
+            System.arraycopy(slots, 0, tmp, 0, nbSlots);
+            slots = tmp;
+        }
+        slots[nbSlots] = v;
+        return nbSlots++;
+    }
+
+    /**
+     * Moving up to the next world.
+     *
+     * @param worldIndex current world index
+     */
+    @Override
+    public void worldPush(int worldIndex) {
+        worldStartLevels[worldIndex] = currentLevel;
+        if (worldIndex == worldStartLevels.length - 1) {
+            resizeWorldCapacity((int) (worldStartLevels.length * loadfactor));
+        }
+    }
+
+    /**
+     * Moving down to the previous world.
+     *
+     * @param worldIndex current world index
+     */
+    @Override
+    public void worldPop(int worldIndex) {
+        final int wsl = worldStartLevels[worldIndex] * WIDTH;
+        int i = currentLevel * WIDTH;
+        int l = currentLevel;
+        while (i > wsl) {
+            i -= WIDTH;
+            slots[stack[i]]._set(valueStack[--l], stack[i + 1]);
+        }
+        currentLevel = wsl / WIDTH;
+    }
+
+    /**
+     * Comits a world: merging it with the previous one.
+     */
+    @Override
+    public void worldCommit(int worldIndex) {
+        // see StoredLongTrail#worldCommit for the principle
+        final int startLevel = worldStartLevels[worldIndex];
+        final int prevWorld = worldIndex - 1;
+        int writeIdx = startLevel * WIDTH;
+        for (int i = startLevel * WIDTH; i < currentLevel * WIDTH; i += WIDTH) {
+            final int slot = stack[i];
+            final int stamp = stack[i + 1];
+            slots[slot].overrideTimeStamp(prevWorld);
+            if (stamp != prevWorld) {
+                if (writeIdx != i) {
+                    stack[writeIdx] = slot;
+                    stack[writeIdx + 1] = stamp;
+                    valueStack[writeIdx / WIDTH] = valueStack[i / WIDTH];
+                }
+                writeIdx += WIDTH;
+            }
+        }
+        currentLevel = writeIdx / WIDTH;
+    }
+
+    /**
+     * Reacts when a StoredLong is modified: push the former value & timestamp
+     * on the stacks.
+     */
+    @Override
+    public void savePreviousState(StoredLong v, long oldValue, int oldStamp) {
+        int i = currentLevel * WIDTH;
+        stack[i] = v.getSlot();
+        stack[i + 1] = oldStamp;
+        valueStack[currentLevel] = oldValue;
+        currentLevel++;
+        if (i + WIDTH == stack.length) {
+            resizeUpdateCapacity();
+        }
+    }
+
+    @Override
+    public void buildFakeHistory(StoredLong v, long initValue, int olderStamp) {
+        // see StoredLongTrail#buildFakeHistory for the principle
+        savePreviousState(v, initValue, olderStamp - 1);
+        while ((currentLevel + olderStamp) * WIDTH > stack.length) {
+            resizeUpdateCapacity();
+        }
+        int i1, f, s = currentLevel;
+        for (int w = olderStamp; w > 1; w--) {
+            f = worldStartLevels[w];
+            i1 = f + w - 1;
+            s -= f;
+            System.arraycopy(stack, f * WIDTH, stack, i1 * WIDTH, s * WIDTH);
+            System.arraycopy(valueStack, f, valueStack, i1, s);
+            int k = (i1 - 1) * WIDTH;
+            stack[k] = v.getSlot();
+            stack[k + 1] = w - 2;
+            valueStack[i1 - 1] = initValue;
+            worldStartLevels[w] += w - 1;
+            currentLevel++;
+            s = f;
+        }
+    }
+
+    private void resizeUpdateCapacity() {
+        final int newCapacity = (int) (valueStack.length * loadfactor);
+        final int[] tmp1 = new int[newCapacity * WIDTH];
+        System.arraycopy(stack, 0, tmp1, 0, stack.length);
+        stack = tmp1;
+        final long[] tmp2 = new long[newCapacity];
+        System.arraycopy(valueStack, 0, tmp2, 0, valueStack.length);
+        valueStack = tmp2;
+    }
+
+    private void resizeWorldCapacity(int newWorldCapacity) {
+        final int[] tmp = new int[newWorldCapacity];
+        System.arraycopy(worldStartLevels, 0, tmp, 0, worldStartLevels.length);
+        worldStartLevels = tmp;
+    }
+}
@@ -0,0 +1,348 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.sat;
+
+import gnu.trove.list.array.TIntArrayList;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.variables.BoolVar;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A bulk loader of clauses, in DIMACS format.
+ * <p>
+ * Clauses are given as a stream of non-null integers, each clause being terminated by 0.
+ * The integer <i>i</i> (resp. <i>-i</i>) stands for the literal <i>vars[i-1]</i> is true (resp. false).
+ * They can be given as int arrays, with {@link #add(int...)}, or read from a CNF file, with {@link #read(Path)}.
+ * Clauses are not posted one by one: they are collected, simplified by a {@link SatPreprocessor} and then
+ * added in a row to the SAT solver on call to {@link #load()}.
+ * </p>
+ * <pre>
+ * {@code
+ * BoolVar[] b = model.boolVarArray("b", 3);
+ * // (b1 v -b2) and (b2 v b3)
+ * model.clauseLoader(b).add(1, -2, 0, 2, 3, 0).load();
+ * }
+ * </pre>
+ * <p> Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class ClauseLoader {
+
+    /**
+     * The model
+     */
+    private final Model model;
+    /**
+     * Variables of the clauses, the DIMACS variable <i>i</i> is <i>vars[i-1]</i>
+     */
+    private final BoolVar[] vars;
+    /**
+     * The preprocessor, which collects the clauses
+     */
+    private final SatPreprocessor preprocessor;
+    /**
+     * The clause being read
+     */
+    private final TIntArrayList clause;
+    /**
+     * Set to <i>true</i> to simplify clauses
+     */
+    private boolean preprocessing = true;
+    /**
+     * Set to <i>true</i> once {@link #load()} has been called
+     */
+    private boolean loaded;
+    // CNF file parsing state
+    private boolean skip, lineStart = true, neg, inNum, eof;
+    private int num;
+
+    /**
+     * Create a loader of clauses over <i>vars</i>.
+     *
+     * @param model the model
+     * @param vars  the variables, the DIMACS variable <i>i</i> is <i>vars[i-1]</i>
+     */
+    public ClauseLoader(Model model, BoolVar[] vars) {
+        this.model = model;
+        this.vars = vars;
+        this.preprocessor = new SatPreprocessor(vars.length);
+        this.clause = new TIntArrayList();
+        for (int i = 0; i < vars.length; i++) {
+            if (vars[i].isInstantiated()) {
+                preprocessor.addClause(2 * i + (vars[i].getValue() == 1 ? 0 : 1));
+            }
+        }
+    }
+
+    /**
+     * Enable or disable the preprocessing of clauses.
+     * When disabled, clauses are only normalized and unit propagation is applied.
+     *
+     * @param enable <i>true</i> to enable preprocessing (default)
+     * @return this
+     */
+    public ClauseLoader preprocessing(boolean enable) {
+        this.preprocessing = enable;
+        return this;
+    }
+
+    /**
+     * Enable or disable subsumption and self-subsuming resolution.
+     *
+     * @param enable <i>true</i> to enable it (default)
+     * @return this
+     */
+    public ClauseLoader subsumption(boolean enable) {
+        preprocessor.setSubsumption(enable);
+        return this;
+    }
+
+    /**
+     * Enable or disable bounded variable elimination.
+     *
+     * @param enable <i>true</i> to enable it (default)
+     * @return this
+     */
+    public ClauseLoader elimination(boolean enable) {
+        preprocessor.setElimination(enable);
+        return this;
+    }
+
+    /**
+     * Enable or disable equivalent-literal substitution.
+     *
+     * @param enable <i>true</i> to enable it (default)
+     * @return this
+     */
+    public ClauseLoader substitution(boolean enable) {
+        preprocessor.setSubstitution(enable);
+        return this;
+    }
+
+    /**
+     * Declare DIMACS variables as eliminable.
+     * Such variables must not be referenced by other constraints and their value in solutions is meaningless,
+     * typically auxiliary variables introduced by an encoding.
+     * Declaring them as eliminable enables bounded variable elimination and equivalent-literal substitution to
+     * remove them from the clauses.
+     *
+     * @param dimacsVars DIMACS variables, from 1 to <i>vars.length</i>
+     * @return this
+     */
+    public ClauseLoader eliminable(int... dimacsVars) {
+        for (int v : dimacsVars) {
+            preprocessor.setEliminable(index(v));
+        }
+        return this;
+    }
+
+    /**
+     * @return the underlying preprocessor, to access statistics
+     */
+    public SatPreprocessor getPreprocessor() {
+        return preprocessor;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Add clauses in DIMACS format. A clause can be split over several calls.
+     *
+     * @param dimacs a sequence of literals, each clause ends with 0
+     * @return this
+     */
+    public ClauseLoader add(int... dimacs) {
+        for (int l : dimacs) {
+            literal(l);
+        }
+        return this;
+    }
+
+    /**
+     * Read clauses from a CNF file in DIMACS format.
+     * The file is memory-mapped and parsed on the fly, the header line is ignored.
+     *
+     * @param cnf path to the file
+     * @return this
+     * @throws IOException if the file cannot be read
+     */
+    public ClauseLoader read(Path cnf) throws IOException {
+        try (FileChannel channel = FileChannel.open(cnf, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long pos = 0; pos < size && !eof; pos += Integer.MAX_VALUE) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, pos,
+                        Math.min(Integer.MAX_VALUE, size - pos));
+                parse(buffer);
+            }
+        }
+        flush();
+        if (clause.size() > 0) {
+            // tolerate a missing final 0
+            literal(0);
+        }
+        skip = neg = inNum = eof = false;
+        lineStart = true;
+        return this;
+    }
+
+    /**
+     * Read the number of variables declared in the header ("p cnf nbvars nbclauses") of a CNF file.
+     *
+     * @param cnf path to the file
+     * @return the number of variables
+     * @throws IOException if the file cannot be read or has no header
+     */
+    public static int readNbVariables(Path cnf) throws IOException {
+        try (FileChannel channel = FileChannel.open(cnf, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    Math.min(Integer.MAX_VALUE, channel.size()));
+            StringBuilder line = new StringBuilder();
+            while (buffer.hasRemaining()) {
+                char c = (char) buffer.get();
+                if (c != '\n') {
+                    line.append(c);
+                    continue;
+                }
+                String l = line.toString().trim();
+                if (l.startsWith("p")) {
+                    String[] tokens = l.split("\\s+");
+                    if (tokens.length >= 3 && tokens[1].equals("cnf")) {
+                        return Integer.parseInt(tokens[2]);
+                    }
+                } else if (!l.isEmpty() && !l.startsWith("c")) {
+                    break;
+                }
+                line.setLength(0);
+            }
+        }
+        throw new IOException("No \"p cnf\" header found in " + cnf);
+    }
+
+    private void parse(ByteBuffer buffer) {
+        while (buffer.hasRemaining()) {
+            byte b = buffer.get();
+            if (skip) {
+                if (b == '\n') {
+                    skip = false;
+                    lineStart = true;
+                }
+            } else if (b >= '0' && b <= '9') {
+                num = num * 10 + (b - '0');
+                inNum = true;
+                lineStart = false;
+            } else if (b == '-' && !inNum) {
+                neg = true;
+                lineStart = false;
+            } else if (b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+                flush();
+                lineStart |= b == '\n';
+            } else if (lineStart && (b == 'c' || b == 'p')) {
+                skip = true;
+            } else if (lineStart && b == '%') {
+                // end of data in some benchmark files
+                eof = true;
+                return;
+            } else {
+                throw new SolverException("Unexpected character '" + (char) b + "' in CNF file");
+            }
+        }
+    }
+
+    private void flush() {
+        if (inNum) {
+            literal(neg ? -num : num);
+        }
+        num = 0;
+        neg = inNum = false;
+    }
+
+    private void literal(int l) {
+        if (l == 0) {
+            preprocessor.addClause(clause.toArray());
+            clause.resetQuick();
+        } else {
+            clause.add(2 * index(Math.abs(l)) + (l < 0 ? 1 : 0));
+        }
+    }
+
+    private int index(int dimacsVar) {
+        if (dimacsVar < 1 || dimacsVar > vars.length) {
+            throw new SolverException("Unknown DIMACS variable " + dimacsVar + ", expected 1 to " + vars.length);
+        }
+        return dimacsVar - 1;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Preprocess the clauses and add them to the model.
+     * The clauses are added to the SAT solver when {@link org.chocosolver.solver.Settings#enableSAT()} is set,
+     * otherwise each clause is posted as a sum constraint.
+     *
+     * @return <i>false</i> if the clauses are proven unsatisfiable
+     */
+    public boolean load() {
+        if (loaded) {
+            throw new SolverException("Clauses have already been loaded");
+        }
+        loaded = true;
+        if (clause.size() > 0) {
+            throw new SolverException("The last clause is not terminated by 0");
+        }
+        if (!preprocessing) {
+            preprocessor.setSubsumption(false);
+            preprocessor.setElimination(false);
+            preprocessor.setSubstitution(false);
+        }
+        if (!preprocessor.preprocess()) {
+            model.falseConstraint().post();
+            return false;
+        }
+        boolean ret;
+        if (model.getSettings().enableSAT()) {
+            PropSat sat = model.getMinisat().getPropSat();
+            sat.beforeAddingClauses();
+            boolean[] add = {true};
+            preprocessor.forEachClause(c -> {
+                TIntArrayList lits = new TIntArrayList(c.length);
+                for (int l : c) {
+                    lits.add(sat.makeLiteral(vars[l >> 1], (l & 1) == 0));
+                }
+                add[0] &= sat.getSatSolver().addClause(lits);
+            });
+            sat.afterAddingClauses();
+            ret = add[0];
+        } else {
+            List<BoolVar> pos = new ArrayList<>();
+            List<BoolVar> neg = new ArrayList<>();
+            preprocessor.forEachClause(c -> {
+                pos.clear();
+                neg.clear();
+                for (int l : c) {
+                    ((l & 1) == 0 ? pos : neg).add(vars[l >> 1]);
+                }
+                model.addClauses(pos.toArray(new BoolVar[0]), neg.toArray(new BoolVar[0]));
+            });
+            ret = true;
+        }
+        return ret;
+    }
+}
@@ -16,23 +16,29 @@ import static org.chocosolver.sat.SatSolver.var;
 
 import gnu.trove.list.TIntList;
 import gnu.trove.list.array.TIntArrayList;
-import gnu.trove.map.hash.TIntObjectHashMap;
 import gnu.trove.map.hash.TLongIntHashMap;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.function.Consumer;
 import org.chocosolver.memory.IStateInt;
 import org.chocosolver.sat.SatSolver.Clause;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.learn.ExplanationForSignedClause;
+import org.chocosolver.solver.learn.Implications;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.Variable;
 import org.chocosolver.util.ESat;
+import org.chocosolver.util.objects.ValueSortedMap;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableSetUtils;
 
 
 /**
@@ -64,10 +70,46 @@ public class PropNogoods extends Propagator<IntVar> {
     private SatSolver sat_;
 
     /**
-     * Binds couple (variable-value) to a unique literal
+     * Maximum number of values, from the lower bound to the upper bound of a variable,
+     * for the literals of that variable to be indexed by value in dense arrays.
+     * Beyond it, or for values out of these bounds, literals are stored in a hash map.
+     * Dense arrays are created on the first literal of each kind ("=" or "&le;") declared on a variable.
+     */
+    public static int MAX_DENSE_SPAN = 1 << 12;
+
+    /**
+     * Binds couple (variable-value) to a unique literal, for "= value", indexed by variable id then
+     * by value offset (see {@link #vv2off}), or {@link #NO_ENTRY}.
+     */
+    private int[][] vv2eq;
+
+    /**
+     * Binds couple (variable-value) to a unique literal, for "<= value", indexed by variable id then
+     * by value offset (see {@link #vv2off}), or {@link #NO_ENTRY}.
+     */
+    private int[][] vv2leq;
+
+    /**
+     * Offset of values in {@link #vv2eq} and {@link #vv2leq}, indexed by variable id
+     */
+    private int[] vv2off;
+
+    /**
+     * Size of the arrays of {@link #vv2eq} and {@link #vv2leq}, indexed by variable id, 0 if values are not indexed
+     */
+    private int[] vv2span;
+
+    /**
+     * Binds couple (variable-value) to a unique literal, when it cannot be stored in dense arrays,
+     * indexed by variable id, lazily created.
      */
     private TLongIntHashMap[] vv2lit;
 
+    /**
+     * Literals declared on each variable, indexed by variable id
+     */
+    private TIntArrayList[] var2lits;
+
     /**
      * Binds variable ({@link Variable#getId()} to a unique position
      */
@@ -106,11 +148,6 @@ public class PropNogoods extends Propagator<IntVar> {
      */
     private Deque<IntVar> fp;
 
-    /**
-     * Local-like parameter, for #why() method only, lazily initialized.
-     */
-    private TIntObjectHashMap<ArrayList<Clause>> inClauses;
-
     /**
      * Store new added variables when {@link #initialized} is <i>false</i>
      */
@@ -121,6 +158,53 @@ public class PropNogoods extends Propagator<IntVar> {
      */
     private boolean initialized = false;
 
+    /**
+     * Informed of each learnt no-good, can be <tt>null</tt>.
+     */
+    private Consumer<int[]> learntObserver;
+
+    /**
+     * Local-like parameter, for #explain() method only.
+     */
+    private final TIntList reason_ = new TIntArrayList();
+
+    /**
+     * Set to <tt>true</tt> when the clauses added to the SAT solver are kept to explain its propagations
+     */
+    private boolean keepClauses_ = false;
+
+    /**
+     * Clauses added to the SAT solver, kept to explain its propagations, or <tt>null</tt> when dropped
+     */
+    private int[][] clauses_;
+    private int nbClauses_;
+
+    /**
+     * Indices in {@link #clauses_} of dropped clauses, to recycle
+     */
+    private final TIntArrayList freeClauses_ = new TIntArrayList();
+
+    /**
+     * Index in {@link #clauses_} of each learnt clause of the SAT solver
+     */
+    private final IdentityHashMap<Clause, Integer> learnts_ = new IdentityHashMap<>();
+
+    /**
+     * Indices in {@link #clauses_} of the clauses each literal appears in, indexed by literal
+     */
+    private TIntArrayList[] occurrences_;
+
+    /**
+     * Implication graph, if any, to record the reasons of the modifications
+     */
+    private Implications ig;
+
+    /**
+     * Index in {@link #clauses_} of the clause which led to the node of the implication graph
+     * at a given position, or {@link #NO_ENTRY}
+     */
+    private int[] reasons_;
+
     /**
      * Create a (unique) propagator for no-goods recording and propagation.
      *
@@ -131,7 +215,12 @@ public class PropNogoods extends Propagator<IntVar> {
         this.vars = new IntVar[0];// erase model.ONE from the variable scope
 
         int k = 16;
-        this.vv2lit = new TLongIntHashMap[k];//new TIntObjectHashMap<>(16, .5f, NO_ENTRY);
+        this.vv2eq = new int[k][];
+        this.vv2leq = new int[k][];
+        this.vv2off = new int[k];
+        this.vv2span = new int[k];
+        this.vv2lit = new TLongIntHashMap[k];
+        this.var2lits = new TIntArrayList[k];
         this.lit2val = new long[k];//new TIntIntHashMap(16, .5f, NO_ENTRY, NO_ENTRY);
         Arrays.fill(lit2val, NO_ENTRY);
         this.lit2pos = new int[k];//new TIntIntHashMap(16, .5f, NO_ENTRY, NO_ENTRY);
@@ -145,11 +234,17 @@ public class PropNogoods extends Propagator<IntVar> {
         test_eq = new BitSet();
         fp = new ArrayDeque<>();
         add_var = new ArrayList<>(16);
+        clauses_ = new int[k][];
+        occurrences_ = new TIntArrayList[k];
+        reasons_ = new int[k];
     }
 
     @Override
     public void propagate(int evtmask) throws ContradictionException {
         initialize();
+        if (ig == null) {
+            ig = model.getSolver().getEventObserver().getGI().orElse(null);
+        }
         if (!sat_.ok_) fails();
         fp.clear();
         sat_.cancelUntil(0); // to deal with learnt clauses, only called on coarse grain propagation
@@ -173,22 +268,24 @@ public class PropNogoods extends Propagator<IntVar> {
     }
 
     private void doVariableBound(IntVar var) throws ContradictionException {
-        TLongIntHashMap map;
-        for (long k : (map = vv2lit[var.getId()]).keys()) {
+        TIntArrayList lits = var2lits[var.getId()];
+        for (int i = 0; i < lits.size(); i++) {
+            int lit = lits.getQuick(i);
+            long k = lit2val[lit];
             int value = ivalue(k);
             if (iseq(k)) {
                 if (var.contains(value)) {
                     if (var.isInstantiated()) {
-                        VariableBound(map.get(k), true);
+                        VariableBound(lit, true);
                     }
                 } else {
-                    VariableBound(map.get(k), false);
+                    VariableBound(lit, false);
                 }
             } else {
                 if (var.getUB() <= value) {
-                    VariableBound(map.get(k), true);
+                    VariableBound(lit, true);
                 } else if (var.getLB() > value) {
-                    VariableBound(map.get(k), false);
+                    VariableBound(lit, false);
                 }
             }
         }
@@ -277,6 +374,149 @@ public class PropNogoods extends Propagator<IntVar> {
     }
 
 
+    /**
+     * Explain the modification of the variable at position <i>p</i> with the clause of the SAT solver
+     * recorded when it was propagated (see {@link #record(int)}), converted into a signed clause.
+     * If no such clause exists, the default explanation is used.
+     */
+    @Override
+    public void explain(ExplanationForSignedClause explanation,
+                        ValueSortedMap<IntVar> front,
+                        Implications ig, int p) {
+        int c = keepClauses_ && p < reasons_.length ? reasons_[p] : NO_ENTRY;
+        if (c != NO_ENTRY && clauses_[c] != null) {
+            IntVar pivot = ig.getIntVarAt(p);
+            reason_.resetQuick();
+            reason_.add(clauses_[c]);
+            if (isReason(pivot, ig.getDomainAt(ig.getPredecessorOf(p)), explanation, front, ig, p)) {
+                explainWithReason(pivot, explanation);
+                return;
+            }
+        }
+        defaultExplain(this, explanation, front, ig, p);
+    }
+
+    /**
+     * @return <i>true</i> if {@link #reason_} is a clause that explains the reduction of <i>pivot</i>
+     * from <i>prev</i> at position <i>p</i>
+     */
+    private boolean isReason(IntVar pivot, IntIterableRangeSet prev, ExplanationForSignedClause explanation,
+                             ValueSortedMap<IntVar> front, Implications ig, int p) {
+        boolean onPivot = false;
+        for (int i = 0; i < reason_.size(); i++) {
+            int lit = reason_.get(i);
+            IntVar v = vars[lit2pos[var(lit)]];
+            if (v == pivot) {
+                onPivot = true;
+            } else {
+                if (front.getValueOrDefault(v, -1) == -1) {
+                    ig.findPredecessor(front, v, p);
+                }
+                if (!isFalse(lit, ig.getDomainAt(front.getValue(v)))) {
+                    return false;
+                }
+            }
+        }
+        if (!onPivot) {
+            return false;
+        }
+        IntIterableRangeSet set = pivotSet(pivot, explanation);
+        boolean reduces = !IntIterableSetUtils.includedIn(prev, set);
+        explanation.returnSet(set);
+        return reduces;
+    }
+
+    /**
+     * Add the literals of {@link #reason_} to <i>explanation</i>.
+     */
+    private void explainWithReason(IntVar pivot, ExplanationForSignedClause explanation) {
+        for (int i = 0; i < reason_.size(); i++) {
+            int lit = reason_.get(i);
+            IntVar v = vars[lit2pos[var(lit)]];
+            if (v != pivot) {
+                explanation.addLiteral(v, setOf(lit, v, explanation), false);
+            }
+        }
+        explanation.addLiteral(pivot, pivotSet(pivot, explanation), true);
+    }
+
+    /**
+     * @return the union of the sets of the literals of {@link #reason_} declared on <i>pivot</i>
+     */
+    private IntIterableRangeSet pivotSet(IntVar pivot, ExplanationForSignedClause explanation) {
+        IntIterableRangeSet set = null;
+        for (int i = 0; i < reason_.size(); i++) {
+            int lit = reason_.get(i);
+            if (vars[lit2pos[var(lit)]] == pivot) {
+                if (set == null) {
+                    set = setOf(lit, pivot, explanation);
+                } else {
+                    IntIterableRangeSet other = setOf(lit, pivot, explanation);
+                    IntIterableSetUtils.unionOf(set, other);
+                    explanation.returnSet(other);
+                }
+            }
+        }
+        return set;
+    }
+
+    /**
+     * @param lit a literal
+     * @param dom a domain of the variable of <i>lit</i>
+     * @return <tt>true</tt> if <i>lit</i> is false wrt to <i>dom</i>
+     */
+    private boolean isFalse(int lit, IntIterableRangeSet dom) {
+        long value = lit2val[var(lit)];
+        int val = ivalue(value);
+        if (iseq(value)) {
+            return sign(lit) ? !dom.contains(val) : dom.size() == 1 && dom.contains(val);
+        } else {
+            return sign(lit) ? dom.min() > val : dom.max() <= val;
+        }
+    }
+
+    /**
+     * @param lit a literal
+     * @param var the variable of <i>lit</i>
+     * @return <tt>true</tt> if <i>lit</i> is false wrt to the current domain of <i>var</i>
+     */
+    private boolean isFalse(int lit, IntVar var) {
+        long value = lit2val[var(lit)];
+        int val = ivalue(value);
+        if (iseq(value)) {
+            return sign(lit) ? !var.contains(val) : var.isInstantiatedTo(val);
+        } else {
+            return sign(lit) ? var.getLB() > val : var.getUB() <= val;
+        }
+    }
+
+    /**
+     * @param lit a literal
+     * @param var the variable of <i>lit</i>
+     * @return the set of values of <i>var</i> that satisfy <i>lit</i>, within its root domain
+     */
+    private IntIterableRangeSet setOf(int lit, IntVar var, ExplanationForSignedClause explanation) {
+        long value = lit2val[var(lit)];
+        int val = ivalue(value);
+        IntIterableRangeSet set;
+        if (iseq(value)) {
+            if (sign(lit)) {
+                set = explanation.getFreeSet(val);
+            } else {
+                set = explanation.getRootSet(var);
+                set.remove(val);
+            }
+        } else {
+            set = explanation.getRootSet(var);
+            if (sign(lit)) {
+                set.retainBetween(IntIterableRangeSet.MIN, val);
+            } else {
+                set.retainBetween(val + 1, IntIterableRangeSet.MAX);
+            }
+        }
+        return set;
+    }
+
     /**
      * @param v a value
      * @return <tt>true</tt> if the value encodes '=', <tt>false</tt> if it encodes '&le;'.
@@ -337,20 +577,24 @@ public class PropNogoods extends Propagator<IntVar> {
         // TODO: deal with BoolVar
         int vid = ivar.getId();
         int var;
-        TLongIntHashMap map;
-        if (vid >= vv2lit.length) {
-            TLongIntHashMap[] tmp = vv2lit;
-            vv2lit = new TLongIntHashMap[vid + 1];
-            System.arraycopy(tmp, 0, vv2lit, 0, tmp.length);
+        if (vid >= var2pos.length) {
+            int n = Math.max(vid + 1, var2pos.length * 3 / 2);
+            vv2eq = Arrays.copyOf(vv2eq, n);
+            vv2leq = Arrays.copyOf(vv2leq, n);
+            vv2off = Arrays.copyOf(vv2off, n);
+            vv2span = Arrays.copyOf(vv2span, n);
+            vv2lit = Arrays.copyOf(vv2lit, n);
+            var2lits = Arrays.copyOf(var2lits, n);
 
             int[] tmpi = var2pos;
-            var2pos = new int[vid + 1];
-            System.arraycopy(tmpi, 0, var2pos, 0, tmpi.length);
-            Arrays.fill(var2pos, tmpi.length, vid + 1, NO_ENTRY);
+            var2pos = Arrays.copyOf(var2pos, n);
+            Arrays.fill(var2pos, tmpi.length, n, NO_ENTRY);
         }
-        if ((map = vv2lit[vid]) == null) {
-            map = new TLongIntHashMap(16, .5f, NO_ENTRY, NO_ENTRY);
-            vv2lit[vid] = map;
+        if (var2lits[vid] == null) {
+            var2lits[vid] = new TIntArrayList();
+            long span = (long) ivar.getUB() - ivar.getLB() + 1;
+            vv2off[vid] = ivar.getLB();
+            vv2span[vid] = span <= MAX_DENSE_SPAN ? (int) span : 0;
         }
 
         int pos;
@@ -365,9 +609,31 @@ public class PropNogoods extends Propagator<IntVar> {
             var2pos[vid] = pos;
         }
         long lvalue = eq ? value : leq(value);
-        if ((var = map.get(lvalue)) == NO_ENTRY) {
+        int[][] denses = eq ? vv2eq : vv2leq;
+        int[] dense = denses[vid];
+        long offset = (long) value - vv2off[vid];
+        if (dense == null && vv2span[vid] > 0) {
+            dense = denses[vid] = new int[vv2span[vid]];
+            Arrays.fill(dense, NO_ENTRY);
+        }
+        boolean inDense = dense != null && offset >= 0 && offset < dense.length;
+        TLongIntHashMap map = null;
+        if (inDense) {
+            var = dense[(int) offset];
+        } else {
+            if ((map = vv2lit[vid]) == null) {
+                map = vv2lit[vid] = new TLongIntHashMap(16, .5f, NO_ENTRY, NO_ENTRY);
+            }
+            var = map.get(lvalue);
+        }
+        if (var == NO_ENTRY) {
             var = sat_.newVariable();
-            map.put(lvalue, var);
+            if (inDense) {
+                dense[(int) offset] = var;
+            } else {
+                map.put(lvalue, var);
+            }
+            var2lits[vid].add(var);
             if (var >= lit2pos.length) {
                 int[] itmp = lit2pos;
                 lit2pos = new int[var + 1];
@@ -387,6 +653,49 @@ public class PropNogoods extends Propagator<IntVar> {
         return makeLiteral(var, true);
     }
 
+    /**
+     * @param lit a literal
+     * @return the variable the literal refers to
+     */
+    public IntVar getLiteralVariable(int lit) {
+        int pos = lit2pos[var(lit)];
+        return initialized ? vars[pos] : add_var.get(pos);
+    }
+
+    /**
+     * @param lit a literal
+     * @return the value the literal refers to
+     */
+    public int getLiteralValue(int lit) {
+        return ivalue(lit2val[var(lit)]);
+    }
+
+    /**
+     * @param lit a literal
+     * @return <tt>true</tt> if the literal encodes "=", <tt>false</tt> if it encodes "&le;".
+     */
+    public boolean isEqualityLiteral(int lit) {
+        return iseq(lit2val[var(lit)]);
+    }
+
+    /**
+     * @param lit a literal
+     * @return <tt>true</tt> if the literal is positive, <tt>false</tt> if it is negated.
+     */
+    public static boolean isPositiveLiteral(int lit) {
+        return sign(lit);
+    }
+
+    /**
+     * Set the object informed of each learnt no-good (see {@link #addLearnt(int...)}).
+     * The array passed to it must not be modified.
+     *
+     * @param observer a learnt no-good observer, or <tt>null</tt> to remove the current one
+     */
+    public void setLearntObserver(Consumer<int[]> observer) {
+        this.learntObserver = observer;
+    }
+
     /**
      * var points a clause variable whom value is now to be val.
      *
@@ -427,6 +736,9 @@ public class PropNogoods extends Propagator<IntVar> {
         int var = var(lit);
         long value = lit2val[var];
         IntVar ivar = vars[lit2pos[var]];
+        if (ig != null && keepClauses_) {
+            record(lit);
+        }
         if (iseq(value)) {
             if (sign(lit)) {
                 ivar.instantiateTo(ivalue(value), this);
@@ -446,6 +758,104 @@ public class PropNogoods extends Propagator<IntVar> {
         }
     }
 
+    /**
+     * Record the reason of the assignment of <i>lit</i>, that is, a clause which contains <i>lit</i>
+     * and whose other literals are false, for the node the next modification adds to the implication graph.
+     *
+     * @param lit a literal set to true by the SAT solver
+     */
+    private void record(int lit) {
+        int pos = ig.size();
+        if (pos >= reasons_.length) {
+            reasons_ = Arrays.copyOf(reasons_, Math.max(pos + 1, reasons_.length * 3 / 2));
+        }
+        reasons_[pos] = NO_ENTRY;
+        TIntArrayList occ = lit < occurrences_.length ? occurrences_[lit] : null;
+        if (occ != null) {
+            for (int i = 0; i < occ.size() && reasons_[pos] == NO_ENTRY; i++) {
+                int c = occ.getQuick(i);
+                if (othersAreFalse(clauses_[c], lit)) {
+                    reasons_[pos] = c;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return <tt>true</tt> if all the literals of <i>clause</i> but <i>lit</i> are false wrt the current domains
+     */
+    private boolean othersAreFalse(int[] clause, int lit) {
+        for (int l : clause) {
+            if (l != lit && !isFalse(l, vars[lit2pos[var(l)]])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Make this propagator keep the clauses it adds to the SAT solver from now on,
+     * to explain the propagations they lead to, as lazy clause generation requires.
+     * The propagations of clauses added before are explained by default.
+     */
+    public void keepClauses() {
+        keepClauses_ = true;
+    }
+
+    /**
+     * @return the number of clauses currently kept to explain propagations
+     */
+    int getNbKeptClauses() {
+        return nbClauses_ - freeClauses_.size();
+    }
+
+    /**
+     * Keep <i>lits</i>, a clause added to the SAT solver, to explain the propagations it leads to,
+     * if {@link #keepClauses()} has been called.
+     *
+     * @param lits a clause, not modified afterwards
+     * @return the index of the clause in {@link #clauses_}, or -1 if it is not kept
+     */
+    private int keep(int[] lits) {
+        if (!keepClauses_) {
+            return -1;
+        }
+        int c;
+        if (freeClauses_.size() > 0) {
+            c = freeClauses_.removeAt(freeClauses_.size() - 1);
+        } else {
+            if (nbClauses_ == clauses_.length) {
+                clauses_ = Arrays.copyOf(clauses_, nbClauses_ * 3 / 2 + 1);
+            }
+            c = nbClauses_++;
+        }
+        clauses_[c] = lits;
+        for (int l : lits) {
+            if (l >= occurrences_.length) {
+                occurrences_ = Arrays.copyOf(occurrences_, Math.max(l + 1, occurrences_.length * 3 / 2));
+            }
+            if (occurrences_[l] == null) {
+                occurrences_[l] = new TIntArrayList();
+            }
+            occurrences_[l].add(c);
+        }
+        return c;
+    }
+
+    /**
+     * Drop the kept clause at index <i>c</i> in {@link #clauses_}, its index is recycled.
+     * A recorded reason may then point to another clause, which {@link #explain} checks before using it.
+     *
+     * @param c index of a kept clause
+     */
+    private void drop(int c) {
+        for (int l : clauses_[c]) {
+            occurrences_[l].remove(c);
+        }
+        clauses_[c] = null;
+        freeClauses_.add(c);
+    }
+
     /**
      * Add clauses to ensure domain consistency, that is:
      * <ol>
@@ -480,6 +890,7 @@ public class PropNogoods extends Propagator<IntVar> {
             clauses.add(negated(lits[j]));
             clauses.add(lits[j + 1]);
             add |= sat_.addClause(clauses);
+            keep(clauses.toArray());
             clauses.clear();
         }
         // 2b.  [ x = d ] <=> [ x <= d ] and not[ x <= d +1 ]
@@ -489,16 +900,19 @@ public class PropNogoods extends Propagator<IntVar> {
             clauses.add(negated(lits[size + k]));
             clauses.add(lits[size + k + 1]);
             add |= sat_.addClause(clauses);
+            keep(clauses.toArray());
             clauses.clear();
             // not [ x = d ] or [ x <= d ]
             clauses.add(negated(lits[k]));
             clauses.add(lits[size + k]);
             add |= sat_.addClause(clauses);
+            keep(clauses.toArray());
             clauses.clear();
             // not [ x = d ] or not[ x <= d +1 ]
             clauses.add(negated(lits[k]));
             clauses.add(negated(lits[size + k + 1]));
             add |= sat_.addClause(clauses);
+            keep(clauses.toArray());
             clauses.clear();
         }
         storeEarlyDeductions();
@@ -514,6 +928,7 @@ public class PropNogoods extends Propagator<IntVar> {
     @SuppressWarnings("unused")
     public boolean addNogood(int p) {
         boolean result = sat_.addClause(p);
+        keep(new int[]{p});
         storeEarlyDeductions();
         return result;
     }
@@ -527,6 +942,7 @@ public class PropNogoods extends Propagator<IntVar> {
     @SuppressWarnings("unused")
     public boolean addNogood(TIntList lits) {
         boolean result = sat_.addClause(lits);
+        keep(lits.toArray());
         storeEarlyDeductions();
         return result;
     }
@@ -537,7 +953,15 @@ public class PropNogoods extends Propagator<IntVar> {
      * @param lits clause
      */
     public void addLearnt(int... lits) {
+        int n = sat_.learnts.size();
         sat_.learnClause(lits);
+        int kept = keep(lits.clone());
+        if (kept > -1 && sat_.learnts.size() > n) {
+            learnts_.put(sat_.learnts.get(sat_.learnts.size() - 1), kept);
+        }
+        if (learntObserver != null) {
+            learntObserver.accept(lits);
+        }
         // early deductions of learnt clause may lead to incorrect behavior on backtrack
         // since early deduction is not backtrackable.
         forcePropagationOnBacktrack(); // issue#327
@@ -557,6 +981,10 @@ public class PropNogoods extends Propagator<IntVar> {
                         s -= test_eq.get(prev._g(i)) ? 1 : 0;
                     }
                     if (s == 0) { // then last dominates prev
+                        Integer k = learnts_.remove(prev);
+                        if (k != null) {
+                            drop(k);
+                        }
                         sat_.detachLearnt(c);
                     }
                 }
@@ -15,9 +15,8 @@ import static org.chocosolver.sat.SatSolver.var;
 
 import gnu.trove.list.TIntList;
 import gnu.trove.list.array.TIntArrayList;
-import gnu.trove.map.hash.TIntObjectHashMap;
-import gnu.trove.map.hash.TObjectIntHashMap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import org.chocosolver.memory.IStateInt;
 import org.chocosolver.sat.SatSolver.Clause;
 import org.chocosolver.solver.Model;
@@ -43,9 +42,14 @@ public class PropSat extends Propagator<BoolVar> {
     private SatSolver sat_;
 
     /**
-     * Map between BoolVar and its literal
+     * No entry value for {@link #indices_}.
      */
-    private TObjectIntHashMap<BoolVar> indices_;
+    private static final int NO_ENTRY = -1;
+
+    /**
+     * Binds BoolVar (through {@link BoolVar#getId()}) to its SAT variable, or {@link #NO_ENTRY}
+     */
+    private int[] indices_;
 
     /**
      * For comparison with SAT solver trail, to deal properly with backtrack
@@ -57,11 +61,6 @@ public class PropSat extends Propagator<BoolVar> {
      */
     private TIntList early_deductions_;
 
-    /**
-     * Local-like parameter, for #why() method only, lazily initialized.
-     */
-    private TIntObjectHashMap<ArrayList<Clause>> inClauses;
-
     /**
      * Store new added variables when {@link #initialized} is <i>false</i>
      */
@@ -82,7 +81,8 @@ public class PropSat extends Propagator<BoolVar> {
         super(new BoolVar[]{model.boolVar(true)}, PropagatorPriority.VERY_SLOW, true);// adds solver.ONE to fit to the super constructor
         this.vars = new BoolVar[0];    // erase model.ONE from the variable scope
 
-        this.indices_ = new TObjectIntHashMap<>(16,.5f, -1);
+        this.indices_ = new int[16];
+        Arrays.fill(indices_, NO_ENTRY);
         sat_ = new SatSolver();
         early_deductions_ = new TIntArrayList();
         sat_trail_ = model.getEnvironment().makeInt();
@@ -200,8 +200,14 @@ public class PropSat extends Propagator<BoolVar> {
      * @return its literal
      */
     public int makeVar(BoolVar expr) {
-        int var = indices_.get(expr);
-        if (var == -1) {
+        int vid = expr.getId();
+        if (vid >= indices_.length) {
+            int n = indices_.length;
+            indices_ = Arrays.copyOf(indices_, Math.max(vid + 1, n * 3 / 2));
+            Arrays.fill(indices_, n, indices_.length, NO_ENTRY);
+        }
+        int var = indices_[vid];
+        if (var == NO_ENTRY) {
             var = sat_.newVariable();
             assert (vars.length + add_var.size() == var);
             if(initialized) {
@@ -209,7 +215,7 @@ public class PropSat extends Propagator<BoolVar> {
             }else {
                 add_var.add(expr);
             }
-            indices_.put(expr, var);
+            indices_[vid] = var;
         }
         return var;
     }
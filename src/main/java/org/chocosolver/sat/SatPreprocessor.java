@@ -0,0 +1,746 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.sat;
+
+import gnu.trove.list.array.TIntArrayList;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * A CNF preprocessor, applied to a set of clauses before they reach the {@link SatSolver}.
+ * <p>
+ * Variables are numbered from 0 to <i>n</i>-1, a literal is encoded as <i>2.var</i> for the positive literal and
+ * <i>2.var+1</i> for the negative one.
+ * The following simplifications are applied, in rounds, until fixpoint:
+ * <ul>
+ *     <li>unit propagation,</li>
+ *     <li>equivalent-literal substitution, based on the strongly connected components of the binary implication
+ *     graph,</li>
+ *     <li>backward subsumption and self-subsuming resolution (clause strengthening),</li>
+ *     <li>bounded variable elimination (by clause distribution).</li>
+ * </ul>
+ * </p>
+ * <p>
+ * A variable is <i>frozen</i> by default: it may be referenced outside the clauses (by other constraints, or in
+ * solutions), so it is never eliminated and, when substituted by an equivalent literal, the equivalence is kept
+ * in the output.
+ * Only variables declared as eliminable with {@link #setEliminable(int)} can be removed.
+ * Such a variable does not appear anymore in the output and its value is not constrained anymore.
+ * </p>
+ * <p> Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class SatPreprocessor {
+
+    /**
+     * A variable is eliminated only if it has at most this number of occurrences.
+     */
+    public static int BVE_MAX_OCCURRENCES = 32;
+    /**
+     * A variable is eliminated only if no resolvent is longer than this value.
+     */
+    public static int BVE_MAX_RESOLVENT = 24;
+    /**
+     * Maximum number of preprocessing rounds.
+     */
+    public static int MAX_ROUNDS = 8;
+
+    private static final byte UNDEF = 0, TRUE = 1, FALSE = 2;
+    private static final int NONE = -2, SUBSUMES = -1;
+
+    /**
+     * Number of variables
+     */
+    private final int nbVars;
+    /**
+     * Clauses, as sorted arrays of literals
+     */
+    private int[][] clauses;
+    /**
+     * Signature of each clause (one bit per variable, modulo 64)
+     */
+    private long[] sigs;
+    /**
+     * Number of clauses (alive or not)
+     */
+    private int nbClauses;
+    /**
+     * Number of alive clauses
+     */
+    private int nbAlive;
+    /**
+     * Occurrence lists, indexed by literal
+     */
+    private TIntArrayList[] occurs;
+    /**
+     * Value of each literal
+     */
+    private byte[] values;
+    /**
+     * Whether a variable can be eliminated
+     */
+    private boolean[] eliminable;
+    /**
+     * Whether a variable has been removed (eliminated or substituted)
+     */
+    private boolean[] removed;
+    /**
+     * Pairs of (frozen variable, representative literal) which are equivalent
+     */
+    private final TIntArrayList equivalences;
+    /**
+     * Literals to propagate
+     */
+    private final TIntArrayList units;
+    /**
+     * Index of the next literal of {@link #units} to propagate
+     */
+    private int qhead;
+    /**
+     * Clauses to check for subsumption
+     */
+    private final TIntArrayList touched;
+    /**
+     * Whether a clause is in {@link #touched}
+     */
+    private boolean[] queued;
+    /**
+     * Set to <i>false</i> when the clauses are proven unsatisfiable
+     */
+    private boolean ok;
+    /**
+     * Enabled techniques
+     */
+    private boolean subsumption = true, elimination = true, substitution = true;
+    /**
+     * Statistics
+     */
+    private int nbSubsumed, nbStrengthened, nbEliminated, nbSubstituted;
+
+    /**
+     * Create a preprocessor for clauses over <i>n</i> variables.
+     *
+     * @param n number of variables
+     */
+    public SatPreprocessor(int n) {
+        this.nbVars = n;
+        this.clauses = new int[16][];
+        this.sigs = new long[16];
+        this.queued = new boolean[16];
+        this.occurs = new TIntArrayList[2 * n];
+        for (int i = 0; i < 2 * n; i++) {
+            occurs[i] = new TIntArrayList();
+        }
+        this.values = new byte[2 * n];
+        this.eliminable = new boolean[n];
+        this.removed = new boolean[n];
+        this.equivalences = new TIntArrayList();
+        this.units = new TIntArrayList();
+        this.touched = new TIntArrayList();
+        this.ok = true;
+    }
+
+    /**
+     * Enable or disable subsumption and self-subsuming resolution.
+     *
+     * @param enable <i>true</i> to enable it
+     */
+    public void setSubsumption(boolean enable) {
+        this.subsumption = enable;
+    }
+
+    /**
+     * Enable or disable bounded variable elimination.
+     *
+     * @param enable <i>true</i> to enable it
+     */
+    public void setElimination(boolean enable) {
+        this.elimination = enable;
+    }
+
+    /**
+     * Enable or disable equivalent-literal substitution.
+     *
+     * @param enable <i>true</i> to enable it
+     */
+    public void setSubstitution(boolean enable) {
+        this.substitution = enable;
+    }
+
+    /**
+     * Declare the variable <i>var</i> as eliminable, that is, it is not referenced outside the clauses.
+     *
+     * @param var a variable
+     */
+    public void setEliminable(int var) {
+        eliminable[var] = true;
+    }
+
+    /**
+     * @return <i>false</i> if the clauses are proven unsatisfiable
+     */
+    public boolean isOk() {
+        return ok;
+    }
+
+    /**
+     * @return number of clauses removed by subsumption
+     */
+    public int getNbSubsumed() {
+        return nbSubsumed;
+    }
+
+    /**
+     * @return number of literals removed by self-subsuming resolution
+     */
+    public int getNbStrengthened() {
+        return nbStrengthened;
+    }
+
+    /**
+     * @return number of eliminated variables
+     */
+    public int getNbEliminated() {
+        return nbEliminated;
+    }
+
+    /**
+     * @return number of variables substituted by an equivalent literal
+     */
+    public int getNbSubstituted() {
+        return nbSubstituted;
+    }
+
+    /**
+     * @return number of clauses, not counting unit clauses
+     */
+    public int getNbClauses() {
+        return nbAlive;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Add a clause. The array may be modified and stored, it should not be used by the caller anymore.
+     *
+     * @param lits literals of the clause
+     * @return <i>false</i> if the clauses are proven unsatisfiable
+     */
+    public boolean addClause(int... lits) {
+        int[] c = normalize(lits, lits.length);
+        if (c != null) {
+            store(c);
+        }
+        return ok;
+    }
+
+    /**
+     * Sort <i>lits</i>, remove duplicated and false literals.
+     *
+     * @param lits literals, modified
+     * @param size number of literals to consider
+     * @return the normalized clause, or <i>null</i> if it is satisfied, tautological or unit
+     */
+    private int[] normalize(int[] lits, int size) {
+        Arrays.sort(lits, 0, size);
+        int k = 0;
+        for (int i = 0; i < size; i++) {
+            int l = lits[i];
+            if (values[l] == TRUE || (k > 0 && lits[k - 1] == (l ^ 1))) {
+                return null;
+            }
+            if (values[l] == UNDEF && (k == 0 || lits[k - 1] != l)) {
+                lits[k++] = l;
+            }
+        }
+        if (k == 0) {
+            ok = false;
+            return null;
+        }
+        if (k == 1) {
+            enqueue(lits[0]);
+            return null;
+        }
+        return k == lits.length ? lits : Arrays.copyOf(lits, k);
+    }
+
+    private void store(int[] c) {
+        if (nbClauses == clauses.length) {
+            int n = nbClauses * 3 / 2 + 1;
+            clauses = Arrays.copyOf(clauses, n);
+            sigs = Arrays.copyOf(sigs, n);
+            queued = Arrays.copyOf(queued, n);
+        }
+        int cid = nbClauses++;
+        clauses[cid] = c;
+        sigs[cid] = signature(c);
+        for (int l : c) {
+            occurs[l].add(cid);
+        }
+        nbAlive++;
+        touch(cid);
+    }
+
+    private static long signature(int[] c) {
+        long s = 0L;
+        for (int l : c) {
+            s |= 1L << ((l >> 1) & 63);
+        }
+        return s;
+    }
+
+    private void touch(int cid) {
+        if (!queued[cid]) {
+            queued[cid] = true;
+            touched.add(cid);
+        }
+    }
+
+    private void remove(int cid) {
+        // occurrence lists are cleaned lazily
+        clauses[cid] = null;
+        nbAlive--;
+    }
+
+    private void enqueue(int lit) {
+        if (values[lit] == FALSE) {
+            ok = false;
+        } else if (values[lit] == UNDEF) {
+            values[lit] = TRUE;
+            values[lit ^ 1] = FALSE;
+            units.add(lit);
+        }
+    }
+
+    /**
+     * Remove the dead clauses from the occurrence list of <i>lit</i>.
+     *
+     * @param lit a literal
+     * @return the occurrence list of <i>lit</i>
+     */
+    private TIntArrayList occurrences(int lit) {
+        TIntArrayList occ = occurs[lit];
+        int k = 0;
+        for (int i = 0; i < occ.size(); i++) {
+            int cid = occ.getQuick(i);
+            if (clauses[cid] != null) {
+                occ.setQuick(k++, cid);
+            }
+        }
+        occ.remove(k, occ.size() - k);
+        return occ;
+    }
+
+    /**
+     * Remove the literal <i>lit</i> from the clause <i>cid</i>.
+     */
+    private void strengthen(int cid, int lit) {
+        int[] c = clauses[cid];
+        int[] d = new int[c.length - 1];
+        for (int i = 0, k = 0; i < c.length; i++) {
+            if (c[i] != lit) {
+                d[k++] = c[i];
+            }
+        }
+        occurs[lit].remove(cid);
+        if (d.length == 1) {
+            remove(cid);
+            enqueue(d[0]);
+        } else {
+            clauses[cid] = d;
+            sigs[cid] = signature(d);
+            touch(cid);
+        }
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Run the preprocessing.
+     *
+     * @return <i>false</i> if the clauses are proven unsatisfiable
+     */
+    public boolean preprocess() {
+        boolean changed = true;
+        for (int round = 0; ok && changed && round < MAX_ROUNDS; round++) {
+            changed = propagate();
+            if (ok && substitution) {
+                changed |= substitute();
+            }
+            if (ok && subsumption) {
+                changed |= subsume();
+            }
+            if (ok && elimination) {
+                changed |= eliminate();
+            }
+        }
+        if (ok) {
+            propagate();
+        }
+        return ok;
+    }
+
+    /**
+     * Unit propagation
+     *
+     * @return <i>true</i> if something changed
+     */
+    private boolean propagate() {
+        boolean changed = false;
+        while (ok && qhead < units.size()) {
+            int lit = units.getQuick(qhead++);
+            TIntArrayList occ = occurrences(lit);
+            for (int j = 0; j < occ.size(); j++) {
+                remove(occ.getQuick(j));
+            }
+            occ.resetQuick();
+            occ = occurrences(lit ^ 1);
+            int[] cids = occ.toArray();
+            for (int j = 0; ok && j < cids.length; j++) {
+                if (clauses[cids[j]] != null) {
+                    strengthen(cids[j], lit ^ 1);
+                }
+            }
+            changed |= cids.length > 0;
+        }
+        return changed;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Equivalent-literal substitution: the strongly connected components of the binary implication graph are
+     * computed, each literal of a component is replaced by a representative of the component.
+     *
+     * @return <i>true</i> if something changed
+     */
+    private boolean substitute() {
+        int n = 2 * nbVars;
+        int[] index = new int[n];
+        int[] low = new int[n];
+        Arrays.fill(index, -1);
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int sp = 0;
+        int[] calls = new int[n];
+        int[] next = new int[n];
+        int[] reps = new int[n];
+        for (int l = 0; l < n; l++) {
+            reps[l] = l;
+        }
+        int idx = 0;
+        boolean found = false;
+        // iterative Tarjan over literals, l -> l' iff the binary clause (~l v l') exists
+        for (int root = 0; root < n; root++) {
+            if (index[root] >= 0 || removed[root >> 1] || values[root] != UNDEF) continue;
+            int cp = 0;
+            calls[cp++] = root;
+            index[root] = low[root] = idx++;
+            next[root] = 0;
+            stack[sp++] = root;
+            onStack[root] = true;
+            while (cp > 0) {
+                int l = calls[cp - 1];
+                TIntArrayList occ = occurs[l ^ 1];
+                boolean pushed = false;
+                while (next[l] < occ.size()) {
+                    int[] c = clauses[occ.getQuick(next[l]++)];
+                    if (c == null || c.length != 2) continue;
+                    int m = c[0] == (l ^ 1) ? c[1] : c[0];
+                    if (index[m] < 0) {
+                        index[m] = low[m] = idx++;
+                        next[m] = 0;
+                        stack[sp++] = m;
+                        onStack[m] = true;
+                        calls[cp++] = m;
+                        pushed = true;
+                        break;
+                    } else if (onStack[m]) {
+                        low[l] = Math.min(low[l], index[m]);
+                    }
+                }
+                if (pushed) continue;
+                cp--;
+                if (cp > 0) {
+                    int p = calls[cp - 1];
+                    low[p] = Math.min(low[p], low[l]);
+                }
+                if (low[l] == index[l]) {
+                    // pop the component, its representative is the literal with the smallest key
+                    int from = sp;
+                    do {
+                        from--;
+                    } while (stack[from] != l);
+                    int rep = l;
+                    for (int i = from; i < sp; i++) {
+                        onStack[stack[i]] = false;
+                        if (key(stack[i]) < key(rep)) rep = stack[i];
+                    }
+                    for (int i = from; i < sp; i++) {
+                        reps[stack[i]] = rep;
+                        found |= stack[i] != rep;
+                    }
+                    sp = from;
+                }
+            }
+        }
+        if (!found) {
+            return false;
+        }
+        // the graph is skew-symmetric, so rep(~l) = ~rep(l), unless l and ~l are in the same component
+        for (int l = 0; l < n; l += 2) {
+            if (reps[l] == reps[l + 1]) {
+                ok = false;
+                return false;
+            }
+        }
+        for (int v = 0; v < nbVars; v++) {
+            int l = 2 * v;
+            if (reps[l] == l || removed[v]) continue;
+            int r = reps[l];
+            // rewrite the clauses of v
+            for (int s = 0; s < 2; s++) {
+                int[] cids = occurrences(l ^ s).toArray();
+                for (int cid : cids) {
+                    int[] c = clauses[cid];
+                    if (c == null) continue;
+                    remove(cid);
+                    int[] d = new int[c.length];
+                    for (int i = 0; i < c.length; i++) {
+                        d[i] = reps[c[i]];
+                    }
+                    d = normalize(d, d.length);
+                    if (d != null) {
+                        store(d);
+                    }
+                }
+                occurs[l ^ s].resetQuick();
+            }
+            removed[v] = true;
+            nbSubstituted++;
+            if (!eliminable[v]) {
+                equivalences.add(v);
+                equivalences.add(r);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Frozen variables are preferred as representative, then smaller variables.
+     */
+    private int key(int lit) {
+        int v = lit >> 1;
+        return eliminable[v] ? nbVars + v : v;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Backward subsumption and self-subsuming resolution, starting from the touched clauses.
+     *
+     * @return <i>true</i> if something changed
+     */
+    private boolean subsume() {
+        boolean changed = false;
+        while (ok && touched.size() > 0) {
+            int[] cids = touched.toArray();
+            touched.resetQuick();
+            for (int cid : cids) {
+                queued[cid] = false;
+            }
+            for (int i = 0; ok && i < cids.length; i++) {
+                int cid = cids[i];
+                int[] c = clauses[cid];
+                if (c == null) continue;
+                // the literal of c with the fewest occurrences
+                int best = c[0];
+                int bsize = Integer.MAX_VALUE;
+                for (int l : c) {
+                    int s = occurs[l].size() + occurs[l ^ 1].size();
+                    if (s < bsize) {
+                        best = l;
+                        bsize = s;
+                    }
+                }
+                for (int s = 0; s < 2 && clauses[cid] != null; s++) {
+                    int[] others = occurrences(best ^ s).toArray();
+                    for (int j = 0; ok && j < others.length && clauses[cid] != null; j++) {
+                        int did = others[j];
+                        int[] d = clauses[did];
+                        if (did == cid || d == null || d.length < c.length
+                                || (sigs[cid] & ~sigs[did]) != 0) continue;
+                        int r = subsumes(c, d);
+                        if (r == SUBSUMES) {
+                            remove(did);
+                            nbSubsumed++;
+                            changed = true;
+                        } else if (r >= 0) {
+                            strengthen(did, r);
+                            nbStrengthened++;
+                            changed = true;
+                        }
+                    }
+                }
+            }
+            propagate();
+        }
+        return changed;
+    }
+
+    /**
+     * Check whether <i>c</i> subsumes <i>d</i>, possibly with one literal flipped.
+     *
+     * @param c a sorted clause
+     * @param d a sorted clause
+     * @return {@link #SUBSUMES} if c &sube; d, a literal <i>l</i> of <i>d</i> if
+     * d can be strengthened by removing l (self-subsuming resolution), {@link #NONE} otherwise.
+     */
+    private static int subsumes(int[] c, int[] d) {
+        int flip = NONE;
+        int j = 0;
+        for (int l : c) {
+            int v = l >> 1;
+            while (j < d.length && (d[j] >> 1) < v) {
+                j++;
+            }
+            if (j == d.length || (d[j] >> 1) != v) {
+                return NONE;
+            }
+            if (d[j] != l) {
+                if (flip != NONE) {
+                    return NONE;
+                }
+                flip = d[j];
+            }
+            j++;
+        }
+        return flip == NONE ? SUBSUMES : flip;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Bounded variable elimination: an eliminable variable is removed by replacing the clauses it appears in by
+     * their non-tautological resolvents, provided it does not increase the number of clauses.
+     *
+     * @return <i>true</i> if something changed
+     */
+    private boolean eliminate() {
+        boolean changed = false;
+        TIntArrayList resolvents = new TIntArrayList();
+        TIntArrayList ends = new TIntArrayList();
+        for (int v = 0; ok && v < nbVars; v++) {
+            if (!eliminable[v] || removed[v] || values[2 * v] != UNDEF) continue;
+            int[] pos = occurrences(2 * v).toArray();
+            int[] neg = occurrences(2 * v + 1).toArray();
+            if (pos.length + neg.length > BVE_MAX_OCCURRENCES) continue;
+            resolvents.resetQuick();
+            ends.resetQuick();
+            boolean bounded = true;
+            for (int i = 0; bounded && i < pos.length; i++) {
+                for (int j = 0; bounded && j < neg.length; j++) {
+                    int size = resolve(clauses[pos[i]], clauses[neg[j]], v, resolvents);
+                    if (size > BVE_MAX_RESOLVENT) {
+                        bounded = false;
+                    } else if (size >= 0) {
+                        ends.add(resolvents.size());
+                        bounded = ends.size() <= pos.length + neg.length;
+                    }
+                }
+            }
+            if (!bounded) {
+                resolvents.resetQuick();
+                continue;
+            }
+            for (int cid : pos) {
+                remove(cid);
+            }
+            for (int cid : neg) {
+                remove(cid);
+            }
+            occurs[2 * v].resetQuick();
+            occurs[2 * v + 1].resetQuick();
+            removed[v] = true;
+            nbEliminated++;
+            changed = true;
+            for (int i = 0, from = 0; ok && i < ends.size(); i++) {
+                int to = ends.getQuick(i);
+                int[] r = resolvents.toArray(from, to - from);
+                r = normalize(r, r.length);
+                if (r != null) {
+                    store(r);
+                }
+                from = to;
+            }
+            propagate();
+        }
+        return changed;
+    }
+
+    /**
+     * Append to <i>out</i> the resolvent of <i>c</i> and <i>d</i> on <i>v</i>.
+     *
+     * @return the size of the resolvent, or -1 if it is tautological
+     */
+    private static int resolve(int[] c, int[] d, int v, TIntArrayList out) {
+        int mark = out.size();
+        int i = 0, j = 0;
+        while (i < c.length || j < d.length) {
+            int l;
+            if (j == d.length || (i < c.length && c[i] < d[j])) {
+                l = c[i++];
+            } else if (i == c.length || d[j] < c[i]) {
+                l = d[j++];
+            } else {
+                l = c[i++];
+                j++;
+            }
+            if ((l >> 1) == v) continue;
+            if (out.size() > mark && out.getQuick(out.size() - 1) == (l ^ 1)) {
+                out.remove(mark, out.size() - mark);
+                return -1;
+            }
+            out.add(l);
+        }
+        return out.size() - mark;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Iterate over the simplified clauses: unit clauses, clauses encoding the kept equivalences and remaining
+     * clauses.
+     * The given arrays must not be modified.
+     *
+     * @param consumer the clauses consumer
+     */
+    public void forEachClause(Consumer<int[]> consumer) {
+        for (int v = 0; v < nbVars; v++) {
+            if (values[2 * v] != UNDEF) {
+                consumer.accept(new int[]{values[2 * v] == TRUE ? 2 * v : 2 * v + 1});
+            }
+        }
+        for (int i = 0; i < equivalences.size(); i += 2) {
+            int l = 2 * equivalences.getQuick(i);
+            int r = equivalences.getQuick(i + 1);
+            consumer.accept(new int[]{l ^ 1, r});
+            consumer.accept(new int[]{l, r ^ 1});
+        }
+        for (int i = 0; i < nbClauses; i++) {
+            if (clauses[i] != null) {
+                consumer.accept(clauses[i]);
+            }
+        }
+    }
+}
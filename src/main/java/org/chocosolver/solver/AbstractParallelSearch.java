@@ -0,0 +1,303 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.real.RealConstraint;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Common base of parallel searches where identical models, one per worker,
+ * share the exploration of a single search tree.
+ * <p>
+ * It runs each model in its own thread, records the solutions found and,
+ * when dealing with an optimization problem, shares the best bound between models.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+abstract class AbstractParallelSearch {
+
+    /** List of {@link Model}s to be executed in parallel. */
+    protected final List<Model> models;
+
+    /** Models to copy when the resolution starts, once per copy */
+    private final List<Model> toCopy = new ArrayList<>();
+
+    /** Stores whether or not the resolution has already been run */
+    private boolean isStarted = false;
+
+    /** Set to <tt>true</tt> to stop all workers */
+    private final AtomicBoolean solverTerminated = new AtomicBoolean(false);
+
+    /** Set to <tt>true</tt> to record all solutions */
+    private boolean enumerate;
+
+    /** The best solution found so far */
+    private Solution best;
+
+    /** Solutions found when enumerating */
+    private final List<Solution> solutions;
+
+    AbstractParallelSearch() {
+        this.models = new ArrayList<>();
+        this.solutions = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    /**
+     * <p>
+     * Adds a model to the list of models to run in parallel.
+     * The model can either be a fresh one, ready for populating, or a populated one.
+     * </p>
+     * <p>
+     *     <b>Important:</b> all models must be identical and populated before the resolution starts.
+     * </p>
+     * @param model a model to add
+     */
+    public void addModel(Model model) {
+        this.models.add(model);
+    }
+
+    /**
+     * Adds a model and <i>nbCopies</i> copies of it to the list of models to run in parallel.
+     * The copies are made when the resolution starts (see {@link Model#copy()}),
+     * so that the model can still be populated after this call, and the modelling code is run only once.
+     * @param model a model to add
+     * @param nbCopies number of copies of <i>model</i> to add
+     */
+    public void addModel(Model model, int nbCopies) {
+        addModel(model);
+        for (int i = 0; i < nbCopies; i++) {
+            this.toCopy.add(model);
+        }
+    }
+
+    /**
+     * @return the (mutable!) list of models used
+     */
+    public List<Model> getModels() {
+        return models;
+    }
+
+    /**
+     * Run the resolution in parallel.
+     * <ul>
+     *     <li>When dealing with a satisfaction problem, it stops as soon as one solution is found.</li>
+     *     <li>When dealing with an optimization problem, it stops when the optimality of the best solution is proven
+     *     (or when a stop criterion is met).</li>
+     * </ul>
+     * Note that a call to {@link #getBestSolution()} returns the solution found (or the best one).
+     *
+     * @return <code>true</code> if and only if at least one solution has been found.
+     * @throws SolverException if no model has been added, if the resolution has already been run
+     * or if a worker fails.
+     */
+    public boolean solve() {
+        makeCopies();
+        check();
+        run(models.get(0).getResolutionPolicy() != ResolutionPolicy.SATISFACTION);
+        return best != null;
+    }
+
+    /**
+     * Enumerates in parallel all solutions of a satisfaction problem.
+     * The order in which solutions are found is not deterministic.
+     *
+     * @return a list that contains the solutions found.
+     * @throws SolverException if no model has been added, if the problem is an optimization one,
+     * if the resolution has already been run or if a worker fails.
+     */
+    public List<Solution> findAllSolutions() {
+        makeCopies();
+        check();
+        if (models.get(0).getResolutionPolicy() != ResolutionPolicy.SATISFACTION) {
+            throw new SolverException("Only solutions of a satisfaction problem can be enumerated.");
+        }
+        enumerate = true;
+        run(true);
+        return new ArrayList<>(solutions);
+    }
+
+    /**
+     * @return the solution found (or the best one) or <tt>null</tt> if no solution has been found.
+     * Values of variables of any model can be read from it.
+     */
+    public Solution getBestSolution() {
+        return best;
+    }
+
+    /**
+     * Prepare the models before running them in parallel.
+     * @return <tt>false</tt> if the problem is proven to have no solution
+     */
+    protected abstract boolean prepare();
+
+    /**
+     * Called when a worker ends its resolution.
+     * @param index index of the worker
+     */
+    protected void retire(int index) {
+    }
+
+    /**
+     * Called when a worker improves the best solution of an optimization problem,
+     * in the thread of that worker.
+     * @param index index of the worker
+     * @param previous the previous best solution, or <tt>null</tt>
+     * @param best the new best solution
+     */
+    protected void improved(int index, Solution previous, Solution best) {
+    }
+
+    /**
+     * Stop all the workers.
+     */
+    protected void terminate() {
+        solverTerminated.set(true);
+    }
+
+    /**
+     * Run the models in parallel, one thread per model.
+     * If the calling thread is interrupted, the workers are stopped and the interrupt flag is restored.
+     * @param complete set to <tt>true</tt> to let each worker explore its part of the search tree completely
+     * @throws SolverException if a worker fails
+     */
+    private void run(boolean complete) {
+        isStarted = true;
+        for (Model m : models) {
+            m.getSolver().plugMonitor((IMonitorSolution) () -> updateFromSolution(m));
+            m.getSolver().addStopCriterion(solverTerminated::get);
+        }
+        if (!prepare()) {
+            return;
+        }
+        int n = models.size();
+        ExecutorService executor = Executors.newFixedThreadPool(n);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    try {
+                        Solver s = models.get(index).getSolver();
+                        if (complete) {
+                            //noinspection StatementWithEmptyBody
+                            while (s.solve()) ;
+                        } else {
+                            s.solve();
+                        }
+                    } catch (RuntimeException e) {
+                        // stop the other workers
+                        terminate();
+                        throw e;
+                    } finally {
+                        retire(index);
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            terminate();
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            terminate();
+            throw new SolverException("A worker failed: " + e.getCause(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Record the solution found by <i>m</i> and, when dealing with an optimization problem,
+     * share the new bound with all models.
+     * @param m the model which found a solution
+     */
+    private synchronized void updateFromSolution(Model m) {
+        if (m.getResolutionPolicy() == ResolutionPolicy.SATISFACTION) {
+            if (enumerate) {
+                best = new Solution(m).record();
+                solutions.add(best);
+            } else if (best == null) {
+                best = new Solution(m).record();
+                terminate();
+            }
+        } else {
+            IntVar objective = (IntVar) m.getObjective();
+            int val = objective.getValue();
+            boolean max = m.getResolutionPolicy() == ResolutionPolicy.MAXIMIZE;
+            if (best == null
+                    || (max && val > best.getIntVal(objective))
+                    || (!max && val < best.getIntVal(objective))) {
+                Solution previous = best;
+                best = new Solution(m).record();
+                improved(models.indexOf(m), previous, best);
+                if (max) {
+                    models.forEach(s1 -> s1.getSolver().getObjectiveManager().updateBestLB(val));
+                } else {
+                    models.forEach(s1 -> s1.getSolver().getObjectiveManager().updateBestUB(val));
+                }
+            }
+        }
+    }
+
+    private void makeCopies() {
+        for (Model m : toCopy) {
+            models.add(m.copy());
+        }
+        toCopy.clear();
+    }
+
+    private void check() {
+        if (isStarted) {
+            throw new SolverException("The parallel search has already been run.");
+        }
+        if (models.size() == 0) {
+            throw new SolverException("No model found.");
+        }
+        ResolutionPolicy policy = models.get(0).getResolutionPolicy();
+        for (Model m : models) {
+            if (m.getResolutionPolicy() != policy) {
+                throw new SolverException("All models must have the same resolution policy.");
+            }
+        }
+        if (policy != ResolutionPolicy.SATISFACTION) {
+            Variable objective = models.get(0).getObjective();
+            if (objective == null) {
+                throw new UnsupportedOperationException("No objective has been defined");
+            }
+            if ((objective.getTypeAndKind() & Variable.REAL) != 0) {
+                throw new UnsupportedOperationException("Only integer objective is supported");
+            }
+            for (Constraint c : models.get(0).getCstrs()) {
+                if (c instanceof RealConstraint) {
+                    throw new UnsupportedOperationException("" +
+                            "Ibex is not multithread safe, parallel search cannot be used");
+                }
+            }
+        }
+    }
+}
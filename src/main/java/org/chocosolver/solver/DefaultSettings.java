@@ -11,6 +11,7 @@ package org.chocosolver.solver;
 
 import org.chocosolver.memory.Except_0;
 import org.chocosolver.memory.ICondition;
+import org.chocosolver.solver.constraints.nary.clauses.ClauseStore;
 import org.chocosolver.solver.search.strategy.Search;
 import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
 import org.chocosolver.util.ESat;
@@ -46,6 +47,8 @@ public class DefaultSettings implements Settings {
 
     private int maxDomSizeForEnumerated = 32_768;
 
+    private int minDomSizeForSparseSet = Integer.MAX_VALUE;
+
     private int minCardForSumDecomposition = 1024;
 
     private boolean enableTableSubstitution = true;
@@ -82,6 +85,8 @@ public class DefaultSettings implements Settings {
 
     private byte hybridEngine = 0b00;
 
+    private boolean denseEngine = false;
+
     private int nbMaxLearnt = 100_000;
 
     private int maxLearntCardinlity = Integer.MAX_VALUE / 100;
@@ -90,6 +95,8 @@ public class DefaultSettings implements Settings {
 
     private int dominancePerimeter = 4;
 
+    private ClauseStore.ReductionPolicy reductionPolicy = ClauseStore.ReductionPolicy.ACTIVITY;
+
     private boolean explainGlobalFailureInSum = true;
 
     private Function<Model, Solver> initSolver = Solver::new;
@@ -157,6 +164,17 @@ public class DefaultSettings implements Settings {
         return this;
     }
 
+    @Override
+    public int getMinDomSizeForSparseSet() {
+        return minDomSizeForSparseSet;
+    }
+
+    @Override
+    public DefaultSettings setMinDomSizeForSparseSet(int minDomSizeForSparseSet) {
+        this.minDomSizeForSparseSet = minDomSizeForSparseSet;
+        return this;
+    }
+
     @Override
     public int getMinCardForSumDecomposition() {
         return minCardForSumDecomposition;
@@ -367,6 +385,17 @@ public class DefaultSettings implements Settings {
         return this;
     }
 
+    @Override
+    public boolean enableDensePropagationEngine() {
+        return denseEngine;
+    }
+
+    @Override
+    public Settings setDensePropagationEngine(boolean dense) {
+        this.denseEngine = dense;
+        return this;
+    }
+
     @Override
     public int getNbMaxLearntClauses() {
         return nbMaxLearnt;
@@ -411,6 +440,17 @@ public class DefaultSettings implements Settings {
         return this;
     }
 
+    @Override
+    public ClauseStore.ReductionPolicy getLearntClausesReductionPolicy() {
+        return reductionPolicy;
+    }
+
+    @Override
+    public Settings setLearntClausesReductionPolicy(ClauseStore.ReductionPolicy policy) {
+        this.reductionPolicy = policy;
+        return this;
+    }
+
     @Override
     public boolean explainGlobalFailureInSum() {
         return explainGlobalFailureInSum;
@@ -0,0 +1,351 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.search.strategy.decision.Decision;
+import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ *     An Embarrassingly Parallel Search (EPS) helper.
+ * </p>
+ * <p>
+ *     Instead of running different search strategies on the same problem, like {@link ParallelPortfolio} does,
+ *     EPS decomposes the problem into many independent subproblems which are then solved in parallel.
+ *     The resolution is made of three steps:
+ *      <ol>
+ *          <li>adding models to be run in parallel, one per worker,</li>
+ *          <li>running resolution in parallel, with {@link #solve()} or {@link #findAllSolutions()},</li>
+ *          <li>getting the solution found (or the best one), if any, with {@link #getBestSolution()}.</li>
+ *      </ol>
+ *     <b>All models must be identical</b>, that is, built by the same modelling code,
+ *     since subproblems and solutions are exchanged between models thanks to variables' position and id.
+ * </p>
+ * <p>
+ *     The decomposition is computed on the first model, after the initial propagation.
+ *     The decision variables, that is the integer variables of the declared search strategy or,
+ *     if none, all integer variables, are instantiated in order,
+ *     level by level, until the number of consistent partial assignments reaches
+ *     <i>subproblemsPerWorker</i> &times; <i>number of models</i> or all decision variables are instantiated.
+ *     Each partial assignment which survives propagation is a subproblem.
+ * </p>
+ * <p>
+ *     Subproblems are dealt out to the workers which solve them one after the other, each on its own model
+ *     and with its own search strategy.
+ *     When a worker has no more subproblem to solve, it steals one from the other workers.
+ *     When dealing with an optimization problem, the best bound found so far is shared between models.
+ * </p>
+ * <p>
+ *     Note that workers can restart, but cannot run a Large Neighborhood Search nor record no-goods from restarts.
+ *     An instance of this class can be run only once.
+ * </p>
+ * <pre>
+ * <code>EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch();
+ * int n = 4; // number of models to use
+ * for (int i = 0; i < n; i++) {
+ *      eps.addModel(modeller());
+ * }
+ * List&lt;Solution&gt; solutions = eps.findAllSolutions();
+ * </code>
+ * </pre>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @see ParallelPortfolio
+ * @since 18/10/2019.
+ */
+public class EmbarrassinglyParallelSearch extends AbstractParallelSearch {
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////       VARIABLES       //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /** Expected number of subproblems per worker */
+    private final int subproblemsPerWorker;
+
+    /** One deque of subproblems per worker */
+    private ConcurrentLinkedDeque<int[]>[] pool;
+
+    /** Number of subproblems */
+    private int nbSubproblems;
+
+    /** Number of subproblems stolen */
+    private final AtomicInteger nbSteals = new AtomicInteger();
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////     CONSTRUCTOR       //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates a new EPS helper, which aims at generating 30 subproblems per worker.
+     */
+    public EmbarrassinglyParallelSearch() {
+        this(30);
+    }
+
+    /**
+     * Creates a new EPS helper.
+     * @param subproblemsPerWorker expected number of subproblems per worker
+     */
+    public EmbarrassinglyParallelSearch(int subproblemsPerWorker) {
+        if (subproblemsPerWorker < 1) {
+            throw new SolverException("The number of subproblems per worker must be positive.");
+        }
+        this.subproblemsPerWorker = subproblemsPerWorker;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////          API          //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return the number of subproblems computed by the decomposition.
+     */
+    public int getSubproblemCount() {
+        return nbSubproblems;
+    }
+
+    /**
+     * @return the number of subproblems a worker has stolen from another one.
+     */
+    public int getStealCount() {
+        return nbSteals.get();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////   INTERNAL METHODS    //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Set up the workers, then decompose the problem into subproblems and deal them out.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    protected boolean prepare() {
+        int n = models.size();
+        Worker[] workers = new Worker[n];
+        for (int i = 0; i < n; i++) {
+            workers[i] = new Worker(i, models.get(i));
+        }
+        // the first model is initialized here, to compute the decomposition from its root node
+        Solver s0 = models.get(0).getSolver();
+        s0.getSearchMonitors().beforeInitialize();
+        boolean ok = s0.initialize();
+        s0.getSearchMonitors().afterInitialize(ok);
+        if (!ok) {
+            return false;
+        }
+        List<int[]> subproblems = decompose(s0, workers[0].getVariables(), subproblemsPerWorker * n);
+        nbSubproblems = subproblems.size();
+        pool = new ConcurrentLinkedDeque[n];
+        for (int i = 0; i < n; i++) {
+            pool[i] = new ConcurrentLinkedDeque<>();
+        }
+        for (int i = 0; i < nbSubproblems; i++) {
+            pool[i % n].addLast(subproblems.get(i));
+        }
+        return true;
+    }
+
+    /**
+     * Compute consistent partial assignments of <i>vars</i>, level by level,
+     * until at least <i>target</i> ones are found or no more variable can be instantiated.
+     * The state of <i>solver</i> is restored on exit.
+     * @param solver the solver of the first model, at root node
+     * @param vars decision variables
+     * @param target expected number of subproblems
+     * @return a list of subproblems, each of them is made of pairs (variable index, value)
+     */
+    private static List<int[]> decompose(Solver solver, IntVar[] vars, int target) {
+        IEnvironment environment = solver.getEnvironment();
+        List<int[]> frontier = new ArrayList<>();
+        frontier.add(new int[0]);
+        boolean expanded = true;
+        while (expanded && frontier.size() < target) {
+            expanded = false;
+            List<int[]> next = new ArrayList<>();
+            for (int[] sp : frontier) {
+                environment.worldPush();
+                boolean consistent = apply(solver, vars, sp);
+                assert consistent;
+                int i = 0;
+                while (i < vars.length && vars[i].isInstantiated()) {
+                    i++;
+                }
+                if (i == vars.length) {
+                    next.add(sp);
+                } else {
+                    expanded = true;
+                    IntVar var = vars[i];
+                    int ub = var.getUB();
+                    for (int v = var.getLB(); v <= ub; v = var.nextValue(v)) {
+                        int[] child = Arrays.copyOf(sp, sp.length + 2);
+                        child[sp.length] = i;
+                        child[sp.length + 1] = v;
+                        environment.worldPush();
+                        if (apply(solver, vars, new int[]{i, v})) {
+                            next.add(child);
+                        }
+                        environment.worldPop();
+                    }
+                }
+                environment.worldPop();
+            }
+            frontier = next;
+        }
+        return frontier;
+    }
+
+    /**
+     * Instantiate variables wrt to <i>subproblem</i> and propagate.
+     * @param solver a solver
+     * @param vars decision variables
+     * @param subproblem pairs (variable index, value)
+     * @return <tt>false</tt> if a failure occurred
+     */
+    private static boolean apply(Solver solver, IntVar[] vars, int[] subproblem) {
+        try {
+            for (int k = 0; k < subproblem.length; k += 2) {
+                vars[subproblem[k]].instantiateTo(subproblem[k + 1], Cause.Null);
+            }
+            solver.getEngine().propagate();
+            return true;
+        } catch (ContradictionException e) {
+            solver.getEngine().flush();
+            return false;
+        }
+    }
+
+    /**
+     * Retrieve a subproblem for a worker, stealing it from another worker if needed.
+     * @param index index of the worker
+     * @return a subproblem, or <tt>null</tt> if there is no more subproblem to solve
+     */
+    private int[] next(int index) {
+        int[] sp = pool[index].pollFirst();
+        for (int k = 1; sp == null && k < pool.length; k++) {
+            sp = pool[(index + k) % pool.length].pollLast();
+            if (sp != null) {
+                nbSteals.incrementAndGet();
+            }
+        }
+        return sp;
+    }
+
+    /**
+     * A worker, in charge of solving subproblems on a model.
+     * It serves as search strategy: at root node, it provides a {@link SubproblemDecision},
+     * then it gives the hand to the declared search strategy.
+     */
+    private final class Worker extends AbstractStrategy<IntVar> {
+
+        /** Index of this worker */
+        private final int index;
+        /** The model of this worker */
+        private final Model model;
+        /** Subproblem being solved, kept to resume it after a restart */
+        private int[] current;
+
+        Worker(int index, Model model) {
+            super(decisionVariables(model));
+            this.index = index;
+            this.model = model;
+            Solver solver = model.getSolver();
+            AbstractStrategy declared = solver.getSearch();
+            if (declared == null) {
+                declared = Search.defaultSearch(model);
+            }
+            solver.setSearch(this, declared);
+        }
+
+        @Override
+        public Decision<IntVar> getDecision() {
+            if (model.getSolver().getDecisionPath().size() == 1) {
+                return new SubproblemDecision(this);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * @param model a model
+     * @return integer variables of the declared search strategy or, if none, all integer variables of <i>model</i>
+     */
+    private static IntVar[] decisionVariables(Model model) {
+        AbstractStrategy<?> declared = model.getSolver().getSearch();
+        if (declared != null && declared.getVariables().length > 0) {
+            return Arrays.stream(declared.getVariables())
+                    .filter(v -> (v.getTypeAndKind() & Variable.KIND) == Variable.INT
+                            || (v.getTypeAndKind() & Variable.KIND) == Variable.BOOL)
+                    .distinct()
+                    .toArray(IntVar[]::new);
+        }
+        return model.retrieveIntVars(true);
+    }
+
+    /**
+     * A decision which applies, on each branch, a new subproblem.
+     * When no more subproblem remains, it fails and cannot be refuted anymore, which ends the search of the worker.
+     */
+    private final class SubproblemDecision extends Decision<IntVar> {
+
+        private final Worker worker;
+
+        SubproblemDecision(Worker worker) {
+            super(Integer.MAX_VALUE);
+            this.worker = worker;
+        }
+
+        @Override
+        public void apply() throws ContradictionException {
+            // on first branch, resume the current subproblem, if any (e.g., after a restart)
+            if (branch > 1 || worker.current == null) {
+                worker.current = next(worker.index);
+            }
+            int[] sp = worker.current;
+            if (sp == null) {
+                max_branching = branch;
+                worker.model.getSolver().throwsException(this, null, "no more subproblem");
+            } else {
+                for (int k = 0; k < sp.length; k += 2) {
+                    worker.getVariables()[sp[k]].instantiateTo(sp[k + 1], this);
+                }
+            }
+        }
+
+        @Override
+        public Object getDecisionValue() {
+            return worker.current;
+        }
+
+        @Override
+        public void free() {
+            // nothing to do
+        }
+
+        @Override
+        public String toString() {
+            return "subproblem " + Arrays.toString(worker.current);
+        }
+    }
+}
@@ -328,6 +328,31 @@ public class Model implements IModel {
         return solver;
     }
 
+    /**
+     * Creates a deep copy of this model: variables, constraints and propagators are duplicated,
+     * through {@link Variable#copy(Model, Map)} and {@link org.chocosolver.solver.constraints.Propagator#copy(Model, Map)},
+     * whereas immutable data, like {@link org.chocosolver.solver.constraints.extension.Tuples}, are shared.
+     * The copy can be solved independently of this model, for instance in a {@link ParallelPortfolio},
+     * without running the modelling code again.
+     * Variables of the copy have the same name, the same id and the same current domain than the ones of this model.
+     * The search strategy, the search monitors and the limits of the solver are not copied.
+     * <p>
+     * Only a subset of the propagators supports copy: arithmetic (unary, binary and ternary, sums and scalar products),
+     * element on integer values, allDifferent, extension (table, regular and MDD) and the reified propagators of
+     * {@code x = c}, {@code x < c}, {@code x in S}, {@code x = y + c} and {@code x < y + c}.
+     * Other global constraints (count, cumulative, disjunctive, ...) and reification of arbitrary constraints
+     * are not supported yet and make this method fail.
+     * <p>
+     * This should be called before the resolution starts.
+     *
+     * @return a copy of this model
+     * @throws org.chocosolver.solver.exception.SolverException if this model cannot be copied
+     * @see ModelCopier
+     */
+    public Model copy() {
+        return new ModelCopier().copy(this);
+    }
+
     /**
      * Returns the array of <code>Variable</code> objects declared in this <code>Model</code>.
      *
@@ -829,6 +854,27 @@ public class Model implements IModel {
         return nameId++;
     }
 
+    /**
+     * Set the next id to give to a variable or a propagator, so that a copy keeps the ids of the original objects.
+     *
+     * @param id the next id to use
+     * @see ModelCopier
+     */
+    void setNextId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Set the counters of ids and of names of this model to the ones of <i>model</i>, this being a copy of it.
+     *
+     * @param model the model this is a copy of
+     * @see ModelCopier
+     */
+    void copyCounters(Model model) {
+        this.id = model.id;
+        this.nameId = model.nameId;
+    }
+
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     ///////////////////////////////////////     RELATED TO CSTR DECLARATION     ////////////////////////////////////////
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -0,0 +1,215 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import gnu.trove.map.hash.TIntObjectHashMap;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.extension.Tuples;
+import org.chocosolver.solver.constraints.nary.automata.FA.FiniteAutomaton;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.variables.BoolVar;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Task;
+import org.chocosolver.solver.variables.Variable;
+import org.chocosolver.util.objects.graphs.MultivaluedDecisionDiagram;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * A deep copier of {@link Model}.
+ * <p>
+ * The copy relies on an explicit protocol: each variable is copied by {@link Variable#copy(Model, Map)},
+ * in declaration order so that a view is copied after the variable it observes,
+ * then each posted constraint is rebuilt from the copies of its propagators, made by {@link Propagator#copy(Model, Map)}.
+ * Variables keep their name, their id and their current domain; propagators are copied in the state of newly
+ * created ones and keep their id.
+ * Immutable data, like {@link Tuples}, {@link FiniteAutomaton} or {@link MultivaluedDecisionDiagram},
+ * are shared by a propagator and its copy.
+ * </p>
+ * <p>
+ * Declared tasks, the objective and the hooks are copied too.
+ * A hook can only be a variable, a task, an immutable object (string, number, boolean, enumeration,
+ * {@link Tuples}, {@link FiniteAutomaton} or {@link MultivaluedDecisionDiagram}) or an array of them, which is copied.
+ * The solver of the copy is not configured: search strategy, search monitors and limits are not copied.
+ * </p>
+ * <p>
+ * A model which declares a variable, a propagator or a hook which does not support copy cannot be copied,
+ * nor a model using Ibex.
+ * Note that a model should be copied before its resolution starts.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @see Model#copy()
+ * @since 18/10/2019.
+ */
+public class ModelCopier {
+
+    /**
+     * Create a deep copy of <i>model</i>.
+     *
+     * @param model the model to copy
+     * @return a copy of <i>model</i>
+     * @throws SolverException if the model cannot be copied
+     */
+    public Model copy(Model model) {
+        if (model.getHook(Model.IBEX_HOOK_NAME) != null) {
+            throw new SolverException("A model using Ibex cannot be copied");
+        }
+        Map<Object, Object> copies = new IdentityHashMap<>();
+        Model copy = new Model(model.getName(), model.getSettings());
+        copyVariables(model, copy, copies);
+        copyTasks(model, copies);
+        copyConstraints(model, copy, copies);
+        copy.copyCounters(model);
+        if (model.getObjective() != null) {
+            copy.setObjective(model.getResolutionPolicy() == ResolutionPolicy.MAXIMIZE,
+                    copyOf(model.getObjective(), copies));
+        }
+        copy.setPrecision(model.getPrecision());
+        for (Map.Entry<String, Object> hook : model.getHooks().entrySet()) {
+            // hooks maintained while building the copy, like declared tasks, are kept
+            if (copy.getHook(hook.getKey()) == null) {
+                copy.addHook(hook.getKey(), copyHook(hook.getKey(), hook.getValue(), copies));
+            }
+        }
+        return copy;
+    }
+
+    private static void copyVariables(Model model, Model copy, Map<Object, Object> copies) {
+        Variable[] vars = model.getVars();
+        for (Variable var : vars) {
+            copy.setNextId(var.getId());
+            copies.put(var, check(var, var.copy(copy, copies)));
+        }
+        // restore the links between boolean variables and their negation
+        for (Variable var : vars) {
+            if (var instanceof BoolVar) {
+                BoolVar b = (BoolVar) var;
+                BoolVar c = copyOf(b, copies);
+                if (c.isNot() != b.isNot()) {
+                    c.setNot(b.isNot());
+                }
+                if (b.hasNot()) {
+                    c._setNot(copyOf(b.not(), copies));
+                }
+            }
+        }
+        TIntObjectHashMap<IntVar> constants = copy.getCachedConstants();
+        model.getCachedConstants().forEachEntry((v, c) -> {
+            constants.put(v, copyOf(c, copies));
+            return true;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void copyTasks(Model model, Map<Object, Object> copies) {
+        ArrayList<Task> tasks = (ArrayList<Task>) model.getHook(Model.TASK_SET_HOOK_NAME);
+        if (tasks != null) {
+            for (Task t : tasks) {
+                // the copy declares itself in the model of its variables
+                copies.put(t, new Task(copyOf(t.getStart(), copies),
+                        copyOf(t.getDuration(), copies),
+                        copyOf(t.getEnd(), copies)));
+            }
+        }
+    }
+
+    private static void copyConstraints(Model model, Model copy, Map<Object, Object> copies) {
+        for (Constraint c : model.getCstrs()) {
+            Propagator<?>[] props = c.getPropagators();
+            Propagator<?>[] cprops = new Propagator<?>[props.length];
+            for (int i = 0; i < props.length; i++) {
+                copy.setNextId(props[i].getId());
+                cprops[i] = check(props[i], props[i].copy(copy, copies));
+                copies.put(props[i], cprops[i]);
+            }
+            Constraint cc = new Constraint(c.getName(), cprops);
+            copies.put(c, cc);
+            copy.post(cc);
+        }
+    }
+
+    /**
+     * Copy the value of a hook: variables and tasks are replaced by their copy,
+     * arrays are copied and immutable objects are shared.
+     */
+    private static Object copyHook(String name, Object o, Map<Object, Object> copies) {
+        if (o == null || o instanceof String || o instanceof Number || o instanceof Boolean
+                || o instanceof Character || o instanceof Enum
+                || o instanceof Tuples || o instanceof FiniteAutomaton || o instanceof MultivaluedDecisionDiagram) {
+            return o;
+        }
+        if (copies.containsKey(o)) {
+            return copies.get(o);
+        }
+        Class<?> clazz = o.getClass();
+        if (clazz.isArray()) {
+            int length = Array.getLength(o);
+            Object c = Array.newInstance(clazz.getComponentType(), length);
+            if (clazz.getComponentType().isPrimitive()) {
+                //noinspection SuspiciousSystemArraycopy
+                System.arraycopy(o, 0, c, 0, length);
+            } else {
+                for (int i = 0; i < length; i++) {
+                    Array.set(c, i, copyHook(name, Array.get(o, i), copies));
+                }
+            }
+            return c;
+        }
+        throw new SolverException("The hook " + name + " (" + clazz.getSimpleName() + ") cannot be copied");
+    }
+
+    /**
+     * Ensure that <i>c</i> is an actual copy of <i>o</i> and not the one of a super class.
+     */
+    private static <T> T check(Object o, T c) {
+        if (c == null || c.getClass() != o.getClass()) {
+            throw new SolverException(o.getClass().getSimpleName() + " cannot be copied");
+        }
+        return c;
+    }
+
+    /**
+     * @param o      an object of the original model, already copied
+     * @param copies maps the objects of the original model already copied to their copies
+     * @param <T>    type of <i>o</i>
+     * @return the copy of <i>o</i>
+     * @throws SolverException if <i>o</i> has not been copied yet
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T copyOf(T o, Map<Object, Object> copies) {
+        Object c = copies.get(o);
+        if (c == null) {
+            throw new SolverException(o + " has not been copied");
+        }
+        return (T) c;
+    }
+
+    /**
+     * @param os     objects of the original model, already copied
+     * @param copies maps the objects of the original model already copied to their copies
+     * @param <T>    type of the objects
+     * @return a new array, of the same type than <i>os</i>, made of the copies of <i>os</i>
+     * @throws SolverException if an object has not been copied yet
+     */
+    public static <T> T[] copyOf(T[] os, Map<Object, Object> copies) {
+        T[] cs = os.clone();
+        for (int i = 0; i < os.length; i++) {
+            cs[i] = copyOf(os[i], copies);
+        }
+        return cs;
+    }
+}
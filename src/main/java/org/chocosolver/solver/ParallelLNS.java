@@ -0,0 +1,152 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.SearchState;
+import org.chocosolver.solver.search.limits.FailCounter;
+import org.chocosolver.solver.search.loop.lns.INeighborFactory;
+import org.chocosolver.solver.search.loop.lns.SharedIncumbent;
+import org.chocosolver.solver.search.loop.lns.neighbors.INeighbor;
+import org.chocosolver.solver.search.loop.lns.neighbors.ParallelNeighborhood;
+import org.chocosolver.solver.search.loop.move.MoveParallelLNS;
+import org.chocosolver.solver.variables.IntVar;
+
+import java.util.function.Function;
+
+/**
+ * <p>
+ *     A parallel Large Neighborhood Search helper, for optimization problems.
+ * </p>
+ * <p>
+ *     Each worker runs a LNS on its own model: it relaxes and repairs a fragment of the shared incumbent solution.
+ *     Improving solutions are merged into a central incumbent ({@link SharedIncumbent}),
+ *     the new bound is propagated to all models and each worker relaxes the new incumbent from its next fragment on.
+ *     Workers start with different neighborhoods, then the neighborhood to apply is selected
+ *     thanks to statistics kept per neighborhood and shared by all workers (see {@link #getStatistics()}).
+ * </p>
+ * <p>
+ *     <b>All models must be identical</b>, that is, built by the same modelling code,
+ *     since solutions are exchanged between models thanks to variables' id.
+ *     The neighborhoods of each model are built by a function given on construction,
+ *     which must return the same neighborhoods, in the same order, for any model.
+ *     A stop criterion (e.g., a time limit) should be declared on each model,
+ *     since the resolution ends only when the optimality of the incumbent is proven.
+ *     An instance of this class can be run only once.
+ * </p>
+ * <pre>
+ * <code>ParallelLNS plns = new ParallelLNS();
+ * int n = 4; // number of models to use
+ * for (int i = 0; i < n; i++) {
+ *      Model model = modeller();
+ *      model.getSolver().limitTime("10s");
+ *      plns.addModel(model);
+ * }
+ * plns.solve();
+ * Solution best = plns.getBestSolution();
+ * </code>
+ * </pre>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @see MoveParallelLNS
+ * @since 18/10/2019.
+ */
+public class ParallelLNS extends AbstractParallelSearch {
+
+    /** Build the neighborhoods of a model */
+    private final Function<Model, INeighbor[]> neighborhoods;
+
+    /** Number of fails before a new fragment is built */
+    private final int fails;
+
+    /** The incumbent shared by the workers */
+    private SharedIncumbent shared;
+
+    /** The neighbor of each worker */
+    private ParallelNeighborhood[] workers;
+
+    /**
+     * Creates a new parallel LNS helper, where each worker applies propagation-guided, reversed propagation-guided
+     * and random neighborhoods on the integer variables of its model, and a new fragment is built every 1000 fails.
+     */
+    public ParallelLNS() {
+        this(m -> {
+            IntVar[] vars = m.retrieveIntVars(true);
+            return new INeighbor[]{
+                    INeighborFactory.propagationGuided(vars),
+                    INeighborFactory.reversedPropagationGuided(vars),
+                    INeighborFactory.random(vars)
+            };
+        }, 1000);
+    }
+
+    /**
+     * Creates a new parallel LNS helper.
+     *
+     * @param neighborhoods builds the neighborhoods of a model, the same ones in the same order for any model
+     * @param fails         number of fails before a new fragment is built
+     */
+    public ParallelLNS(Function<Model, INeighbor[]> neighborhoods, int fails) {
+        super();
+        this.neighborhoods = neighborhoods;
+        this.fails = fails;
+    }
+
+    /**
+     * @return the incumbent shared by workers, with the statistics per neighborhood,
+     * or <tt>null</tt> if the resolution has not started yet.
+     */
+    public SharedIncumbent getStatistics() {
+        return shared;
+    }
+
+    @Override
+    protected boolean prepare() {
+        if (models.get(0).getResolutionPolicy() == ResolutionPolicy.SATISFACTION) {
+            throw new SolverException("Parallel LNS requires an optimization problem.");
+        }
+        workers = new ParallelNeighborhood[models.size()];
+        for (int i = 0; i < models.size(); i++) {
+            Model m = models.get(i);
+            INeighbor[] ns = neighborhoods.apply(m);
+            if (shared == null) {
+                shared = new SharedIncumbent(ns.length);
+            } else if (ns.length != shared.getNbNeighborhoods()) {
+                throw new SolverException("All models must have the same number of neighborhoods.");
+            }
+            workers[i] = new ParallelNeighborhood(ns, shared, i, i);
+            Solver solver = m.getSolver();
+            solver.setMove(new MoveParallelLNS(solver.getMove(), workers[i], new FailCounter(m, fails), shared));
+        }
+        return true;
+    }
+
+    @Override
+    protected void improved(int index, Solution previous, Solution best) {
+        long gain = 0;
+        if (previous != null) {
+            IntVar objective = (IntVar) models.get(index).getObjective();
+            gain = Math.abs((long) best.getIntVal(objective) - previous.getIntVal(objective));
+        }
+        // the worker already relaxes its own solution
+        workers[index].setLoaded(best);
+        shared.improve(best, workers[index].getCurrent(), gain);
+    }
+
+    @Override
+    protected void retire(int index) {
+        if (models.get(index).getSolver().getSearchState() == SearchState.TERMINATED) {
+            // the search ends normally only when optimality is proven
+            terminate();
+        }
+    }
+}
@@ -31,6 +31,7 @@ import org.chocosolver.solver.exception.SolverException;
 import org.chocosolver.solver.search.limits.FailCounter;
 import org.chocosolver.solver.search.loop.lns.INeighborFactory;
 import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
+import org.chocosolver.solver.search.loop.monitors.NogoodExchange;
 import org.chocosolver.solver.search.strategy.Search;
 import org.chocosolver.solver.search.strategy.selectors.values.IntDomainBest;
 import org.chocosolver.solver.search.strategy.selectors.values.IntDomainLast;
@@ -77,6 +78,10 @@ import org.chocosolver.solver.variables.Variable;
  *     is propagated among all models, so different objectives may lead to wrong results.
  * </p>
  * <p>
+ *     When the models are identical, a cooperative mode can be enabled with {@link #enableNogoodSharing(int)}:
+ *     short no-goods and root-level fixings are then exchanged between models on restarts.
+ * </p>
+ * <p>
  *     Since there is no condition on the similarity of the models,
  *     once the resolution ends, the model which finds the (best) solution is internally stored.
  * </p>
@@ -126,6 +131,15 @@ public class ParallelPortfolio {
     /** Point to (one of) the solver(s) which found a solution */
     private Model finder;
 
+    /** Models to copy when the resolution starts, once per copy */
+    private final List<Model> toCopy = new ArrayList<>();
+
+    /** Maximum cardinality of shared no-goods, 0 when no-goods are not shared */
+    private int nogoodSharing = 0;
+
+    /** Exchange of no-goods between models, created when the resolution starts */
+    private NogoodExchange exchange;
+
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     ///////////////////////////////////////      CONSTRUCTOR      //////////////////////////////////////////////////////
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -179,6 +193,46 @@ public class ParallelPortfolio {
         this.models.add(model);
     }
 
+    /**
+     * <p>
+     * Adds a model and <i>nbCopies</i> copies of it to the list of models to run in parallel.
+     * The copies are made when the resolution starts (see {@link Model#copy()}),
+     * so that the model can still be populated after this call, and the modelling code is run only once.
+     * </p>
+     * @param model a model to add
+     * @param nbCopies number of copies of <i>model</i> to add
+     */
+    public void addModel(Model model, int nbCopies){
+        addModel(model);
+        for (int i = 0; i < nbCopies; i++) {
+            this.toCopy.add(model);
+        }
+    }
+
+    /**
+     * <p>
+     * Enables cooperation between models: learnt no-goods whose cardinality is less than or equal to <i>maxCard</i>
+     * and variables instantiated at root node are published by each model and imported by the other ones
+     * on restarts (see {@link NogoodExchange}).
+     * No-goods are learnt from restarts (see {@link Solver#setNoGoodRecordingFromRestarts()}), hence only models
+     * whose search restarts benefit from the cooperation.
+     * </p>
+     * <p>
+     *     <b>Important:</b> this requires all models to be identical,
+     *     that is, built by the same modelling code, and must be called before the first resolution.
+     * </p>
+     * @param maxCard maximum cardinality of shared no-goods
+     */
+    public void enableNogoodSharing(int maxCard) {
+        if (isPrepared) {
+            throw new SolverException("No-good sharing must be enabled before the first resolution.");
+        }
+        if (maxCard < 1) {
+            throw new SolverException("Maximum cardinality of shared no-goods must be positive.");
+        }
+        this.nogoodSharing = maxCard;
+    }
+
     /**
      * Run the solve() instruction of every model of the portfolio in parallel.
      *
@@ -248,6 +302,15 @@ public class ParallelPortfolio {
         return models;
     }
 
+    /**
+     * @return the exchange of no-goods between the models, or <tt>null</tt> if no-good sharing is not enabled
+     * or if the resolution has not started yet
+     * @see #enableNogoodSharing(int)
+     */
+    public NogoodExchange getNogoodExchange() {
+        return exchange;
+    }
+
     /**
      * Attempts to find all solutions of the declared problem.
      * <ul>
@@ -306,7 +369,12 @@ public class ParallelPortfolio {
     @SuppressWarnings("unchecked")
     public void prepare(){
         isPrepared = true;
+        for (Model m : toCopy) {
+            models.add(m.copy());
+        }
+        toCopy.clear();
         check();
+        exchange = nogoodSharing > 0 ? new NogoodExchange(nogoodSharing) : null;
         for(int i=0;i<models.size();i++){
             Solver s = models.get(i).getSolver();
             s.addStopCriterion(() -> getSolverTerminated().get());
@@ -314,6 +382,9 @@ public class ParallelPortfolio {
             if(searchAutoConf){
                 configureModel(i);
             }
+            if(exchange != null){
+                exchange.connect(models.get(i));
+            }
         }
     }
 
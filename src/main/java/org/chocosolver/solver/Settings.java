@@ -13,6 +13,7 @@ import org.chocosolver.memory.ICondition;
 import org.chocosolver.memory.IEnvironment;
 import org.chocosolver.solver.constraints.ISatFactory;
 import org.chocosolver.solver.constraints.nary.automata.FA.ICostAutomaton;
+import org.chocosolver.solver.constraints.nary.clauses.ClauseStore;
 import org.chocosolver.solver.search.strategy.Search;
 import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
 import org.chocosolver.solver.variables.IntVar;
@@ -56,6 +57,8 @@ public interface Settings {
                 "views.activate", this.enableViews()).toString()));
         this.setMaxDomSizeForEnumerated(Integer.valueOf(properties.getOrDefault(
                 "enumerated.threshold", this.getMaxDomSizeForEnumerated()).toString()));
+        this.setMinDomSizeForSparseSet(Integer.valueOf(properties.getOrDefault(
+                "sparse.threshold", this.getMinDomSizeForSparseSet()).toString()));
         this.setMinCardinalityForSumDecomposition(Integer.valueOf(properties.getOrDefault(
                 "sum.decomposition.threshold", this.getMinCardForSumDecomposition()).toString()));
         this.setEnableTableSubstitution(Boolean.valueOf(properties.getOrDefault(
@@ -84,6 +87,8 @@ public interface Settings {
                 "constraints.check", this.checkDeclaredConstraints()).toString()));
         this.setHybridizationOfPropagationEngine(Byte.valueOf(properties.getOrDefault(
                 "propagationEngine.hybridization", this.enableHybridizationOfPropagationEngine()).toString()));
+        this.setDensePropagationEngine(Boolean.valueOf(properties.getOrDefault(
+                "propagationEngine.dense", this.enableDensePropagationEngine()).toString()));
         this.setNbMaxLearntClauses(Integer.valueOf(properties.getOrDefault(
                 "learnt.nbMax", this.getNbMaxLearntClauses()).toString()));
         this.setRatioForClauseStoreReduction(Float.valueOf(properties.getOrDefault(
@@ -92,6 +97,8 @@ public interface Settings {
                 "learnt.maxCard", this.getMaxLearntClauseCardinality()).toString()));
         this.setLearntClausesDominancePerimeter(Integer.valueOf(properties.getOrDefault(
                 "learnt.dominance", this.getLearntClausesDominancePerimeter()).toString()));
+        this.setLearntClausesReductionPolicy(ClauseStore.ReductionPolicy.valueOf(properties.getOrDefault(
+                "learnt.policy", this.getLearntClausesReductionPolicy()).toString()));
         this.explainGlobalFailureInSum(Boolean.valueOf(properties.getOrDefault(
                 "learnt.sum.global", this.explainGlobalFailureInSum()).toString()));
         return this;
@@ -140,6 +147,7 @@ public interface Settings {
         properties.setProperty("welcome.message", this.getWelcomeMessage());
         properties.setProperty("views.activate", Boolean.toString(this.enableViews()));
         properties.setProperty("enumerated.threshold", Integer.toString(this.getMaxDomSizeForEnumerated()));
+        properties.setProperty("sparse.threshold", Integer.toString(this.getMinDomSizeForSparseSet()));
         properties.setProperty("sum.decomposition.threshold", Integer.toString(this.getMinCardForSumDecomposition()));
         properties.setProperty("table.substitution", Boolean.toString(this.enableTableSubstitution()));
         properties.setProperty("MCR.precision", Double.toString(this.getMCRDecimalPrecision()));
@@ -155,10 +163,12 @@ public interface Settings {
         properties.setProperty("constraints.check", Boolean.toString(checkDeclaredConstraints()));
         properties.setProperty("constraints.check.printall", Boolean.toString(printAllUndeclaredConstraints()));
         properties.setProperty("propagationEngine.hybridization", Byte.toString(enableHybridizationOfPropagationEngine()));
+        properties.setProperty("propagationEngine.dense", Boolean.toString(enableDensePropagationEngine()));
         properties.setProperty("learnt.nbMax", Integer.toString(this.getNbMaxLearntClauses()));
         properties.setProperty("learnt.ratio", Float.toString(this.getRatioForClauseStoreReduction()));
         properties.setProperty("learnt.maxCard", Integer.toString(this.getMaxLearntClauseCardinality()));
         properties.setProperty("learnt.dominance", Integer.toString(this.getLearntClausesDominancePerimeter()));
+        properties.setProperty("learnt.policy", this.getLearntClausesReductionPolicy().name());
         properties.setProperty("learnt.sum.global", Boolean.toString(this.explainGlobalFailureInSum()));
         return properties;
     }
@@ -247,6 +257,20 @@ public interface Settings {
      */
     Settings setMaxDomSizeForEnumerated(int maxDomSizeForEnumerated);
 
+    /**
+     * @return minimum domain size threshold to implement an enumerated integer variable with a sparse set
+     */
+    int getMinDomSizeForSparseSet();
+
+    /**
+     * Define the minimum domain size of an enumerated integer variable from which it is implemented
+     * with a reversible sparse set (see {@link org.chocosolver.solver.variables.impl.SparseSetIntVarImpl})
+     * instead of a bitset, when its domain is not explicitly declared as bounded or enumerated.
+     * @param minDomSizeForSparseSet domain size threshold
+     * @return the current instance
+     */
+    Settings setMinDomSizeForSparseSet(int minDomSizeForSparseSet);
+
     /**
      * @return minimum number of cardinality threshold to a sum constraint to be decomposed
      */
@@ -509,6 +533,24 @@ public interface Settings {
      */
     Settings setHybridizationOfPropagationEngine(byte hybrid);
 
+    /**
+     * @return <i>true</i> if the propagation engine is a
+     * {@link org.chocosolver.solver.propagation.DensePropagationEngine},
+     * <i>false</i> (default value) if it is a {@link org.chocosolver.solver.propagation.PropagationEngine}.
+     */
+    boolean enableDensePropagationEngine();
+
+    /**
+     * Define the kind of propagation engine to create.
+     * A {@link org.chocosolver.solver.propagation.DensePropagationEngine} relies on int-indexed queues,
+     * which reduces the cost of scheduling on models with a large number of propagators.
+     * Both engines behave the same way wrt {@link #setHybridizationOfPropagationEngine(byte)}.
+     * Note that this setting is read when the solver is created, that is, when the model is created.
+     * @param dense {@code true} to use a dense propagation engine
+     * @return the current instance
+     */
+    Settings setDensePropagationEngine(boolean dense);
+
     /**
      * @return maximum number of learnt clauses to store. When reached, a reduction is applied.
      * @see #setNbMaxLearntClauses(int)
@@ -594,6 +636,25 @@ public interface Settings {
      */
     Settings setLearntClausesDominancePerimeter(int n);
 
+    /**
+     * @return the policy used to select the learnt clauses to forget when the store is reduced
+     * @see #setLearntClausesReductionPolicy(ClauseStore.ReductionPolicy)
+     * @see #getNbMaxLearntClauses()
+     * @see #getRatioForClauseStoreReduction()
+     */
+    ClauseStore.ReductionPolicy getLearntClausesReductionPolicy();
+
+    /**
+     * Set the policy used to select the learnt clauses to forget when the store is reduced.
+     * {@link ClauseStore.ReductionPolicy#ACTIVITY} only relies on clauses activity whereas
+     * {@link ClauseStore.ReductionPolicy#LBD} relies on literal block distance and tiers.
+     * @param policy the reduction policy
+     * @see #getLearntClausesReductionPolicy()
+     * @see #setNbMaxLearntClauses(int)
+     * @see #setRatioForClauseStoreReduction(float)
+     */
+    Settings setLearntClausesReductionPolicy(ClauseStore.ReductionPolicy policy);
+
     /**
      * @return <i>true</i> if additional clauses can be learned from sum's global failure
      */
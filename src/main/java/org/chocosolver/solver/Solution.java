@@ -9,11 +9,10 @@
  */
 package org.chocosolver.solver;
 
-import gnu.trove.map.hash.TIntIntHashMap;
-import gnu.trove.map.hash.TIntObjectHashMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.IntConsumer;
 import org.chocosolver.memory.IEnvironment;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.exception.SolverException;
@@ -26,6 +25,11 @@ import org.chocosolver.solver.variables.Variable;
 
 /**
  * Class which stores the value of each variable in a solution <br/>
+ * Values are stored in dense arrays indexed by variable id, so that reading a value does not require any hashing.
+ * A variable is part of the last recording when its stamp is equal to the current one,
+ * which avoids clearing arrays on each call to {@link #record()}.
+ * Integer variables whose value differs from the previous recording are listed
+ * (see {@link #forEachChange(IntConsumer)}). <br/>
  *
  * @author Jean-Guillaume Fages
  * @author Charles Prud'homme
@@ -38,9 +42,9 @@ public class Solution implements ICause {
     //***********************************************************************************
 
     /**
-     * No entry value for maps
+     * Empty array, to avoid null checks
      */
-    private static final int NO_ENTRY = Integer.MAX_VALUE;
+    private static final int[] NONE = new int[0];
 
     // SOLUTION
     /**
@@ -48,17 +52,33 @@ public class Solution implements ICause {
      */
     private boolean empty;
     /**
-     * Maps of value for integer variable (id - value)
+     * Current stamp, incremented on each recording
      */
-    private TIntIntHashMap intmap;
+    private int stamp;
     /**
-     * Maps of value for real variable (id - value)
+     * Stamp of the last recording of each variable, indexed by variable id
      */
-    private TIntObjectHashMap<double[]> realmap;
+    private int[] stamps = NONE;
     /**
-     * Maps of value for set variable (id - values)
+     * Value of integer variables, indexed by variable id
      */
-    private TIntObjectHashMap<int[]> setmap;
+    private int[] ints = NONE;
+    /**
+     * Bounds of real variables, indexed by variable id
+     */
+    private double[][] reals;
+    /**
+     * Values of set variables, indexed by variable id
+     */
+    private int[][] sets;
+    /**
+     * Id of the integer variables whose value has changed during the last recording
+     */
+    private int[] changes = NONE;
+    /**
+     * Number of ids in {@link #changes}
+     */
+    private int nbChanges;
 
     // INPUT
     /**
@@ -105,48 +125,47 @@ public class Solution implements ICause {
             varsToStore = model.getVars();
         }
         assert varsToStore.length > 0;
-        if (intmap != null) {
-            intmap.clear();
-        }
-        if (realmap != null) {
-            realmap.clear();
-        }
-        if (setmap != null) {
-            setmap.clear();
+        if (stamps == NONE) {
+            int max = 0;
+            for (Variable var : varsToStore) {
+                max = Math.max(max, var.getId());
+            }
+            ensureCapacity(max);
         }
+        int previous = stamp++;
+        nbChanges = 0;
         for (Variable var : varsToStore) {
             if ((var.getTypeAndKind() & Variable.TYPE) != Variable.CSTE) {
                 int kind = var.getTypeAndKind() & Variable.KIND;
                 if (var.isInstantiated()) {
+                    int id = var.getId();
+                    ensureCapacity(id);
                     switch (kind) {
                         case Variable.INT:
                         case Variable.BOOL:
-                            if (intmap == null) {
-                                intmap = new TIntIntHashMap(16, .5f, Solution.NO_ENTRY,
-                                    Solution.NO_ENTRY);
+                            int value = ((IntVar) var).getValue();
+                            if (previous == 0 || stamps[id] != previous || ints[id] != value) {
+                                if (nbChanges == changes.length) {
+                                    changes = Arrays.copyOf(changes, Math.max(16, nbChanges * 3 / 2 + 1));
+                                }
+                                changes[nbChanges++] = id;
+                                ints[id] = value;
                             }
-                            IntVar v = (IntVar) var;
-                            intmap.put(v.getId(), v.getValue());
                             break;
                         case Variable.REAL:
-                            if (realmap == null) {
-                                realmap = new TIntObjectHashMap<>(16, 05f, Solution.NO_ENTRY);
-                            }
                             RealVar r = (RealVar) var;
-                            realmap.put(r.getId(), new double[]{r.getLB(), r.getUB()});
+                            reals()[id] = new double[]{r.getLB(), r.getUB()};
                             break;
                         case Variable.SET:
-                            if (setmap == null) {
-                                setmap = new TIntObjectHashMap<>(16, 05f, Solution.NO_ENTRY);
-                            }
                             SetVar s = (SetVar) var;
-                            setmap.put(s.getId(), s.getValue().toArray());
+                            sets()[id] = s.getValue().toArray();
                             break;
                         default:
                             // do not throw exception to allow extending the solver with other variable kinds (e.g. graph)
                             // that should then be stored externally to this object
                             break;
                     }
+                    stamps[id] = stamp;
                 } else {
                     warn = true;
                 }
@@ -159,6 +178,61 @@ public class Solution implements ICause {
         return this;
     }
 
+    /**
+     * Make sure that arrays can store the value of the variable whose id is <i>id</i>.
+     *
+     * @param id a variable id
+     */
+    private void ensureCapacity(int id) {
+        if (id >= stamps.length) {
+            int size = Math.max(id + 1, stamps.length * 3 / 2);
+            stamps = Arrays.copyOf(stamps, size);
+            ints = Arrays.copyOf(ints, size);
+            if (reals != null) {
+                reals = Arrays.copyOf(reals, size);
+            }
+            if (sets != null) {
+                sets = Arrays.copyOf(sets, size);
+            }
+        }
+    }
+
+    private double[][] reals() {
+        if (reals == null) {
+            reals = new double[stamps.length][];
+        }
+        return reals;
+    }
+
+    private int[][] sets() {
+        if (sets == null) {
+            sets = new int[stamps.length][];
+        }
+        return sets;
+    }
+
+    /**
+     * @param id a variable id
+     * @return <i>true</i> if the variable whose id is <i>id</i> is part of the last recording
+     */
+    private boolean contains(int id) {
+        return id < stamps.length && stamps[id] == stamp && stamp > 0;
+    }
+
+    /**
+     * Mark the variable whose id is <i>id</i> as part of the last recording.
+     *
+     * @param id a variable id
+     */
+    private void mark(int id) {
+        empty = false;
+        if (stamp == 0) {
+            stamp++;
+        }
+        ensureCapacity(id);
+        stamps[id] = stamp;
+    }
+
     @Override
     public String toString() {
         if (empty) {
@@ -172,19 +246,19 @@ public class Solution implements ICause {
                     case Variable.INT:
                     case Variable.BOOL:
                         IntVar v = (IntVar) var;
-                        st.append(v.getName()).append("=").append(intmap.get(v.getId()))
+                        st.append(v.getName()).append("=").append(ints[v.getId()])
                             .append(", ");
                         break;
                     case Variable.REAL:
                         RealVar r = (RealVar) var;
-                        double[] bounds = realmap.get(r.getId());
+                        double[] bounds = reals[r.getId()];
                         st.append(r.getName()).append("=[").append(bounds[0]).append(",")
                             .append(bounds[1]).append("], ");
                         break;
                     case Variable.SET:
                         SetVar s = (SetVar) var;
                         st.append(s.getName()).append("=")
-                            .append(Arrays.toString(setmap.get(s.getId()))).append(", ");
+                            .append(Arrays.toString(sets[s.getId()])).append(", ");
                         break;
                     default:
                         // do not throw exception to allow extending the solver with other variable kinds (e.g. graph)
@@ -199,15 +273,17 @@ public class Solution implements ICause {
     public Solution copySolution() {
         Solution ret = new Solution(model, varsToStore);
         ret.empty = empty;
-        if (intmap != null) {
-            ret.intmap = new TIntIntHashMap(intmap);
-        }
-        if (realmap != null) {
-            ret.realmap = new TIntObjectHashMap<>(realmap);
+        ret.stamp = stamp;
+        ret.stamps = stamps.clone();
+        ret.ints = ints.clone();
+        if (reals != null) {
+            ret.reals = reals.clone();
         }
-        if (setmap != null) {
-            ret.setmap = new TIntObjectHashMap<>(setmap);
+        if (sets != null) {
+            ret.sets = sets.clone();
         }
+        ret.changes = Arrays.copyOf(changes, nbChanges);
+        ret.nbChanges = nbChanges;
         return ret;
     }
 
@@ -225,8 +301,9 @@ public class Solution implements ICause {
             throw new SolverException("Cannot access value of " + v
                 + ": No solution has been recorded yet (empty solution). Make sure this.record() has been called.");
         }
-        if (intmap != null && intmap.containsKey(v.getId())) {
-            return intmap.get(v.getId());
+        int id = v.getId();
+        if (contains(id)) {
+            return ints[id];
         } else {
             if ((v.getTypeAndKind() & Variable.TYPE) == Variable.CSTE) {
                 return v.getValue();
@@ -244,11 +321,8 @@ public class Solution implements ICause {
      * @param val its value
      */
     public void setIntVal(IntVar var, int val) {
-        empty = false;
-        if (intmap == null) {
-            intmap = new TIntIntHashMap(16, .5f, Solution.NO_ENTRY, Solution.NO_ENTRY);
-        }
-        intmap.put(var.getId(), val);
+        mark(var.getId());
+        ints[var.getId()] = val;
     }
 
     /**
@@ -265,8 +339,8 @@ public class Solution implements ICause {
             throw new SolverException("Cannot access value of " + s
                 + ": No solution has been recorded yet (empty solution). Make sure this.record() has been called.");
         }
-        if (setmap != null && setmap.containsKey(s.getId())) {
-            return setmap.get(s.getId());
+        if (sets != null && contains(s.getId()) && sets[s.getId()] != null) {
+            return sets[s.getId()];
         } else if ((s.getTypeAndKind() & Variable.TYPE) == Variable.CSTE) {
             return s.getValue().toArray();
         } else {
@@ -282,11 +356,8 @@ public class Solution implements ICause {
      * @param val its value
      */
     public void setSetVal(SetVar var, int[] val) {
-        empty = false;
-        if (setmap == null) {
-            setmap = new TIntObjectHashMap<>(16, 05f, Solution.NO_ENTRY);
-        }
-        setmap.put(var.getId(), val);
+        mark(var.getId());
+        sets()[var.getId()] = val;
     }
 
     /**
@@ -303,8 +374,8 @@ public class Solution implements ICause {
             throw new SolverException("Cannot access value of " + r
                 + ": No solution has been recorded yet (empty solution). Make sure this.record() has been called.");
         }
-        if (realmap != null && realmap.containsKey(r.getId())) {
-            return realmap.get(r.getId());
+        if (reals != null && contains(r.getId()) && reals[r.getId()] != null) {
+            return reals[r.getId()];
         } else {
             if ((r.getTypeAndKind() & Variable.TYPE) == Variable.CSTE) {
                 return new double[]{r.getLB(), r.getUB()};
@@ -322,14 +393,11 @@ public class Solution implements ICause {
      * @param val its value
      */
     public void setRealBounds(RealVar var, double[] val) {
-        empty = false;
-        if (realmap == null) {
-            realmap = new TIntObjectHashMap<>(16, 05f, Solution.NO_ENTRY);
-        }
         if (val.length != 2) {
             throw new SolverException("wrong array size");
         }
-        realmap.put(var.getId(), val);
+        mark(var.getId());
+        reals()[var.getId()] = val;
     }
 
     /**
@@ -383,16 +451,16 @@ public class Solution implements ICause {
                     case Variable.INT:
                     case Variable.BOOL:
                         IntVar v = (IntVar) var;
-                        v.instantiateTo(intmap.get(v.getId()), this);
+                        v.instantiateTo(getIntVal(v), this);
                         break;
                     case Variable.REAL:
                         RealVar r = (RealVar) var;
-                        double[] bounds = realmap.get(r.getId());
+                        double[] bounds = getRealBounds(r);
                         r.updateBounds(bounds[0], bounds[1], this);
                         break;
                     case Variable.SET:
                         SetVar s = (SetVar) var;
-                        s.instantiateTo(setmap.get(s.getId()), this);
+                        s.instantiateTo(getSetVal(s), this);
                         break;
                     default:
                         // do not throw exception to allow extending the solver with other variable kinds (e.g. graph)
@@ -411,6 +479,27 @@ public class Solution implements ICause {
         return !empty;
     }
 
+    /**
+     * @return number of integer variables whose value has changed during the last call to {@link #record()},
+     * including variables which were not part of the previous recording
+     */
+    public int getNbChanges() {
+        return nbChanges;
+    }
+
+    /**
+     * Apply <i>action</i> on the id of each integer variable whose value has changed
+     * during the last call to {@link #record()}, which enables to update incrementally structures built
+     * from the previous recording. The new value of a variable is obtained with {@link #getIntVal(IntVar)}.
+     *
+     * @param action operation to apply on variable ids
+     */
+    public void forEachChange(IntConsumer action) {
+        for (int i = 0; i < nbChanges; i++) {
+            action.accept(changes[i]);
+        }
+    }
+
 
     /**
      * Iterate over the variable of <code>this</code> and build a list that contains all the {@link
@@ -17,6 +17,7 @@ import org.chocosolver.solver.learn.AbstractEventObserver;
 import org.chocosolver.solver.objective.IBoundsManager;
 import org.chocosolver.solver.objective.IObjectiveManager;
 import org.chocosolver.solver.objective.ObjectiveFactory;
+import org.chocosolver.solver.propagation.DensePropagationEngine;
 import org.chocosolver.solver.propagation.PropagationEngine;
 import org.chocosolver.solver.search.SearchState;
 import org.chocosolver.solver.search.limits.ICounter;
@@ -204,7 +205,9 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
      */
     protected Solver(Model aModel) {
         mModel = aModel;
-        engine = new PropagationEngine(mModel);
+        engine = aModel.getSettings().enableDensePropagationEngine() ?
+                new DensePropagationEngine(mModel) :
+                new PropagationEngine(mModel);
         exception = new ContradictionException();
         eventObserver = AbstractEventObserver.SILENT_OBSERVER;
         objectivemanager = ObjectiveFactory.SAT();
@@ -745,6 +748,14 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
         return mMeasures.getSearchState() == SearchState.KILLED;
     }
 
+    /**
+     * @return <tt>true</tt> if the search loop is stopped or about to stop,
+     * for instance when the propagation which follows a restart fails.
+     */
+    public boolean isStopped() {
+        return stop;
+    }
+
     /**
      * @return <tt>true</tt> if the search loops encountered at least one of the stop criteria declared.
      */
@@ -0,0 +1,96 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.loop.move.MoveBinaryDFS;
+import org.chocosolver.solver.search.loop.move.MoveWorkStealing;
+import org.chocosolver.solver.search.loop.move.WorkStealingPool;
+
+/**
+ * <p>
+ *     A parallel Depth First Search helper based on work stealing.
+ * </p>
+ * <p>
+ *     Each worker explores the search tree of its own model, with its own search strategy,
+ *     and idle workers steal the open right branches of busy ones (see {@link MoveWorkStealing}).
+ *     Contrary to {@link ParallelPortfolio}, no part of the search tree is explored twice,
+ *     and contrary to {@link EmbarrassinglyParallelSearch}, the tree is split on demand,
+ *     which suits unbalanced search trees.
+ *     When dealing with an optimization problem, the best bound found so far is shared between models.
+ * </p>
+ * <p>
+ *     <b>All models must be identical</b>, that is, built by the same modelling code,
+ *     since branches and solutions are exchanged between models thanks to variables' id.
+ *     Each model must be explored with the default Depth First Search {@link MoveBinaryDFS}
+ *     (no restart, no Large Neighborhood Search).
+ *     An instance of this class can be run only once.
+ * </p>
+ * <pre>
+ * <code>WorkStealingSearch wss = new WorkStealingSearch();
+ * int n = 4; // number of models to use
+ * for (int i = 0; i < n; i++) {
+ *      wss.addModel(modeller());
+ * }
+ * wss.solve();
+ * Solution best = wss.getBestSolution();
+ * </code>
+ * </pre>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @see MoveWorkStealing
+ * @since 18/10/2019.
+ */
+public class WorkStealingSearch extends AbstractParallelSearch {
+
+    /** The pool shared by all workers */
+    private WorkStealingPool pool;
+
+    /**
+     * Creates a new work stealing search helper.
+     */
+    public WorkStealingSearch() {
+        super();
+    }
+
+    /**
+     * @return the number of branches a worker has given to another one.
+     */
+    public int getStealCount() {
+        return pool == null ? 0 : pool.getStealCount();
+    }
+
+    @Override
+    protected boolean prepare() {
+        pool = new WorkStealingPool(models.size());
+        for (Model m : models) {
+            Solver solver = m.getSolver();
+            if (solver.getMove().getClass() != MoveBinaryDFS.class) {
+                throw new SolverException("Work stealing requires each model to be explored with MoveBinaryDFS, found: "
+                        + solver.getMove().getClass().getSimpleName());
+            }
+            solver.setMove(new MoveWorkStealing(solver.getSearch(), pool));
+        }
+        return true;
+    }
+
+    @Override
+    protected void retire(int index) {
+        pool.retire();
+    }
+
+    @Override
+    protected void terminate() {
+        super.terminate();
+        pool.terminate();
+    }
+}
@@ -42,6 +42,7 @@ import org.chocosolver.solver.constraints.nary.count.PropCountVar;
 import org.chocosolver.solver.constraints.nary.count.PropCount_AC;
 import org.chocosolver.solver.constraints.nary.cumulative.CumulFilter;
 import org.chocosolver.solver.constraints.nary.cumulative.Cumulative;
+import org.chocosolver.solver.constraints.nary.disjunctive.PropDisjunctive;
 import org.chocosolver.solver.constraints.nary.element.PropElementV_fast;
 import org.chocosolver.solver.constraints.nary.globalcardinality.GlobalCardinality;
 import org.chocosolver.solver.constraints.nary.lex.PropLex;
@@ -682,10 +683,10 @@ public interface IIntConstraintFactory extends ISelf<Model> {
     /**
      * Creates an allDifferent constraint.
      * Ensures that all variables from vars take a different value.
-     * The consistency level should be chosen among "BC", "AC" and "DEFAULT".
+     * The consistency level should be chosen among "BC", "AC", "AC_INCR" and "DEFAULT".
      *
      * @param vars        list of variables
-     * @param CONSISTENCY consistency level, among {"BC", "AC"}
+     * @param CONSISTENCY consistency level, among {"BC", "AC", "AC_INCR"}
      *                    <p>
      *                    <b>BC</b>:
      *                    Based on: "A Fast and Simple Algorithm for Bounds Consistency of the AllDifferent Constraint"</br>
@@ -694,6 +695,10 @@ public interface IIntConstraintFactory extends ISelf<Model> {
      *                    <b>AC</b>:
      *                    Uses Regin algorithm
      *                    Runs in O(m.n) worst case time for the initial propagation and then in O(n+m) on average.
+     *                    <br/>
+     *                    <b>AC_INCR</b>:
+     *                    Uses Regin algorithm, incrementally: the matching is maintained across calls
+     *                    and only the strongly connected components of modified variables are computed again.
      *                    <p>
      *                    <b>DEFAULT</b>:
      *                    <br/>
@@ -1192,6 +1197,51 @@ public interface IIntConstraintFactory extends ISelf<Model> {
         ref().cumulative(tasks, h, ref().intVar(capacity), false, Cumulative.Filter.NAIVETIME).post();
     }
 
+    /**
+     * Creates a disjunctive constraint: Enforces that tasks are processed on a unary resource,
+     * that is, no two tasks overlap.
+     * It is equivalent to a cumulative constraint with heights and capacity equal to 1,
+     * but relies on dedicated filtering algorithms (overload checking, detectable precedences,
+     * not-first/not-last and edge finding).
+     *
+     * Task duration should be >= 0
+     * Discards tasks whose duration is equal to zero
+     *
+     * @param tasks Task objects containing start, duration and end variables
+     * @return a disjunctive constraint
+     */
+    default Constraint disjunctive(Task[] tasks) {
+        return disjunctive(tasks, null);
+    }
+
+    /**
+     * Creates a disjunctive constraint: Enforces that the present tasks are processed on a unary resource,
+     * that is, no two present tasks overlap.
+     * A task is present when its presence variable is equal to 1, and absent tasks are not constrained.
+     *
+     * Task duration should be >= 0
+     * Discards tasks whose duration is equal to zero
+     *
+     * @param tasks     Task objects containing start, duration and end variables
+     * @param presences boolean variables indicating whether each task is present,
+     *                  or null if all tasks are present
+     * @return a disjunctive constraint
+     */
+    default Constraint disjunctive(Task[] tasks, BoolVar[] presences) {
+        if (presences != null && tasks.length != presences.length) {
+            throw new SolverException("Tasks and presences arrays should have same size");
+        }
+        IntVar[] s = new IntVar[tasks.length];
+        IntVar[] d = new IntVar[tasks.length];
+        IntVar[] e = new IntVar[tasks.length];
+        for (int i = 0; i < tasks.length; i++) {
+            s[i] = tasks[i].getStart();
+            d[i] = tasks[i].getDuration();
+            e[i] = tasks[i].getEnd();
+        }
+        return new Constraint(ConstraintsName.DISJUNCTIVE, new PropDisjunctive(s, d, e, presences));
+    }
+
     /**
      * Creates a diffN constraint. Constrains each rectangle<sub>i</sub>, given by their origins X<sub>i</sub>,Y<sub>i</sub>
      * and sizes width<sub>i</sub>,height<sub>i</sub>, to be non-overlapping.
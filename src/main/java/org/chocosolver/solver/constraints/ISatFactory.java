@@ -11,6 +11,7 @@ package org.chocosolver.solver.constraints;
 
 import gnu.trove.list.TIntList;
 import gnu.trove.list.array.TIntArrayList;
+import org.chocosolver.sat.ClauseLoader;
 import org.chocosolver.sat.PropSat;
 import org.chocosolver.solver.ISelf;
 import org.chocosolver.solver.Model;
@@ -20,6 +21,10 @@ import org.chocosolver.solver.constraints.nary.cnf.LogicTreeToolBox;
 import org.chocosolver.solver.constraints.reification.LocalConstructiveDisjunction;
 import org.chocosolver.solver.variables.BoolVar;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 /**
  * A factory dedicated to SAT.
  * <p/>
@@ -78,6 +83,45 @@ public interface ISatFactory extends ISelf<Model> {
         return ret;
     }
 
+    /**
+     * Create a bulk loader of clauses over VARS, in DIMACS format.
+     * The clauses are preprocessed before being added, see {@link ClauseLoader}.
+     *
+     * @param VARS the variables, the DIMACS variable <i>i</i> is <i>VARS[i-1]</i>
+     * @return a clause loader
+     */
+    default ClauseLoader clauseLoader(BoolVar[] VARS) {
+        return new ClauseLoader(ref(), VARS);
+    }
+
+    /**
+     * Ensures that the clauses defined in DIMACS format are satisfied: each clause is a sequence of non-null
+     * integers terminated by 0, <i>i</i> (resp. <i>-i</i>) stands for VARS[i-1] (resp. not(VARS[i-1])).
+     * The clauses are preprocessed and added in a row.
+     *
+     * @param VARS   the variables
+     * @param DIMACS the clauses
+     * @return false if the clauses are proven unsatisfiable
+     */
+    default boolean addClauses(BoolVar[] VARS, int[] DIMACS) {
+        return clauseLoader(VARS).add(DIMACS).load();
+    }
+
+    /**
+     * Ensures that the clauses of the CNF file (in DIMACS format) are satisfied.
+     * The file is memory-mapped, its clauses are preprocessed and added in a row.
+     *
+     * @param CNF path to the CNF file
+     * @return the variables of the file, the DIMACS variable <i>i</i> is at position <i>i-1</i>
+     * @throws IOException if the file cannot be read
+     */
+    default BoolVar[] addClausesFromFile(String CNF) throws IOException {
+        Path path = Paths.get(CNF);
+        BoolVar[] vars = ref().boolVarArray("cnf", ClauseLoader.readNbVariables(path));
+        clauseLoader(vars).read(path).load();
+        return vars;
+    }
+
     /**
      * Ensures that the clause defined by POSLITS and NEGLITS is satisfied.
      *
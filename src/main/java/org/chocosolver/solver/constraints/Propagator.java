@@ -31,6 +31,7 @@ import org.chocosolver.util.objects.queues.CircularQueue;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 
 import java.util.Arrays;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import static java.lang.System.arraycopy;
@@ -644,6 +645,21 @@ public abstract class Propagator<V extends Variable> implements ICause, Identity
         return reifVar != null;
     }
 
+    /**
+     * Creates a copy of this propagator whose variables are the copies of the ones of this propagator.
+     * The copy is in the state of a newly created propagator; immutable data, like
+     * {@link org.chocosolver.solver.constraints.extension.Tuples}, are shared with this propagator.
+     * Should not be called by the user, see {@link Model#copy()}.
+     *
+     * @param model  the model to declare the copy in
+     * @param copies maps the objects of the original model already copied, including all variables, to their copies
+     * @return a copy of this propagator
+     * @throws SolverException if this propagator does not support copy
+     */
+    public Propagator<V> copy(Model model, Map<Object, Object> copies) {
+        throw new SolverException(getClass().getSimpleName() + " cannot be copied");
+    }
+
     //***********************************************************************************
     // ACCESSORS
     //***********************************************************************************
@@ -888,6 +904,18 @@ public abstract class Propagator<V extends Variable> implements ICause, Identity
         scheduled = true;
     }
 
+    /**
+     * Set this as scheduled, for engines which manage their own queues.
+     * @return <i>true</i> if this was not scheduled yet, that is, if it has to be added to a queue
+     */
+    public final boolean markScheduled() {
+        if (scheduled) {
+            return false;
+        }
+        schedule();
+        return true;
+    }
+
     /**
      * @return true if scheduled for propagation
      */
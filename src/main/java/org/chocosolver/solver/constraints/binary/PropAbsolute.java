@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.binary;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -17,6 +19,8 @@ import org.chocosolver.solver.variables.events.IntEventType;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.tools.ArrayUtils;
 
+import java.util.Map;
+
 /**
  * Enforces X = |Y|
  * <br/>
@@ -37,6 +41,11 @@ public class PropAbsolute extends Propagator<IntVar> {
         bothEnumerated = X.hasEnumeratedDomain() && Y.hasEnumeratedDomain();
     }
 
+    @Override
+    public PropAbsolute copy(Model model, Map<Object, Object> copies) {
+        return new PropAbsolute(ModelCopier.copyOf(vars[0], copies), ModelCopier.copyOf(vars[1], copies));
+    }
+
     @Override
     public int getPropagationConditions(int vIdx) {
         if (vars[0].hasEnumeratedDomain() && vars[1].hasEnumeratedDomain()) {
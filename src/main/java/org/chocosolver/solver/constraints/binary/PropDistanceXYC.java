@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.binary;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Operator;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
@@ -21,6 +23,8 @@ import org.chocosolver.util.ESat;
 import org.chocosolver.util.iterators.DisposableRangeIterator;
 import org.chocosolver.util.procedure.UnaryIntProcedure;
 
+import java.util.Map;
+
 /**
  * | X - Y | op C <br/> op = {"==", "<", ">", "=/="} <br/>
  *
@@ -52,6 +56,11 @@ public class PropDistanceXYC extends Propagator<IntVar> {
         this.remproc = new RemProc(this);
     }
 
+    @Override
+    public PropDistanceXYC copy(Model model, Map<Object, Object> copies) {
+        return new PropDistanceXYC(ModelCopier.copyOf(vars, copies), operator, cste);
+    }
+
     @Override
     public int getPropagationConditions(int idx) {
         if (vars[idx].hasEnumeratedDomain()) {
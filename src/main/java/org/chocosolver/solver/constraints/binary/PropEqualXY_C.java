@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.binary;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -22,6 +24,8 @@ import org.chocosolver.util.objects.ValueSortedMap;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 import org.chocosolver.util.procedure.IntProcedure;
 
+import java.util.Map;
+
 /**
  * X + Y = C
  * <p>
@@ -56,6 +60,11 @@ public final class PropEqualXY_C extends Propagator<IntVar> {
         }
     }
 
+    @Override
+    public PropEqualXY_C copy(Model model, Map<Object, Object> copies) {
+        return new PropEqualXY_C(ModelCopier.copyOf(vars, copies), cste);
+    }
+
     @Override
     public int getPropagationConditions(int vIdx) {
         if (vars[0].hasEnumeratedDomain() && vars[1].hasEnumeratedDomain())
@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.binary;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -23,6 +25,8 @@ import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeS
 import org.chocosolver.util.procedure.IntProcedure;
 import org.chocosolver.util.tools.ArrayUtils;
 
+import java.util.Map;
+
 /**
  * X = Y
  * <p>
@@ -54,6 +58,11 @@ public final class PropEqualX_Y extends Propagator<IntVar> {
         }
     }
 
+    @Override
+    public PropEqualX_Y copy(Model model, Map<Object, Object> copies) {
+        return new PropEqualX_Y(ModelCopier.copyOf(vars[0], copies), ModelCopier.copyOf(vars[1], copies));
+    }
+
     @Override
     public int getPropagationConditions(int vIdx) {
         if (vars[0].hasEnumeratedDomain() && vars[1].hasEnumeratedDomain())
@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.binary;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -20,6 +22,8 @@ import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.ValueSortedMap;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 
+import java.util.Map;
+
 /**
  * X >= Y
  * <p>
@@ -40,6 +44,11 @@ public final class PropGreaterOrEqualX_Y extends Propagator<IntVar> {
         this.y = vars[1];
     }
 
+    @Override
+    public PropGreaterOrEqualX_Y copy(Model model, Map<Object, Object> copies) {
+        return new PropGreaterOrEqualX_Y(ModelCopier.copyOf(vars, copies));
+    }
+
     @Override
     public int getPropagationConditions(int vIdx) {
         if (vIdx == 0) {
@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.binary;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -21,6 +23,8 @@ import org.chocosolver.util.objects.ValueSortedMap;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 import org.chocosolver.util.tools.MathUtils;
 
+import java.util.Map;
+
 /**
  * X >= Y + C
  * <p>
@@ -43,6 +47,11 @@ public final class PropGreaterOrEqualX_YC extends Propagator<IntVar> {
         this.cste = c;
     }
 
+    @Override
+    public PropGreaterOrEqualX_YC copy(Model model, Map<Object, Object> copies) {
+        return new PropGreaterOrEqualX_YC(ModelCopier.copyOf(vars, copies), cste);
+    }
+
     @Override
     public int getPropagationConditions(int vIdx) {
         if (vIdx == 0) {
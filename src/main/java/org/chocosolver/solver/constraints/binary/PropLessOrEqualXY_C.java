@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.binary;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -21,6 +23,8 @@ import org.chocosolver.util.objects.ValueSortedMap;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 import org.chocosolver.util.tools.MathUtils;
 
+import java.util.Map;
+
 /**
  * X + Y <= C
  * <br/>
@@ -42,6 +46,11 @@ public final class PropLessOrEqualXY_C extends Propagator<IntVar> {
         this.cste = c;
     }
 
+    @Override
+    public PropLessOrEqualXY_C copy(Model model, Map<Object, Object> copies) {
+        return new PropLessOrEqualXY_C(ModelCopier.copyOf(vars, copies), cste);
+    }
+
     @Override
     public int getPropagationConditions(int vIdx) {
         return IntEventType.combine(IntEventType.INSTANTIATE, IntEventType.INCLOW);
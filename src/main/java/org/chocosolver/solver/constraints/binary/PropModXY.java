@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.binary;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -17,6 +19,8 @@ import org.chocosolver.solver.variables.events.IntEventType;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableBitSet;
 
+import java.util.Map;
+
 /**
  * X % mod = Y
  * A propagator for the constraint Y = X % mod where X and Y are integer, possibly negative, variables and mod is an int
@@ -42,6 +46,11 @@ public class PropModXY extends Propagator<IntVar> {
         }
     }
 
+    @Override
+    public PropModXY copy(Model model, Map<Object, Object> copies) {
+        return new PropModXY(ModelCopier.copyOf(x, copies), mod, ModelCopier.copyOf(y, copies));
+    }
+
     @Override
     public int getPropagationConditions(int vIdx) {
         return IntEventType.boundAndInst();
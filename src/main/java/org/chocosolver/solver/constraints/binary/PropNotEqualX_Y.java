@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.binary;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -21,6 +23,8 @@ import org.chocosolver.util.objects.ValueSortedMap;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 import org.chocosolver.util.tools.ArrayUtils;
 
+import java.util.Map;
+
 /**
  * A specific <code>Propagator</code> extension defining filtering algorithm for:
  * <br/>
@@ -51,6 +55,11 @@ public class PropNotEqualX_Y extends Propagator<IntVar> {
         this.y = vars[1];
     }
 
+    @Override
+    public PropNotEqualX_Y copy(Model model, Map<Object, Object> copies) {
+        return new PropNotEqualX_Y(ModelCopier.copyOf(vars[0], copies), ModelCopier.copyOf(vars[1], copies));
+    }
+
     @Override
     public int getPropagationConditions(int vIdx) {
         //Principle : if v0 is instantiated and v1 is enumerated, then awakeOnInst(0) performs all needed pruning
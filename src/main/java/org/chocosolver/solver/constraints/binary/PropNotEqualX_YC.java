@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.binary;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -20,6 +22,8 @@ import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.ValueSortedMap;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 
+import java.util.Map;
+
 /**
  * A specific <code>Propagator</code> extension defining filtering algorithm for:
  * <br/>
@@ -52,6 +56,11 @@ public class PropNotEqualX_YC extends Propagator<IntVar> {
         this.cste = c;
     }
 
+    @Override
+    public PropNotEqualX_YC copy(Model model, Map<Object, Object> copies) {
+        return new PropNotEqualX_YC(ModelCopier.copyOf(vars, copies), cste);
+    }
+
     @Override
     public int getPropagationConditions(int vIdx) {
         //Principle : if v0 is instantiated and v1 is enumerated, then awakeOnInst(0) performs all needed pruning
@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.binary;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -17,6 +19,8 @@ import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableBitSet;
 import org.chocosolver.util.tools.MathUtils;
 
+import java.util.Map;
+
 /**
  * Scale propagator : ensures x * y = z
  * With y a constant greater than one
@@ -52,6 +56,11 @@ public class PropScale extends Propagator<IntVar> {
         this.values = enumerated?new IntIterableBitSet():null;
     }
 
+    @Override
+    public PropScale copy(Model model, Map<Object, Object> copies) {
+        return new PropScale(ModelCopier.copyOf(X, copies), Y, ModelCopier.copyOf(Z, copies));
+    }
+
     @Override
     public final void propagate(int evtmask) throws ContradictionException {
         X.updateBounds(MathUtils.divCeil(Z.getLB(), Y), MathUtils.divFloor(Z.getUB(), Y), this);
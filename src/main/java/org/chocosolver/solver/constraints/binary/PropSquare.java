@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.binary;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -20,6 +22,8 @@ import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableBitSet
 import org.chocosolver.util.procedure.UnaryIntProcedure;
 import org.chocosolver.util.tools.ArrayUtils;
 
+import java.util.Map;
+
 /**
  * Enforces X = Y^2
  * <br/>
@@ -43,6 +47,11 @@ public class PropSquare extends Propagator<IntVar> {
         rem_proc = new RemProc(this);
     }
 
+    @Override
+    public PropSquare copy(Model model, Map<Object, Object> copies) {
+        return new PropSquare(ModelCopier.copyOf(vars[0], copies), ModelCopier.copyOf(vars[1], copies));
+    }
+
     @Override
     public void propagate(int evtmask) throws ContradictionException {
         // Filter on X from Y
@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.binary.element;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -17,6 +19,8 @@ import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableBitSet;
 import org.chocosolver.util.tools.ArrayUtils;
 
+import java.util.Map;
+
 /**
  * VALUE = TABLE[INDEX-OFFSET], ensuring arc consistency on result and index.
  * <br/>
@@ -75,6 +79,11 @@ public class PropElement extends Propagator<IntVar> {
         pVals.setOffset(result.getLB());
     }
 
+    @Override
+    public PropElement copy(Model model, Map<Object, Object> copies) {
+        return new PropElement(ModelCopier.copyOf(result, copies), values, ModelCopier.copyOf(index, copies), offset);
+    }
+
     @Override
     public void propagate(int evtmask) throws ContradictionException {
 		index.updateBounds(offset, values.length - 1 + offset, this);
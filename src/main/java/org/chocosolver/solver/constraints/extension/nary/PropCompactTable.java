@@ -12,6 +12,8 @@ package org.chocosolver.solver.constraints.extension.nary;
 import org.chocosolver.memory.IEnvironment;
 import org.chocosolver.memory.IStateInt;
 import org.chocosolver.memory.IStateLong;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.constraints.extension.Tuples;
@@ -22,6 +24,8 @@ import org.chocosolver.solver.variables.events.PropagatorEventType;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.procedure.UnaryIntProcedure;
 
+import java.util.Map;
+
 /**
  * Propagator for table constraint based on "Compact-Table: Efficiently Filtering Table Constraints
  * with Reversible Sparse Bit-Sets" Only for feasible Tuples
@@ -38,9 +42,11 @@ public class PropCompactTable extends Propagator<IntVar> {
 
     RSparseBitSet currTable;
     protected Tuples tuples; // only for checker
-    protected long[][][] supports;
+    /**
+     * Support masks, shared with other propagators declared on the same tuples and the same domains
+     */
+    protected TableSupports tableSupports;
     int[][] residues;
-    protected int[] offset;
     protected IIntDeltaMonitor[] monitors;
     private UnaryIntProcedure<Integer> onValRem;
 
@@ -66,59 +72,48 @@ public class PropCompactTable extends Propagator<IntVar> {
         onValRem = makeProcedure();
     }
 
+    @Override
+    public PropCompactTable copy(Model model, Map<Object, Object> copies) {
+        return new PropCompactTable(ModelCopier.copyOf(vars, copies), tuples);
+    }
+
     //***********************************************************************************
     // INITIALIZATION
     //***********************************************************************************
 
     protected UnaryIntProcedure<Integer> makeProcedure() {
         return new UnaryIntProcedure<Integer>() {
-            int var, off;
+            long[][] sup;
+            int off;
 
             @Override
             public UnaryIntProcedure set(Integer o) {
-                var = o;
-                off = offset[var];
+                sup = tableSupports.supports[o];
+                off = tableSupports.offset[o];
                 return this;
             }
 
             @Override
             public void execute(int i) throws ContradictionException {
-                currTable.addToMask((supports[var][i - off]));
+                currTable.addToMask((sup[i - off]));
             }
         };
     }
 
     protected void computeSupports(Tuples tuples) {
+        setSupports(TableSupports.get(tuples, vars, false));
+    }
+
+    /**
+     * Bind this propagator to (shared) support masks and allocate its own residues.
+     * @param index support masks of the table over the variables of this propagator
+     */
+    protected final void setSupports(TableSupports index) {
+        this.tableSupports = index;
         int n = vars.length;
-        offset = new int[n];
-        supports = new long[n][][];
         residues = new int[n][];
-        long[] tmp;
         for (int i = 0; i < n; i++) {
-            int lb = vars[i].getLB();
-            int ub = vars[i].getUB();
-            offset[i] = lb;
-            supports[i] = new long[ub - lb + 1][currTable.words.length];
-            residues[i] = new int[ub - lb + 1];
-        }
-        int wI = 0;
-        byte bI = 63;
-        top:
-        for (int ti = 0; ti < tuples.nbTuples(); ti++) {
-            int[] tuple = tuples.get(ti);
-            for (int i = 0; i < tuple.length; i++) {
-                if (!vars[i].contains(tuple[i])) {
-                    continue top;
-                }
-            }
-            for (int i = 0; i < tuple.length; i++) {
-                tmp = supports[i][tuple[i] - offset[i]];
-                tmp[wI] |= 1L << (bI);
-            }
-            if (--bI < 0) {
-                bI = 63;
-                wI++;
-            }
+            residues[i] = new int[index.supports[i].length];
         }
     }
 
@@ -128,6 +123,8 @@ public class PropCompactTable extends Propagator<IntVar> {
 
     @Override
     public void propagate(int evtmask) throws ContradictionException {
+        long[][][] supports = tableSupports.supports;
+        int[] offset = tableSupports.offset;
         if (PropagatorEventType.isFullPropagation(evtmask)) {
             for (int i = 0; i < vars.length; i++) {
                 currTable.clearMask();
@@ -146,6 +143,8 @@ public class PropCompactTable extends Propagator<IntVar> {
 
     @Override
     public void propagate(int vIdx, int mask) throws ContradictionException {
+        long[][][] supports = tableSupports.supports;
+        int[] offset = tableSupports.offset;
         currTable.clearMask();
         monitors[vIdx].freeze();
         if (vars[vIdx].getDomainSize() > monitors[vIdx].sizeApproximation()) {
@@ -179,6 +178,8 @@ public class PropCompactTable extends Propagator<IntVar> {
     }
 
     private void boundFilter(int i) throws ContradictionException {
+        long[][][] supports = tableSupports.supports;
+        int[] offset = tableSupports.offset;
         int lb = vars[i].getLB();
         int ub = vars[i].getUB();
         for (int v = lb; v <= ub; v++) {
@@ -214,6 +215,8 @@ public class PropCompactTable extends Propagator<IntVar> {
     }
 
     private void enumFilter(int i) throws ContradictionException {
+        long[][][] supports = tableSupports.supports;
+        int[] offset = tableSupports.offset;
         int ub = vars[i].getUB();
         for (int v = vars[i].getLB(); v <= ub; v = vars[i].nextValue(v)) {
             int index = residues[i][v - offset[i]];
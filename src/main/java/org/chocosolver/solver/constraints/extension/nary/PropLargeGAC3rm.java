@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.extension.nary;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.extension.Tuples;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
@@ -17,6 +19,7 @@ import org.chocosolver.util.iterators.DisposableValueIterator;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableBitSet;
 
 import java.util.Arrays;
+import java.util.Map;
 
 /**
  * <br/>
@@ -70,6 +73,12 @@ public class PropLargeGAC3rm extends PropLargeCSP<LargeRelation> {
         this(vs, RelationFactory.makeLargeRelation(tuples, vs));
     }
 
+    @Override
+    public PropLargeGAC3rm copy(Model model, Map<Object, Object> copies) {
+        // the relation is shared
+        return new PropLargeGAC3rm(ModelCopier.copyOf(vars, copies), relation);
+    }
+
 
 
     @Override
@@ -10,6 +10,8 @@
 package org.chocosolver.solver.constraints.extension.nary;
 
 import org.chocosolver.memory.IStateInt;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.extension.Tuples;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
@@ -19,6 +21,7 @@ import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableBitSet
 
 import java.util.Arrays;
 import java.util.BitSet;
+import java.util.Map;
 
 /**
  * GAC maintaind by STR
@@ -112,6 +115,12 @@ public class PropLargeGACSTRPos extends PropLargeCSP<TuplesList> {
         this(vs, RelationFactory.makeListBasedRelation(tuples, vs));
     }
 
+    @Override
+    public PropLargeGACSTRPos copy(Model model, Map<Object, Object> copies) {
+        // the relation is shared
+        return new PropLargeGACSTRPos(ModelCopier.copyOf(vars, copies), relation);
+    }
+
     @Override
     public void propagate(int evtmask) throws ContradictionException {
         valcheck.sortvars();
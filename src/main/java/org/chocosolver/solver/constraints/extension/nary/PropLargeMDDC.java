@@ -11,6 +11,8 @@ package org.chocosolver.solver.constraints.extension.nary;
 
 import gnu.trove.set.TIntSet;
 import gnu.trove.set.hash.TIntHashSet;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -19,6 +21,8 @@ import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.StoredSparseSet;
 import org.chocosolver.util.objects.graphs.MultivaluedDecisionDiagram;
 
+import java.util.Map;
+
 /**
  * Implementation based on "Maintaining GAC on adhoc r-ary constraints", Cheng and Yap, CP12.
  * <p/>
@@ -52,6 +56,12 @@ public class PropLargeMDDC extends Propagator<IntVar> {
         }
     }
 
+    @Override
+    public PropLargeMDDC copy(Model model, Map<Object, Object> copies) {
+        // the diagram is shared
+        return new PropLargeMDDC(MDD, ModelCopier.copyOf(vars, copies));
+    }
+
     @Override
     public void propagate(int evtmask) throws ContradictionException {
         mddc();
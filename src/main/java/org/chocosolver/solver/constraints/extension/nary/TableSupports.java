@@ -0,0 +1,220 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.extension.nary;
+
+import org.chocosolver.solver.constraints.extension.Tuples;
+import org.chocosolver.solver.variables.IntVar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Immutable support masks of a table, as used by {@link PropCompactTable} and {@link PropCompactTableStar}.
+ * <p>
+ * For each variable <i>i</i> and each value <i>v</i> of its initial domain,
+ * <code>supports[i][v - offset[i]]</code> is the set of (indices of) tuples where <i>i</i> takes the value <i>v</i>,
+ * restricted to the tuples valid wrt the initial domains of the variables.
+ * </p>
+ * <p>
+ * Instances are interned: two propagators declared on the same {@link Tuples} object (compared by identity)
+ * and on variables with the same initial domains get the same instance, even when they belong to different models.
+ * Thus, identical tables are built once per JVM, whatever the number of constraints or the number of
+ * models (e.g., in a {@link org.chocosolver.solver.ParallelPortfolio}) that use them.
+ * Instances are thread-safe, since they are not modified once built, and
+ * they are released once the {@link Tuples} object is no longer referenced.
+ * </p>
+ * <p>
+ * Note that the tuples must not be modified once the table is posted:
+ * adding a tuple leads to build a new instance on the next request.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public final class TableSupports {
+
+    /**
+     * Interned instances, by tuples
+     */
+    private static final Map<Tuples, List<TableSupports>> CACHE = new WeakHashMap<>();
+
+    /**
+     * Number of tuples, when the instance was built
+     */
+    private final int nbTuples;
+
+    /**
+     * Value of the universal value, or <i>null</i> when not supported
+     */
+    private final Integer star;
+
+    /**
+     * Initial domains of the variables
+     */
+    private final int[][] domains;
+
+    /**
+     * Number of words needed to store a set of tuples
+     */
+    final int nbWords;
+
+    /**
+     * Lower bound of the initial domain of each variable
+     */
+    final int[] offset;
+
+    /**
+     * Support masks, by variable then by value
+     */
+    final long[][][] supports;
+
+    /**
+     * Support masks ignoring the universal value, by variable then by value, or <i>null</i> when not supported.
+     */
+    final long[][][] incSupports;
+
+    private TableSupports(Tuples tuples, IntVar[] vars, Integer star, int[][] domains) {
+        this.nbTuples = tuples.nbTuples();
+        this.star = star;
+        this.domains = domains;
+        int nw = nbTuples / 64;
+        if (nw * 64 < nbTuples) nw++;
+        this.nbWords = nw;
+        int n = vars.length;
+        this.offset = new int[n];
+        this.supports = new long[n][][];
+        this.incSupports = star == null ? null : new long[n][][];
+        for (int i = 0; i < n; i++) {
+            int lb = vars[i].getLB();
+            int ub = vars[i].getUB();
+            offset[i] = lb;
+            supports[i] = new long[ub - lb + 1][nw];
+            if (star != null) {
+                incSupports[i] = new long[ub - lb + 1][nw];
+            }
+        }
+        if (star == null) {
+            computeSupports(tuples, vars);
+        } else {
+            computeSupportsStar(tuples, vars, star);
+        }
+    }
+
+    private void computeSupports(Tuples tuples, IntVar[] vars) {
+        int wI = 0;
+        byte bI = 63;
+        top:
+        for (int ti = 0; ti < nbTuples; ti++) {
+            int[] tuple = tuples.get(ti);
+            for (int i = 0; i < tuple.length; i++) {
+                if (!vars[i].contains(tuple[i])) {
+                    continue top;
+                }
+            }
+            for (int i = 0; i < tuple.length; i++) {
+                supports[i][tuple[i] - offset[i]][wI] |= 1L << (bI);
+            }
+            if (--bI < 0) {
+                bI = 63;
+                wI++;
+            }
+        }
+    }
+
+    private void computeSupportsStar(Tuples tuples, IntVar[] vars, int star) {
+        int wI = 0;
+        byte bI = 63;
+        top:
+        for (int ti = 0; ti < nbTuples; ti++) {
+            int[] tuple = tuples.get(ti);
+            for (int i = 0; i < tuple.length; i++) {
+                if (!vars[i].contains(tuple[i]) && tuple[i] != star) {
+                    continue top;
+                }
+            }
+            long index = 1L << bI;
+            for (int i = 0; i < tuple.length; i++) {
+                int val = tuple[i];
+                if (val != star) {
+                    supports[i][val - offset[i]][wI] |= index;
+                    incSupports[i][val - offset[i]][wI] |= index;
+                } else {
+                    int u = supports[i].length + offset[i];
+                    for (val = offset[i]; val <= u; val = vars[i].nextValue(val)) {
+                        supports[i][val - offset[i]][wI] |= index;
+                    }
+                }
+            }
+            if (--bI < 0) {
+                bI = 63;
+                wI++;
+            }
+        }
+    }
+
+    /**
+     * Returns the support masks of <i>tuples</i> over <i>vars</i>, building them if needed.
+     *
+     * @param tuples list of feasible tuples
+     * @param vars   scope, in its initial state
+     * @param star   set to <tt>true</tt> to deal with the universal value of <i>tuples</i>
+     * @return the (shared) support masks of <i>tuples</i> over <i>vars</i>
+     */
+    public static TableSupports get(Tuples tuples, IntVar[] vars, boolean star) {
+        List<TableSupports> candidates;
+        synchronized (CACHE) {
+            candidates = CACHE.computeIfAbsent(tuples, t -> new ArrayList<>());
+        }
+        Integer s = star ? tuples.getStarValue() : null;
+        int[][] domains = new int[vars.length][];
+        for (int i = 0; i < vars.length; i++) {
+            domains[i] = domainOf(vars[i]);
+        }
+        // a lock per tuples, so that distinct tables can be built concurrently
+        synchronized (candidates) {
+            for (int i = 0; i < candidates.size(); i++) {
+                TableSupports ts = candidates.get(i);
+                if (ts.nbTuples == tuples.nbTuples()
+                        && (ts.star == null ? s == null : ts.star.equals(s))
+                        && Arrays.deepEquals(ts.domains, domains)) {
+                    return ts;
+                }
+            }
+            TableSupports ts = new TableSupports(tuples, vars, s, domains);
+            candidates.add(ts);
+            return ts;
+        }
+    }
+
+    /**
+     * @param var a variable
+     * @return the bounds of <i>var</i> followed, when its domain has holes, by all its values
+     */
+    private static int[] domainOf(IntVar var) {
+        int lb = var.getLB();
+        int ub = var.getUB();
+        if (var.getDomainSize() == ub - lb + 1) {
+            return new int[]{lb, ub};
+        }
+        int[] dom = new int[2 + var.getDomainSize()];
+        dom[0] = lb;
+        dom[1] = ub;
+        int k = 2;
+        for (int v = lb; v <= ub; v = var.nextValue(v)) {
+            dom[k++] = v;
+        }
+        return dom;
+    }
+}
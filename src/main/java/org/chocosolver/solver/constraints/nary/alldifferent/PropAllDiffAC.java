@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.nary.alldifferent;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.constraints.nary.alldifferent.algo.AlgoAllDiffAC;
@@ -16,6 +18,8 @@ import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.ESat;
 
+import java.util.Map;
+
 /**
  * Propagator for AllDifferent AC constraint for integer variables
  * <p/>
@@ -51,6 +55,11 @@ public class PropAllDiffAC extends Propagator<IntVar> {
         this.filter = new AlgoAllDiffAC(variables, this);
     }
 
+    @Override
+    public PropAllDiffAC copy(Model model, Map<Object, Object> copies) {
+        return new PropAllDiffAC(ModelCopier.copyOf(vars, copies));
+    }
+
     //***********************************************************************************
     // PROPAGATION
     //***********************************************************************************
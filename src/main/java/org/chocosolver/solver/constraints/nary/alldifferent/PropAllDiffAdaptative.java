@@ -9,9 +9,12 @@
  */
 package org.chocosolver.solver.constraints.nary.alldifferent;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
 
+import java.util.Map;
 import java.util.Random;
 
 /**
@@ -47,6 +50,11 @@ public class PropAllDiffAdaptative extends PropAllDiffAC {
         calls = success = 1;
     }
 
+    @Override
+    public PropAllDiffAdaptative copy(Model model, Map<Object, Object> copies) {
+        return new PropAllDiffAdaptative(ModelCopier.copyOf(vars, copies));
+    }
+
     //***********************************************************************************
     // PROPAGATION
     //***********************************************************************************
@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.nary.alldifferent;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.constraints.nary.alldifferent.algo.AlgoAllDiffBC;
@@ -17,6 +19,8 @@ import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.events.IntEventType;
 import org.chocosolver.util.ESat;
 
+import java.util.Map;
+
 /**
  * Based on: </br>
  * "A Fast and Simple Algorithm for Bounds Consistency of the AllDifferent Constraint"</br>
@@ -37,6 +41,11 @@ public class PropAllDiffBC extends Propagator<IntVar> {
         filter.reset(vars);
     }
 
+    @Override
+    public PropAllDiffBC copy(Model model, Map<Object, Object> copies) {
+        return new PropAllDiffBC(ModelCopier.copyOf(vars, copies));
+    }
+
     @Override
     public int getPropagationConditions(int vIdx) {
         return IntEventType.boundAndInst();
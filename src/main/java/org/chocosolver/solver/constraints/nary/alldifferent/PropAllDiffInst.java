@@ -11,6 +11,8 @@ package org.chocosolver.solver.constraints.nary.alldifferent;
 
 import gnu.trove.stack.array.TIntArrayStack;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -22,6 +24,8 @@ import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.ValueSortedMap;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 
+import java.util.Map;
+
 /**
  * Propagator for AllDifferent that only reacts on instantiation
  *
@@ -53,6 +57,11 @@ public class PropAllDiffInst extends Propagator<IntVar> {
         n = vars.length;
     }
 
+    @Override
+    public PropAllDiffInst copy(Model model, Map<Object, Object> copies) {
+        return new PropAllDiffInst(ModelCopier.copyOf(vars, copies));
+    }
+
 
     //***********************************************************************************
     // INFO
@@ -0,0 +1,421 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.alldifferent.algo;
+
+import gnu.trove.map.hash.TIntIntHashMap;
+import org.chocosolver.memory.IStateBitSet;
+import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Incremental algorithm of Alldifferent with AC
+ * <p/>
+ * Uses Regin algorithm, like {@link AlgoAllDiffAC}, but nothing is rebuilt from scratch on each call:
+ * <ul>
+ *     <li>the matching is kept across calls (it remains valid on backtrack, since domains only grow back),
+ *     and only the variables whose matched value has been removed are matched again,</li>
+ *     <li>the residual graph is not stored, its arcs are read from the domains and the matching,</li>
+ *     <li>variables are partitioned into components, refined with the strongly connected components found
+ *     on each call and restored on backtrack. Since no arc links two components once filtered,
+ *     only the components of the variables modified since the last call are considered again.</li>
+ * </ul>
+ * Components are not refined when a variable has a bounded domain, since the values its domain cannot
+ * get rid of link components together.
+ * <p/>
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class AlgoAllDiffACIncr {
+
+    //***********************************************************************************
+    // VARIABLES
+    //***********************************************************************************
+
+    private final IntVar[] vars;
+    private final ICause aCause;
+    // number of variables, number of values
+    private final int n, m;
+    // index of the sink node, connected to free values and matched values
+    private final int sink;
+    // value to node mapping, null when the values form an interval
+    private final TIntIntHashMap map;
+    private final int offset;
+    // node to value mapping (shifted by n)
+    private final int[] values;
+    // matched value node of each variable, matched variable of each value node (shifted by n)
+    private final int[] mate, mateOfValue;
+    // variables ordered by component, position of each variable in 'order'
+    private final int[] order, position;
+    // first position of each component in 'order'
+    private final IStateBitSet starts;
+    // set to true when components can be refined
+    private final boolean split;
+    // variables modified since their component was last considered
+    private final BitSet touched;
+    // for augmenting matching (BFS)
+    private final int[] fifo, parent, visited;
+    private int stamp;
+    // for strongly connected components (Tarjan)
+    private final int[] dfs, low, scc, stack, calls, cursor, count, tmp;
+    private final BitSet onStack;
+
+    //***********************************************************************************
+    // CONSTRUCTORS
+    //***********************************************************************************
+
+    public AlgoAllDiffACIncr(IntVar[] variables, ICause cause) {
+        this.vars = variables;
+        this.aCause = cause;
+        n = vars.length;
+        TIntIntHashMap ids = new TIntIntHashMap();
+        int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+        boolean enumerated = true;
+        for (IntVar v : vars) {
+            int ub = v.getUB();
+            for (int k = v.getLB(); k <= ub; k = v.nextValue(k)) {
+                if (!ids.containsKey(k)) {
+                    ids.put(k, n + ids.size());
+                }
+            }
+            min = Math.min(min, v.getLB());
+            max = Math.max(max, ub);
+            enumerated &= v.hasEnumeratedDomain();
+        }
+        m = ids.size();
+        values = new int[m];
+        if ((long) max - min + 1 == m) {
+            map = null;
+            offset = min;
+            for (int j = 0; j < m; j++) {
+                values[j] = min + j;
+            }
+        } else {
+            map = ids;
+            offset = 0;
+            ids.forEachEntry((k, j) -> {
+                values[j - n] = k;
+                return true;
+            });
+        }
+        sink = n + m;
+        mate = new int[n];
+        mateOfValue = new int[m];
+        Arrays.fill(mate, -1);
+        Arrays.fill(mateOfValue, -1);
+        order = new int[n];
+        position = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = position[i] = i;
+        }
+        starts = vars[0].getModel().getEnvironment().makeBitSet(n);
+        starts.set(0);
+        split = enumerated;
+        touched = new BitSet(n);
+        touched.set(0, n);
+        fifo = new int[n];
+        parent = new int[m];
+        visited = new int[m];
+        int nodes = sink + 1;
+        dfs = new int[nodes];
+        low = new int[nodes];
+        scc = new int[nodes];
+        stack = new int[nodes];
+        calls = new int[nodes];
+        cursor = new int[nodes];
+        count = new int[nodes + 1];
+        tmp = new int[n];
+        onStack = new BitSet(nodes);
+    }
+
+    //***********************************************************************************
+    // PROPAGATION
+    //***********************************************************************************
+
+    /**
+     * Declares that the domain of the <i>i</i>th variable has been modified since the last call.
+     *
+     * @param i index of a variable
+     */
+    public void touch(int i) {
+        touched.set(i);
+    }
+
+    /**
+     * Declares that all variables have to be considered on the next call.
+     */
+    public void touchAll() {
+        touched.set(0, n);
+    }
+
+    public boolean propagate() throws ContradictionException {
+        boolean filter = false;
+        for (int i = touched.nextSetBit(0); i >= 0; i = touched.nextSetBit(i + 1)) {
+            int p = position[i];
+            int s = Math.max(starts.prevSetBit(p), 0);
+            int e = starts.nextSetBit(p + 1);
+            if (e < 0 || e > n) {
+                e = n;
+            }
+            filter |= propagate(s, e);
+            for (int q = s; q < e; q++) {
+                touched.clear(order[q]);
+            }
+        }
+        return filter;
+    }
+
+    /**
+     * Restores a maximum matching, then filters and refines the component made of the variables
+     * in [<i>s</i>, <i>e</i>[ in {@link #order}.
+     */
+    private boolean propagate(int s, int e) throws ContradictionException {
+        for (int q = s; q < e; q++) {
+            int i = order[q];
+            int j = mate[i];
+            if (j >= 0 && !vars[i].contains(values[j - n])) {
+                mate[i] = -1;
+                mateOfValue[j - n] = -1;
+            }
+        }
+        for (int q = s; q < e; q++) {
+            if (mate[order[q]] == -1) {
+                tryToMatch(order[q]);
+            }
+        }
+        int nbSCC = findSCC(s, e);
+        boolean filter = filter(s, e);
+        if (split && nbSCC > 1) {
+            refine(s, e, nbSCC);
+        }
+        return filter;
+    }
+
+    //***********************************************************************************
+    // MATCHING
+    //***********************************************************************************
+
+    private int node(int value) {
+        return map == null ? n + value - offset : map.get(value);
+    }
+
+    private void tryToMatch(int root) throws ContradictionException {
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(visited, 0);
+            stamp = 1;
+        }
+        int indexFirst = 0, indexLast = 0;
+        fifo[indexLast++] = root;
+        while (indexFirst != indexLast) {
+            int x = fifo[indexFirst++];
+            IntVar v = vars[x];
+            int ub = v.getUB();
+            for (int k = v.getLB(); k <= ub; k = v.nextValue(k)) {
+                int j = node(k) - n;
+                if (visited[j] != stamp) {
+                    visited[j] = stamp;
+                    parent[j] = x;
+                    if (mateOfValue[j] == -1) {
+                        augment(root, j);
+                        return;
+                    }
+                    fifo[indexLast++] = mateOfValue[j];
+                }
+            }
+        }
+        vars[root].instantiateTo(vars[root].getLB() - 1, aCause);
+    }
+
+    /**
+     * Flips the augmenting path from <i>root</i> to the free value <i>j</i>.
+     */
+    private void augment(int root, int j) {
+        while (true) {
+            int x = parent[j];
+            int next = mate[x];
+            mate[x] = j + n;
+            mateOfValue[j] = x;
+            if (x == root) {
+                return;
+            }
+            j = next - n;
+        }
+    }
+
+    //***********************************************************************************
+    // STRONGLY CONNECTED COMPONENTS
+    //***********************************************************************************
+
+    /**
+     * Tarjan's algorithm on the residual graph restricted to the component [<i>s</i>, <i>e</i>[:
+     * a variable points to the values of its domain but its matched one,
+     * a matched value points to its variable, a free value points to the sink
+     * and the sink points to the matched values of the component.
+     *
+     * @return the number of strongly connected components found
+     */
+    private int findSCC(int s, int e) {
+        for (int q = s; q < e; q++) {
+            int i = order[q];
+            IntVar v = vars[i];
+            dfs[i] = -1;
+            int ub = v.getUB();
+            for (int k = v.getLB(); k <= ub; k = v.nextValue(k)) {
+                dfs[node(k)] = -1;
+            }
+        }
+        dfs[sink] = -1;
+        int time = 0, sp = 0, nbSCC = 0;
+        for (int q = s; q < e; q++) {
+            int root = order[q];
+            if (dfs[root] != -1) {
+                continue;
+            }
+            int cp = 0;
+            time = open(root, time, sp++, s);
+            calls[cp++] = root;
+            while (cp > 0) {
+                int x = calls[cp - 1];
+                int y = nextSucc(x, e);
+                if (y >= 0) {
+                    if (dfs[y] == -1) {
+                        time = open(y, time, sp++, s);
+                        calls[cp++] = y;
+                    } else if (onStack.get(y)) {
+                        low[x] = Math.min(low[x], dfs[y]);
+                    }
+                } else {
+                    cp--;
+                    if (low[x] == dfs[x]) {
+                        int z;
+                        do {
+                            z = stack[--sp];
+                            onStack.clear(z);
+                            scc[z] = nbSCC;
+                        } while (z != x);
+                        nbSCC++;
+                    }
+                    if (cp > 0) {
+                        int u = calls[cp - 1];
+                        low[u] = Math.min(low[u], low[x]);
+                    }
+                }
+            }
+        }
+        return nbSCC;
+    }
+
+    private int open(int x, int time, int sp, int s) {
+        dfs[x] = low[x] = time;
+        stack[sp] = x;
+        onStack.set(x);
+        if (x < n) {
+            cursor[x] = vars[x].getLB();
+        } else if (x < sink) {
+            cursor[x] = 0;
+        } else {
+            cursor[x] = s;
+        }
+        return time + 1;
+    }
+
+    /**
+     * @return the next successor of <i>x</i> to visit, or -1 if none
+     */
+    private int nextSucc(int x, int e) {
+        if (x < n) {
+            IntVar v = vars[x];
+            int ub = v.getUB();
+            while (cursor[x] <= ub) {
+                int k = cursor[x];
+                cursor[x] = v.nextValue(k);
+                int j = node(k);
+                if (j != mate[x]) {
+                    return j;
+                }
+            }
+        } else if (x < sink) {
+            if (cursor[x] == 0) {
+                cursor[x] = 1;
+                int y = mateOfValue[x - n];
+                return y >= 0 ? y : sink;
+            }
+        } else if (cursor[x] < e) {
+            return mate[order[cursor[x]++]];
+        }
+        return -1;
+    }
+
+    //***********************************************************************************
+    // PRUNING
+    //***********************************************************************************
+
+    /**
+     * Removes the values which are not in the strongly connected component of their variable.
+     * The matched value of a variable, which may not have been visited, is always kept.
+     */
+    private boolean filter(int s, int e) throws ContradictionException {
+        boolean filter = false;
+        for (int q = s; q < e; q++) {
+            int i = order[q];
+            IntVar v = vars[i];
+            int c = scc[i];
+            if (v.hasEnumeratedDomain()) {
+                int ub = v.getUB();
+                for (int k = v.getLB(); k <= ub; k = v.nextValue(k)) {
+                    int j = node(k);
+                    if (j != mate[i] && scc[j] != c) {
+                        filter |= v.removeValue(k, aCause);
+                    }
+                }
+            } else {
+                int lb = v.getLB();
+                while (node(lb) != mate[i] && scc[node(lb)] != c) {
+                    lb++;
+                }
+                int ub = v.getUB();
+                while (node(ub) != mate[i] && scc[node(ub)] != c) {
+                    ub--;
+                }
+                filter |= v.updateBounds(lb, ub, aCause);
+            }
+        }
+        return filter;
+    }
+
+    /**
+     * Splits the component [<i>s</i>, <i>e</i>[ wrt the strongly connected components of its variables.
+     */
+    private void refine(int s, int e, int nbSCC) {
+        Arrays.fill(count, 0, nbSCC + 1, 0);
+        for (int q = s; q < e; q++) {
+            count[scc[order[q]] + 1]++;
+        }
+        for (int c = 1; c <= nbSCC; c++) {
+            count[c] += count[c - 1];
+        }
+        for (int q = s; q < e; q++) {
+            int i = order[q];
+            tmp[s + count[scc[i]]++] = i;
+        }
+        for (int q = s; q < e; q++) {
+            int i = tmp[q];
+            order[q] = i;
+            position[i] = q;
+            if (q > s && scc[i] != scc[tmp[q - 1]]) {
+                starts.set(q);
+            }
+        }
+    }
+}
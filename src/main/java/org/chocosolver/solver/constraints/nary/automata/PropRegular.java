@@ -12,6 +12,8 @@ package org.chocosolver.solver.constraints.nary.automata;
 import gnu.trove.iterator.TIntIterator;
 import gnu.trove.set.hash.TIntHashSet;
 import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.constraints.nary.automata.FA.IAutomaton;
@@ -30,6 +32,7 @@ import org.jgrapht.graph.DirectedMultigraph;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.HashSet;
+import java.util.Map;
 
 /**
  * <br/>
@@ -55,6 +58,12 @@ public class PropRegular extends Propagator<IntVar> {
         graph = initGraph(model.getEnvironment(), vars, automaton);
     }
 
+    @Override
+    public PropRegular copy(Model model, Map<Object, Object> copies) {
+        // the automaton is shared
+        return new PropRegular(ModelCopier.copyOf(vars, copies), automaton);
+    }
+
     @Override
     public void propagate(int evtmask) throws ContradictionException {
         assert evtmask == PropagatorEventType.FULL_PROPAGATION.getMask();
@@ -9,6 +9,9 @@
  */
 package org.chocosolver.solver.constraints.nary.clauses;
 
+import gnu.trove.map.hash.TIntIntHashMap;
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.solver.ICause;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.constraints.Constraint;
@@ -19,29 +22,47 @@ import org.chocosolver.solver.exception.SolverException;
 import org.chocosolver.solver.learn.ExplanationForSignedClause;
 import org.chocosolver.solver.learn.Implications;
 import org.chocosolver.solver.variables.IntVar;
-import org.chocosolver.solver.variables.events.IntEventType;
 import org.chocosolver.util.ESat;
-import org.chocosolver.util.objects.ShrinkableList;
 import org.chocosolver.util.objects.ValueSortedMap;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
-import org.chocosolver.util.objects.tree.Interval;
-import org.chocosolver.util.objects.tree.IntervalTree;
-import org.chocosolver.util.tools.ArrayUtils;
+import org.chocosolver.util.sort.ArraySort;
+import org.chocosolver.util.sort.IntComparator;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.List;
-import java.util.Stack;
+import java.util.Arrays;
+import java.util.function.Consumer;
 
 import static org.chocosolver.util.ESat.FALSE;
 import static org.chocosolver.util.ESat.TRUE;
 import static org.chocosolver.util.ESat.UNDEFINED;
 
 /**
- * A class to manage life of sclauses during resolution. TODO
- *
+ * A class to manage life of signed clauses during resolution.
+ * <p>
+ * Signed clauses are not propagators: they are stored in a single int array, the arena,
+ * where a clause of <i>n</i> literals is stored as a header of {@link #HEADER} ints
+ * (number of literals, number of the clause, positions of the two watched literals)
+ * followed by <i>n</i> triplets (index of the variable in this propagator, lower bound, upper bound).
+ * The literals of a clause are sorted by variable id, whatever the order they are declared in.
+ * A clause is referred to by its number, which gives its offset in the arena, its activity and so on.
+ * </p>
+ * <p>
+ * Clauses are propagated by this store, with two watched literals declared on two distinct variables:
+ * each variable has a list of clauses that watch one of its literals,
+ * and a clause is visited only when the domain of a variable it watches is modified.
+ * When a watched literal becomes false, another non-false literal is looked for,
+ * and if none exists, the variable of the other watched literal is restricted to the union of its non-false literals.
+ * Domains are modified with a specific cause, so that the store reacts to its own modifications.
+ * Clauses added during resolution are (fully) propagated on the next call to {@link #propagate(int)}.
+ * </p>
+ * <p>
+ * Deleted clauses are lazily detached from the watch lists and the arena is compacted
+ * once enough space has been wasted.
+ * </p>
+ * <p>
+ * Learnt clauses are forgotten wrt to a {@link ReductionPolicy}: either the less active ones are removed
+ * or, like in modern CDCL solvers, the clauses are ranked by literal block distance (LBD) into three tiers.
+ * With LBD, learnt clauses are also strengthened at root node by removing their falsified literals.
+ * </p>
  * <p> Project: choco-solver.
  *
  * @author Charles Prud'homme
@@ -56,21 +77,127 @@ public class ClauseStore extends Propagator<IntVar> {
     public static boolean INTERVAL_TREE = true;
 
     /**
-     * Signed clause unique ID -- for toString() mainly
+     * With {@link ReductionPolicy#LBD}, learnt clauses whose LBD is less than or equal to this value are never forgotten.
+     */
+    public static int CORE_LBD = 2;
+
+    /**
+     * With {@link ReductionPolicy#LBD}, learnt clauses whose LBD is less than or equal to this value are kept
+     * as long as they take part in conflict analysis between two reductions.
+     */
+    public static int TIER2_LBD = 6;
+
+    /**
+     * Policies to select the learnt clauses to forget when the store is reduced.
+     */
+    public enum ReductionPolicy {
+        /**
+         * Keep the most active learnt clauses
+         */
+        ACTIVITY,
+        /**
+         * Keep core clauses (small LBD) forever, mid-tier clauses while they are used
+         * and the best local clauses wrt to their LBD then their activity
+         */
+        LBD
+    }
+
+    private static final byte CORE = 0;
+    private static final byte TIER2 = 1;
+    private static final byte LOCAL = 2;
+
+    /**
+     * Number of ints in the header of a clause
+     */
+    private static final int HEADER = 4;
+    /**
+     * Offset of the position of the first watched literal in the header
+     */
+    private static final int W0 = 2;
+    /**
+     * Offset of the position of the second watched literal in the header
      */
-    private static int SID = 1;
+    private static final int W1 = 3;
     /**
      * Solver that handles the clauses
      */
     private Solver mSolver;
     /**
-     * List of current sclauses
+     * The arena, where clauses are stored
+     */
+    private int[] arena;
+    /**
+     * First free index in the arena
+     */
+    private int top;
+    /**
+     * Number of ints in the arena occupied by deleted clauses
+     */
+    private int wasted;
+    /**
+     * Offset of each clause in the arena, by number, or -1 if the clause has been deleted
      */
-    private List<SignedClause> clauses;
+    private int[] offsets;
     /**
-     * List of current sclauses
+     * Activity of each clause, by number
      */
-    private List<SignedClause> learnts;
+    private double[] activities;
+    /**
+     * Number of times each clause has been used in an explanation, by number
+     */
+    private int[] rawActivities;
+    /**
+     * Literal block distance of each clause, by number
+     */
+    private int[] lbds;
+    /**
+     * Tier of each clause, by number
+     */
+    private byte[] tiers;
+    /**
+     * Index of the last reduction before which each clause was used in conflict analysis, by number
+     */
+    private int[] lastUses;
+    /**
+     * Number of clauses numbers in use
+     */
+    private int nbNums;
+    /**
+     * Numbers of deleted clauses, to recycle once the arena is compacted
+     */
+    private int[] deleted;
+    private int nbDeleted;
+    /**
+     * Numbers available for new clauses
+     */
+    private int[] free;
+    private int nbFree;
+    /**
+     * Number of current (not learnt) clauses
+     */
+    private int nbClauses;
+    /**
+     * Numbers of current learnt clauses, in order of addition
+     */
+    private int[] learnts;
+    private int nbLearnts;
+    /**
+     * Numbers of clauses added but not yet propagated
+     */
+    private int[] pending;
+    private int nbPending;
+    /**
+     * Index of a variable in this propagator, by variable id
+     */
+    private final TIntIntHashMap indices;
+    /**
+     * For each variable, numbers of the clauses that watch one of its literals
+     */
+    private int[][] watches;
+    /**
+     * For each variable, number of clauses in {@link #watches}
+     */
+    private int[] nbWatches;
     /**
      * Number of learnts signed clauses to not exceed
      */
@@ -79,18 +206,71 @@ public class ClauseStore extends Propagator<IntVar> {
      * Ratio of clauses to keep on removal
      */
     private final double ratio;
+    /**
+     * Policy to select the clauses to forget
+     */
+    private final ReductionPolicy policy;
+    /**
+     * Number of learnt clauses that triggers a reduction
+     */
+    private int reduceLimit;
+    /**
+     * Number of reductions done so far
+     */
+    private int nbReductions;
 
     private final int domPerimeter;
     /**
-     * Reference to the last learnt signed clause, for checking routine
+     * Number of the last learnt signed clause, for checking routine, or -1
      */
-    private SignedClause last;
-
-    private HashMap<IntVar, IntervalTree<Container>> watches;
+    private int last;
     /**
      * Amount to bump clause with.
      */
     private double clauseInc = 1d;
+    /**
+     * Cause of the modifications made by the clauses.
+     */
+    private final Reason reason;
+    /**
+     * Implication graph, if any, to record the reasons of the modifications
+     */
+    private Implications ig;
+    /**
+     * Stack of reasons: the position in the implication graph when a clause filtered and the number of this clause.
+     * Positions are increasing.
+     */
+    private int[] reasonPos;
+    private int[] reasonNums;
+    private final IStateInt nbReasons;
+    /**
+     * Clauses that are reasons of a modification in the current branch are marked with {@link #stamp}
+     */
+    private int[] locks;
+    private int stamp;
+    /**
+     * Decision levels met while computing an LBD are marked with {@link #levelStamp}
+     */
+    private int[] levels;
+    private int levelStamp;
+    /**
+     * To sort learnt clauses
+     */
+    private ArraySort<?> sorter;
+    private int sorterCapacity;
+    /**
+     * Learnt clauses that may be forgotten on reduction
+     */
+    private int[] candidates;
+    /**
+     * Positions of the variables of a clause being allocated, sorted by increasing variable id
+     */
+    private int[] order;
+    /**
+     * Temporary structures
+     */
+    private final IntIterableRangeSet set;
+    private final ValueSortedMap<IntVar> nodes;
 
     /**
      * Create a Nogood store connected to a model.
@@ -104,19 +284,65 @@ public class ClauseStore extends Propagator<IntVar> {
         this.nbMaxLearnts = model.getSettings().getNbMaxLearntClauses();
         this.ratio = model.getSettings().getRatioForClauseStoreReduction();
         this.domPerimeter = model.getSettings().getLearntClausesDominancePerimeter();
-        this.clauses = new ArrayList<>();
-        this.learnts = new ArrayList<>();
-        last = null;
-        this.watches = new HashMap<>();
+        this.policy = model.getSettings().getLearntClausesReductionPolicy();
+        this.reduceLimit = nbMaxLearnts;
+        this.arena = new int[256];
+        this.offsets = new int[16];
+        this.activities = new double[16];
+        this.rawActivities = new int[16];
+        this.lbds = new int[16];
+        this.tiers = new byte[16];
+        this.lastUses = new int[16];
+        this.locks = new int[16];
+        this.levels = new int[16];
+        this.candidates = new int[16];
+        this.order = new int[16];
+        this.deleted = new int[16];
+        this.free = new int[16];
+        this.learnts = new int[16];
+        this.pending = new int[16];
+        this.indices = new TIntIntHashMap(16, .5f, -1, -1);
+        this.watches = new int[16][];
+        this.nbWatches = new int[16];
+        this.reasonPos = new int[16];
+        this.reasonNums = new int[16];
+        this.nbReasons = model.getEnvironment().makeInt(0);
+        this.reason = new Reason();
+        this.set = new IntIterableRangeSet();
+        this.nodes = new ValueSortedMap<>();
+        last = -1;
         setActive0();
     }
 
     public int getNbClauses() {
-        return clauses.size();
+        return nbClauses;
     }
 
     public int getNbLearntClauses() {
-        return learnts.size();
+        return nbLearnts;
+    }
+
+    /**
+     * @return the number of ints in use in the arena, including the ones of deleted clauses
+     */
+    int getArenaSize() {
+        return top;
+    }
+
+    /**
+     * @return the number of ints in the arena occupied by deleted clauses
+     */
+    int getWasted() {
+        return wasted;
+    }
+
+    /**
+     * @param var a variable
+     * @return the number of clauses in the watch list of <i>var</i>, deleted ones not detached yet included
+     */
+    int getNbWatches(IntVar var) {
+        int idx = indices.get(var.getId());
+        return idx == -1 ? 0 : nbWatches[idx];
     }
 
     /**
@@ -124,20 +350,29 @@ public class ClauseStore extends Propagator<IntVar> {
      */
     public void add(IntVar[] vars, IntIterableRangeSet[] ranges) {
         if (INTERVAL_TREE) {
-            SignedClause cl = new SignedClause(vars, ranges);
-            attach(new Watcher(cl.pos[0], cl));
-            attach(new Watcher(cl.pos[1], cl));
+            int num = allocate(vars, ranges);
             if (model.getSolver().getEngine().isInitialized()) {
-                this.learnts.add(cl);
-                last = cl;
-                last.activity = clauseInc;
-                last.rawActivity = 1;
-                if (PRINT_CLAUSE) System.out.printf("learn: %s\n", cl);
+                learnts = push(learnts, nbLearnts++, num);
+                last = num;
+                activities[num] = clauseInc;
+                rawActivities[num] = 1;
+                if (policy == ReductionPolicy.LBD) {
+                    if (ig == null) {
+                        ig = mSolver.getEventObserver().getGI().orElse(null);
+                    }
+                    lbds[num] = computeLBD(offsets[num], ig == null ? 0 : ig.size());
+                    tiers[num] = tierOf(lbds[num]);
+                    lastUses[num] = nbReductions;
+                }
+                if (PRINT_CLAUSE) System.out.printf("learn: %s\n", toString(num));
             } else {
-                if (PRINT_CLAUSE) System.out.printf("add: %s\n", cl);
-                this.clauses.add(cl);
+                if (PRINT_CLAUSE) System.out.printf("add: %s\n", toString(num));
+                nbClauses++;
+            }
+            pending = push(pending, nbPending++, num);
+            if (model.getSolver().getEngine().isInitialized()) {
+                mSolver.getEngine().propagateOnBacktrack(this);
             }
-            mSolver.getEngine().dynamicAddition(true, cl);
         } else {
             PropSignedClause cl = PropSignedClause.makeFromIn(vars, ranges);
             if (PRINT_CLAUSE) System.out.printf("learn: %s\n", cl);
@@ -145,63 +380,165 @@ public class ClauseStore extends Propagator<IntVar> {
         }
     }
 
-    private void attach(Watcher w) {
-        IntVar var = w.c.v(w.p);
-        IntervalTree<Container> wm = watches.get(var);
-        if (wm == null) {
-            wm = new IntervalTree<>();
-            watches.put(var, wm);
-            this.addVariable(var);
+    /**
+     * Store a new clause in the arena.
+     *
+     * @return the number of the clause
+     */
+    private int allocate(IntVar[] vars, IntIterableRangeSet[] ranges) {
+        int size = 0;
+        for (int i = 0; i < ranges.length; i++) {
+            size += ranges[i].getNbRanges();
+        }
+        sortById(vars, ranges.length);
+        int num = newNumber();
+        int off = top;
+        ensureArenaCapacity(off + HEADER + 3 * size);
+        arena[off] = size;
+        arena[off + 1] = num;
+        arena[off + W0] = 0;
+        int first = ranges[order[0]].getNbRanges();
+        arena[off + W1] = size > first ? first : 0;
+        IntVar[] nvars = new IntVar[vars.length];
+        int nb = 0;
+        for (int j = 0, k = off + HEADER; j < ranges.length; j++) {
+            int i = order[j];
+            int idx = indices.get(vars[i].getId());
+            if (idx == -1) {
+                idx = this.vars.length + nb;
+                indices.put(vars[i].getId(), idx);
+                nvars[nb++] = vars[i];
+            }
+            for (int r = 0; r < ranges[i].getNbRanges(); r++, k += 3) {
+                arena[k] = idx;
+                arena[k + 1] = ranges[i].minOfRange(r);
+                arena[k + 2] = ranges[i].maxOfRange(r);
+            }
         }
-        Container ct = wm.get(w.c.l(w.p), w.c.u(w.p));
-        if (ct == null) {
-            ct = new Container(w.c.l(w.p), w.c.u(w.p));
-            wm.insert(ct);
+        top += HEADER + 3 * size;
+        offsets[num] = off;
+        activities[num] = 0d;
+        rawActivities[num] = 0;
+        lbds[num] = 0;
+        tiers[num] = CORE;
+        if (nb > 0) {
+            int n = this.vars.length + nb;
+            if (n > watches.length) {
+                n = Math.max(n, watches.length * 3 / 2);
+                watches = Arrays.copyOf(watches, n);
+                nbWatches = Arrays.copyOf(nbWatches, n);
+            }
+            this.addVariable(Arrays.copyOf(nvars, nb));
         }
-        ct.add(w);
+        return num;
     }
 
     /**
-     * Remove the nogood at position <i>idx</i>
-     *
-     * @param idx position of the nogood in {@link #learnts}.
+     * Sort the positions of the <i>n</i> first variables of <i>vars</i> by increasing id, into {@link #order}.
+     * Variables usually come sorted, an insertion sort is then linear.
      */
-    private void remove(int idx) {
-        SignedClause ng = learnts.remove(idx);
-        mSolver.getEngine().dynamicDeletion(ng);
-        ng.pos[0] = ng.pos[1] = -1; // to remove it from watchers
+    private void sortById(IntVar[] vars, int n) {
+        if (order.length < n) {
+            order = new int[Math.max(n, order.length * 3 / 2)];
+        }
+        for (int i = 0; i < n; i++) {
+            int id = vars[i].getId();
+            int j = i;
+            while (j > 0 && vars[order[j - 1]].getId() > id) {
+                order[j] = order[j - 1];
+                j--;
+            }
+            order[j] = i;
+        }
     }
 
-    private void check(SignedClause ng) {
+    /**
+     * @return a number for a new clause
+     */
+    private int newNumber() {
+        int num = nbFree > 0 ? free[--nbFree] : nbNums++;
+        if (num >= offsets.length) {
+            int n = Math.max(num + 1, offsets.length * 3 / 2);
+            offsets = Arrays.copyOf(offsets, n);
+            activities = Arrays.copyOf(activities, n);
+            rawActivities = Arrays.copyOf(rawActivities, n);
+            lbds = Arrays.copyOf(lbds, n);
+            tiers = Arrays.copyOf(tiers, n);
+            lastUses = Arrays.copyOf(lastUses, n);
+            locks = Arrays.copyOf(locks, n);
+        }
+        return num;
+    }
+
+    private void ensureArenaCapacity(int capacity) {
+        if (capacity > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(capacity, arena.length * 3 / 2));
+        }
+    }
+
+    private static int[] push(int[] list, int size, int e) {
+        if (size == list.length) {
+            list = Arrays.copyOf(list, size * 3 / 2 + 1);
+        }
+        list[size] = e;
+        return list;
+    }
+
+    /**
+     * Make clause <i>num</i> watch a literal of the variable at index <i>idx</i>
+     */
+    private void watch(int idx, int num) {
+        int[] ws = watches[idx];
+        if (ws == null) {
+            ws = watches[idx] = new int[4];
+        }
+        watches[idx] = push(ws, nbWatches[idx]++, num);
+    }
+
+    /**
+     * Remove the learnt clause <i>num</i>.
+     * It is detached from watch lists on their next visit or on next compaction.
+     */
+    private void remove(int num) {
+        int off = offsets[num];
+        wasted += HEADER + 3 * arena[off];
+        offsets[num] = -1;
+        deleted = push(deleted, nbDeleted++, num);
+    }
+
+    private void checkLearnt(int num) {
         if (mSolver.getDecisionPath().size() > 1) { // if at root node)
             // collect variables related to UNDEF lits.
             // If only one variable is concerned, then we can force the clause to filter.
-            IntVar uni = null;
+            int off = offsets[num];
+            int n = arena[off];
+            int uni = -1;
             int usl = 0;
             int fsl = 0;
-            for (int i = 0; i < ng.pos.length; i++) {
-                switch (ng.check(i)) {
+            for (int i = 0; i < n; i++) {
+                int lit = off + HEADER + 3 * i;
+                switch (check(lit)) {
                     case TRUE:
-                        throw new SolverException("Learn a satisfied signed clause: " + ng);
+                        throw new SolverException("Learn a satisfied signed clause: " + toString(num));
                     case FALSE:
                         fsl++;
                         break;
                     case UNDEFINED:
-                        if (usl == 0 && uni == null) {
-                            uni = ng.mvars[i];
+                        if (usl == 0 && uni == -1) {
+                            uni = arena[lit];
                             usl++;
-                        } else if (usl > 0 && uni != ng.mvars[i]) {
-                            uni = null;
+                        } else if (usl > 0 && uni != arena[lit]) {
+                            uni = -1;
                         }
                         break;
                 }
             }
-            if (fsl < ng.cardinality() - 1) {
-                if (uni == null) {
-                    throw new SolverException("Learn a weak clause (" + fsl + "/" + ng.cardinality() + ")");
+            if (fsl < n - 1) {
+                if (uni == -1) {
+                    throw new SolverException("Learn a weak clause (" + fsl + "/" + n + ")");
                 }
             }
-            if (fsl == ng.cardinality()) {
+            if (fsl == n) {
                 throw new SolverException("wrong clause asserting level");
             }
         }
@@ -212,17 +549,24 @@ public class ClauseStore extends Propagator<IntVar> {
      */
     public void forget() {
         decayActivity();
+        markLocked();
         if (mSolver.getDecisionPath().size() == 1) { // at root node
             simplifyDB();
-        } else if (last != null) {
+            if (policy == ReductionPolicy.LBD) {
+                strengthenDB();
+            }
+        } else if (last != -1) {
             if (ASSERT_UNIT_PROP) {
-                check(last);
+                checkLearnt(last);
             }
             detectDominance();
         }
         // 2. reduce database
         reduceDB();
-        last = null;
+        if (wasted > (top >> 2)) {
+            collect();
+        }
+        last = -1;
     }
 
     private void decayActivity() {
@@ -233,259 +577,590 @@ public class ClauseStore extends Propagator<IntVar> {
         // counts by scaling everything down by a factor of 1e20.
         if (clauseInc > 1e20) {
             clauseInc *= 1e-20;
-            for (int i = 0; i < learnts.size(); i++) {
-                learnts.get(i).activity *= 1e-20;
+            for (int i = 0; i < nbLearnts; i++) {
+                activities[learnts[i]] *= 1e-20;
             }
         }
     }
 
+    /**
+     * Mark the clauses that are reasons of a modification in the current branch, they cannot be deleted.
+     */
+    private void markLocked() {
+        stamp++;
+        for (int i = nbReasons.get() - 1; i >= 0; i--) {
+            locks[reasonNums[i]] = stamp;
+        }
+    }
+
+    private boolean isNotLocked(int num) {
+        return locks[num] != stamp;
+    }
 
     /**
      * Top level clean up. At root node, remove clauses entailed to true.
      */
     private void simplifyDB() {
-        int size = learnts.size();
-        for (int i = size - 1; i >= 0; i--) {
-            SignedClause ng = learnts.get(i);
-            if (ng.isNotLocked() && ng.isEntailed() == ESat.TRUE) {
-                remove(i);
+        int size = nbLearnts;
+        int k = 0;
+        for (int i = 0; i < size; i++) {
+            int num = learnts[i];
+            if (isNotLocked(num) && isEntailed(num) == ESat.TRUE) {
+                remove(num);
+            } else {
+                learnts[k++] = num;
             }
         }
-        if (size > learnts.size() && model.getSettings().warnUser()) {
-            System.out.printf("Simplify DB: %d -> %d\n", size, learnts.size());
+        nbLearnts = k;
+        if (size > nbLearnts && model.getSettings().warnUser()) {
+            System.out.printf("Simplify DB: %d -> %d\n", size, nbLearnts);
         }
     }
 
     /**
-     * Remove sclauses with a lifespan greater than <i>lifespan</i> and which did not filtered in
-     * the current branch.
+     * Inprocessing at root node: remove from learnt clauses the literals that are falsified.
+     * A strengthened clause is replaced by a new one, which is propagated on the next call to {@link #propagate(int)}.
      */
-    private void reduceDB() {
-        int size = learnts.size();
-        if (size >= nbMaxLearnts) {
-            learnts.sort(Comparator.comparingDouble(c -> -c.activity));
-            long to = Math.round(ratio * size);
-            for (int i = size - 1; i >= to; i--) {
-                SignedClause ng = learnts.get(i);
-                if (ng.isNotLocked() && ng != last) {
-                    remove(i);
-                }
-            }
-            if (size > learnts.size() && model.getSettings().warnUser()) {
-                System.out.printf("Reduce DB: %d -> %d\n", size, learnts.size());
-            }
-            for (IntervalTree<Container> t : watches.values()) {
-                Stack<Container> del = new Stack<>();
-                for (Container c : t) {
-                    c.watchers.removeIf(w -> !w.c.isConnected());
-                    if(c.watchers.isEmpty()){
-                        del.push(c);
+    private void strengthenDB() {
+        boolean strengthened = false;
+        for (int i = 0; i < nbLearnts; i++) {
+            int num = learnts[i];
+            if (isNotLocked(num) && num != last) {
+                int off = offsets[num];
+                int n = arena[off];
+                int nf = 0;
+                for (int j = 0; j < n; j++) {
+                    if (check(off + HEADER + 3 * j) == FALSE) {
+                        nf++;
                     }
                 }
-                while(!del.isEmpty()){
-                    t.delete(del.pop());
+                // a falsified clause is left to propagation
+                if (nf > 0 && nf < n) {
+                    learnts[i] = strengthen(num, n - nf);
+                    strengthened = true;
                 }
             }
         }
+        if (strengthened) {
+            mSolver.getEngine().propagateOnBacktrack(this);
+        }
     }
 
-    private void detectDominance() {
-        int size = learnts.size();
-        SignedClause ng0 = learnts.get(size - 1);
-        for (int i = size - 2; i >= Math.max(0, size - domPerimeter - 1); i--) {
-            SignedClause ng = learnts.get(i);
-            if (ng.isNotLocked() && ng0.dominate(ng) > 0) {
-                remove(i);
+    /**
+     * Copy the non-falsified literals of clause <i>num</i> into a new clause, then remove <i>num</i>.
+     *
+     * @param num  number of a clause
+     * @param size number of non-falsified literals in the clause
+     * @return the number of the new clause
+     */
+    private int strengthen(int num, int size) {
+        int nnum = newNumber();
+        int noff = top;
+        ensureArenaCapacity(noff + HEADER + 3 * size);
+        int off = offsets[num];
+        int n = arena[off];
+        for (int i = 0, k = noff + HEADER; i < n; i++) {
+            int lit = off + HEADER + 3 * i;
+            if (check(lit) != FALSE) {
+                System.arraycopy(arena, lit, arena, k, 3);
+                k += 3;
             }
         }
-        if (size > learnts.size() && model.getSettings().warnUser()) {
-            System.out.printf("Dominance DB: %d -> %d\n", size, learnts.size());
-        }
+        arena[noff] = size;
+        arena[noff + 1] = nnum;
+        arena[noff + W0] = 0;
+        arena[noff + W1] = 0;
+        top += HEADER + 3 * size;
+        offsets[nnum] = noff;
+        activities[nnum] = activities[num];
+        rawActivities[nnum] = rawActivities[num];
+        lbds[nnum] = Math.min(lbds[num], size);
+        tiers[nnum] = tierOf(lbds[nnum]);
+        lastUses[nnum] = lastUses[num];
+        if (PRINT_CLAUSE) System.out.printf("strengthen: %s\n", toString(nnum));
+        remove(num);
+        pending = push(pending, nbPending++, nnum);
+        return nnum;
     }
 
-
-    public void printStatistics() {
-        learnts.sort(Comparator.comparingInt(c -> -c.rawActivity));
-        System.out.print("Top ten clauses:\n");
-        for (int i = 0; i < 10 && i < learnts.size(); i++) {
-            System.out.printf("%d : %d %s\n", i, learnts.get(i).rawActivity, learnts.get(i));
+    /**
+     * Forget learnt clauses, when their number exceeds the limit.
+     */
+    private void reduceDB() {
+        int size = nbLearnts;
+        if (size >= reduceLimit) {
+            if (policy == ReductionPolicy.LBD) {
+                reduceByLBD();
+            } else {
+                reduceByActivity();
+            }
+            if (size > nbLearnts && model.getSettings().warnUser()) {
+                System.out.printf("Reduce DB: %d -> %d\n", size, nbLearnts);
+            }
+            collect();
         }
     }
 
-    @Override
-    public void propagate(int evtmask) throws ContradictionException {
-        // nothing is done here
+    /**
+     * Remove the less active learnt clauses.
+     */
+    private void reduceByActivity() {
+        int size = nbLearnts;
+        sort(learnts, size, (i, j) -> Double.compare(activities[j], activities[i]));
+        int k = (int) Math.round(ratio * size);
+        for (int i = k; i < size; i++) {
+            int num = learnts[i];
+            if (isNotLocked(num) && num != last) {
+                remove(num);
+            } else {
+                learnts[k++] = num;
+            }
+        }
+        nbLearnts = k;
     }
 
-    @Override
-    public void propagate(int idxVarInProp, int mask) throws ContradictionException {
-        // iterate over clauses that needs to be propagator
-        IntVar var = vars[idxVarInProp];
-        IntervalTree<Container> wm = watches.get(var);
-        int lb = var.getLB();
-        int ub = var.getUB();
-        if (IntEventType.isInstantiate(mask) || IntEventType.isRemove(mask)) {
-            sweep(wm.iterator(), var, lb, ub);
-        } else {
-            if (IntEventType.isInclow(mask)) {
-                wm.forAllBelow(lb, c -> checkCont(c, var, lb, ub));
+    /**
+     * Core clauses are kept.
+     * Mid-tier clauses are kept too, but the ones not used since the previous reduction are moved to the local tier.
+     * Among local clauses, the ones with the worst LBD (then the less active ones) are removed.
+     * The store will be reduced again once the number of local clauses reaches the limit.
+     */
+    private void reduceByLBD() {
+        int size = nbLearnts;
+        int k = 0;
+        int nbc = 0;
+        if (candidates.length < size) {
+            candidates = new int[Math.max(size, candidates.length * 3 / 2)];
+        }
+        for (int i = 0; i < size; i++) {
+            int num = learnts[i];
+            if (tiers[num] == LOCAL) {
+                candidates[nbc++] = num;
+            } else {
+                if (tiers[num] == TIER2 && lastUses[num] < nbReductions) {
+                    tiers[num] = LOCAL;
+                }
+                learnts[k++] = num;
             }
-            if (IntEventType.isDecupp(mask)) {
-                wm.forAllAbove(ub, c -> checkCont(c, var, lb, ub));
+        }
+        int kept = k;
+        sort(candidates, nbc, (i, j) -> lbds[i] != lbds[j] ?
+                Integer.compare(lbds[i], lbds[j]) :
+                Double.compare(activities[j], activities[i]));
+        int r = (int) Math.round(ratio * nbc);
+        for (int i = 0; i < nbc; i++) {
+            int num = candidates[i];
+            if (i < r || !isNotLocked(num) || num == last) {
+                learnts[k++] = num;
+            } else {
+                remove(num);
             }
         }
+        nbLearnts = k;
+        nbReductions++;
+        reduceLimit = kept + nbMaxLearnts;
     }
 
-    @Override
-    public ESat isEntailed() {
-        ESat sat = ESat.TRUE;
-        for (int i = 0; i < clauses.size() && sat == TRUE; i++) {
-            sat = clauses.get(i).isEntailed();
-        }
-        for (int i = 0; i < learnts.size() && sat == TRUE; i++) {
-            sat = learnts.get(i).isEntailed();
+    /**
+     * @param lbd a literal block distance
+     * @return the tier of a learnt clause with such LBD
+     */
+    private static byte tierOf(int lbd) {
+        if (lbd <= CORE_LBD) {
+            return CORE;
+        } else if (lbd <= TIER2_LBD) {
+            return TIER2;
         }
-        return sat;
+        return LOCAL;
     }
 
+    /**
+     * Compute the literal block distance of a clause, that is the number of distinct decision levels
+     * of its variables, considering the implication graph before position <i>p</i>.
+     * Without implication graph, the number of distinct variables is returned.
+     *
+     * @param off offset of a clause
+     * @param p   a position in the implication graph
+     * @return the LBD of the clause
+     */
+    private int computeLBD(int off, int p) {
+        int n = arena[off];
+        int lbd = 0;
+        levelStamp++;
+        nodes.clear();
+        for (int i = 0; i < n; i++) {
+            int v = arena[off + HEADER + 3 * i];
+            if (i == 0 || v != arena[off + HEADER + 3 * (i - 1)]) {
+                if (ig == null) {
+                    lbd++;
+                    continue;
+                }
+                ig.findPredecessor(nodes, vars[v], p);
+                int dl = ig.getDecisionLevelAt(nodes.getValue(vars[v]));
+                if (dl >= levels.length) {
+                    levels = Arrays.copyOf(levels, Math.max(dl + 1, levels.length * 3 / 2));
+                }
+                if (levels[dl] != levelStamp) {
+                    levels[dl] = levelStamp;
+                    lbd++;
+                }
+            }
+        }
+        return lbd;
+    }
 
-    private void sweep(Iterator<Container> it, IntVar v, int lb, int ub) {
-        while (it.hasNext()) {
-            checkCont(it.next(), v, lb, ub);
+    private void sort(int[] items, int size, IntComparator comparator) {
+        if (sorterCapacity < size) {
+            sorterCapacity = Math.max(size, nbMaxLearnts);
+            sorter = new ArraySort<>(sorterCapacity, false, true);
         }
+        sorter.sort(items, size, comparator);
     }
 
-    private void checkCont(Container ct, IntVar v, int lb, int ub) {
-        if (!ct.isActive()) return;
-        ESat check = check(lb, ub, ct.s, ct.e, v);
-        if (check != UNDEFINED) {
-            if (check == FALSE) {
-                ct.sweepOnFalse();
+    private void detectDominance() {
+        int size = nbLearnts;
+        int ng0 = learnts[size - 1];
+        int from = Math.max(0, size - domPerimeter - 1);
+        int k = from;
+        for (int i = from; i < size - 1; i++) {
+            int num = learnts[i];
+            if (isNotLocked(num) && dominate(ng0, num) > 0) {
+                remove(num);
             } else {
-                ct.sweepOnTrue();
+                learnts[k++] = num;
             }
-            model.getEnvironment().save(ct::setActive);
-            ct.setPassive();
+        }
+        learnts[k++] = ng0;
+        nbLearnts = k;
+        if (size > nbLearnts && model.getSettings().warnUser()) {
+            System.out.printf("Dominance DB: %d -> %d\n", size, nbLearnts);
         }
     }
 
-    private final class Container implements Interval {
-
-        int s, e;
-        ShrinkableList<Watcher> watchers;
-        boolean active = true;
-
-        Container(int s, int e) {
-            this.s = s;
-            this.e = e;
-            this.watchers = new ShrinkableList<>();
+    /**
+     * Detach deleted clauses from the watch lists, compact the arena and recycle the numbers of deleted clauses.
+     */
+    private void collect() {
+        for (int v = 0; v < vars.length; v++) {
+            int[] ws = watches[v];
+            int n = nbWatches[v];
+            int k = 0;
+            for (int i = 0; i < n; i++) {
+                if (offsets[ws[i]] > -1) {
+                    ws[k++] = ws[i];
+                }
+            }
+            nbWatches[v] = k;
         }
-
-        @Override
-        public int start() {
-            return s;
+        int k = 0;
+        for (int i = 0; i < nbPending; i++) {
+            if (offsets[pending[i]] > -1) {
+                pending[k++] = pending[i];
+            }
         }
-
-        @Override
-        public int end() {
-            return e;
+        nbPending = k;
+        int to = 0;
+        for (int from = 0; from < top; ) {
+            int len = HEADER + 3 * arena[from];
+            int num = arena[from + 1];
+            if (offsets[num] == from) {
+                if (to != from) {
+                    System.arraycopy(arena, from, arena, to, len);
+                    offsets[num] = to;
+                }
+                to += len;
+            }
+            from += len;
+        }
+        top = to;
+        wasted = 0;
+        for (int i = 0; i < nbDeleted; i++) {
+            free = push(free, nbFree++, deleted[i]);
         }
+        nbDeleted = 0;
+    }
 
-        public void add(Watcher w) {
-            this.watchers.add(w);
+    public void printStatistics() {
+        int[] nums = Arrays.copyOf(learnts, nbLearnts);
+        sort(nums, nbLearnts, (i, j) -> Integer.compare(rawActivities[j], rawActivities[i]));
+        System.out.print("Top ten clauses:\n");
+        for (int i = 0; i < 10 && i < nbLearnts; i++) {
+            System.out.printf("%d : %d %s\n", i, rawActivities[nums[i]], toString(nums[i]));
         }
+    }
 
-        boolean isActive() {
-            return active;
+    @Override
+    public void propagate(int evtmask) throws ContradictionException {
+        if (ig == null) {
+            ig = mSolver.getEventObserver().getGI().orElse(null);
+        }
+        // propagate new clauses, in any order
+        while (nbPending > 0) {
+            int num = pending[--nbPending];
+            if (offsets[num] > -1) {
+                propagateClause(num);
+            }
         }
+    }
 
-        void setPassive() {
-            active = false;
+    /**
+     * Choose the watched literals of a new clause and propagate it, if needed.
+     *
+     * @param num number of the clause
+     * @throws ContradictionException if the clause is falsified
+     */
+    private void propagateClause(int num) throws ContradictionException {
+        int off = offsets[num];
+        int n = arena[off];
+        int a = -1, b = -1;
+        for (int i = 0; i < n; i++) {
+            int lit = off + HEADER + 3 * i;
+            ESat s = check(lit);
+            if (s == TRUE) {
+                // satisfied, watch any other variable
+                a = i;
+                b = latestFalsified(off, arena[lit]);
+                break;
+            } else if (s == UNDEFINED) {
+                if (a == -1) {
+                    a = i;
+                } else if (b == -1 && arena[lit] != arena[off + HEADER + 3 * a]) {
+                    b = i;
+                }
+            }
+        }
+        if (a == -1) {
+            // all literals are false
+            a = latestFalsified(off, -1);
+        }
+        if (b == -1) {
+            b = latestFalsified(off, arena[off + HEADER + 3 * a]);
+            if (b == -1) {
+                // the clause is declared on a single variable
+                b = a;
+            }
+        }
+        arena[off + W0] = a;
+        arena[off + W1] = b;
+        int va = arena[off + HEADER + 3 * a];
+        int vb = arena[off + HEADER + 3 * b];
+        watch(va, num);
+        if (va != vb) {
+            watch(vb, num);
         }
+        if (check(off + HEADER + 3 * a) != TRUE && (va == vb || check(off + HEADER + 3 * b) == FALSE)) {
+            propagateUnit(num, off, va);
+        }
+    }
 
-        void setActive() {
-            active = true;
+    /**
+     * @param off    offset of a clause
+     * @param except index of a variable to ignore, or -1
+     * @return among the literals declared on another variable than <i>except</i>,
+     * the one whose variable was modified last, or -1 if there is no such literal.
+     * Without implication graph, the first of them.
+     */
+    private int latestFalsified(int off, int except) {
+        int n = arena[off];
+        int best = -1;
+        int pbest = -1;
+        for (int i = 0; i < n; i++) {
+            int v = arena[off + HEADER + 3 * i];
+            if (v != except && (i == 0 || v != arena[off + HEADER + 3 * (i - 1)])) {
+                if (ig == null || mSolver.getDecisionPath().size() == 1) {
+                    return i;
+                }
+                nodes.clear();
+                ig.findPredecessor(nodes, vars[v], ig.size());
+                int p = nodes.getValue(vars[v]);
+                if (p > pbest) {
+                    pbest = p;
+                    best = i;
+                }
+            }
         }
+        return best;
+    }
 
-        void sweepOnFalse() {
-            int i = 0;
-            int j = i;
-            int p;
-            int s = watchers.size();
-            while (i < s) {
-                Watcher w = watchers.get(i++);
-                SignedClause c = w.c;
-                if (w.p != c.pos[p = 0] && w.p != c.pos[++p]) {
+    @Override
+    public void propagate(int idxVarInProp, int mask) throws ContradictionException {
+        // iterate over clauses that watch a literal of the variable
+        if (idxVarInProp >= watches.length) return;
+        int[] ws = watches[idxVarInProp];
+        int n = nbWatches[idxVarInProp];
+        int i = 0, j = 0;
+        try {
+            for (; i < n; i++) {
+                int num = ws[i];
+                int off = offsets[num];
+                if (off == -1) {
+                    // deleted clause, forget it
+                    continue;
+                }
+                int w, o;
+                if (arena[off + HEADER + 3 * arena[off + W0]] == idxVarInProp) {
+                    w = W0;
+                    o = W1;
+                } else if (arena[off + HEADER + 3 * arena[off + W1]] == idxVarInProp) {
+                    w = W1;
+                    o = W0;
+                } else {
                     // watched literal loss, forget it
                     continue;
                 }
-                if (w.c.isScheduled()) { // clause already scheduled, skip it
-                    watchers.set(j++, w);
+                ws[j++] = num;
+                if (check(off + HEADER + 3 * arena[off + w]) != FALSE) {
                     continue;
                 }
-                if (!w.c.isActive()) {
-                    // clause passive, forget it
-                    model.getEnvironment().save(() -> {
-                        if (w.c.isConnected()) {
-                            attach(w);
-                        }
-                    });
+                int olit = off + HEADER + 3 * arena[off + o];
+                if (check(olit) == TRUE) {
                     continue;
-                }/*else*/
-                {
-                    watchers.set(j++, w); // keep it, even it is false, since propagation may change the other WL
-                    mSolver.getEngine().schedule(w.c, p, 1);
+                }
+                // look for a new watch
+                int k = lookForWatch(off, arena[olit]);
+                if (k > -1) {
+                    arena[off + w] = k;
+                    int vk = arena[off + HEADER + 3 * k];
+                    if (vk != idxVarInProp) {
+                        j--;
+                        watch(vk, num);
+                    }
+                } else {
+                    // did not find watch -- clause is unit under assignment
+                    propagateUnit(num, off, arena[olit]);
                 }
             }
-            // shrink
-            watchers.removeRange(j, i);
+        } catch (ContradictionException cex) {
+            // keep unvisited watchers
+            i++;
+            System.arraycopy(ws, i, ws, j, n - i);
+            j += n - i;
+            throw cex;
+        } finally {
+            nbWatches[idxVarInProp] = j;
         }
+    }
 
-        void sweepOnTrue() {
-            int i = 0;
-            int j = 0;
-            int s = watchers.size();
-            while (i < s) {
-                Watcher w = watchers.get(i++);
-                SignedClause c = w.c;
-                if (w.p == c.pos[0] || w.p == c.pos[1]) {
-                    watchers.set(j++, w);
-                }// watched literal loss due to initial propagation
+    /**
+     * @param off    offset of a clause
+     * @param except index of the variable of the other watched literal
+     * @return position of a non-false literal, not watched and not declared on <i>except</i>, or -1
+     */
+    private int lookForWatch(int off, int except) {
+        int n = arena[off];
+        int w0 = arena[off + W0];
+        int w1 = arena[off + W1];
+        for (int i = 0; i < n; i++) {
+            int lit = off + HEADER + 3 * i;
+            if (i != w0 && i != w1 && arena[lit] != except && check(lit) != FALSE) {
+                return i;
             }
-            // shrink
-            watchers.removeRange(j, i);
         }
+        return -1;
+    }
 
-        @Override
-        public String toString() {
-            return String.format("[%d,%d]", start(), end());
+    /**
+     * Restrict the variable at index <i>idx</i> to the union of its non-false literals in clause <i>num</i>.
+     * All the literals of the clause declared on another variable are supposed to be false.
+     */
+    private void propagateUnit(int num, int off, int idx) throws ContradictionException {
+        int n = arena[off];
+        int any = -1;
+        int one = -1;
+        int nb = 0;
+        for (int i = 0; i < n; i++) {
+            int lit = off + HEADER + 3 * i;
+            if (arena[lit] == idx) {
+                any = lit;
+                if (check(lit) != FALSE) {
+                    if (nb == 0) {
+                        one = lit;
+                    } else {
+                        if (nb == 1) {
+                            set.clear();
+                            set.addBetween(arena[one + 1], arena[one + 2]);
+                        }
+                        set.addBetween(arena[lit + 1], arena[lit + 2]);
+                    }
+                    nb++;
+                }
+            }
+        }
+        record(num);
+        if (nb == 0) {
+            // all literals are false, this fails
+            vars[idx].updateBounds(arena[any + 1], arena[any + 2], reason);
+        } else if (nb == 1) {
+            vars[idx].updateBounds(arena[one + 1], arena[one + 2], reason);
+        } else {
+            vars[idx].removeAllValuesBut(set, reason);
         }
     }
 
+    /**
+     * Record that clause <i>num</i> is the reason of the next modification.
+     */
+    private void record(int num) {
+        if (ig != null) {
+            int pos = ig.size();
+            int n = nbReasons.get();
+            while (n > 0 && reasonPos[n - 1] >= pos) {
+                n--;
+            }
+            reasonPos = push(reasonPos, n, pos);
+            reasonNums = push(reasonNums, n, num);
+            nbReasons.set(n + 1);
+        }
+    }
 
-    private static final class Watcher {
-        int p;
-        SignedClause c; // clause watch by c.mvars[p]
-
-        Watcher(int p, SignedClause c) {
-            this.p = p;
-            this.c = c;
+    /**
+     * @param p position of a node of the implication graph whose cause is {@link #reason}
+     * @return the number of the clause which led to this node
+     */
+    private int reasonOf(int p) {
+        int lo = 0, hi = nbReasons.get() - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (reasonPos[mid] <= p) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
         }
+        assert reasonPos[lo] <= p;
+        return reasonNums[lo];
+    }
 
-        @Override
-        public String toString() {
-            return c.toString();
+    @Override
+    public ESat isEntailed() {
+        ESat sat = ESat.TRUE;
+        for (int off = 0; off < top && sat == TRUE; off += HEADER + 3 * arena[off]) {
+            int num = arena[off + 1];
+            if (offsets[num] == off) {
+                sat = isEntailed(num);
+            }
         }
+        return sat;
     }
 
-    private static PropagatorPriority computePriority(int nbvars) {
-        if (nbvars == 2) {
-            return PropagatorPriority.BINARY;
-        } else if (nbvars == 3) {
-            return PropagatorPriority.TERNARY;
-        } else {
-            return PropagatorPriority.LINEAR;
+    private ESat isEntailed(int num) {
+        int off = offsets[num];
+        int n = arena[off];
+        boolean u = false;
+        for (int i = 0; i < n; i++) {
+            ESat b = check(off + HEADER + 3 * i);
+            if (b == TRUE) {
+                return TRUE;
+            } else if (b == UNDEFINED) {
+                u = true;
+            }
         }
+        return u ? UNDEFINED : FALSE;
+    }
+
+    private ESat check(int lit) {
+        IntVar v = vars[arena[lit]];
+        return check(v.getLB(), v.getUB(), arena[lit + 1], arena[lit + 2], v);
     }
 
     private static ESat check(int lv, int uv, int l, int u, IntVar v) {
@@ -497,428 +1172,198 @@ public class ClauseStore extends Propagator<IntVar> {
         return ESat.UNDEFINED;
     }
 
-    public class SignedClause extends Propagator<IntVar> {
-
-        static final short LOCK = 4;
-        /**
-         * Free mask
-         */
-        private static final byte F0 = 0b00;
-        /**
-         * Mask that indicates pos[0] as false
-         */
-        private static final byte F1 = 0b01;
-        /**
-         * Mask that indicates pos[1] as false
-         */
-        protected static final byte F2 = 0b10;
-        /**
-         * Store which pos, among 0 and 1, are false
-         */
-        private byte FL;
-        /**
-         * List of variables this propagators deal with.
-         */
-        private final IntVar[] mvars;
-
-        private final int[] bounds;
-        /**
-         * Literals of the clauses. Use to always get at position 0 a free literal.
-         */
-        private final int[] pos;
-
-        private double activity = 0d;
-
-        private int rawActivity = 0;
-
-        private int id;
-
-        SignedClause(IntVar[] vars, IntIterableRangeSet[] ranges) {
-            super(new IntVar[]{vars[0], vars[0]}, computePriority(vars.length), false, false);
-            this.vars = new IntVar[0];
-            setActive0();
-            this.id = SID++;
-            // TODO: accurately select literals
-            int size = 0;
-            for (int i = 0; i < ranges.length; i++) {
-                size += ranges[i].getNbRanges();
-            }
-            this.pos = ArrayUtils.array(0, size - 1);
-            this.mvars = new IntVar[size];
-            this.bounds = new int[size << 1];
-            for (int i = 0, k = -1; i < ranges.length; i++) {
-                for (int r = 0; r < ranges[i].getNbRanges(); r++) {
-                    this.mvars[++k] = vars[i];
-                    this.bounds[k << 1] = ranges[i].minOfRange(r);
-                    this.bounds[(k << 1) + 1] = ranges[i].maxOfRange(r);
-                }
-            }
-            if (ranges[0].getNbRanges() > 1) {
-//                 synchronize positions of var[0] and var[1]
-                int nbr = ranges[0].getNbRanges();
-                int p = this.pos[1];
-                this.pos[1] = this.pos[nbr];
-                this.pos[nbr] = p;
-            }
-        }
-
-
-        /**
-         * @return the number of literals in this
-         */
-        public final int cardinality() {
-            return mvars.length;
-        }
-
-        private ESat check(int p) {
-            return ClauseStore.check(mvars[p].getLB(), mvars[p].getUB(), bounds[p << 1], bounds[(p << 1) + 1], mvars[p]);
-        }
+    private int id(int off, int i) {
+        return vars[arena[off + HEADER + 3 * i]].getId();
+    }
 
-        private boolean restrict(int p) throws ContradictionException {
-            return mvars[p].updateBounds(bounds[p << 1], bounds[(p << 1) + 1], this);
-        }
+    private int l(int off, int i) {
+        return arena[off + HEADER + 3 * i + 1];
+    }
 
-        public final boolean isConnected() {
-            return pos[0] > -1 && pos[1] > -1;
-        }
+    private int u(int off, int i) {
+        return arena[off + HEADER + 3 * i + 2];
+    }
 
-        @SuppressWarnings("Duplicates")
-        public final void propagate(int evtmask) throws ContradictionException {
-            if (evtmask == 2) {
-                if (!isConnected()) {
-                    // this was removed from ClauseStore, to ignore
-                    return;
-                }
-                switch (check(pos[0])) {
-                    case TRUE:
-                        FL = F0;
-                        setPassive();
-                        return;
-                    case FALSE:
-                        FL |= F1;
-                        break;
-                    case UNDEFINED:
-                        break;
-                }
-                switch (check(pos[1])) {
-                    case TRUE:
-                        FL = F0;
-                        setPassive();
-                        return;
-                    case FALSE:
-                        FL |= F2;
-                        break;
-                    case UNDEFINED:
-                        break;
-                }
-            }
-            if (FL != F0) {
-                propagateClause();
-            }
-            if (evtmask == 2 && this.isActive()) {
-                detectHiddenUUA();
-            }
+    /**
+     * Test if one clause outshines another one or is incomparable with it. A clause ci
+     * outshines a clause cj iff: <ul> <li>var(ci) &sube; var(cj) and</li> <li>for each v in
+     * var(ci), rang(v, ci) &sube; rang(v, cj)</li> </ul>
+     *
+     * @param ci a clause
+     * @param cj another clause
+     * @return negative integer, zero, or a positive integer as ci outshines, is not comparable
+     * with or is outshone by cj.
+     * @implSpec vars in each clause is supposed to be sorted wrt the var ID. Otherwise, this
+     * method can return incorrect results.
+     */
+    final int dominate(int ci, int cj) {
+        int oi = offsets[ci];
+        int oj = offsets[cj];
+        if (arena[oi] < arena[oj]) {
+            return outhsine0(oi, oj);
+        } else if (arena[oi] > arena[oj]) {
+            return -outhsine0(oj, oi);
+        } else {
+            return outhsine1(oi, oj);
         }
+    }
 
-        /**
-         * Detect hidden "unit under assignment" case.
-         * This is supposed to be called only at coarse propagation (so mainly on backtrack).
-         * It collects variables related to UNDEF lits.
-         * If only one variable is concerned, then we can force the clause to filter.
-         * @throws ContradictionException not supposed to happen
-         */
-        private void detectHiddenUUA() throws ContradictionException {
-            IntVar one = null;
-            IntIterableRangeSet set = new IntIterableRangeSet();
-            fl:
-            for (int i = 0; i < pos.length; i++) {
-                switch (check(i)) {
-                    case UNDEFINED:
-                        if (one == null || one == mvars[i]) {
-                            one = mvars[i];
-                            set.addBetween(bounds[i << 1], bounds[(i << 1) + 1]);
-                        } else {
-                            one = null;
-                            break fl;
-                        }
-                        break;
-                    case TRUE:
-                        one = null;
-                        break fl;
-                }
-            }
-            if (one != null) {
-                if (one.removeAllValuesBut(set, this)) {
-                    setPassiveAndLock();
-                } else setPassive();
+    /**
+     * Considering |ci| < |cj|, test if ci outshines cj.
+     *
+     * @param ci offset of a clause
+     * @param cj offset of another clause
+     * @return 1 if ci outshines cj, 0 otherwise
+     * @implSpec variables, in each clause, are supposed to be sorted wrt to increasing ID.
+     */
+    private int outhsine0(int ci, int cj) {
+        int[] idx = {0, 0};
+        boolean outs = true;
+        while (idx[0] <= arena[ci] - 1 && idx[1] <= arena[cj] - 1 && outs) {
+            int idi = id(ci, idx[0]);
+            int idj = id(cj, idx[1]);
+            if (idi == idj) {
+                outs = includedIn(ci, cj, idi, idj, idx);
+            } else if (idj < idi) {
+                idx[1]++;
+                outs = idx[1] >= idx[0];
+            } else {
+                outs = false;
             }
         }
+        return outs ? 1 : 0;
+    }
 
-        /**
-         * Condition: at least one lit is false and none is true among l0 and l1.
-         */
-        private void propagateClause() throws ContradictionException {
-            int k = 2;
-            int to = pos.length;
-            do {
-                int p;
-                if ((FL & F2) != 0) {
-                    p = 1;
-                    FL ^= F2;
+    /**
+     * Considering two clauses with same cardinality, check which one outshines the other, if
+     * any.
+     *
+     * @param ci offset of a clause
+     * @param cj offset of another clause
+     * @return 1, 0 or -1 as ci outshines cj, ci and cj are incomparable or cj oushines ci.
+     * @implSpec variables, in each clause, are supposed to be sorted wrt to increasing ID.
+     */
+    private int outhsine1(int ci, int cj) {
+        int k = arena[ci] - 1;
+        int outi = 0, outj = 0;
+        byte skip = 0b00;
+        while (k >= 0 && skip < 0b11) {
+            int idi = id(ci, k);
+            int idj = id(cj, k);
+            if (idi == idj) {
+                if (outi >= outj && l(cj, k) <= l(ci, k) && u(ci, k) <= u(cj, k)) {
+                    outi++;
                 } else {
-                    p = 0;
-                    FL ^= F1;
+                    skip |= 0b01;
                 }
-                // assertion: p is false
-                int l0 = pos[0];
-                int l1 = pos[1];
-                if (p == 0) {
-                    // Make sure the false literal is pos[1]:
-                    int t = l0;
-                    pos[0] = l0 = l1;
-                    pos[1] = l1 = t;
-                }
-                // Look for new watch:
-                boolean cont = false;
-                for (; k < to; k++) {
-                    int l = pos[k];
-                    ESat b = check(l);
-                    if (b != FALSE) {
-                        // update watcher -- preserve the operations order
-                        // remove current watcher
-//                        detach(this, pos[1]); // useless, will be removed later on
-                        pos[1] = l;
-                        pos[k] = pos[--to];
-                        pos[to] = l1;
-                        attach(new Watcher(l, this));
-                        if (b == TRUE) {
-                            setPassive();
-                            FL = F0;
-                            assert this.isEntailed() == TRUE;
-                            return;
-                        }
-                        cont = true;
-                        break;
-                    }
-                }
-                // Did not find watch -- clause is unit under assignment:
-                if (!cont) {
-                    FL = F0;
-                    if (restrict(l0)) {
-                        assert this.isEntailed() == TRUE;
-                        setPassiveAndLock();
-                        return;
-                    } else {
-                        assert this.isEntailed() != FALSE;
-                    }
+                if (outj >= outi - 1 /* -1: because of previous condition */ &&
+                        l(ci, k) <= l(cj, k) && u(cj, k) <= u(ci, k)) {
+                    outj++;
+                } else {
+                    skip |= 0b10;
                 }
-            } while (FL != F0);
-        }
-
-        private void setPassiveAndLock() {
-            state = LOCK;
-            model.getEnvironment().save(operations[ACTIVE]);
+                k--;
+            } else break;
         }
-
-        int getNbFalsified() {
-            int count = 0;
-            for (int i = 0; i < pos.length; i++) {
-                ESat b = check(i);
-                if (b == FALSE) {
-                    count++;
-                }
-            }
-            return count;
+        if (outi == arena[ci]) {
+            return 1;
+        } else if (outj == arena[cj]) {
+            return -1;
         }
+        return 0;
+    }
 
-
-        int getNbSatisfied() {
-            int count = 0;
-            for (int i = 0; i < pos.length; i++) {
-                ESat b = check(i);
-                if (b == TRUE) {
-                    count++;
+    private boolean includedIn(int ci, int cj, int idi, int idj, int[] idx) {
+        int lbi = l(ci, idx[0]);
+        int ubi = u(ci, idx[0]);
+        int lbj = l(cj, idx[1]);
+        int ubj = u(cj, idx[1]);
+        while (idx[0] <= arena[ci] - 1 && idi == id(ci, idx[0])
+                && idx[1] <= arena[cj] - 1 && idj == id(cj, idx[1])) {
+            if (ubj < lbi && ++idx[1] <= arena[cj] - 1 && idj == id(cj, idx[1])) {
+                lbj = l(cj, idx[1]);
+                ubj = u(cj, idx[1]);
+            } else if (lbj <= lbi && ubi <= ubj) {
+                if (++idx[0] <= arena[ci] - 1 && idi == id(ci, idx[0])) {
+                    lbi = l(ci, idx[0]);
+                    ubi = u(ci, idx[0]);
                 }
+            } else {
+                return false;
             }
-            return count;
-        }
-
-        boolean isNotLocked() {
-            return state != 4;
-        }
-
-        IntVar v(int i) {
-            return mvars[i];
-        }
-
-        int l(int i) {
-            return bounds[i << 1];
-        }
-
-        int u(int i) {
-            return bounds[(i << 1) + 1];
         }
+        return true;
+    }
 
-        /**
-         * Test if one clause outshines another one or is incomparable with it. A clause ci
-         * outshines a clause cj iff: <ul> <li>var(ci) &sube; var(cj) and</li> <li>for each v in
-         * var(ci), rang(v, ci) &sube; rang(v, cj)</li> </ul>
-         *
-         * @param cj another clause
-         * @return negative integer, zero, or a positive integer as ci outshines, is not comparable
-         * with or is outshone by cj.
-         * @implSpec vars in each clause is supposed to be sorted wrt the var ID. Otherwise, this
-         * method can return incorrect results.
-         */
-        final int dominate(SignedClause cj) {
-            if (this.mvars.length < cj.mvars.length) {
-                return outhsine0(this, cj);
-            } else if (this.mvars.length > cj.mvars.length) {
-                return -outhsine0(cj, this);
-            } else {
-                return outhsine1(this, cj);
+    private void explain(int num, ExplanationForSignedClause explanation, ValueSortedMap<IntVar> front,
+                         Implications ig, int p) {
+        IntVar pivot = ig.getIntVarAt(p);
+        IntIterableRangeSet range;
+        activities[num] += clauseInc;
+        rawActivities[num] += 1;
+        int off = offsets[num];
+        int n = arena[off];
+        if (policy == ReductionPolicy.LBD && tiers[num] != CORE) {
+            lastUses[num] = nbReductions;
+            int lbd = computeLBD(off, p);
+            if (lbd < lbds[num]) {
+                lbds[num] = lbd;
+                tiers[num] = tierOf(lbd);
             }
         }
-
-        /**
-         * Considering |ci| < |cj|, test if ci outshines cj.
-         *
-         * @param ci a clause
-         * @param cj another clause
-         * @return 1 if ci outshines cj, 0 otherwise
-         * @implSpec variables, in each clause, are supposed to be sorted wrt to increasing ID.
-         */
-        private int outhsine0(SignedClause ci, SignedClause cj) {
-            int[] idx = {0, 0};
-            boolean outs = true;
-            while (idx[0] <= ci.mvars.length - 1 && idx[1] <= cj.mvars.length - 1 && outs) {
-                int idi = ci.mvars[idx[0]].getId();
-                int idj = cj.mvars[idx[1]].getId();
-                if (idi == idj) {
-                    outs = includedIn(ci, cj, idi, idj, idx);
-                } else if (idj < idi) {
-                    idx[1]++;
-                    outs = idx[1] >= idx[0];
-                } else {
-                    outs = false;
-                }
+        int i = 0;
+        while (i < n) {
+            int vi = arena[off + HEADER + 3 * i];
+            IntVar v = vars[vi];
+            if (front.getValueOrDefault(v, -1) == -1) { // see javadoc for motivation of these two lines
+                ig.findPredecessor(front, v, p);
             }
-            return outs ? 1 : 0;
+            range = explanation.getFreeSet();
+            do {
+                range.addBetween(l(off, i), u(off, i));
+                i++;
+            } while (i < n && arena[off + HEADER + 3 * i] == vi);
+            explanation.addLiteral(v, range, (v == pivot));
         }
+    }
 
-        /**
-         * Considering two clauses with same cardinality, check which one outshines the other, if
-         * any.
-         *
-         * @param ci a clause
-         * @param cj another clause
-         * @return 1, 0 or -1 as ci outshines cj, ci and cj are incomparable or cj oushines ci.
-         * @implSpec variables, in each clause, are supposed to be sorted wrt to increasing ID.
-         */
-        private int outhsine1(SignedClause ci, SignedClause cj) {
-            int k = ci.mvars.length - 1;
-            int outi = 0, outj = 0;
-            byte skip = 0b00;
-            while (k >= 0 && skip < 0b11) {
-                int idi = ci.mvars[k].getId();
-                int idj = cj.mvars[k].getId();
-                if (idi == idj) {
-                    if (outi >= outj && cj.l(k) <= ci.l(k) && ci.u(k) <= cj.u(k)) {
-                        outi++;
-                    } else {
-                        skip |= 0b01;
-                    }
-                    if (outj >= outi - 1 /* -1: because of previous condition */ &&
-                            ci.l(k) <= cj.l(k) && cj.u(k) <= ci.u(k)) {
-                        outj++;
-                    } else {
-                        skip |= 0b10;
-                    }
-                    k--;
-                } else break;
-            }
-            if (outi == ci.mvars.length) {
-                return 1;
-            } else if (outj == cj.mvars.length) {
-                return -1;
-            }
-            return 0;
-        }
-
-        boolean includedIn(SignedClause ci, SignedClause cj, int idi, int idj, int[] idx) {
-            int lbi = ci.l(idx[0]);
-            int ubi = ci.u(idx[0]);
-            int lbj = cj.l(idx[1]);
-            int ubj = cj.u(idx[1]);
-            while (idx[0] <= ci.mvars.length - 1 && idi == ci.mvars[idx[0]].getId()
-                    && idx[1] <= cj.mvars.length - 1 && idj == cj.mvars[idx[1]].getId()) {
-                if (ubj < lbi && ++idx[1] <= cj.mvars.length - 1 && idj == cj.mvars[idx[1]].getId()) {
-                    lbj = cj.l(idx[1]);
-                    ubj = cj.u(idx[1]);
-                } else if (lbj <= lbi && ubi <= ubj) {
-                    if (++idx[0] <= ci.mvars.length - 1 && idi == ci.mvars[idx[0]].getId()) {
-                        lbi = ci.l(idx[0]);
-                        ubi = ci.u(idx[0]);
-                    }
-                } else {
-                    return false;
-                }
-            }
-            return true;
+    private String toString(int num) {
+        int off = offsets[num];
+        int n = arena[off];
+        StringBuilder st = new StringBuilder();
+        st.append("#").append(num).append(" : ");
+        st.append("?").append(isEntailed(num)).append(" : ");
+        for (int i = 0; i < n; i++) {
+            int lit = off + HEADER + 3 * i;
+            st.append(i == 0 ? "(" : ") ∨ (");
+            st.append(vars[arena[lit]]).append(" ∈ [")
+                    .append(arena[lit + 1]).append(',').append(arena[lit + 2]).append(']');
+            st.append(':').append(check(lit));
         }
+        st.append(')');
+        return st.toString();
+    }
 
+    /**
+     * The cause of the modifications made by the clauses of this store.
+     * The clause responsible of a modification is retrieved from its position in the implication graph.
+     */
+    private final class Reason implements ICause {
 
-        public final ESat isEntailed() {
-            int i = 0;
-            boolean u = false;
-            while (i < pos.length) {
-                ESat b = check(i);
-                if (b == TRUE) {
-                    return TRUE;
-                } else if (b == UNDEFINED) {
-                    u = true;
-                }
-                i++;
-            }
-            return u ? UNDEFINED : FALSE;
+        @Override
+        public void explain(ExplanationForSignedClause explanation, ValueSortedMap<IntVar> front,
+                            Implications ig, int p) {
+            ClauseStore.this.explain(reasonOf(p), explanation, front, ig, p);
         }
 
-        public void explain(ExplanationForSignedClause explanation, ValueSortedMap<IntVar> front, Implications ig, int p) {
-            IntVar pivot = ig.getIntVarAt(p);
-            IntIterableRangeSet set;
-            activity += clauseInc;
-            rawActivity += 1;
-            int i = 0;
-            while (i < mvars.length) {
-                IntVar v = mvars[i];
-                if (front.getValueOrDefault(v, -1) == -1) { // see javadoc for motivation of these two lines
-                    ig.findPredecessor(front, v, p);
-                }
-                set = explanation.getFreeSet();
-                do {
-                    set.addBetween(bounds[i << 1], bounds[(i << 1) + 1]);
-                    i++;
-                } while (i < mvars.length && mvars[i - 1] == mvars[i]);
-                explanation.addLiteral(v, set, (v == pivot));
-            }
+        @Override
+        public void forEachIntVar(Consumer<IntVar> action) {
+            // the variables depend on the clause, see explain(...)
         }
 
         @Override
         public String toString() {
-            StringBuilder st = new StringBuilder();
-            st.append("#").append(id).append(" : ");
-            st.append("?").append(isEntailed()).append(" : ");
-            st.append('(').append(mvars[pos[0]]).append(" \u2208 [")
-                    .append(bounds[pos[0] << 1]).append(',').append(bounds[(pos[0] << 1) + 1]).append(']');
-            st.append(':').append(check(pos[0]));
-            for (int i = 1; i < pos.length; i++) {
-                st.append(") \u2228 (");
-                st.append(mvars[pos[i]]).append(" \u2208 [").append(bounds[pos[i] << 1])
-                        .append(',').append(bounds[(pos[i] << 1) + 1]).append(']');
-                st.append(':').append(check(pos[i]));
-            }
-            st.append(')');
-            return st.toString();
+            return "ClauseStore";
         }
     }
 }
@@ -44,6 +44,7 @@ public class Cumulative extends Constraint {
      *                         - SWEEP: filters time-table with a sweep-based algorithm
      *                         - NRJ: greedy energy-based filter.
      *                         BEWARE: should not be used alone, use it in addition to either SWEEP or TIME.
+     *                         - TTEF: time-table and time-table edge-finding, based on an incremental profile
      *
      */
     public Cumulative(Task[] tasks, IntVar[] heights, IntVar capacity, boolean graphBased, Filter... filters) {
@@ -185,6 +186,16 @@ public class Cumulative extends Constraint {
 				return new DisjunctiveTaskIntervalFilter(n);
 			}
 		},
+		/**
+		 * time-table and time-table edge-finding algorithms,
+		 * based on a profile of the compulsory parts maintained from one call to another
+		 * not idempotent
+		 */
+		TTEF {
+			public CumulFilter make(int n){
+				return new TTEFCumulFilter(n);
+			}
+		},
 		/**
 		 * Combines above filters as a black-box
 		 * not idempotent
@@ -0,0 +1,257 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.cumulative;
+
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.setDataStructures.ISet;
+import org.chocosolver.util.objects.setDataStructures.ISetIterator;
+import org.chocosolver.util.sort.ArraySort;
+import org.chocosolver.util.sort.IntComparator;
+
+/**
+ * Time-table and time-table edge-finding filtering for cumulative
+ * (P. Vilím, "Timeline-based edge finding: Time-table edge finding for discrete cumulative resources", CPAIOR 2011,
+ * A. Schutt and A. Wolf, "A new O(n^2 log n) not-first/not-last pruning algorithm for cumulative resource constraints", CP 2010).
+ * <p>
+ * Both rely on a {@link TimetableProfile} of the compulsory parts, which is kept from one call to another
+ * and only updated for the tasks whose compulsory part has changed.
+ * Time-table filtering pushes each task after (resp. before) the parts of the profile it cannot overlap.
+ * Time-table edge-finding checks, for each window [est_a, lct_b[, that the compulsory parts in the window plus
+ * the free parts of the tasks within the window fit in the capacity, and pushes the tasks which start in the window
+ * but end after it, when starting at their earliest starting time would exceed the energy still available.
+ * It runs in O(n^2), on the start and the end sides.
+ * </p>
+ * not idempotent
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class TTEFCumulFilter extends CumulFilter {
+
+    //***********************************************************************************
+    // VARIABLES
+    //***********************************************************************************
+
+    private final TimetableProfile profile;
+    // number of tasks, known at first call
+    private int n = -1;
+    // tasks considered in the current call
+    private final boolean[] active;
+    // bounds wrt the current side (mirrored for the end side): est, lct, duration, height, compulsory part
+    private final int[] est, lct, p, c, cpS, cpE;
+    // free energy, energy of the profile before est and lct, wrt the current side
+    private final long[] free, tEst, tLct;
+    // available energy per window start, and its prefix minimum
+    private final long[] avail, minAvail;
+    private final int[] newEst, rank;
+    // tasks sorted by est and by lct, kept from one call to another
+    private final int[] byEst, byLct;
+    private final IntComparator cEst, cLct;
+    private final ArraySort<?> sorter;
+
+    //***********************************************************************************
+    // CONSTRUCTORS
+    //***********************************************************************************
+
+    public TTEFCumulFilter(int nbMaxTasks) {
+        super(nbMaxTasks);
+        profile = new TimetableProfile(nbMaxTasks);
+        active = new boolean[nbMaxTasks];
+        est = new int[nbMaxTasks];
+        lct = new int[nbMaxTasks];
+        p = new int[nbMaxTasks];
+        c = new int[nbMaxTasks];
+        cpS = new int[nbMaxTasks];
+        cpE = new int[nbMaxTasks];
+        free = new long[nbMaxTasks];
+        tEst = new long[nbMaxTasks];
+        tLct = new long[nbMaxTasks];
+        avail = new long[nbMaxTasks];
+        minAvail = new long[nbMaxTasks];
+        newEst = new int[nbMaxTasks];
+        rank = new int[nbMaxTasks];
+        byEst = new int[nbMaxTasks];
+        byLct = new int[nbMaxTasks];
+        cEst = (i, j) -> Integer.compare(est[i], est[j]);
+        cLct = (i, j) -> Integer.compare(lct[i], lct[j]);
+        sorter = new ArraySort<>(nbMaxTasks, false, true);
+    }
+
+    //***********************************************************************************
+    // METHODS
+    //***********************************************************************************
+
+    @Override
+    public void filter(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa, ISet tasks, Propagator<IntVar> aCause) throws ContradictionException {
+        if (n != s.length) {
+            n = s.length;
+            for (int i = 0; i < n; i++) {
+                byEst[i] = byLct[i] = i;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            active[i] = false;
+        }
+        ISetIterator tIter = tasks.iterator();
+        while (tIter.hasNext()) {
+            int t = tIter.nextInt();
+            active[t] = d[t].getLB() > 0 && h[t].getLB() > 0;
+        }
+        sync(s, e, h);
+        capa.updateLowerBound(profile.maxHeight(), aCause);
+        int capaMax = capa.getUB();
+        timeTable(s, d, e, h, capaMax, aCause);
+        sync(s, e, h);
+        edgeFinding(s, d, e, h, capaMax, false, aCause);
+        sync(s, e, h);
+        edgeFinding(s, d, e, h, capaMax, true, aCause);
+    }
+
+    /**
+     * Updates the profile with the current compulsory parts (all tasks are considered, not only active ones).
+     */
+    private void sync(IntVar[] s, IntVar[] e, IntVar[] h) {
+        for (int i = 0; i < n; i++) {
+            profile.update(i, s[i].getUB(), e[i].getLB(), h[i].getLB());
+        }
+    }
+
+    //***********************************************************************************
+    // TIME-TABLE
+    //***********************************************************************************
+
+    private void timeTable(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, int capaMax, Propagator<IntVar> aCause) throws ContradictionException {
+        int size = profile.size();
+        for (int i = 0; i < n; i++) {
+            if (!active[i]) {
+                continue;
+            }
+            int dlb = d[i].getLB();
+            int hlb = h[i].getLB();
+            // start side
+            int t = s[i].getLB();
+            for (int k = Math.max(profile.indexOf(t), 0); k < size && profile.date(k) < t + dlb; k++) {
+                int a = profile.date(k);
+                int b = k + 1 < size ? profile.date(k + 1) : Integer.MAX_VALUE;
+                if (b > t && profile.level(k) - profile.heightOf(i, a, b) + hlb > capaMax) {
+                    t = b;
+                }
+            }
+            s[i].updateLowerBound(t, aCause);
+            // end side
+            t = e[i].getUB();
+            for (int k = profile.indexOf(t - 1); k >= 0; k--) {
+                int a = profile.date(k);
+                int b = k + 1 < size ? profile.date(k + 1) : Integer.MAX_VALUE;
+                if (b <= t - dlb) {
+                    break;
+                }
+                if (a < t && profile.level(k) - profile.heightOf(i, a, b) + hlb > capaMax) {
+                    t = a;
+                }
+            }
+            e[i].updateUpperBound(t, aCause);
+        }
+    }
+
+    //***********************************************************************************
+    // TIME-TABLE EDGE-FINDING
+    //***********************************************************************************
+
+    /**
+     * Time-table edge-finding on the start side, or on the end side if <i>mirror</i> is set to <i>true</i>
+     * (tasks are then mirrored on the time axis).
+     */
+    private void edgeFinding(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, int capaMax, boolean mirror,
+                             Propagator<IntVar> aCause) throws ContradictionException {
+        for (int i = 0; i < n; i++) {
+            if (!active[i]) {
+                continue;
+            }
+            if (mirror) {
+                est[i] = -e[i].getUB();
+                lct[i] = -s[i].getLB();
+                cpS[i] = -e[i].getLB();
+                cpE[i] = -s[i].getUB();
+                tEst[i] = -profile.energyBefore(-est[i]);
+                tLct[i] = -profile.energyBefore(-lct[i]);
+            } else {
+                est[i] = s[i].getLB();
+                lct[i] = e[i].getUB();
+                cpS[i] = s[i].getUB();
+                cpE[i] = e[i].getLB();
+                tEst[i] = profile.energyBefore(est[i]);
+                tLct[i] = profile.energyBefore(lct[i]);
+            }
+            p[i] = d[i].getLB();
+            c[i] = h[i].getLB();
+            free[i] = (long) c[i] * Math.max(0, p[i] - Math.max(0, cpE[i] - cpS[i]));
+            newEst[i] = est[i];
+        }
+        sorter.sort(byEst, n, cEst);
+        sorter.sort(byLct, n, cLct);
+        for (int k = 0; k < n; k++) {
+            rank[byEst[k]] = k;
+        }
+        int last = Integer.MAX_VALUE;
+        for (int kb = n - 1; kb >= 0; kb--) {
+            int b = byLct[kb];
+            if (!active[b] || lct[b] == last) {
+                continue;
+            }
+            int end = last = lct[b];
+            // energy available in each window [est_a, end[
+            long energy = 0;
+            for (int ka = n - 1; ka >= 0; ka--) {
+                int a = byEst[ka];
+                avail[ka] = Long.MAX_VALUE;
+                if (!active[a] || est[a] >= end) {
+                    continue;
+                }
+                if (lct[a] <= end) {
+                    energy += free[a];
+                }
+                avail[ka] = (long) capaMax * (end - est[a]) - (tLct[b] - tEst[a]) - energy;
+                if (avail[ka] < 0) {
+                    aCause.fails();
+                }
+            }
+            long min = Long.MAX_VALUE;
+            for (int ka = 0; ka < n; ka++) {
+                min = Math.min(min, avail[ka]);
+                minAvail[ka] = min;
+            }
+            // tasks which start in a window but end after it
+            for (int u = 0; u < n; u++) {
+                if (!active[u] || lct[u] <= end || est[u] >= end || minAvail[rank[u]] == Long.MAX_VALUE) {
+                    continue;
+                }
+                // the compulsory part of u in the window is given back
+                long av = minAvail[rank[u]] + (long) c[u] * Math.max(0, Math.min(end, cpE[u]) - cpS[u]);
+                if ((long) c[u] * (Math.min(end, est[u] + p[u]) - est[u]) > av) {
+                    newEst[u] = (int) Math.max(newEst[u], end - av / c[u]);
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            if (active[i]) {
+                if (mirror) {
+                    e[i].updateUpperBound(-newEst[i], aCause);
+                } else {
+                    s[i].updateLowerBound(newEst[i], aCause);
+                }
+            }
+        }
+    }
+}
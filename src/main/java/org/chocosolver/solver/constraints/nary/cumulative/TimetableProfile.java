@@ -0,0 +1,214 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.cumulative;
+
+/**
+ * Resource profile made of the compulsory parts of the tasks of a cumulative constraint.
+ * <p>
+ * The profile is a step function stored as a sorted list of dates, each one associated with the variation
+ * of the height at that date. It is kept from one call to another and only the tasks whose compulsory part
+ * differs from the recorded one are updated, in O(log n + k) each where k is the number of dates.
+ * Since the recorded compulsory parts are compared with the current ones, the profile is also repaired
+ * after a backtrack, without trailing anything.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class TimetableProfile {
+
+    //***********************************************************************************
+    // VARIABLES
+    //***********************************************************************************
+
+    // compulsory part recorded for each task
+    private final int[] from, to, height;
+    // dates of the step function, variations of the height at each date
+    private final int[] dates, deltas;
+    private int size;
+    // height on [dates[k], dates[k+1]), energy before dates[k]
+    private final int[] levels;
+    private final long[] energies;
+    private int maxLevel;
+    // set to true when levels and energies have to be recomputed
+    private boolean dirty;
+
+    //***********************************************************************************
+    // CONSTRUCTORS
+    //***********************************************************************************
+
+    /**
+     * Create an empty profile
+     *
+     * @param n maximum number of tasks
+     */
+    public TimetableProfile(int n) {
+        from = new int[n];
+        to = new int[n];
+        height = new int[n];
+        dates = new int[2 * n];
+        deltas = new int[2 * n];
+        levels = new int[2 * n];
+        energies = new long[2 * n];
+    }
+
+    //***********************************************************************************
+    // METHODS
+    //***********************************************************************************
+
+    /**
+     * Records the compulsory part [<i>f</i>, <i>t</i>[ of height <i>h</i> of a task,
+     * replacing the previous one.
+     *
+     * @param task index of a task
+     * @param f    start of the compulsory part
+     * @param t    end of the compulsory part (excluded)
+     * @param h    height of the task
+     * @return <i>true</i> if the profile has been modified
+     */
+    public boolean update(int task, int f, int t, int h) {
+        if (f >= t || h <= 0) {
+            f = t = h = 0;
+        }
+        if (from[task] == f && to[task] == t && height[task] == h) {
+            return false;
+        }
+        if (height[task] > 0) {
+            add(from[task], -height[task]);
+            add(to[task], height[task]);
+        }
+        from[task] = f;
+        to[task] = t;
+        height[task] = h;
+        if (h > 0) {
+            add(f, h);
+            add(t, -h);
+        }
+        dirty = true;
+        return true;
+    }
+
+    private void add(int date, int delta) {
+        int k = search(date);
+        if (k >= 0) {
+            deltas[k] += delta;
+            if (deltas[k] == 0) {
+                System.arraycopy(dates, k + 1, dates, k, size - k - 1);
+                System.arraycopy(deltas, k + 1, deltas, k, size - k - 1);
+                size--;
+            }
+        } else {
+            k = -k - 1;
+            System.arraycopy(dates, k, dates, k + 1, size - k);
+            System.arraycopy(deltas, k, deltas, k + 1, size - k);
+            dates[k] = date;
+            deltas[k] = delta;
+            size++;
+        }
+    }
+
+    /**
+     * @return the index of <i>date</i> if it exists, (-(insertion point) - 1) otherwise
+     */
+    private int search(int date) {
+        int lo = 0, hi = size - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (dates[mid] < date) {
+                lo = mid + 1;
+            } else if (dates[mid] > date) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(lo + 1);
+    }
+
+    private void rebuild() {
+        if (dirty) {
+            int level = 0;
+            long energy = 0;
+            maxLevel = 0;
+            for (int k = 0; k < size; k++) {
+                if (k > 0) {
+                    energy += (long) level * (dates[k] - dates[k - 1]);
+                }
+                energies[k] = energy;
+                level += deltas[k];
+                levels[k] = level;
+                maxLevel = Math.max(maxLevel, level);
+            }
+            dirty = false;
+        }
+    }
+
+    /**
+     * @return the number of dates of the profile
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param k index of a date, in [0, {@link #size()}[
+     * @return the <i>k</i>th date of the profile
+     */
+    public int date(int k) {
+        return dates[k];
+    }
+
+    /**
+     * @param k index of a date, in [0, {@link #size()}[
+     * @return the height of the profile from the <i>k</i>th date to the next one
+     */
+    public int level(int k) {
+        rebuild();
+        return levels[k];
+    }
+
+    /**
+     * @param t a date
+     * @return the index of the last date less than or equal to <i>t</i>, -1 if none
+     */
+    public int indexOf(int t) {
+        int k = search(t);
+        return k >= 0 ? k : -k - 2;
+    }
+
+    /**
+     * @return the maximum height of the profile
+     */
+    public int maxHeight() {
+        rebuild();
+        return maxLevel;
+    }
+
+    /**
+     * @param t a date
+     * @return the energy of the profile before <i>t</i>
+     */
+    public long energyBefore(int t) {
+        rebuild();
+        int k = indexOf(t);
+        return k < 0 ? 0 : energies[k] + (long) levels[k] * (t - dates[k]);
+    }
+
+    /**
+     * @param task index of a task
+     * @return the height of the recorded compulsory part of <i>task</i> over [<i>a</i>, <i>b</i>[,
+     * which is either fully covered by the compulsory part or not at all
+     */
+    public int heightOf(int task, int a, int b) {
+        return from[task] <= a && b <= to[task] ? height[task] : 0;
+    }
+}
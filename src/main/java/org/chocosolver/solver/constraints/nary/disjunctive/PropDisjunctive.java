@@ -0,0 +1,391 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.disjunctive;
+
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.PropagatorPriority;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.BoolVar;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.util.ESat;
+import org.chocosolver.util.sort.ArraySort;
+import org.chocosolver.util.sort.IntComparator;
+import org.chocosolver.util.tools.ArrayUtils;
+
+import java.util.Arrays;
+
+/**
+ * Disjunctive (unary resource) propagator: tasks with a positive duration cannot overlap.
+ * <p>
+ * Runs, on both the starting and the ending side of the tasks, the O(n log n) filtering rules
+ * based on {@link ThetaLambdaTree} described in P. Vilím, "Global Constraints in Scheduling", PhD thesis, 2007:
+ * overload checking, detectable precedences, not-first/not-last and edge finding.
+ * The ending side is handled by mirroring the tasks on the time axis.
+ * Rules are applied until no more bound is modified, the propagator is idempotent.
+ * </p>
+ * <p>
+ * A task may be optional, when its presence variable is not instantiated yet.
+ * An optional task never filters other tasks, but it is made absent when it cannot be scheduled
+ * with the present ones (P. Vilím, R. Barták and O. Čepek, "Extension of O(n log n) filtering algorithms
+ * for the unary resource constraint to optional activities", Constraints, 2005).
+ * The time variables of an optional task are not modified, those of an absent one are ignored.
+ * </p>
+ * <p>
+ * Tasks are sorted with a merge sort over the whole set of tasks and the orders are kept from one call to another,
+ * since they are usually nearly sorted already.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class PropDisjunctive extends Propagator<IntVar> {
+
+    //***********************************************************************************
+    // VARIABLES
+    //***********************************************************************************
+
+    private final int n;
+    private final IntVar[] s, d, e;
+    // presence of each task, null when all tasks are mandatory
+    private final BoolVar[] b;
+    // earliest starting time, latest completion time and processing time of each task, wrt the current side
+    private final int[] est, lct, p;
+    // filtered bounds, wrt the current side
+    private final int[] newEst, newLct;
+    // status of each task
+    private final boolean[] active, optional;
+    // tasks sorted by est, lct, lst and ect
+    private final int[] byEst, byLct, byLst, byEct;
+    private final IntComparator cEst, cLct, cLst, cEct;
+    private final ArraySort<?> sorter;
+    private final ThetaLambdaTree tree;
+
+    //***********************************************************************************
+    // CONSTRUCTORS
+    //***********************************************************************************
+
+    /**
+     * Disjunctive propagator
+     *
+     * @param s start variables
+     * @param d duration variables
+     * @param e end variables
+     * @param b presence variables, or null if all tasks are mandatory
+     */
+    public PropDisjunctive(IntVar[] s, IntVar[] d, IntVar[] e, BoolVar[] b) {
+        super(b == null ? ArrayUtils.append(s, d, e) : ArrayUtils.append(s, d, e, b), PropagatorPriority.QUADRATIC, false);
+        this.n = s.length;
+        if (!(n == d.length && n == e.length && (b == null || n == b.length))) {
+            throw new UnsupportedOperationException();
+        }
+        this.s = Arrays.copyOfRange(vars, 0, n);
+        this.d = Arrays.copyOfRange(vars, n, n * 2);
+        this.e = Arrays.copyOfRange(vars, n * 2, n * 3);
+        this.b = b == null ? null : b.clone();
+        this.est = new int[n];
+        this.lct = new int[n];
+        this.p = new int[n];
+        this.newEst = new int[n];
+        this.newLct = new int[n];
+        this.active = new boolean[n];
+        this.optional = new boolean[n];
+        this.byEst = new int[n];
+        this.byLct = new int[n];
+        this.byLst = new int[n];
+        this.byEct = new int[n];
+        for (int i = 0; i < n; i++) {
+            byEst[i] = byLct[i] = byLst[i] = byEct[i] = i;
+        }
+        this.cEst = (i, j) -> Integer.compare(est[i], est[j]);
+        this.cLct = (i, j) -> Integer.compare(lct[i], lct[j]);
+        this.cLst = (i, j) -> Integer.compare(lct[i] - p[i], lct[j] - p[j]);
+        this.cEct = (i, j) -> Integer.compare(est[i] + p[i], est[j] + p[j]);
+        this.sorter = new ArraySort<>(n, false, true);
+        this.tree = new ThetaLambdaTree(n);
+    }
+
+    //***********************************************************************************
+    // METHODS
+    //***********************************************************************************
+
+    @Override
+    public int getPropagationConditions(int idx) {
+        return IntEventType.boundAndInst();
+    }
+
+    @Override
+    public void propagate(int evtmask) throws ContradictionException {
+        boolean again;
+        do {
+            again = false;
+            for (int side = 0; side < 2; side++) {
+                boolean mirror = side == 1;
+                load(mirror);
+                // overload checking first, the cheapest way to fail
+                overloadChecking();
+                detectablePrecedences();
+                notLast();
+                edgeFinding();
+                again |= apply(mirror);
+            }
+        } while (again);
+    }
+
+    /**
+     * Reads the bounds of the tasks, mirrored on the time axis if <i>mirror</i> is set to <i>true</i>,
+     * and sorts the tasks.
+     */
+    private void load(boolean mirror) {
+        for (int i = 0; i < n; i++) {
+            if (mirror) {
+                est[i] = -e[i].getUB();
+                lct[i] = -s[i].getLB();
+            } else {
+                est[i] = s[i].getLB();
+                lct[i] = e[i].getUB();
+            }
+            p[i] = d[i].getLB();
+            newEst[i] = est[i];
+            newLct[i] = lct[i];
+            active[i] = p[i] > 0 && (b == null || b[i].getUB() == 1);
+            optional[i] = b != null && !b[i].isInstantiated();
+        }
+        sorter.sort(byEst, n, cEst);
+        sorter.sort(byLct, n, cLct);
+        sorter.sort(byLst, n, cLst);
+        sorter.sort(byEct, n, cEct);
+        tree.init(byEst, n);
+    }
+
+    private boolean mandatory(int i) {
+        return active[i] && !optional[i];
+    }
+
+    /**
+     * Makes the optional task <i>i</i> absent.
+     */
+    private void exclude(int i) throws ContradictionException {
+        b[i].setToFalse(this);
+        active[i] = false;
+    }
+
+    /**
+     * Fails if a set of mandatory tasks cannot be scheduled before its latest completion time,
+     * and excludes the optional tasks that cannot be added to such a set.
+     */
+    private void overloadChecking() throws ContradictionException {
+        tree.clear();
+        for (int k = 0; k < n; k++) {
+            int j = byLct[k];
+            if (!active[j]) {
+                continue;
+            }
+            if (optional[j]) {
+                tree.addLambda(j, est[j], p[j]);
+            } else {
+                tree.addTheta(j, est[j], p[j]);
+                if (tree.getEct() > lct[j]) {
+                    fails();
+                }
+            }
+            while (tree.getEctBar() > lct[j]) {
+                int i = tree.getResponsibleEctBar();
+                if (i < 0) {
+                    break;
+                }
+                exclude(i);
+                tree.remove(i);
+            }
+        }
+    }
+
+    /**
+     * A task <i>j</i> which cannot start after the earliest completion time of <i>i</i>
+     * precedes <i>i</i>: <i>i</i> starts after the earliest completion time of such tasks.
+     */
+    private void detectablePrecedences() {
+        tree.clear();
+        int q = 0;
+        for (int k = 0; k < n; k++) {
+            int i = byEct[k];
+            if (!active[i]) {
+                continue;
+            }
+            while (q < n) {
+                int j = byLst[q];
+                if (mandatory(j)) {
+                    if (est[i] + p[i] <= lct[j] - p[j]) {
+                        break;
+                    }
+                    tree.addTheta(j, est[j], p[j]);
+                }
+                q++;
+            }
+            boolean in = tree.inTheta(i);
+            if (in) {
+                tree.remove(i);
+            }
+            newEst[i] = Math.max(newEst[i], tree.getEct());
+            if (in) {
+                tree.addTheta(i, est[i], p[i]);
+            }
+        }
+    }
+
+    /**
+     * A task <i>i</i> which cannot end after a set of tasks ends before the latest starting time
+     * of one of them.
+     */
+    private void notLast() {
+        tree.clear();
+        int q = 0;
+        // the last two mandatory tasks inserted, by increasing lst
+        int last = -1, prev = -1;
+        for (int k = 0; k < n; k++) {
+            int i = byLct[k];
+            if (!active[i]) {
+                continue;
+            }
+            while (q < n) {
+                int j = byLst[q];
+                if (mandatory(j)) {
+                    if (lct[i] <= lct[j] - p[j]) {
+                        break;
+                    }
+                    tree.addTheta(j, est[j], p[j]);
+                    prev = last;
+                    last = j;
+                }
+                q++;
+            }
+            boolean in = tree.inTheta(i);
+            if (in) {
+                tree.remove(i);
+            }
+            if (tree.getEct() > lct[i] - p[i]) {
+                int j = last == i ? prev : last;
+                newLct[i] = Math.min(newLct[i], lct[j] - p[j]);
+            }
+            if (in) {
+                tree.addTheta(i, est[i], p[i]);
+            }
+        }
+    }
+
+    /**
+     * A task <i>i</i> which cannot be scheduled with a set of tasks before their latest completion time
+     * starts after all of them.
+     */
+    private void edgeFinding() throws ContradictionException {
+        tree.clear();
+        for (int k = 0; k < n; k++) {
+            int i = byEst[k];
+            if (active[i]) {
+                if (optional[i]) {
+                    tree.addLambda(i, est[i], p[i]);
+                } else {
+                    tree.addTheta(i, est[i], p[i]);
+                }
+            }
+        }
+        for (int k = n - 1; k >= 0; k--) {
+            int j = byLct[k];
+            if (!mandatory(j)) {
+                continue;
+            }
+            // Theta is made of the mandatory tasks whose lct is less than or equal to lct[j]
+            while (tree.getEctBar() > lct[j]) {
+                int i = tree.getResponsibleEctBar();
+                if (i < 0) {
+                    break;
+                }
+                if (optional[i]) {
+                    if (lct[i] <= lct[j] || tree.getEct() + p[i] > lct[i]) {
+                        exclude(i);
+                    }
+                } else {
+                    newEst[i] = Math.max(newEst[i], tree.getEct());
+                }
+                tree.remove(i);
+            }
+            if (tree.getEct() > lct[j]) {
+                fails();
+            }
+            tree.addLambda(j, est[j], p[j]);
+        }
+    }
+
+    /**
+     * Updates the bounds of the mandatory tasks and excludes the optional tasks which cannot be scheduled anymore.
+     *
+     * @return <i>true</i> if a bound has been modified
+     */
+    private boolean apply(boolean mirror) throws ContradictionException {
+        boolean change = false;
+        for (int i = 0; i < n; i++) {
+            if (!active[i]) {
+                continue;
+            }
+            int lb = mirror ? -newLct[i] : newEst[i];
+            int ub = mirror ? -newEst[i] : newLct[i];
+            if (optional[i]) {
+                if (lb > s[i].getUB() || ub < e[i].getLB() || lb + p[i] > ub) {
+                    exclude(i);
+                }
+            } else {
+                change |= s[i].updateLowerBound(lb, this);
+                change |= e[i].updateUpperBound(ub, this);
+            }
+        }
+        return change;
+    }
+
+    @Override
+    public ESat isEntailed() {
+        for (int i = 0; i < vars.length; i++) {
+            if (!vars[i].isInstantiated()) {
+                return ESat.UNDEFINED;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            if (d[i].getValue() == 0 || (b != null && b[i].getValue() == 0)) {
+                continue;
+            }
+            for (int j = i + 1; j < n; j++) {
+                if (d[j].getValue() == 0 || (b != null && b[j].getValue() == 0)) {
+                    continue;
+                }
+                if (s[i].getValue() < e[j].getValue() && s[j].getValue() < e[i].getValue()) {
+                    return ESat.FALSE;
+                }
+            }
+        }
+        return ESat.TRUE;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(this.getClass().getSimpleName() + "(");
+        for (int i = 0; i < n; i++) {
+            sb.append("[").append(s[i].toString());
+            sb.append(",").append(d[i].toString());
+            sb.append(",").append(e[i].toString());
+            if (b != null) {
+                sb.append(",").append(b[i].toString());
+            }
+            sb.append("],");
+        }
+        sb.setCharAt(sb.length() - 1, ')');
+        return sb.toString();
+    }
+}
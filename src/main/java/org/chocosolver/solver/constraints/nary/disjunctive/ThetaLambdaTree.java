@@ -0,0 +1,207 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.disjunctive;
+
+import java.util.Arrays;
+
+/**
+ * Theta-Lambda tree, as described in P. Vilím, "Global Constraints in Scheduling", PhD thesis, 2007.
+ * <p>
+ * A balanced binary tree whose leaves are tasks sorted by earliest starting time.
+ * A task is either in Theta (white leaf), in Lambda (gray leaf) or out of the tree (empty leaf).
+ * Each node maintains, for the tasks of its subtree, the total processing time and the earliest completion time
+ * of the Theta tasks, and the same values when at most one Lambda task is added,
+ * together with the Lambda task responsible for them.
+ * Inserting or removing a task runs in O(log n), querying the root in O(1).
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class ThetaLambdaTree {
+
+    /**
+     * Lower bound of the earliest completion time of an empty set, which can safely be increased by sums of durations
+     */
+    private static final int NEG_INF = Integer.MIN_VALUE / 2;
+
+    private static final int OUT = 0, THETA = 1, LAMBDA = 2;
+
+    // number of leaves, a power of 2
+    private final int size;
+    // leaf of each task
+    private final int[] leaf;
+    // where each task is
+    private final int[] state;
+    // per node: sum of processing times, earliest completion time (Theta only)
+    private final int[] sumP, ect;
+    // per node: sum of processing times, earliest completion time (Theta plus at most one Lambda task)
+    private final int[] sumPBar, ectBar;
+    // per node: Lambda task responsible for sumPBar and ectBar, -1 if none
+    private final int[] respP, respEct;
+
+    /**
+     * Create a Theta-Lambda tree for at most <i>n</i> tasks.
+     *
+     * @param n maximum number of tasks
+     */
+    public ThetaLambdaTree(int n) {
+        int s = 1;
+        while (s < n) {
+            s <<= 1;
+        }
+        size = s;
+        leaf = new int[n];
+        state = new int[n];
+        sumP = new int[2 * size];
+        ect = new int[2 * size];
+        sumPBar = new int[2 * size];
+        ectBar = new int[2 * size];
+        respP = new int[2 * size];
+        respEct = new int[2 * size];
+    }
+
+    /**
+     * Empties the tree and assigns the leaves to the tasks.
+     *
+     * @param byEst tasks sorted by increasing earliest starting time
+     * @param n     number of tasks in <i>byEst</i>
+     */
+    public void init(int[] byEst, int n) {
+        for (int k = 0; k < n; k++) {
+            leaf[byEst[k]] = size + k;
+        }
+        clear();
+    }
+
+    /**
+     * Removes all tasks from the tree.
+     */
+    public void clear() {
+        Arrays.fill(sumP, 0);
+        Arrays.fill(ect, NEG_INF);
+        Arrays.fill(sumPBar, 0);
+        Arrays.fill(ectBar, NEG_INF);
+        Arrays.fill(respP, -1);
+        Arrays.fill(respEct, -1);
+        Arrays.fill(state, OUT);
+    }
+
+    /**
+     * Inserts a task in Theta, or moves it from Lambda to Theta.
+     *
+     * @param task a task
+     * @param est  its earliest starting time
+     * @param p    its processing time
+     */
+    public void addTheta(int task, int est, int p) {
+        int k = leaf[task];
+        state[task] = THETA;
+        sumP[k] = sumPBar[k] = p;
+        ect[k] = ectBar[k] = est + p;
+        respP[k] = respEct[k] = -1;
+        update(k);
+    }
+
+    /**
+     * Inserts a task in Lambda, or moves it from Theta to Lambda.
+     *
+     * @param task a task
+     * @param est  its earliest starting time
+     * @param p    its processing time
+     */
+    public void addLambda(int task, int est, int p) {
+        int k = leaf[task];
+        state[task] = LAMBDA;
+        sumP[k] = 0;
+        ect[k] = NEG_INF;
+        sumPBar[k] = p;
+        ectBar[k] = est + p;
+        respP[k] = respEct[k] = task;
+        update(k);
+    }
+
+    /**
+     * Removes a task from the tree.
+     *
+     * @param task a task
+     */
+    public void remove(int task) {
+        int k = leaf[task];
+        state[task] = OUT;
+        sumP[k] = sumPBar[k] = 0;
+        ect[k] = ectBar[k] = NEG_INF;
+        respP[k] = respEct[k] = -1;
+        update(k);
+    }
+
+    /**
+     * @param task a task
+     * @return <i>true</i> if <i>task</i> is in Theta
+     */
+    public boolean inTheta(int task) {
+        return state[task] == THETA;
+    }
+
+    /**
+     * @return the earliest completion time of Theta
+     */
+    public int getEct() {
+        return ect[1];
+    }
+
+    /**
+     * @return the greatest earliest completion time of Theta plus one task of Lambda
+     */
+    public int getEctBar() {
+        return ectBar[1];
+    }
+
+    /**
+     * @return the Lambda task responsible for {@link #getEctBar()}, -1 if none
+     */
+    public int getResponsibleEctBar() {
+        return respEct[1];
+    }
+
+    private void update(int k) {
+        k >>= 1;
+        while (k > 0) {
+            int l = k << 1, r = l + 1;
+            sumP[k] = sumP[l] + sumP[r];
+            ect[k] = Math.max(ect[r], ect[l] + sumP[r]);
+            int pl = sumPBar[l] + sumP[r];
+            int pr = sumP[l] + sumPBar[r];
+            if (pl >= pr) {
+                sumPBar[k] = pl;
+                respP[k] = respP[l];
+            } else {
+                sumPBar[k] = pr;
+                respP[k] = respP[r];
+            }
+            int er = ectBar[r];
+            int em = ect[l] + sumPBar[r];
+            int el = ectBar[l] + sumP[r];
+            if (er >= em && er >= el) {
+                ectBar[k] = er;
+                respEct[k] = respEct[r];
+            } else if (em >= el) {
+                ectBar[k] = em;
+                respEct[k] = respP[r];
+            } else {
+                ectBar[k] = el;
+                respEct[k] = respEct[l];
+            }
+            k >>= 1;
+        }
+    }
+}
@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.nary.sum;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Operator;
 import org.chocosolver.solver.constraints.nary.clauses.ClauseBuilder;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -19,6 +21,8 @@ import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.ValueSortedMap;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 
+import java.util.Map;
+
 import static org.chocosolver.solver.constraints.Operator.EQ;
 import static org.chocosolver.solver.constraints.Operator.GE;
 import static org.chocosolver.solver.constraints.Operator.LE;
@@ -54,6 +58,11 @@ public class PropScalar extends PropSum {
         this.c = coeffs;
     }
 
+    @Override
+    public PropScalar copy(Model model, Map<Object, Object> copies) {
+        return new PropScalar(ModelCopier.copyOf(vars, copies), c, pos, o, b);
+    }
+
 
     @Override
     protected void prepare() {
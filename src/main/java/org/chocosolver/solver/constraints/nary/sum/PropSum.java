@@ -13,6 +13,8 @@ import static org.chocosolver.solver.constraints.Operator.EQ;
 import static org.chocosolver.solver.constraints.Operator.GE;
 import static org.chocosolver.solver.constraints.Operator.LE;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Operator;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
@@ -26,6 +28,8 @@ import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.ValueSortedMap;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 
+import java.util.Map;
+
 /**
  * A propagator for SUM(x_i) o b
  * <br/>
@@ -105,6 +109,11 @@ public class PropSum extends Propagator<IntVar> {
         maxI = 0;
     }
 
+    @Override
+    public PropSum copy(Model model, Map<Object, Object> copies) {
+        return new PropSum(ModelCopier.copyOf(vars, copies), pos, o, b);
+    }
+
     /**
      * Compute the priority of the propagator wrt the number of involved variables
      * @param nbvars number of variables
@@ -12,12 +12,16 @@ package org.chocosolver.solver.constraints.nary.sum;
 import static org.chocosolver.solver.constraints.PropagatorPriority.BINARY;
 import static org.chocosolver.util.tools.ArrayUtils.concat;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Operator;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.events.IntEventType;
 
+import java.util.Map;
+
 /**
  * A propagator for SUM(x_i) = y + b, where x_i are boolean variables
  * <br/>
@@ -67,6 +71,15 @@ public class PropSumBool extends PropSum {
         this(variables, pos, o, sum, b, false);
     }
 
+    @Override
+    public PropSumBool copy(Model model, Map<Object, Object> copies) {
+        BoolVar[] bools = new BoolVar[vars.length - 1];
+        for (int i = 0; i < bools.length; i++) {
+            bools[i] = (BoolVar) ModelCopier.copyOf(vars[i], copies);
+        }
+        return new PropSumBool(bools, pos, o, ModelCopier.copyOf(sum, copies), b);
+    }
+
     @Override
     public int getPropagationConditions(int vIdx) {
         switch (o) {
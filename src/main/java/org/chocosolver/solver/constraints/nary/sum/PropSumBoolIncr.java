@@ -10,12 +10,16 @@
 package org.chocosolver.solver.constraints.nary.sum;
 
 import org.chocosolver.memory.IStateInt;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Operator;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.events.PropagatorEventType;
 
+import java.util.Map;
+
 /**
  * A propagator for SUM(x_i) = y + b, where x_i are boolean variables, maintained incrementally.
  * <br/>
@@ -63,6 +67,15 @@ public class PropSumBoolIncr extends PropSumBool {
         this.bUB = model.getEnvironment().makeInt();
     }
 
+    @Override
+    public PropSumBoolIncr copy(Model model, Map<Object, Object> copies) {
+        BoolVar[] bools = new BoolVar[vars.length - 1];
+        for (int i = 0; i < bools.length; i++) {
+            bools[i] = (BoolVar) ModelCopier.copyOf(vars[i], copies);
+        }
+        return new PropSumBoolIncr(bools, pos, o, ModelCopier.copyOf(sum, copies), b);
+    }
+
     @Override
     public void propagate(int evtmask) throws ContradictionException {
         if (PropagatorEventType.isFullPropagation(evtmask)) {
@@ -9,12 +9,16 @@
  */
 package org.chocosolver.solver.constraints.nary.sum;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Operator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.events.IntEventType;
 
+import java.util.Map;
+
 /**
  * A propagator for SUM(x_i) = y + b, where x_i are boolean variables
  * <br/>
@@ -56,6 +60,15 @@ public class PropSumFullBool extends PropSum {
         this(variables, pos, o, b, false);
     }
 
+    @Override
+    public PropSumFullBool copy(Model model, Map<Object, Object> copies) {
+        BoolVar[] bools = new BoolVar[vars.length];
+        for (int i = 0; i < bools.length; i++) {
+            bools[i] = (BoolVar) ModelCopier.copyOf(vars[i], copies);
+        }
+        return new PropSumFullBool(bools, pos, o, b);
+    }
+
     @Override
     public int getPropagationConditions(int vIdx) {
         return IntEventType.INSTANTIATE.getMask();
@@ -10,11 +10,15 @@
 package org.chocosolver.solver.constraints.nary.sum;
 
 import org.chocosolver.memory.IStateInt;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Operator;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.events.PropagatorEventType;
 
+import java.util.Map;
+
 /**
  * A propagator for SUM(x_i) = y + b, where x_i are boolean variables, maintained incrementally.
  * <br/>
@@ -61,6 +65,15 @@ public class PropSumFullBoolIncr extends PropSumFullBool {
         this.bUB = model.getEnvironment().makeInt();
     }
 
+    @Override
+    public PropSumFullBoolIncr copy(Model model, Map<Object, Object> copies) {
+        BoolVar[] bools = new BoolVar[vars.length];
+        for (int i = 0; i < bools.length; i++) {
+            bools[i] = (BoolVar) ModelCopier.copyOf(vars[i], copies);
+        }
+        return new PropSumFullBoolIncr(bools, pos, o, b);
+    }
+
     @Override
     public void propagate(int evtmask) throws ContradictionException {
         if (PropagatorEventType.isFullPropagation(evtmask)) {
@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.reification;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -19,6 +21,8 @@ import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.ValueSortedMap;
 
+import java.util.Map;
+
 /**
  * A propagator dedicated to express in a compact way: (x = y + c) &hArr; b
  *
@@ -34,6 +38,12 @@ public class PropXeqYCReif extends Propagator<IntVar> {
         this.cste = c;
     }
 
+    @Override
+    public PropXeqYCReif copy(Model model, Map<Object, Object> copies) {
+        return new PropXeqYCReif(ModelCopier.copyOf(vars[0], copies), ModelCopier.copyOf(vars[1], copies), cste,
+                (BoolVar) ModelCopier.copyOf(vars[2], copies));
+    }
+
     @Override
     public void propagate(int evtmask) throws ContradictionException {
         if (vars[2].getLB() == 1) {
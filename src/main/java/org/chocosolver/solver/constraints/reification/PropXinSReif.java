@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.reification;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -21,6 +23,8 @@ import org.chocosolver.util.objects.ValueSortedMap;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableSetUtils;
 
+import java.util.Map;
+
 /**
  * A propagator dedicated to express in a compact way: (x = c) &hArr; b
  *
@@ -40,6 +44,11 @@ public class PropXinSReif extends Propagator<IntVar> {
         this.r = r;
     }
 
+    @Override
+    public PropXinSReif copy(Model model, Map<Object, Object> copies) {
+        return new PropXinSReif(ModelCopier.copyOf(var, copies), set.duplicate(), ModelCopier.copyOf(r, copies));
+    }
+
     @Override
     public void propagate(int evtmask) throws ContradictionException {
         if (r.getLB() == 1) {
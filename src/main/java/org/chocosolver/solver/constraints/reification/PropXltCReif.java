@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.reification;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -20,6 +22,8 @@ import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.ValueSortedMap;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 
+import java.util.Map;
+
 /**
  * A propagator dedicated to express in a compact way: (x < c) &hArr; b
  *
@@ -39,6 +43,11 @@ public class PropXltCReif extends Propagator<IntVar> {
         this.r = r;
     }
 
+    @Override
+    public PropXltCReif copy(Model model, Map<Object, Object> copies) {
+        return new PropXltCReif(ModelCopier.copyOf(var, copies), cste, ModelCopier.copyOf(r, copies));
+    }
+
     @Override
     public void propagate(int evtmask) throws ContradictionException {
         if (r.getLB() == 1) {
@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.reification;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -20,6 +22,8 @@ import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.ValueSortedMap;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 
+import java.util.Map;
+
 /**
  * A propagator dedicated to express in a compact way: (x < y + c) &hArr; b
  *
@@ -35,6 +39,12 @@ public class PropXltYCReif extends Propagator<IntVar> {
         this.cste = c;
     }
 
+    @Override
+    public PropXltYCReif copy(Model model, Map<Object, Object> copies) {
+        return new PropXltYCReif(ModelCopier.copyOf(vars[0], copies), ModelCopier.copyOf(vars[1], copies), cste,
+                (BoolVar) ModelCopier.copyOf(vars[2], copies));
+    }
+
     @Override
     public void propagate(int evtmask) throws ContradictionException {
         if (vars[2].getLB() == 1) {
@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.ternary;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -17,6 +19,8 @@ import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.tools.MathUtils;
 
+import java.util.Map;
+
 /**
  * X/Y = Z
  * A propagator for the constraint Z = X / Y where X, Y and Z are integer, possibly negative, variables
@@ -45,6 +49,12 @@ public class PropDivXYZ extends Propagator<IntVar> {
         this.absZ = az;
     }
 
+    @Override
+    public PropDivXYZ copy(Model model, Map<Object, Object> copies) {
+        return new PropDivXYZ(ModelCopier.copyOf(X, copies), ModelCopier.copyOf(Y, copies), ModelCopier.copyOf(Z, copies),
+                ModelCopier.copyOf(absX, copies), ModelCopier.copyOf(absY, copies), ModelCopier.copyOf(absZ, copies));
+    }
+
     /**
      * The main propagation method that filters according to the constraint defintion
      *
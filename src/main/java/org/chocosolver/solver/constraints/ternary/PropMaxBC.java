@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.ternary;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -17,6 +19,8 @@ import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.events.IntEventType;
 import org.chocosolver.util.ESat;
 
+import java.util.Map;
+
 /**
  * X = MAX(Y,Z)
  * <br/>
@@ -36,6 +40,12 @@ public class PropMaxBC extends Propagator<IntVar> {
         this.v2 = vars[2];
     }
 
+    @Override
+    public PropMaxBC copy(Model model, Map<Object, Object> copies) {
+        return new PropMaxBC(ModelCopier.copyOf(vars[0], copies), ModelCopier.copyOf(vars[1], copies),
+                ModelCopier.copyOf(vars[2], copies));
+    }
+
     @Override
     public int getPropagationConditions(int vIdx) {
         return IntEventType.boundAndInst();
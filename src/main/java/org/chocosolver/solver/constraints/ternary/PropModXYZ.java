@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.ternary;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -17,6 +19,8 @@ import org.chocosolver.solver.variables.events.IntEventType;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableBitSet;
 
+import java.util.Map;
+
 /**
  * X % Y = Z
  * A propagator for the constraint Z = X % Y where X, Y and Z are integer, possibly negative, variables
@@ -42,6 +46,11 @@ public class PropModXYZ extends Propagator<IntVar> {
         }
     }
 
+    @Override
+    public PropModXYZ copy(Model model, Map<Object, Object> copies) {
+        return new PropModXYZ(ModelCopier.copyOf(x, copies), ModelCopier.copyOf(y, copies), ModelCopier.copyOf(z, copies));
+    }
+
     @Override
     public int getPropagationConditions(int vIdx) {
         return IntEventType.boundAndInst();
@@ -11,6 +11,8 @@ package org.chocosolver.solver.constraints.ternary;
 
 import static org.chocosolver.util.tools.MathUtils.safeMultiply;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -18,6 +20,8 @@ import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.events.IntEventType;
 import org.chocosolver.util.ESat;
 
+import java.util.Map;
+
 /**
  * V0 * V1 = V2
  * <br/>
@@ -38,6 +42,12 @@ public class PropTimesNaive extends Propagator<IntVar> {
         this.v2 = vars[2];
     }
 
+    @Override
+    public PropTimesNaive copy(Model model, Map<Object, Object> copies) {
+        return new PropTimesNaive(ModelCopier.copyOf(vars[0], copies), ModelCopier.copyOf(vars[1], copies),
+                ModelCopier.copyOf(vars[2], copies));
+    }
+
     @Override
     public final int getPropagationConditions(int vIdx) {
         return IntEventType.boundAndInst();
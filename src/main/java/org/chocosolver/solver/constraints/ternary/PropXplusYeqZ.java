@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.ternary;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -21,6 +23,8 @@ import org.chocosolver.util.objects.ValueSortedMap;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableSetUtils;
 
+import java.util.Map;
+
 /**
  * A propagator to ensure that X + Y = Z holds, where X, Y and Z are IntVar.
  * This propagator ensures AC when all variables are enumerated, BC otherwise.
@@ -66,6 +70,12 @@ public class PropXplusYeqZ extends Propagator<IntVar> {
         r3 = new IntIterableRangeSet();
     }
 
+    @Override
+    public PropXplusYeqZ copy(Model model, Map<Object, Object> copies) {
+        return new PropXplusYeqZ(ModelCopier.copyOf(vars[0], copies), ModelCopier.copyOf(vars[1], copies),
+                ModelCopier.copyOf(vars[2], copies), !allbounded);
+    }
+
     @Override
     public void propagate(int evtmask) throws ContradictionException {
         /*while */
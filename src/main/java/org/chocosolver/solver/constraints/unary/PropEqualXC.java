@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.unary;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -19,6 +21,8 @@ import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.ValueSortedMap;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 
+import java.util.Map;
+
 /**
  * Unary propagator ensuring:
  * <br/>
@@ -38,6 +42,11 @@ public class PropEqualXC extends Propagator<IntVar> {
         this.constant = cste;
     }
 
+    @Override
+    public PropEqualXC copy(Model model, Map<Object, Object> copies) {
+        return new PropEqualXC(ModelCopier.copyOf(vars[0], copies), constant);
+    }
+
     @Override
     public void propagate(int evtmask) throws ContradictionException {
         vars[0].instantiateTo(constant, this);
@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.unary;
 
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -19,6 +21,8 @@ import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.ValueSortedMap;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 
+import java.util.Map;
+
 /**
  * A propagator ensuring that:
  * X =/= C, where X is a variable and C a constant
@@ -36,6 +40,11 @@ public class PropNotEqualXC extends Propagator<IntVar> {
         this.constant = cste;
     }
 
+    @Override
+    public PropNotEqualXC copy(Model model, Map<Object, Object> copies) {
+        return new PropNotEqualXC(ModelCopier.copyOf(vars[0], copies), constant);
+    }
+
     @Override
     public void propagate(int evtmask) throws ContradictionException {
         if (vars[0].removeValue(constant, this) || !vars[0].contains(constant)) {
@@ -32,4 +32,14 @@ public class SolverException extends RuntimeException {
     public SolverException(String message) {
 		super(message);
     }
+
+    /**
+     * Constructs a new solver exception with the specified detailed message and cause.
+     *
+     * @param message message to print
+     * @param cause   the cause of this exception
+     */
+    public SolverException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
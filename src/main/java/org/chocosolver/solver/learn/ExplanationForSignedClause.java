@@ -9,7 +9,9 @@
  */
 package org.chocosolver.solver.learn;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.function.BiConsumer;
 import org.chocosolver.solver.ICause;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.Propagator;
@@ -25,6 +27,7 @@ import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.events.IntEventType;
 import org.chocosolver.util.PoolManager;
+import org.chocosolver.util.objects.IdValueSortedMap;
 import org.chocosolver.util.objects.ValueSortedMap;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableSetUtils;
@@ -32,7 +35,10 @@ import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableSetUti
 /**
  * An implementation of {@link IExplanation} dedicated to learn signed clauses
  * <p>
- *
+ * To avoid allocations and hashing during conflict analysis, the literals are stored in arrays
+ * indexed by variable ids, whose entries are only valid when stamped with the current conflict number,
+ * and the sets are taken from (and returned to) a pool reused across conflicts.
+ * The conflicting nodes are stored in an {@link IdValueSortedMap}, indexed by variable ids too.
  * <p>
  * Project: choco-solver.
  *
@@ -64,11 +70,36 @@ public class ExplanationForSignedClause extends IExplanation {
     /**
      * Conflicting nodes
      */
-    private ValueSortedMap<IntVar> front;
+    private final ValueSortedMap<IntVar> front;
+    /**
+     * Literals that explains the conflict, indexed by variable id
+     */
+    private IntIterableRangeSet[] literals;
+    /**
+     * Variables of the literals, indexed by variable id
+     */
+    private IntVar[] lvars;
+    /**
+     * A variable has a literal in this explanation iff its entry is equal to {@link #stamp}
+     */
+    private int[] seen;
     /**
-     * Literals that explains the conflict
+     * A variable is referenced in {@link #ids} iff its entry is equal to {@link #stamp}
      */
-    private HashMap<IntVar, IntIterableRangeSet> literals;
+    private int[] listed;
+    /**
+     * Current conflict number
+     */
+    private int stamp;
+    /**
+     * Ids of the variables that had a literal in this explanation since the last recycling
+     */
+    private int[] ids;
+    private int nbIds;
+    /**
+     * Number of literals in this explanation
+     */
+    private int nbLiterals;
     /**
      * The decision to refute (ie, point to jump to wrt the current decision path).
      * @implSpec 0 represents the ROOT node,
@@ -84,8 +115,22 @@ public class ExplanationForSignedClause extends IExplanation {
     private PoolManager<IntIterableRangeSet> manager;
 
     public ExplanationForSignedClause(Implications ig) {
-        front = new ValueSortedMap<>();
-        literals = new HashMap<>();
+        this(ig, new IdValueSortedMap<>());
+    }
+
+    /**
+     * Create an explanation which stores the conflicting nodes in <i>front</i>.
+     * @param ig the implication graph
+     * @param front an empty map to store the conflicting nodes in
+     */
+    public ExplanationForSignedClause(Implications ig, ValueSortedMap<IntVar> front) {
+        this.front = front;
+        literals = new IntIterableRangeSet[16];
+        lvars = new IntVar[16];
+        seen = new int[16];
+        listed = new int[16];
+        ids = new int[16];
+        stamp = 1;
         manager = new PoolManager<>();
         mIG = ig;
     }
@@ -96,18 +141,102 @@ public class ExplanationForSignedClause extends IExplanation {
     @Override
     public void extractConstraint(Model mModel, ClauseStore ngstore) {
         ClauseBuilder ngb = mModel.getClauseBuilder();
-        literals.forEach(ngb::put);
+        forEachLiteral(ngb::put);
         ngb.buildNogood(mModel);
     }
 
+    /**
+     * Apply <i>action</i> on each literal (<i>var</i> &isin; <i>set</i>) of this explanation.
+     * The sets must not be modified.
+     *
+     * @param action an action to apply on each literal
+     */
+    public void forEachLiteral(BiConsumer<IntVar, IntIterableRangeSet> action) {
+        for (int i = 0; i < nbIds; i++) {
+            int id = ids[i];
+            if (seen[id] == stamp) {
+                action.accept(lvars[id], literals[id]);
+            }
+        }
+    }
+
     @Override
     public void recycle() {
         front.clear();
-        literals.forEach((v, r) -> returnSet(r));
-        literals.clear();
+        for (int i = 0; i < nbIds; i++) {
+            int id = ids[i];
+            if (seen[id] == stamp) {
+                returnSet(literals[id]);
+            }
+            literals[id] = null;
+            lvars[id] = null;
+        }
+        nbIds = 0;
+        nbLiterals = 0;
+        stamp++;
         assertLevel = Integer.MAX_VALUE;
     }
 
+    /**
+     * @param var a variable
+     * @return the literal of <i>var</i> in this explanation, or <i>null</i>
+     */
+    private IntIterableRangeSet literalOf(IntVar var) {
+        int id = var.getId();
+        return id < seen.length && seen[id] == stamp ? literals[id] : null;
+    }
+
+    /**
+     * @param var a variable
+     * @return <i>true</i> if <i>var</i> has a literal in this explanation
+     */
+    private boolean hasLiteral(IntVar var) {
+        int id = var.getId();
+        return id < seen.length && seen[id] == stamp;
+    }
+
+    private void putLiteral(IntVar var, IntIterableRangeSet dom) {
+        int id = var.getId();
+        if (id >= seen.length) {
+            int n = Math.max(id + 1, seen.length * 3 / 2);
+            literals = Arrays.copyOf(literals, n);
+            lvars = Arrays.copyOf(lvars, n);
+            seen = Arrays.copyOf(seen, n);
+            listed = Arrays.copyOf(listed, n);
+        }
+        if (listed[id] != stamp) {
+            listed[id] = stamp;
+            if (nbIds == ids.length) {
+                ids = Arrays.copyOf(ids, nbIds * 3 / 2 + 1);
+            }
+            ids[nbIds++] = id;
+        }
+        seen[id] = stamp;
+        literals[id] = dom;
+        lvars[id] = var;
+        nbLiterals++;
+    }
+
+    private void removeLiteral(IntVar var) {
+        int id = var.getId();
+        seen[id] = 0;
+        literals[id] = null;
+        nbLiterals--;
+    }
+
+    /**
+     * @return <i>true</i> if <i>dom</i> is not already the set of a literal of this explanation
+     */
+    private boolean notDeclared(IntIterableRangeSet dom) {
+        for (int i = 0; i < nbIds; i++) {
+            int id = ids[i];
+            if (seen[id] == stamp && literals[id].equals(dom)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public void learnSolution(DecisionPath path) {
         recycle();
         if (path.size() > 1) { // skip solution at ROOT node
@@ -122,7 +251,6 @@ public class ExplanationForSignedClause extends IExplanation {
                 dec = (IntDecision) path.getDecision(i);
                 IntIterableRangeSet dom = null;
                 IntVar var = dec.getDecisionVariable();
-                literals.get(var);
                 if (dec.getDecOp().equals(DecisionOperatorFactory.makeIntEq())) {
                     if (dec.hasNext() || dec.getArity() == 1) {
                         dom = getRootSet(var);
@@ -199,7 +327,7 @@ public class ExplanationForSignedClause extends IExplanation {
             }
             explain(mIG.getCauseAt(current), current);
             if (PROOF) {
-                System.out.printf("Expl: %s\n-----", literals);
+                System.out.printf("Expl: %s\n-----", this);
             }
             // filter irrelevant nodes
             relax();
@@ -211,7 +339,6 @@ public class ExplanationForSignedClause extends IExplanation {
                 DEFAULT_X
                         && Propagator.class.isAssignableFrom(cause.getClass())
                         && !PropSignedClause.class.isAssignableFrom(cause.getClass())
-                        && !ClauseStore.SignedClause.class.isAssignableFrom(cause.getClass())
                 ) {
             Propagator<IntVar> propagator = (Propagator<IntVar>) cause;
             Propagator.defaultExplain(propagator, this, front, mIG, p);
@@ -246,7 +373,7 @@ public class ExplanationForSignedClause extends IExplanation {
         while (!front.isEmpty() && (l = front.getLastValue()) != k) {
             // remove variable in 'front' but not in literals
             // achieved lazily by only evaluating the right-most one
-            if (!literals.containsKey(mIG.getIntVarAt(l))) {
+            if (!hasLiteral(mIG.getIntVarAt(l))) {
                 front.pollLastValue();
             } else {
                 int p = mIG.getPredecessorOf(l);
@@ -254,7 +381,7 @@ public class ExplanationForSignedClause extends IExplanation {
                 // go left as long as the right-most variable in 'front' contradicts 'literals'
                 if (p < l /* to avoid going "before" root */
                         && !IntIterableSetUtils.intersect(
-                        literals.get(mIG.getIntVarAt(l)), mIG.getDomainAt(p))) {
+                        literalOf(mIG.getIntVarAt(l)), mIG.getDomainAt(p))) {
                     front.replace(mIG.getIntVarAt(l), p);
                 }
             }
@@ -297,7 +424,7 @@ public class ExplanationForSignedClause extends IExplanation {
                 if (PROOF)
                     System.out.printf("\nbacktrack to %s\n-----", mIG.getCauseAt(max));
                 if (ASSERT_NO_LEFT_BRANCH && !((IntDecision) mIG.getCauseAt(max)).hasNext()) {
-                    throw new SolverException("Weak explanation found. Try to backjump to :" + mIG.getCauseAt(max) + "\n" + literals);
+                    throw new SolverException("Weak explanation found. Try to backjump to :" + mIG.getCauseAt(max) + "\n" + this);
                 }
                 assertLevel = ((IntDecision) mIG.getCauseAt(max)).getPosition();
             }
@@ -305,7 +432,7 @@ public class ExplanationForSignedClause extends IExplanation {
                 if (PROOF)
                     System.out.printf("\nbacktrack to %s\n-----", mIG.getCauseAt(max));
                 if (ASSERT_NO_LEFT_BRANCH && !((IntDecision) mIG.getCauseAt(max)).hasNext()) {
-                    throw new SolverException("Weak explanation found. Try to backjump to :" + mIG.getCauseAt(max) + "\n" + literals);
+                    throw new SolverException("Weak explanation found. Try to backjump to :" + mIG.getCauseAt(max) + "\n" + this);
                 }
                 assertLevel = ((IntDecision) mIG.getCauseAt(max)).getPosition();
              */
@@ -342,7 +469,7 @@ public class ExplanationForSignedClause extends IExplanation {
      * @param pivot <i>true</i> if <i>var</i> is the pivot variable
      */
     public void addLiteral(IntVar var, IntIterableRangeSet dom, boolean pivot) {
-        assert literals.values().stream().noneMatch(d -> d.equals(dom)) : "try to add a dom already declare";
+        assert notDeclared(dom) : "try to add a dom already declare";
         /*if(VariableUtils.isConstant(var) && !dom.contains(var.getValue())){
             if(FINE_PROOF.getAsBoolean())System.out.printf("%s: %s -- skip\n", var.getName(), dom);
             returnSet(dom);
@@ -354,7 +481,11 @@ public class ExplanationForSignedClause extends IExplanation {
                 if (FINE_PROOF)
                     System.out.printf("%s: %s -- skip\n", var.getName(), dom);
                 if (pivot) {
-                    literals.remove(var);
+                    IntIterableRangeSet rset = literalOf(var);
+                    if (rset != null) {
+                        removeLiteral(var);
+                        returnSet(rset);
+                    }
                     front.remove(var);
                 }
                 returnSet(dom);
@@ -365,11 +496,11 @@ public class ExplanationForSignedClause extends IExplanation {
     }
 
     private void addLiteralInternal(IntVar var, IntIterableRangeSet dom, boolean pivot) {
-        IntIterableRangeSet rset = literals.get(var);
+        IntIterableRangeSet rset = literalOf(var);
         if (rset == null) {
             if (dom.size() > 0) {
                 if (FINE_PROOF) System.out.printf("%s: %s\n", var.getName(), dom);
-                literals.put(var, dom);
+                putLiteral(var, dom);
             } else {
                 if (FINE_PROOF)
                     System.out.printf("%s: %s -- skip\n", var.getName(), dom);
@@ -390,7 +521,7 @@ public class ExplanationForSignedClause extends IExplanation {
             if (rset.size() == 0) {
                 assert !var.isBool() || rset.contains(0) || !rset.contains(1);
                 if (FINE_PROOF) System.out.print(" -- remove");
-                literals.remove(var);
+                removeLiteral(var);
                 front.remove(var);
                 returnSet(rset);
             }
@@ -403,7 +534,7 @@ public class ExplanationForSignedClause extends IExplanation {
      * @return the number of literals in this explanation
      */
     public int getCardinality() {
-        return literals.size();
+        return nbLiterals;
     }
 
     /**
@@ -502,16 +633,30 @@ public class ExplanationForSignedClause extends IExplanation {
         return front;
     }
 
+    /**
+     * @return a copy of the literals of this explanation.
+     * @implNote a new map is created on each call, it should not be called during resolution.
+     */
     public HashMap<IntVar, IntIterableRangeSet> getLiterals() {
-        return literals;
+        HashMap<IntVar, IntIterableRangeSet> map = new HashMap<>();
+        for (int i = 0; i < nbIds; i++) {
+            int id = ids[i];
+            if (seen[id] == stamp) {
+                map.put(lvars[id], literals[id]);
+            }
+        }
+        return map;
     }
 
     @Override
     public String toString() {
         StringBuilder st = new StringBuilder();
         st.append('{');
-        for (IntVar v : literals.keySet()) {
-            st.append(v.getName()).append('\u2208').append(literals.get(v)).append(',');
+        for (int i = 0; i < nbIds; i++) {
+            int id = ids[i];
+            if (seen[id] == stamp) {
+                st.append(lvars[id].getName()).append('\u2208').append(literals[id]).append(',');
+            }
         }
         st.append('}');
         return st.toString();
@@ -0,0 +1,393 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.objective;
+
+import org.chocosolver.solver.Solution;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * A spatial index over the points of a Pareto front, each point being associated with a solution.
+ * Points are expressed for minimization: a point <i>p</i> (weakly) dominates a point <i>q</i> iff
+ * p<sub>j</sub> &le; q<sub>j</sub> for all j.
+ * <p>
+ * Two objectives are indexed with a staircase: points sorted by increasing first coordinate
+ * (hence by decreasing second coordinate).
+ * More objectives are indexed with a k-d tree whose nodes store the bounding box of their subtree.
+ * </p>
+ * <p> Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+abstract class ParetoFront {
+
+    /**
+     * Create a Pareto front index for <i>n</i> objectives.
+     *
+     * @param n number of objectives
+     * @return an empty front
+     */
+    static ParetoFront make(int n) {
+        return n == 2 ? new Staircase() : new KDTree(n);
+    }
+
+    /**
+     * @param p a point
+     * @return <i>true</i> if a point of the front weakly dominates <i>p</i>
+     */
+    abstract boolean isDominated(int[] p);
+
+    /**
+     * Add a point, which is not dominated by the front, and remove the points it weakly dominates.
+     *
+     * @param p        a point, copied
+     * @param solution the solution associated with <i>p</i>
+     * @param onRemove called on the solutions associated with the removed points
+     */
+    abstract void add(int[] p, Solution solution, Consumer<Solution> onRemove);
+
+    /**
+     * Return the smallest value p<sub>i</sub> over the points <i>p</i> of the front such that
+     * p<sub>j</sub> &le; lb<sub>j</sub> for all j &ne; i.
+     * Any point whose coordinates are greater than or equal to <i>lb</i> must then be strictly smaller than the
+     * returned value on dimension <i>i</i> not to be dominated.
+     *
+     * @param i  a dimension
+     * @param lb lower bounds
+     * @return the smallest value, or {@link Integer#MAX_VALUE} if no point matches
+     */
+    abstract int minOver(int i, int[] lb);
+
+    /**
+     * @return number of points in the front
+     */
+    abstract int size();
+
+    /**
+     * Apply <i>action</i> on the solutions of the front.
+     *
+     * @param action an action
+     */
+    abstract void forEach(Consumer<Solution> action);
+
+    /**
+     * Index of two-dimensional points, sorted by increasing x and decreasing y.
+     */
+    static final class Staircase extends ParetoFront {
+
+        private int[] xs = new int[16];
+        private int[] ys = new int[16];
+        private Solution[] sols = new Solution[16];
+        private int size;
+
+        /**
+         * @return the first index whose x is strictly greater than <i>x</i>
+         */
+        private int upperX(int x) {
+            int lo = 0, hi = size;
+            while (lo < hi) {
+                int m = (lo + hi) >>> 1;
+                if (xs[m] <= x) lo = m + 1;
+                else hi = m;
+            }
+            return lo;
+        }
+
+        /**
+         * @return the first index whose y is lower than or equal to <i>y</i>
+         */
+        private int lowerY(int y) {
+            int lo = 0, hi = size;
+            while (lo < hi) {
+                int m = (lo + hi) >>> 1;
+                if (ys[m] > y) lo = m + 1;
+                else hi = m;
+            }
+            return lo;
+        }
+
+        @Override
+        boolean isDominated(int[] p) {
+            int e = upperX(p[0]);
+            return e > 0 && ys[e - 1] <= p[1];
+        }
+
+        @Override
+        void add(int[] p, Solution solution, Consumer<Solution> onRemove) {
+            // first point whose x is greater than or equal to p[0]
+            int pos = upperX(p[0] - 1);
+            int end = pos;
+            while (end < size && ys[end] >= p[1]) {
+                onRemove.accept(sols[end]);
+                end++;
+            }
+            int nsize = size - (end - pos) + 1;
+            if (nsize > xs.length) {
+                int n = Math.max(nsize, xs.length * 3 / 2);
+                xs = Arrays.copyOf(xs, n);
+                ys = Arrays.copyOf(ys, n);
+                sols = Arrays.copyOf(sols, n);
+            }
+            if (end != pos + 1) {
+                System.arraycopy(xs, end, xs, pos + 1, size - end);
+                System.arraycopy(ys, end, ys, pos + 1, size - end);
+                System.arraycopy(sols, end, sols, pos + 1, size - end);
+            }
+            xs[pos] = p[0];
+            ys[pos] = p[1];
+            sols[pos] = solution;
+            for (int i = nsize; i < size; i++) {
+                sols[i] = null;
+            }
+            size = nsize;
+        }
+
+        @Override
+        int minOver(int i, int[] lb) {
+            if (i == 0) {
+                int s = lowerY(lb[1]);
+                return s < size ? xs[s] : Integer.MAX_VALUE;
+            } else {
+                int e = upperX(lb[0]);
+                return e > 0 ? ys[e - 1] : Integer.MAX_VALUE;
+            }
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        void forEach(Consumer<Solution> action) {
+            for (int i = 0; i < size; i++) {
+                action.accept(sols[i]);
+            }
+        }
+    }
+
+    /**
+     * A k-d tree, one point per node, each node stores the bounding box of its subtree.
+     * Removed points are only marked as such, the tree is rebuilt when they are too many.
+     */
+    static final class KDTree extends ParetoFront {
+
+        private final int k;
+        private int[][] pts = new int[16][];
+        private int[][] mins = new int[16][];
+        private int[][] maxs = new int[16][];
+        private Solution[] sols = new Solution[16];
+        private int[] left = new int[16];
+        private int[] right = new int[16];
+        private boolean[] alive = new boolean[16];
+        private int[] stack = new int[16];
+        private int root = -1;
+        /**
+         * Number of nodes, including removed ones
+         */
+        private int count;
+        /**
+         * Number of alive points
+         */
+        private int size;
+
+        KDTree(int k) {
+            this.k = k;
+        }
+
+        private int newNode(int[] p, Solution solution) {
+            if (count == pts.length) {
+                int n = count * 3 / 2 + 1;
+                pts = Arrays.copyOf(pts, n);
+                mins = Arrays.copyOf(mins, n);
+                maxs = Arrays.copyOf(maxs, n);
+                sols = Arrays.copyOf(sols, n);
+                left = Arrays.copyOf(left, n);
+                right = Arrays.copyOf(right, n);
+                alive = Arrays.copyOf(alive, n);
+            }
+            int id = count++;
+            pts[id] = p;
+            mins[id] = p.clone();
+            maxs[id] = p.clone();
+            sols[id] = solution;
+            left[id] = right[id] = -1;
+            alive[id] = true;
+            size++;
+            return id;
+        }
+
+        private int push(int sp, int node) {
+            if (node >= 0) {
+                if (sp == stack.length) {
+                    stack = Arrays.copyOf(stack, sp * 2);
+                }
+                stack[sp++] = node;
+            }
+            return sp;
+        }
+
+        @Override
+        boolean isDominated(int[] p) {
+            int sp = push(0, root);
+            while (sp > 0) {
+                int n = stack[--sp];
+                if (!allLeq(mins[n], p, -1)) continue;
+                if (alive[n] && allLeq(pts[n], p, -1)) {
+                    return true;
+                }
+                sp = push(sp, left[n]);
+                sp = push(sp, right[n]);
+            }
+            return false;
+        }
+
+        /**
+         * @return <i>true</i> if a<sub>j</sub> &le; b<sub>j</sub> for all j &ne; skip
+         */
+        private boolean allLeq(int[] a, int[] b, int skip) {
+            for (int j = 0; j < k; j++) {
+                if (j != skip && a[j] > b[j]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        void add(int[] p, Solution solution, Consumer<Solution> onRemove) {
+            // remove dominated points
+            int sp = push(0, root);
+            while (sp > 0) {
+                int n = stack[--sp];
+                if (!allLeq(p, maxs[n], -1)) continue;
+                if (alive[n] && allLeq(p, pts[n], -1)) {
+                    alive[n] = false;
+                    size--;
+                    onRemove.accept(sols[n]);
+                    sols[n] = null;
+                }
+                sp = push(sp, left[n]);
+                sp = push(sp, right[n]);
+            }
+            if (count - size > size + 16) {
+                rebuild();
+            }
+            // then insert
+            int id = newNode(p.clone(), solution);
+            if (root < 0) {
+                root = id;
+                return;
+            }
+            int n = root;
+            for (int d = 0; ; d = (d + 1) % k) {
+                int[] mn = mins[n], mx = maxs[n];
+                for (int j = 0; j < k; j++) {
+                    mn[j] = Math.min(mn[j], p[j]);
+                    mx[j] = Math.max(mx[j], p[j]);
+                }
+                if (p[d] < pts[n][d]) {
+                    if (left[n] < 0) {
+                        left[n] = id;
+                        return;
+                    }
+                    n = left[n];
+                } else {
+                    if (right[n] < 0) {
+                        right[n] = id;
+                        return;
+                    }
+                    n = right[n];
+                }
+            }
+        }
+
+        /**
+         * Rebuild a balanced tree from alive points only.
+         */
+        private void rebuild() {
+            int[][] opts = pts;
+            Solution[] osols = sols;
+            Integer[] ids = new Integer[size];
+            for (int i = 0, j = 0; i < count; i++) {
+                if (alive[i]) {
+                    ids[j++] = i;
+                }
+            }
+            int n = Math.max(16, size * 3 / 2);
+            pts = new int[n][];
+            mins = new int[n][];
+            maxs = new int[n][];
+            sols = new Solution[n];
+            left = new int[n];
+            right = new int[n];
+            alive = new boolean[n];
+            count = size = 0;
+            root = build(ids, 0, ids.length, 0, opts, osols);
+        }
+
+        private int build(Integer[] ids, int from, int to, int d, int[][] opts, Solution[] osols) {
+            if (from >= to) {
+                return -1;
+            }
+            Arrays.sort(ids, from, to, (a, b) -> Integer.compare(opts[a][d], opts[b][d]));
+            int m = (from + to) >>> 1;
+            // points equal on d go to the right subtree
+            while (m > from && opts[ids[m - 1]][d] == opts[ids[m]][d]) {
+                m--;
+            }
+            int id = newNode(opts[ids[m]], osols[ids[m]]);
+            int nd = (d + 1) % k;
+            left[id] = build(ids, from, m, nd, opts, osols);
+            right[id] = build(ids, m + 1, to, nd, opts, osols);
+            for (int c : new int[]{left[id], right[id]}) {
+                if (c >= 0) {
+                    for (int j = 0; j < k; j++) {
+                        mins[id][j] = Math.min(mins[id][j], mins[c][j]);
+                        maxs[id][j] = Math.max(maxs[id][j], maxs[c][j]);
+                    }
+                }
+            }
+            return id;
+        }
+
+        @Override
+        int minOver(int i, int[] lb) {
+            int best = Integer.MAX_VALUE;
+            int sp = push(0, root);
+            while (sp > 0) {
+                int n = stack[--sp];
+                if (mins[n][i] >= best || !allLeq(mins[n], lb, i)) continue;
+                if (alive[n] && allLeq(pts[n], lb, i)) {
+                    best = Math.min(best, pts[n][i]);
+                }
+                sp = push(sp, left[n]);
+                sp = push(sp, right[n]);
+            }
+            return best;
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        void forEach(Consumer<Solution> action) {
+            for (int i = 0; i < count; i++) {
+                if (alive[i]) {
+                    action.accept(sols[i]);
+                }
+            }
+        }
+    }
+}
@@ -9,30 +9,57 @@
  */
 package org.chocosolver.solver.objective;
 
-import org.chocosolver.sat.PropSat;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.Solution;
-import org.chocosolver.solver.constraints.Operator;
+import org.chocosolver.solver.constraints.Constraint;
 import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
 import org.chocosolver.solver.variables.IntVar;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
 /**
  * Class to store the pareto front (multi-objective optimization).
  * Worse solutions are dynamically removed from the solution set.
+ * <p>
+ * The front is kept in a spatial index (a staircase for two objectives, a k-d tree otherwise),
+ * and a unique propagator prunes the objective bounds against it, so no constraint is posted on solutions.
+ * Changes of the front can be listened to with {@link #addListener(FrontListener)}.
+ * </p>
  *
  * @author Jean-Guillaume Fages
  */
 public class ParetoOptimizer implements IMonitorSolution {
 
+    /**
+     * A listener of the changes of the Pareto front.
+     */
+    public interface FrontListener {
+
+        /**
+         * Called when a solution enters the front.
+         *
+         * @param solution the new solution
+         */
+        void onAdd(Solution solution);
+
+        /**
+         * Called when a solution leaves the front, because it is dominated by a new one.
+         * The solution object is recycled afterwards and must not be kept.
+         *
+         * @param solution the dominated solution
+         */
+        default void onRemove(Solution solution) {
+        }
+    }
+
     //***********************************************************************************
     // VARIABLES
     //***********************************************************************************
 
-    // Set of incomparable and Pareto-best solutions
-    private LinkedList<Solution> paretoFront;
+    // Set of incomparable and Pareto-best solutions, indexed by their objective values
+    private ParetoFront paretoFront;
 
     private Model model;
 
@@ -44,9 +71,11 @@ public class ParetoOptimizer implements IMonitorSolution {
     private IntVar[] objectives;
     private int n;
 
-    // to post dynamical constraints
-    private int[] vals, lits;
-    private PropSat psat;
+    // objective values of the current solution, in minimization form
+    private int[] vals;
+    // prevents search from computing dominated solutions
+    private PropPareto prop;
+    private List<FrontListener> listeners = new ArrayList<>();
 
     //***********************************************************************************
     // CONSTRUCTOR
@@ -55,7 +84,7 @@ public class ParetoOptimizer implements IMonitorSolution {
 	/**
      * Create an object to compute the Pareto front of a multi-objective problem.
      * Maintain the set of dominating solutions and
-     * posts constraints dynamically to prevent search from computing dominated ones.
+     * posts a constraint to prevent search from computing dominated ones.
      * This object must be used as follows:
      *
    	 *     model.getSolver().plugMonitor(paretoRecorder);
@@ -69,14 +98,14 @@ public class ParetoOptimizer implements IMonitorSolution {
      * @param objectives objective variables (must all be optimized in the same direction)
      */
     public ParetoOptimizer(final boolean maximize, final IntVar[] objectives) {
-        this.paretoFront = new LinkedList<>();
         this.objectives = objectives.clone();
         this.maximize = maximize;
         n = objectives.length;
         model = objectives[0].getModel();
-        psat = model.getMinisat().getPropSat();
+        paretoFront = ParetoFront.make(n);
         vals = new int[n];
-        lits = new int[n];
+        prop = new PropPareto(this.objectives.clone(), maximize, paretoFront);
+        new Constraint("ParetoFront", prop).post();
     }
 
     //***********************************************************************************
@@ -87,48 +116,62 @@ public class ParetoOptimizer implements IMonitorSolution {
     public void onSolution() {
         // get objective values
         for (int i = 0; i < n; i++) {
-            vals[i] = objectives[i].getValue();
-        }
-        // remove dominated solutions
-        for (int i = paretoFront.size() - 1; i >= 0; i--) {
-            if (isDominated(paretoFront.get(i), vals)) {
-                pool.add(paretoFront.remove(i));
-            }
+            vals[i] = maximize ? -objectives[i].getValue() : objectives[i].getValue();
         }
-        // store current solution
-        if(pool.isEmpty()){
-            paretoFront.add(new Solution(model).record());
-        }else{
-            Solution solution = pool.remove();
-
-            solution.record();
-            paretoFront.add(solution);
+        if (paretoFront.isDominated(vals)) {
+            // already recorded, or found without the propagator
+            return;
         }
-        // post dynamical constraints to prevent search from computing dominated solutions
-        Operator symbol = Operator.GT;
-        if (!maximize) {
-            symbol = Operator.LT;
+        Solution solution = pool.isEmpty() ? new Solution(model) : pool.remove();
+        solution.record();
+        // store current solution and remove dominated ones
+        paretoFront.add(vals, solution, this::remove);
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onAdd(solution);
         }
-        for (int i = 0; i < n; i++) {
-            lits[i] = psat.makeLiteral(model.arithm(objectives[i], symbol.toString(), vals[i]).reify(), true);
+        // prevent search from computing dominated solutions
+        prop.onFrontChange();
+    }
+
+    private void remove(Solution solution) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onRemove(solution);
         }
-        psat.addLearnt(lits);
+        pool.add(solution);
+    }
+
+    /**
+     * Add a listener, notified each time the front changes.
+     * This enables to process the front incrementally, while it is computed.
+     *
+     * @param listener a listener
+     */
+    public void addListener(FrontListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove a listener.
+     *
+     * @param listener a listener
+     */
+    public void removeListener(FrontListener listener) {
+        listeners.remove(listener);
     }
 
 	/**
      * @return the set of Pareto-best (possibly optimal) solutions found so far
      */
     public List<Solution> getParetoFront() {
-   		return paretoFront;
+        List<Solution> front = new ArrayList<>(paretoFront.size());
+        paretoFront.forEach(front::add);
+   		return front;
    	}
 
-    private boolean isDominated(Solution solution, int[] vals) {
-        for (int i = 0; i < n; i++) {
-            int delta = solution.getIntVal(objectives[i]) - vals[i];
-            if ((delta > 0 && maximize) || (delta < 0 && !maximize)) {
-                return false;
-            }
-        }
-        return true;
+    /**
+     * @return the number of solutions in the Pareto front
+     */
+    public int getParetoFrontSize() {
+        return paretoFront.size();
     }
 }
@@ -0,0 +1,105 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.objective;
+
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.PropagatorPriority;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.util.ESat;
+
+/**
+ * A propagator which prevents objective variables from taking values weakly dominated by a point of a
+ * {@link ParetoFront}.
+ * <p>
+ * For minimization, when all points y of the current box satisfy y<sub>j</sub> &ge; p<sub>j</sub> for all
+ * j &ne; i, for a point p of the front, then y<sub>i</sub> must be strictly smaller than p<sub>i</sub>.
+ * The tightest such bound is obtained from {@link ParetoFront#minOver(int, int[])}, for each objective.
+ * Maximization is handled by negating values.
+ * </p>
+ * <p> Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+class PropPareto extends Propagator<IntVar> {
+
+    /**
+     * The front, in minimization form
+     */
+    private final ParetoFront front;
+    /**
+     * Set to <i>true</i> to maximize objectives
+     */
+    private final boolean maximize;
+    /**
+     * Lower bounds of the objectives, in minimization form
+     */
+    private final int[] lbs;
+
+    /**
+     * Create a propagator that forbids points dominated by <i>front</i>.
+     *
+     * @param objectives objective variables
+     * @param maximize   whether to maximize or minimize the objectives
+     * @param front      the Pareto front, in minimization form
+     */
+    PropPareto(IntVar[] objectives, boolean maximize, ParetoFront front) {
+        super(objectives, PropagatorPriority.LINEAR, false);
+        this.front = front;
+        this.maximize = maximize;
+        this.lbs = new int[objectives.length];
+    }
+
+    @Override
+    public int getPropagationConditions(int vIdx) {
+        return IntEventType.boundAndInst();
+    }
+
+    @Override
+    public void propagate(int evtmask) throws ContradictionException {
+        if (front.size() == 0) {
+            return;
+        }
+        for (int i = 0; i < vars.length; i++) {
+            lbs[i] = maximize ? -vars[i].getUB() : vars[i].getLB();
+        }
+        // pruning the other side of a domain does not modify lbs
+        for (int i = 0; i < vars.length; i++) {
+            int best = front.minOver(i, lbs);
+            if (best != Integer.MAX_VALUE) {
+                if (maximize) {
+                    vars[i].updateLowerBound(1 - best, this);
+                } else {
+                    vars[i].updateUpperBound(best - 1, this);
+                }
+            }
+        }
+    }
+
+    /**
+     * Notify this propagator that a point has been added to the front, so that it is propagated again.
+     */
+    void onFrontChange() {
+        forcePropagationOnBacktrack();
+    }
+
+    @Override
+    public ESat isEntailed() {
+        if (isCompletelyInstantiated()) {
+            for (int i = 0; i < vars.length; i++) {
+                lbs[i] = maximize ? -vars[i].getValue() : vars[i].getValue();
+            }
+            return ESat.eval(!front.isDominated(lbs));
+        }
+        return ESat.UNDEFINED;
+    }
+}
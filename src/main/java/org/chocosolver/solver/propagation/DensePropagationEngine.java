@@ -0,0 +1,298 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.propagation;
+
+import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.Variable;
+import org.chocosolver.solver.variables.events.IEventType;
+import org.chocosolver.util.iterators.EvtScheduler;
+
+import java.util.Arrays;
+
+/**
+ * A priority-driven constraint-oriented propagation engine, like {@link PropagationEngine},
+ * with dense scheduling structures.
+ * <p>
+ * Propagators and variables are referred to by their id in a registry and
+ * the queues are int circular arrays, one per priority, indexed by ids.
+ * Thus, scheduling a propagator or a variable writes no object reference and allocates nothing.
+ * A variable is enqueued only on its first modification since it was last scheduled,
+ * and the propagators to schedule on an event are read directly from the table of the
+ * {@link EvtScheduler} of the variable (see {@link EvtScheduler#table()}),
+ * without iterating over it.
+ * </p>
+ * <p>
+ * This engine is selected with {@link org.chocosolver.solver.Settings#setDensePropagationEngine(boolean)}
+ * and is worth using on models with a large number of propagators.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class DensePropagationEngine extends PropagationEngine {
+
+    /**
+     * Number of priorities
+     */
+    private static final int NB_PRIORITIES = 8;
+    /**
+     * Propagators, by id
+     */
+    private Propagator[] propagators = new Propagator[64];
+    /**
+     * Variables, by id
+     */
+    private Variable[] variables = new Variable[64];
+    /**
+     * Queues of ids of propagators, one per priority, each of them is a circular array
+     * whose length is a power of two
+     */
+    private final int[][] queues = new int[NB_PRIORITIES][16];
+    /**
+     * Index of the first element of each queue
+     */
+    private final int[] heads = new int[NB_PRIORITIES];
+    /**
+     * Number of elements of each queue
+     */
+    private final int[] sizes = new int[NB_PRIORITIES];
+    /**
+     * One bit per queue: set if the queue is not empty.
+     */
+    private int notEmpty;
+    /**
+     * Queue of ids of modified variables, a circular array whose length is a power of two
+     */
+    private int[] varQueue = new int[16];
+    private int varHead, varSize;
+
+    /**
+     * A seven-queue propagation engine with dense scheduling structures.
+     *
+     * @param model the declaring model
+     */
+    public DensePropagationEngine(Model model) {
+        super(model);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void propagate() throws ContradictionException {
+        activatePropagators();
+        do {
+            manageModifications();
+            for (int i = nextNotEmpty(); i > -1; i = nextNotEmpty()) {
+                lastProp = propagators[poll(i)];
+                lastProp.unschedule();
+                delayedPropagationType = 0;
+                propagateLastProp();
+                if (hybrid < 0b01) {
+                    manageModifications();
+                }
+                if (sizes[i] == 0) {
+                    notEmpty &= ~(1 << i);
+                }
+            }
+        } while (varSize > 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute(Propagator propagator) throws ContradictionException {
+        if (propagator.isStateLess()) {
+            propagator.setActive();
+        }
+        if (propagator.isActive()) {
+            propagateFully(propagator);
+            while (varSize > 0) {
+                schedule(variables[pollVariable()]);
+            }
+        }
+    }
+
+    private void manageModifications() {
+        if (varSize > 0) {
+            do {
+                schedule(variables[pollVariable()]);
+            } while (hybrid < 2 && varSize > 0);
+        }
+    }
+
+    private int nextNotEmpty() {
+        if (notEmpty == 0) return -1;
+        return Integer.numberOfTrailingZeros(notEmpty);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void flush() {
+        if (lastProp != null) {
+            lastProp.doFlush();
+        }
+        ignoreModifications();
+        for (int i = nextNotEmpty(); i > -1; i = nextNotEmpty()) {
+            while (sizes[i] > 0) {
+                propagators[poll(i)].doFlush();
+            }
+            notEmpty &= ~(1 << i);
+        }
+        lastProp = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onVariableUpdate(Variable variable, IEventType type, ICause cause) {
+        checkAndRecord(variable, cause);
+        // a variable with a cause is already in the queue
+        if (variable.getCause() == null) {
+            int id = variable.getId();
+            if (id >= variables.length) {
+                variables = grow(variables, id);
+            }
+            if (variables[id] != variable) {
+                variables[id] = variable;
+            }
+            if (varSize == varQueue.length) {
+                varQueue = grow(varQueue, varHead, varSize);
+                varHead = 0;
+            }
+            varQueue[(varHead + varSize++) & (varQueue.length - 1)] = id;
+        }
+        variable.storeEvents(type.getMask(), cause);
+    }
+
+    private int pollVariable() {
+        int id = varQueue[varHead];
+        varHead = (varHead + 1) & (varQueue.length - 1);
+        varSize--;
+        return id;
+    }
+
+    private void schedule(Variable variable) {
+        int mask = variable.getMask();
+        if (mask > 0) {
+            ICause cause = variable.getCause();
+            Propagator[] vpropagators = variable.getPropagators();
+            int[] vindices = variable.getPIndices();
+            EvtScheduler si = variable.getEvtScheduler();
+            int[] table = si.table();
+            if (table != null) {
+                for (int k = si.start(mask); table[k] > -1; k += 2) {
+                    int t = variable.getDindex(table[k + 1]);
+                    for (int p = variable.getDindex(table[k]); p < t; p++) {
+                        Propagator prop = vpropagators[p];
+                        if (prop.isActive() && cause != prop) {
+                            schedule(prop, vindices[p], mask);
+                        }
+                    }
+                }
+            } else {
+                //noinspection unchecked
+                si.init(mask);
+                while (si.hasNext()) {
+                    int p = variable.getDindex(si.next());
+                    int t = variable.getDindex(si.next());
+                    for (; p < t; p++) {
+                        Propagator prop = vpropagators[p];
+                        if (prop.isActive() && cause != prop) {
+                            schedule(prop, vindices[p], mask);
+                        }
+                    }
+                }
+            }
+        }
+        variable.clearEvents();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void schedule(Propagator prop, int pindice, int mask) {
+        prop.doScheduleEvent(pindice, mask);
+        if (prop.markScheduled()) {
+            int id = prop.getId();
+            if (id >= propagators.length) {
+                propagators = grow(propagators, id);
+            }
+            if (propagators[id] != prop) {
+                propagators[id] = prop;
+            }
+            int prio = prop.getPriority().priority;
+            int[] queue = queues[prio];
+            int size = sizes[prio];
+            if (size == queue.length) {
+                queue = queues[prio] = grow(queue, heads[prio], size);
+                heads[prio] = 0;
+            }
+            queue[(heads[prio] + size) & (queue.length - 1)] = id;
+            sizes[prio] = size + 1;
+            notEmpty |= 1 << prio;
+        }
+    }
+
+    private int poll(int prio) {
+        int[] queue = queues[prio];
+        int head = heads[prio];
+        heads[prio] = (head + 1) & (queue.length - 1);
+        sizes[prio]--;
+        return queue[head];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        super.clear();
+        notEmpty = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void ignoreModifications() {
+        while (varSize > 0) {
+            variables[pollVariable()].clearEvents();
+        }
+    }
+
+    /**
+     * @param queue a full circular array
+     * @param head  index of its first element
+     * @param size  number of elements
+     * @return a circular array twice as long, with the elements of <i>queue</i> in the same order, starting at 0
+     */
+    private static int[] grow(int[] queue, int head, int size) {
+        int[] tmp = new int[queue.length << 1];
+        int n = queue.length - head;
+        System.arraycopy(queue, head, tmp, 0, n);
+        System.arraycopy(queue, 0, tmp, n, size - n);
+        return tmp;
+    }
+
+    private static <T> T[] grow(T[] elements, int id) {
+        return Arrays.copyOf(elements, Math.max(id + 1, elements.length * 3 / 2));
+    }
+}
@@ -69,7 +69,7 @@ public class PropagationEngine {
     /**
      * The last propagator executed
      */
-    private Propagator lastProp;
+    protected Propagator lastProp;
     /**
      * One bit per queue: true if the queue is not empty.
      */
@@ -77,7 +77,7 @@ public class PropagationEngine {
     /**
      * PropagatorEventType's mask for delayed propagation
      */
-    private int delayedPropagationType;
+    protected int delayedPropagationType;
     /**
      * Set to <tt>true</tt> once {@link #initialize()} has been called.
      */
@@ -88,7 +88,11 @@ public class PropagationEngine {
      * propagation engine.
      * when set to '0b10', this workds as a variable- oriented propagation engine.
      */
-    private final byte hybrid;
+    protected final byte hybrid;
+    /**
+     * Profiler of propagators, <i>null</i> when profiling is disabled
+     */
+    private PropagationProfiler profiler;
 
     /**
      * A seven-queue propagation engine.
@@ -170,15 +174,7 @@ public class PropagationEngine {
                 // revision of the variable
                 lastProp.unschedule();
                 delayedPropagationType = 0;
-                if (lastProp.reactToFineEvent()) {
-                    lastProp.doFinePropagation();
-                    // now we can check whether a delayed propagation has been scheduled
-                    if (delayedPropagationType > 0) {
-                        lastProp.propagate(delayedPropagationType);
-                    }
-                } else if (lastProp.isActive()) { // need to be checked due to views
-                    lastProp.propagate(PropagatorEventType.FULL_PROPAGATION.getMask());
-                }
+                propagateLastProp();
                 if (hybrid < 0b01) {
                     manageModifications();
                 }
@@ -189,11 +185,45 @@ public class PropagationEngine {
         } while (!var_queue.isEmpty());
     }
 
+    /**
+     * Execute {@link #lastProp}, which has just been removed from the queues, and record it if needed.
+     *
+     * @throws ContradictionException if propagation fails
+     */
+    protected final void propagateLastProp() throws ContradictionException {
+        if (profiler == null) {
+            doPropagateLastProp();
+        } else {
+            Propagator p = lastProp;
+            long t = System.nanoTime();
+            try {
+                doPropagateLastProp();
+            } catch (ContradictionException e) {
+                profiler.onContradiction(p);
+                throw e;
+            } finally {
+                profiler.onExecution(p, System.nanoTime() - t);
+            }
+        }
+    }
+
+    private void doPropagateLastProp() throws ContradictionException {
+        if (lastProp.reactToFineEvent()) {
+            lastProp.doFinePropagation();
+            // now we can check whether a delayed propagation has been scheduled
+            if (delayedPropagationType > 0) {
+                lastProp.propagate(delayedPropagationType);
+            }
+        } else if (lastProp.isActive()) { // need to be checked due to views
+            lastProp.propagate(PropagatorEventType.FULL_PROPAGATION.getMask());
+        }
+    }
+
     /**
      * Checks if some propagators were added or have to be propagated on backtrack
      * @throws ContradictionException if a propagation fails
      */
-    private void activatePropagators() throws ContradictionException {
+    protected final void activatePropagators() throws ContradictionException {
         int cw = model.getEnvironment().getWorldIndex(); // get current index
         dynPropagators.descending(cw, awake_queue::addLast);
         while (!awake_queue.isEmpty()) {
@@ -213,13 +243,35 @@ public class PropagationEngine {
             propagator.setActive();
         }
         if (propagator.isActive()) {
-            propagator.propagate(PropagatorEventType.FULL_PROPAGATION.getMask());
+            propagateFully(propagator);
             while (!var_queue.isEmpty()) {
                 schedule(var_queue.pollFirst());
             }
         }
     }
 
+    /**
+     * Execute the coarse propagation of <i>propagator</i> and record it if needed.
+     *
+     * @param propagator a propagator to propagate
+     * @throws ContradictionException if propagation fails
+     */
+    protected final void propagateFully(Propagator propagator) throws ContradictionException {
+        if (profiler == null) {
+            propagator.propagate(PropagatorEventType.FULL_PROPAGATION.getMask());
+        } else {
+            long t = System.nanoTime();
+            try {
+                propagator.propagate(PropagatorEventType.FULL_PROPAGATION.getMask());
+            } catch (ContradictionException e) {
+                profiler.onContradiction(propagator);
+                throw e;
+            } finally {
+                profiler.onExecution(propagator, System.nanoTime() - t);
+            }
+        }
+    }
+
     private void manageModifications() {
         if (!var_queue.isEmpty()) {
             do {
@@ -261,6 +313,19 @@ public class PropagationEngine {
      * @param cause    origin of the modification
      */
     public void onVariableUpdate(Variable variable, IEventType type, ICause cause) {
+        checkAndRecord(variable, cause);
+        var_queue.addLast(variable);
+        variable.storeEvents(type.getMask(), cause);
+    }
+
+    /**
+     * Check that <i>variable</i> is in the scope of <i>cause</i>, if required,
+     * and record the domain reduction, if needed.
+     *
+     * @param variable modified variable
+     * @param cause    origin of the modification
+     */
+    protected final void checkAndRecord(Variable variable, ICause cause) {
         if (CHECK_SCOPE && Propagator.class.isAssignableFrom(cause.getClass())) {
             // make sure the variable appears in prop scope
             Propagator p = (Propagator) cause;
@@ -270,8 +335,9 @@ public class PropagationEngine {
             }
             assert found : variable + " not in scope of " + cause;
         }
-        var_queue.addLast(variable);
-        variable.storeEvents(type.getMask(), cause);
+        if (profiler != null && cause instanceof Propagator) {
+            profiler.onReduction((Propagator) cause);
+        }
     }
 
     private void schedule(Variable variable) {
@@ -335,6 +401,22 @@ public class PropagationEngine {
         }
     }
 
+    /**
+     * Plug a profiler in this engine, which then measures the execution of each propagator.
+     *
+     * @param profiler a profiler, or <i>null</i> to disable profiling
+     */
+    public void setProfiler(PropagationProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * @return the profiler plugged in this engine, or <i>null</i> if profiling is disabled
+     */
+    public PropagationProfiler getProfiler() {
+        return profiler;
+    }
+
     /**
      * Reset the propagation engine.
      */
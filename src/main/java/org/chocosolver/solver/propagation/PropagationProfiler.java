@@ -0,0 +1,278 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.propagation;
+
+import org.chocosolver.solver.constraints.Propagator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records, for each propagator executed by a {@link PropagationEngine}, the number of times it was executed,
+ * the cumulative time spent in it, the number of domain reductions it caused
+ * and the number of contradictions it raised.
+ * <p>
+ * A profiler is plugged into an engine with {@link PropagationEngine#setProfiler(PropagationProfiler)},
+ * or more simply with {@link org.chocosolver.solver.trace.IOutputFactory#profilePropagation()}.
+ * When no profiler is plugged in, the engine does not measure anything.
+ * </p>
+ * <p>
+ * Statistics are stored per instance, indexed by {@link Propagator#getId()},
+ * and are aggregated per class on demand.
+ * Note that the time of a propagator includes the time spent in variables (domain updates and event storing)
+ * but not the time spent in scheduling the propagators impacted by these updates.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class PropagationProfiler {
+
+    /**
+     * Profiled propagators, by id
+     */
+    private Propagator[] propagators = new Propagator[0];
+    /**
+     * Number of executions, by id
+     */
+    private long[] calls = new long[0];
+    /**
+     * Cumulative time of execution, in nanoseconds, by id
+     */
+    private long[] times = new long[0];
+    /**
+     * Number of domain reductions caused, by id
+     */
+    private long[] reductions = new long[0];
+    /**
+     * Number of contradictions raised, by id
+     */
+    private long[] fails = new long[0];
+
+    /**
+     * Called by the engine each time <i>propagator</i> has been executed.
+     *
+     * @param propagator propagator executed
+     * @param time       time of the execution, in nanoseconds
+     */
+    public void onExecution(Propagator propagator, long time) {
+        int id = index(propagator);
+        calls[id]++;
+        times[id] += time;
+    }
+
+    /**
+     * Called by the engine each time <i>propagator</i> has modified the domain of a variable.
+     *
+     * @param propagator propagator which modified a domain
+     */
+    public void onReduction(Propagator propagator) {
+        int id = index(propagator);
+        reductions[id]++;
+    }
+
+    /**
+     * Called by the engine each time <i>propagator</i> has raised a contradiction.
+     *
+     * @param propagator propagator which failed
+     */
+    public void onContradiction(Propagator propagator) {
+        int id = index(propagator);
+        fails[id]++;
+    }
+
+    private int index(Propagator propagator) {
+        int id = propagator.getId();
+        if (id >= propagators.length) {
+            int n = Math.max(id + 1, propagators.length * 3 / 2);
+            propagators = Arrays.copyOf(propagators, n);
+            calls = Arrays.copyOf(calls, n);
+            times = Arrays.copyOf(times, n);
+            reductions = Arrays.copyOf(reductions, n);
+            fails = Arrays.copyOf(fails, n);
+        }
+        propagators[id] = propagator;
+        return id;
+    }
+
+    /**
+     * Reset all statistics.
+     */
+    public void reset() {
+        Arrays.fill(propagators, null);
+        Arrays.fill(calls, 0);
+        Arrays.fill(times, 0);
+        Arrays.fill(reductions, 0);
+        Arrays.fill(fails, 0);
+    }
+
+    /**
+     * @return statistics of each propagator executed at least once, sorted by decreasing time
+     */
+    public List<Entry> getInstanceEntries() {
+        List<Entry> entries = new ArrayList<>();
+        for (int i = 0; i < propagators.length; i++) {
+            if (propagators[i] != null) {
+                entries.add(new Entry(propagators[i].toString(), propagators[i].getClass(),
+                        1, calls[i], times[i], reductions[i], fails[i]));
+            }
+        }
+        entries.sort(Comparator.comparingLong(Entry::getTime).reversed());
+        return entries;
+    }
+
+    /**
+     * @return statistics aggregated per class of propagators, sorted by decreasing time
+     */
+    public List<Entry> getClassEntries() {
+        Map<Class<?>, long[]> agg = new LinkedHashMap<>();
+        for (int i = 0; i < propagators.length; i++) {
+            if (propagators[i] != null) {
+                long[] a = agg.computeIfAbsent(propagators[i].getClass(), c -> new long[5]);
+                a[0]++;
+                a[1] += calls[i];
+                a[2] += times[i];
+                a[3] += reductions[i];
+                a[4] += fails[i];
+            }
+        }
+        List<Entry> entries = new ArrayList<>();
+        agg.forEach((c, a) -> entries.add(new Entry(c.getSimpleName(), c, (int) a[0], a[1], a[2], a[3], a[4])));
+        entries.sort(Comparator.comparingLong(Entry::getTime).reversed());
+        return entries;
+    }
+
+    /**
+     * @param entries statistics to output
+     * @return the statistics in <i>entries</i> in a semicolon-separated format, one line per entry. The header is:
+     * <pre>
+     *     name;instances;calls;time(sec);reductions;fails;
+     * </pre>
+     */
+    public static String toCSV(List<Entry> entries) {
+        StringBuilder st = new StringBuilder(256);
+        st.append("name;instances;calls;time(sec);reductions;fails;\n");
+        for (Entry e : entries) {
+            st.append(String.format("%s;%d;%d;%.3f;%d;%d;\n",
+                    e.name, e.instances, e.calls, e.time / 1e9, e.reductions, e.fails));
+        }
+        return st.toString();
+    }
+
+    /**
+     * @param top maximum number of propagators to output
+     * @return the statistics per class, followed by those of the <i>top</i> most time-consuming propagators
+     */
+    public String toString(int top) {
+        StringBuilder st = new StringBuilder(256);
+        st.append("- Propagation profile (per class):\n");
+        st.append(String.format("\t%-40s %9s %12s %10s %12s %10s\n",
+                "Class", "Instances", "Calls", "Time (s)", "Reductions", "Fails"));
+        for (Entry e : getClassEntries()) {
+            st.append(String.format("\t%-40s %9d %12d %10.3f %12d %10d\n",
+                    e.name, e.instances, e.calls, e.time / 1e9, e.reductions, e.fails));
+        }
+        List<Entry> instances = getInstanceEntries();
+        st.append(String.format("- Propagation profile (top %d propagators):\n", Math.min(top, instances.size())));
+        st.append(String.format("\t%-40s %12s %10s %12s %10s\n",
+                "Propagator", "Calls", "Time (s)", "Reductions", "Fails"));
+        for (int i = 0; i < top && i < instances.size(); i++) {
+            Entry e = instances.get(i);
+            String name = e.name.length() > 40 ? e.name.substring(0, 37) + "..." : e.name;
+            st.append(String.format("\t%-40s %12d %10.3f %12d %10d\n",
+                    name, e.calls, e.time / 1e9, e.reductions, e.fails));
+        }
+        return st.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toString(10);
+    }
+
+    /**
+     * Statistics of a propagator or of a class of propagators.
+     */
+    public static final class Entry {
+
+        private final String name;
+        private final Class<?> clazz;
+        private final int instances;
+        private final long calls;
+        private final long time;
+        private final long reductions;
+        private final long fails;
+
+        Entry(String name, Class<?> clazz, int instances, long calls, long time, long reductions, long fails) {
+            this.name = name;
+            this.clazz = clazz;
+            this.instances = instances;
+            this.calls = calls;
+            this.time = time;
+            this.reductions = reductions;
+            this.fails = fails;
+        }
+
+        /**
+         * @return name of the propagator or of the class
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return class of the propagator(s)
+         */
+        public Class<?> getPropagatorClass() {
+            return clazz;
+        }
+
+        /**
+         * @return number of propagators aggregated in this entry
+         */
+        public int getInstances() {
+            return instances;
+        }
+
+        /**
+         * @return number of executions
+         */
+        public long getCalls() {
+            return calls;
+        }
+
+        /**
+         * @return cumulative time of execution, in nanoseconds
+         */
+        public long getTime() {
+            return time;
+        }
+
+        /**
+         * @return number of domain reductions caused
+         */
+        public long getReductions() {
+            return reductions;
+        }
+
+        /**
+         * @return number of contradictions raised
+         */
+        public long getFails() {
+            return fails;
+        }
+    }
+}
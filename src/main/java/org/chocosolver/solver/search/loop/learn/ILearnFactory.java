@@ -52,4 +52,28 @@ public interface ILearnFactory extends ISelf<Solver> {
         learner.setExplanation(new ExplanationForSignedClause(evtObs.getGI().get()));
         ref().setLearner(learner);
     }
+
+    /**
+     * Creates a learning object based on Lazy Clause Generation (LCG).
+     * Like {@link #setLearningSignedClauses()}, conflicts are analysed with the 1-UIP scheme
+     * and the search backjumps to the asserting decision.
+     * But the learnt clauses are translated into clauses over order and equality literals,
+     * created on demand in the SAT solver of the no-good store, which propagates them.
+     * Some settings related to explanation can be define thanks to {@link org.chocosolver.solver.Settings}:
+     * <ul>
+     *     <il>{@link Settings#setMaxLearntClauseCardinality(int)}</il>
+     * </ul>
+     * @see LearnLazyClauses
+     */
+    default void setLearningLazyClauses() {
+        ref().getModel().getNogoodStore(); // the store has to be created before the implication graph
+        AbstractEventObserver evtObs = ref().getEventObserver();
+        if (evtObs == AbstractEventObserver.SILENT_OBSERVER) {
+            evtObs = new EventRecorder(ref());
+        }
+        LearnLazyClauses<ExplanationForSignedClause> learner = new LearnLazyClauses<>(ref());
+        assert evtObs.getGI().isPresent();
+        learner.setExplanation(new ExplanationForSignedClause(evtObs.getGI().get()));
+        ref().setLearner(learner);
+    }
 }
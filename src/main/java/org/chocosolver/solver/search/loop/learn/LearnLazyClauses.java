@@ -0,0 +1,140 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.learn;
+
+import gnu.trove.list.array.TIntArrayList;
+import org.chocosolver.sat.PropNogoods;
+import org.chocosolver.sat.SatSolver;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.nary.clauses.ClauseBuilder;
+import org.chocosolver.solver.learn.ExplanationForSignedClause;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
+
+/**
+ * A learn implementation based on lazy clause generation.
+ * <p>
+ * Conflicts are analysed like in {@link LearnSignedClauses} (1-UIP, non-chronological backjumping),
+ * but the learnt clause is translated into a clause over order literals ([x &le; v]) and equality
+ * literals ([x = v]), which are created on demand in the SAT solver of {@link PropNogoods}.
+ * The learnt clauses are then propagated by the SAT solver itself,
+ * and {@link PropNogoods} explains its propagations with the clauses that triggered them.
+ * </p>
+ * <p>
+ * A signed literal (x &isin; S) is translated range by range (within the initial domain of x):
+ * a singleton range [a,a] is translated into [x = a], a range that starts at the lower bound of x into
+ * [x &le; b], a range that ends at the upper bound of x into &not;[x &le; a-1].
+ * Other ranges are translated into equality literals when they are small enough,
+ * otherwise they are weakened into &not;[x &le; a-1].
+ * </p>
+ * <p> Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class LearnLazyClauses<E extends ExplanationForSignedClause> extends LearnSignedClauses<E> {
+
+    /**
+     * Ranges of at most this size are translated into equality literals.
+     */
+    public static int MAX_EQ_RANGE = 8;
+
+    /**
+     * The propagator that interfaces the SAT solver
+     */
+    private final PropNogoods png;
+    /**
+     * Initial domains of variables
+     */
+    private final ClauseBuilder builder;
+    /**
+     * The clause being translated
+     */
+    private final TIntArrayList lits;
+    /**
+     * Set to <i>true</i> when the clause being translated is always satisfied
+     */
+    private boolean alwaysTrue;
+
+    /**
+     * Build a learned able to learn clauses over order and equality literals on conflicts and solutions.
+     *
+     * @param solver the solver to exploit
+     */
+    public LearnLazyClauses(Solver solver) {
+        super(solver, false);
+        this.png = solver.getModel().getNogoodStore().getPropNogoods();
+        this.png.keepClauses();
+        this.builder = solver.getModel().getClauseBuilder();
+        this.lits = new TIntArrayList();
+    }
+
+    @Override
+    protected void addLearntConstraint() {
+        if (lastExplanation != null && lastExplanation.getCardinality() > 0
+                && lastExplanation.getCardinality() <= max_card) {
+            lits.resetQuick();
+            alwaysTrue = false;
+            lastExplanation.forEachLiteral(this::translate);
+            if (!alwaysTrue) {
+                if (lits.size() == 0) {
+                    mSolver.getModel().falseConstraint().post();
+                } else {
+                    png.addLearnt(lits.toArray());
+                }
+            }
+        }
+    }
+
+    /**
+     * Translate the signed literal (<i>var</i> &isin; <i>set</i>) into SAT literals.
+     *
+     * @param var a variable
+     * @param set a set of values
+     */
+    private void translate(IntVar var, IntIterableRangeSet set) {
+        if (alwaysTrue) {
+            return;
+        }
+        if (var.isAConstant()) {
+            alwaysTrue = set.contains(var.getValue());
+            return;
+        }
+        IntIterableRangeSet init = builder.getInitialDomain(var);
+        int lb = init.min();
+        int ub = init.max();
+        for (int r = 0; r < set.getNbRanges(); r++) {
+            int a = Math.max(set.minOfRange(r), lb);
+            int b = Math.min(set.maxOfRange(r), ub);
+            if (a > b) {
+                continue;
+            }
+            if (a == lb && b == ub) {
+                alwaysTrue = true;
+                return;
+            } else if (a == b) {
+                if (init.contains(a)) {
+                    lits.add(png.Literal(var, a, true));
+                }
+            } else if (a == lb) {
+                lits.add(png.Literal(var, b, false));
+            } else if (b == ub) {
+                lits.add(SatSolver.negated(png.Literal(var, a - 1, false)));
+            } else if (b - a < MAX_EQ_RANGE) {
+                for (int v = init.nextValue(a - 1); v <= b; v = init.nextValue(v)) {
+                    lits.add(png.Literal(var, v, true));
+                }
+            } else {
+                // weakening: x >= a
+                lits.add(SatSolver.negated(png.Literal(var, a - 1, false)));
+            }
+        }
+    }
+}
@@ -36,7 +36,7 @@ public class LearnSignedClauses<E extends ExplanationForSignedClause> implements
     /**
      * The model that is watched in order to learn signed clauses from failure
      */
-    private final Solver mSolver;
+    protected final Solver mSolver;
     /**
      * Maintains the number of solutions found, required for {@link #record(Solver)}.
      */
@@ -44,15 +44,15 @@ public class LearnSignedClauses<E extends ExplanationForSignedClause> implements
     /**
      * The last explanation computed.
      */
-    private E lastExplanation;
+    protected E lastExplanation;
     /**
-     * The nogood store
+     * The nogood store, <tt>null</tt> when learnt clauses are stored elsewhere
      */
     private final ClauseStore ngstore;
     /**
      * Maximum cardinality to add nogoods to the store
      */
-    private final int max_card;
+    protected final int max_card;
 
     /**
      * Build a learned able to learn signed clauses on conflicts and solutions.
@@ -60,9 +60,20 @@ public class LearnSignedClauses<E extends ExplanationForSignedClause> implements
      * @param solver the solver to exploit
      */
     public LearnSignedClauses(Solver solver) {
+        this(solver, true);
+    }
+
+    /**
+     * Build a learned able to learn signed clauses on conflicts and solutions.
+     *
+     * @param solver    the solver to exploit
+     * @param withStore set to <tt>false</tt> when learnt clauses are not added to the {@link ClauseStore},
+     *                  which is then not created
+     */
+    protected LearnSignedClauses(Solver solver, boolean withStore) {
         this.mSolver = solver;
         solver.getModel().getClauseBuilder(); // mandatory to store initial domains
-        this.ngstore = mSolver.getModel().getClauseConstraint().getClauseStore();
+        this.ngstore = withStore ? mSolver.getModel().getClauseConstraint().getClauseStore() : null;
         this.max_card = mSolver.getModel().getSettings().getMaxLearntClauseCardinality();
     }
 
@@ -88,7 +99,9 @@ public class LearnSignedClauses<E extends ExplanationForSignedClause> implements
     @Override
     public void forget(Solver solver) {
         addLearntConstraint();
-        ngstore.forget();
+        if (ngstore != null) {
+            ngstore.forget();
+        }
         lastExplanation.recycle();
     }
 
@@ -140,7 +153,10 @@ public class LearnSignedClauses<E extends ExplanationForSignedClause> implements
         }
     }
 
-    private void addLearntConstraint() {
+    /**
+     * Add the constraint extracted from the last explanation, if any, to the model.
+     */
+    protected void addLearntConstraint() {
         if (lastExplanation != null && lastExplanation.getCardinality() > 0
             && lastExplanation.getCardinality() <= max_card) {
             lastExplanation.extractConstraint(mSolver.getModel(), ngstore);
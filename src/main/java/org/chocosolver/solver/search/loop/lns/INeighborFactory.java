@@ -9,6 +9,7 @@
  */
 package org.chocosolver.solver.search.loop.lns;
 
+import org.chocosolver.solver.search.limits.ICounter;
 import org.chocosolver.solver.search.loop.lns.neighbors.*;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.SetVar;
@@ -32,6 +33,22 @@ public class INeighborFactory {
         );
     }
 
+    /**
+     * Creates an adaptive LNS neighbor, which selects among propagation-guided, reversed propagation-guided
+     * and random neighborhoods with a UCB policy, and tunes their relaxation ratio.
+     * @param restartCounter the restart counter given to the LNS
+     * @param vars           the pool of variables to be freezed
+     * @return an adaptive LNS neighbor
+     * @see BanditNeighborhood
+     */
+    public static INeighbor bandit(ICounter restartCounter, IntVar... vars) {
+        return new BanditNeighborhood(vars[0].getModel(), restartCounter, BanditNeighborhood.Policy.UCB, 0,
+                propagationGuided(vars),
+                reversedPropagationGuided(vars),
+                random(vars)
+        );
+    }
+
     /**
      * Create a random neighborhood fixing variables randomly
      * @param vars   the pool of variables to be freezed
@@ -0,0 +1,160 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.lns;
+
+import org.chocosolver.solver.Solution;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The incumbent solution shared by parallel LNS workers, together with statistics on neighborhoods.
+ * <p>
+ * Neighborhoods are identified by their index, which must be the same in all workers.
+ * For each of them, the number of fragments tried, the number of improving solutions found and
+ * the cumulated improvement of the objective are maintained.
+ * They drive the selection of the next neighborhood to apply (see {@link #select(Random)}).
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class SharedIncumbent {
+
+    /**
+     * The best solution found so far, never modified once published
+     */
+    private volatile Solution incumbent;
+    /**
+     * Number of fragments tried, per neighborhood
+     */
+    private final AtomicLongArray fragments;
+    /**
+     * Number of improving solutions found, per neighborhood
+     */
+    private final AtomicLongArray improvements;
+    /**
+     * Cumulated improvement of the objective, per neighborhood
+     */
+    private final AtomicLongArray gains;
+
+    /**
+     * Create a shared incumbent for <i>n</i> neighborhoods.
+     *
+     * @param n number of neighborhoods
+     */
+    public SharedIncumbent(int n) {
+        this.fragments = new AtomicLongArray(n);
+        this.improvements = new AtomicLongArray(n);
+        this.gains = new AtomicLongArray(n);
+    }
+
+    /**
+     * @return the best solution found so far, or <i>null</i>
+     */
+    public Solution getIncumbent() {
+        return incumbent;
+    }
+
+    /**
+     * Publish a new incumbent solution.
+     *
+     * @param solution an improving solution, which must not be modified afterwards
+     * @param neighborhood the neighborhood which led to it, or -1 if unknown
+     * @param gain improvement of the objective
+     */
+    public void improve(Solution solution, int neighborhood, long gain) {
+        this.incumbent = solution;
+        if (neighborhood >= 0) {
+            improvements.incrementAndGet(neighborhood);
+            gains.addAndGet(neighborhood, gain);
+        }
+    }
+
+    /**
+     * Declare that a fragment has been built with the neighborhood <i>neighborhood</i>.
+     *
+     * @param neighborhood a neighborhood
+     */
+    public void tried(int neighborhood) {
+        fragments.incrementAndGet(neighborhood);
+    }
+
+    /**
+     * Select a neighborhood at random, with a probability proportional to its success rate
+     * (number of improvements over number of fragments, both incremented by one).
+     *
+     * @param random random number generator of the calling worker
+     * @return the index of a neighborhood
+     */
+    public int select(Random random) {
+        int n = fragments.length();
+        double[] w = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            w[i] = (improvements.get(i) + 1d) / (fragments.get(i) + 1d);
+            sum += w[i];
+        }
+        double r = random.nextDouble() * sum;
+        for (int i = 0; i < n - 1; i++) {
+            r -= w[i];
+            if (r < 0) {
+                return i;
+            }
+        }
+        return n - 1;
+    }
+
+    /**
+     * @return the number of neighborhoods
+     */
+    public int getNbNeighborhoods() {
+        return fragments.length();
+    }
+
+    /**
+     * @param neighborhood a neighborhood
+     * @return number of fragments built with <i>neighborhood</i>
+     */
+    public long getNbFragments(int neighborhood) {
+        return fragments.get(neighborhood);
+    }
+
+    /**
+     * @param neighborhood a neighborhood
+     * @return number of improving solutions found with <i>neighborhood</i>
+     */
+    public long getNbImprovements(int neighborhood) {
+        return improvements.get(neighborhood);
+    }
+
+    /**
+     * @param neighborhood a neighborhood
+     * @return cumulated improvement of the objective obtained with <i>neighborhood</i>
+     */
+    public long getGain(int neighborhood) {
+        return gains.get(neighborhood);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder st = new StringBuilder();
+        for (int i = 0; i < fragments.length(); i++) {
+            st.append(String.format("Neighborhood %d: %d fragments, %d improvements, %d gain%n",
+                    i, fragments.get(i), improvements.get(i), gains.get(i)));
+        }
+        return st.toString();
+    }
+}
@@ -0,0 +1,367 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.lns.neighbors;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.limits.ICounter;
+import org.chocosolver.solver.variables.IntVar;
+
+import java.util.Random;
+
+/**
+ * An Adaptive LNS neighbor, which selects the neighbor to apply with a multi-armed bandit policy
+ * and tunes the relaxation ratio of each neighbor on its own.
+ * <p>
+ * Each fragment is rewarded with the improvement of the objective per millisecond it leads to
+ * (0 when no solution is found), normalized by the best rate observed so far.
+ * When a fragment ends without solution, the restart counter given to the LNS
+ * (the same instance must be given to this neighbor) tells whether the fragment is too hard,
+ * when its limit is met, or too easy, when it has been explored entirely.
+ * In the former case the relaxation ratio of the neighbor is reduced, otherwise it is increased
+ * (see {@link INeighbor#setRelaxationRatio(double)}).
+ * </p>
+ * <pre>
+ * <code>FailCounter counter = new FailCounter(model, 100);
+ * solver.setLNS(INeighborFactory.bandit(counter, vars), counter);
+ * </code>
+ * </pre>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class BanditNeighborhood implements INeighbor {
+
+    /**
+     * Bandit policies to select the next neighbor
+     */
+    public enum Policy {
+        /**
+         * Upper Confidence Bound (UCB1): selects the neighbor which maximizes its mean reward plus an exploration term
+         */
+        UCB,
+        /**
+         * Thompson sampling: selects the neighbor which maximizes a sample of a Beta distribution fitted on its rewards
+         */
+        THOMPSON
+    }
+
+    /**
+     * Initial relaxation ratio of each neighbor
+     */
+    private static final double INITIAL_RATIO = .2;
+    /**
+     * Lowest relaxation ratio
+     */
+    private static final double MIN_RATIO = .01;
+    /**
+     * Highest relaxation ratio
+     */
+    private static final double MAX_RATIO = .9;
+    /**
+     * Factor applied to the relaxation ratio when a fragment is too easy, or too hard
+     */
+    private static final double STEP = 1.1;
+
+    /**
+     * Neighbors declared
+     */
+    private final INeighbor[] neighbors;
+    /**
+     * Bandit policy
+     */
+    private final Policy policy;
+    /**
+     * Restart counter of the LNS
+     */
+    private final ICounter counter;
+    /**
+     * Reference to the model
+     */
+    private final Model mModel;
+    /**
+     * For randomness
+     */
+    private final Random rd;
+    /**
+     * Number of fragments built, per neighbor
+     */
+    private final long[] fragments;
+    /**
+     * Number of improving solutions found, per neighbor
+     */
+    private final long[] improvements;
+    /**
+     * Number of fails, per neighbor
+     */
+    private final long[] fails;
+    /**
+     * Cumulated rewards, per neighbor
+     */
+    private final double[] rewards;
+    /**
+     * Relaxation ratio, per neighbor
+     */
+    private final double[] ratios;
+    /**
+     * Total number of fragments built
+     */
+    private long total;
+    /**
+     * Neighbor currently applied, -1 when no fragment is open
+     */
+    private int who = -1;
+    /**
+     * Time and number of fails when the current fragment was built
+     */
+    private long startTime, startFails;
+    /**
+     * Improvement of the objective obtained by the current fragment, -1 if none
+     */
+    private long gain = -1;
+    /**
+     * Best improvement rate observed so far, to normalize rewards
+     */
+    private double maxRate;
+    /**
+     * Objective value of the last solution recorded
+     */
+    private long best;
+    /**
+     * Set to <i>true</i> once a solution has been recorded
+     */
+    private boolean hasBest;
+
+    /**
+     * Create an adaptive neighbor.
+     *
+     * @param model          the model
+     * @param restartCounter the restart counter given to the LNS, or {@link ICounter.Impl#None}
+     * @param policy         the bandit policy
+     * @param seed           for randomness
+     * @param neighbors      neighbors to select from
+     */
+    public BanditNeighborhood(Model model, ICounter restartCounter, Policy policy, long seed, INeighbor... neighbors) {
+        this.mModel = model;
+        this.counter = restartCounter;
+        this.policy = policy;
+        this.rd = new Random(seed);
+        this.neighbors = neighbors;
+        int count = neighbors.length;
+        this.fragments = new long[count];
+        this.improvements = new long[count];
+        this.fails = new long[count];
+        this.rewards = new double[count];
+        this.ratios = new double[count];
+        for (int i = 0; i < count; i++) {
+            ratios[i] = INITIAL_RATIO;
+        }
+    }
+
+    @Override
+    public void init() {
+        for (INeighbor n : neighbors) {
+            n.init();
+        }
+    }
+
+    @Override
+    public void recordSolution() {
+        long value = objectiveValue();
+        if (who >= 0) {
+            gain = hasBest && mModel.getObjective() != null ? Math.abs(value - best) : 1;
+        }
+        best = value;
+        hasBest = true;
+        for (INeighbor n : neighbors) {
+            n.recordSolution();
+        }
+    }
+
+    @Override
+    public void loadFromSolution(Solution solution) {
+        IntVar objective = (IntVar) mModel.getObjective();
+        best = objective == null ? 0 : solution.getIntVal(objective);
+        hasBest = true;
+        for (INeighbor n : neighbors) {
+            n.loadFromSolution(solution);
+        }
+    }
+
+    @Override
+    public void fixSomeVariables() throws ContradictionException {
+        if (who >= 0) {
+            // the previous fragment ended without restart
+            closeFragment();
+        }
+        who = select();
+        fragments[who]++;
+        total++;
+        gain = -1;
+        startTime = System.nanoTime();
+        startFails = mModel.getSolver().getFailCount();
+        neighbors[who].setRelaxationRatio(ratios[who]);
+        neighbors[who].fixSomeVariables();
+    }
+
+    @Override
+    public void restrictLess() {
+        if (who >= 0) {
+            closeFragment();
+        }
+    }
+
+    @Override
+    public boolean isSearchComplete() {
+        boolean isComplete = false;
+        for (INeighbor n : neighbors) {
+            isComplete |= n.isSearchComplete();
+        }
+        return isComplete;
+    }
+
+    /**
+     * Reward the neighbor of the current fragment and adapt its relaxation ratio.
+     */
+    private void closeFragment() {
+        double ms = Math.max((System.nanoTime() - startTime) / 1_000_000d, 1e-3);
+        fails[who] += mModel.getSolver().getFailCount() - startFails;
+        if (gain >= 0) {
+            improvements[who]++;
+            double rate = gain / ms;
+            maxRate = Math.max(maxRate, rate);
+            rewards[who] += maxRate > 0 ? rate / maxRate : 1.;
+        } else if (counter.isMet()) {
+            // too hard: relax less
+            ratios[who] = Math.max(MIN_RATIO, ratios[who] / STEP);
+        } else {
+            // entirely explored: relax more
+            ratios[who] = Math.min(MAX_RATIO, ratios[who] * STEP);
+        }
+        neighbors[who].restrictLess();
+        who = -1;
+    }
+
+    /**
+     * @return the index of the next neighbor to apply, with respect to {@link #policy}
+     */
+    private int select() {
+        int next = 0;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < neighbors.length; i++) {
+            double score;
+            if (policy == Policy.UCB) {
+                if (fragments[i] == 0) {
+                    // try each neighbor once first
+                    return i;
+                }
+                score = rewards[i] / fragments[i] + Math.sqrt(2 * Math.log(total) / fragments[i]);
+            } else {
+                score = beta(1 + rewards[i], 1 + fragments[i] - rewards[i]);
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                next = i;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * @return a sample of a Beta(a, b) distribution, with a, b &ge; 1
+     */
+    private double beta(double a, double b) {
+        double x = gamma(a);
+        return x / (x + gamma(b));
+    }
+
+    /**
+     * Marsaglia and Tsang's method, "A simple method for generating gamma variables", 2000.
+     *
+     * @return a sample of a Gamma(k, 1) distribution, with k &ge; 1
+     */
+    private double gamma(double k) {
+        double d = k - 1. / 3;
+        double c = 1. / Math.sqrt(9 * d);
+        while (true) {
+            double x, v;
+            do {
+                x = rd.nextGaussian();
+                v = 1 + c * x;
+            } while (v <= 0);
+            v = v * v * v;
+            double u = rd.nextDouble();
+            if (Math.log(u) < .5 * x * x + d - d * v + d * Math.log(v)) {
+                return d * v;
+            }
+        }
+    }
+
+    /**
+     * @return the value of the objective variable, or 0 for satisfaction problems
+     */
+    private long objectiveValue() {
+        IntVar objective = (IntVar) mModel.getObjective();
+        return objective == null ? 0 : objective.getValue();
+    }
+
+    /**
+     * @param neighbor index of a neighbor
+     * @return number of fragments built with <i>neighbor</i>
+     */
+    public long getNbFragments(int neighbor) {
+        return fragments[neighbor];
+    }
+
+    /**
+     * @param neighbor index of a neighbor
+     * @return number of improving solutions found with <i>neighbor</i>
+     */
+    public long getNbImprovements(int neighbor) {
+        return improvements[neighbor];
+    }
+
+    /**
+     * @param neighbor index of a neighbor
+     * @return number of fails encountered in fragments built with <i>neighbor</i>
+     */
+    public long getNbFails(int neighbor) {
+        return fails[neighbor];
+    }
+
+    /**
+     * @param neighbor index of a neighbor
+     * @return mean reward of <i>neighbor</i>, in [0,1]
+     */
+    public double getMeanReward(int neighbor) {
+        return fragments[neighbor] == 0 ? 0. : rewards[neighbor] / fragments[neighbor];
+    }
+
+    /**
+     * @param neighbor index of a neighbor
+     * @return current relaxation ratio of <i>neighbor</i>
+     */
+    public double getRelaxationRatio(int neighbor) {
+        return ratios[neighbor];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder st = new StringBuilder();
+        for (int i = 0; i < neighbors.length; i++) {
+            st.append(String.format("Neighbor %d: %d fragments, %d improvements, %d fails, reward %.3f, ratio %.3f%n",
+                    i, fragments[i], improvements[i], fails[i], getMeanReward(i), ratios[i]));
+        }
+        return st.toString();
+    }
+}
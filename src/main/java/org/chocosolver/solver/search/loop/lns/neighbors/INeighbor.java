@@ -48,6 +48,17 @@ public interface INeighbor extends ICause {
         // Intentionally left empty.
     }
 
+    /**
+     * Set the relaxation ratio of the next fragments, that is, the part of the search space
+     * (in logarithmic scale, or in number of variables) which is left free.
+     * Neighbors which cannot control the size of their fragments ignore it.
+     *
+     * @param ratio a value in ]0,1[, or a negative value to restore the default behavior of this neighbor
+     */
+    default void setRelaxationRatio(double ratio){
+        // Intentionally left empty.
+    }
+
     /**
      * @return true iff the search is in a complete mode (no fixed variable)
      */
@@ -0,0 +1,140 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.lns.neighbors;
+
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.loop.lns.SharedIncumbent;
+
+import java.util.Random;
+
+/**
+ * The neighbor of one worker of a parallel LNS.
+ * <p>
+ * Before building a fragment, it loads the shared incumbent solution if it has changed since the last
+ * fragment, so that all workers relax the best solution known.
+ * Then it selects the neighborhood to apply thanks to the shared statistics of {@link SharedIncumbent},
+ * except for the very first fragment which is built with the neighborhood at position <i>worker</i>
+ * (modulo the number of neighborhoods), so that workers start with different fragments.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class ParallelNeighborhood implements INeighbor {
+
+    /**
+     * Neighborhoods of this worker
+     */
+    private final INeighbor[] neighbors;
+    /**
+     * Shared incumbent and statistics
+     */
+    private final SharedIncumbent shared;
+    /**
+     * Random number generator, to select neighborhoods
+     */
+    private final Random random;
+    /**
+     * Neighborhood currently applied, -1 before the first fragment
+     */
+    private volatile int current = -1;
+    /**
+     * Neighborhood to apply first
+     */
+    private final int first;
+    /**
+     * Incumbent solution the neighbors are based on
+     */
+    private Solution loaded;
+
+    /**
+     * Create the neighbor of a worker.
+     *
+     * @param neighbors neighborhoods of the worker, in the same order for all workers
+     * @param shared    the shared incumbent
+     * @param worker    index of the worker
+     * @param seed      seed for random selection
+     */
+    public ParallelNeighborhood(INeighbor[] neighbors, SharedIncumbent shared, int worker, long seed) {
+        this.neighbors = neighbors;
+        this.shared = shared;
+        this.first = worker % neighbors.length;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * @return the neighborhood currently applied, -1 if none
+     */
+    public int getCurrent() {
+        return current;
+    }
+
+    /**
+     * Declare that the neighbors are based on <i>solution</i>, found by this worker.
+     *
+     * @param solution a solution
+     */
+    public void setLoaded(Solution solution) {
+        this.loaded = solution;
+    }
+
+    @Override
+    public void init() {
+        for (INeighbor n : neighbors) {
+            n.init();
+        }
+    }
+
+    @Override
+    public void recordSolution() {
+        for (INeighbor n : neighbors) {
+            n.recordSolution();
+        }
+    }
+
+    @Override
+    public void loadFromSolution(Solution solution) {
+        loaded = solution;
+        for (INeighbor n : neighbors) {
+            n.loadFromSolution(solution);
+        }
+    }
+
+    @Override
+    public void fixSomeVariables() throws ContradictionException {
+        Solution incumbent = shared.getIncumbent();
+        if (incumbent != null && incumbent != loaded) {
+            loadFromSolution(incumbent);
+        }
+        int next = current < 0 ? first : shared.select(random);
+        shared.tried(next);
+        current = next;
+        neighbors[next].fixSomeVariables();
+    }
+
+    @Override
+    public void restrictLess() {
+        if (current >= 0) {
+            neighbors[current].restrictLess();
+        }
+    }
+
+    @Override
+    public boolean isSearchComplete() {
+        boolean isComplete = false;
+        for (INeighbor n : neighbors) {
+            isComplete |= n.isSearchComplete();
+        }
+        return isComplete;
+    }
+}
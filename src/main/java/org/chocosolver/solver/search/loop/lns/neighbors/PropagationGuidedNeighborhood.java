@@ -58,6 +58,10 @@ public class PropagationGuidedNeighborhood extends IntNeighbor {
      * Restriction parameter
      */
     private double epsilon = 1.;
+    /**
+     * Relaxation ratio, ignored when negative
+     */
+    double ratio = -1.;
     /**
      * Logarithmic cardinality of domains
      */
@@ -103,11 +107,11 @@ public class PropagationGuidedNeighborhood extends IntNeighbor {
     @Override
     public void fixSomeVariables() throws ContradictionException {
         logSum = Arrays.stream(variables).mapToDouble(v -> Math.log(v.getDomainSize())).sum();
-        for (int i = 0; i < n; i++) {
-            int ds = variables[i].getDomainSize();
-            logSum += Math.log(ds);
+        if (ratio > 0) {
+            fgmtSize = (int) Math.ceil(ratio * logSum);
+        } else {
+            fgmtSize = (int) (30 * (1 + epsilon));
         }
-        fgmtSize = (int) (30 * (1 + epsilon));
         fragment.set(0, n); // all variables are frozen
         try {
             update();
@@ -178,6 +182,11 @@ public class PropagationGuidedNeighborhood extends IntNeighbor {
         epsilon += .1 * (logSum / fgmtSize);
     }
 
+    @Override
+    public void setRelaxationRatio(double ratio) {
+        this.ratio = ratio;
+    }
+
     @Override
     public void init() {
         this.dsize = new int[n];
@@ -37,6 +37,10 @@ public class RandomNeighborhood extends IntNeighbor {
      * Size of the fragment
      */
     private double nbFixedVariables = 0d;
+    /**
+     * Relaxation ratio, ignored when negative
+     */
+    private double ratio = -1.;
     /**
      * Number of times this neighbor is called
      */
@@ -88,6 +92,9 @@ public class RandomNeighborhood extends IntNeighbor {
     public void fixSomeVariables() throws ContradictionException {
         nbCall++;
         restrictLess();
+        if (ratio > 0) {
+            nbFixedVariables = (1. - ratio) * n + 1;
+        }
         fragment.set(0, n); // all variables are frozen
         for (int i = 0; i < nbFixedVariables - 1 && fragment.cardinality() > 0; i++) {
             int id = selectVariable();
@@ -110,6 +117,11 @@ public class RandomNeighborhood extends IntNeighbor {
         return id;
     }
 
+    @Override
+    public void setRelaxationRatio(double ratio) {
+        this.ratio = ratio;
+    }
+
     @Override
     public void restrictLess() {
         if (nbCall > limit) {
@@ -39,6 +39,12 @@ public class ReversePropagationGuidedNeighborhood extends PropagationGuidedNeigh
         super(vars, fgmtSize, listSize, seed);
     }
 
+    @Override
+    public void setRelaxationRatio(double ratio) {
+        // here, the fragment size bounds the part of the search space which is frozen
+        super.setRelaxationRatio(ratio > 0 ? 1. - ratio : ratio);
+    }
+
     @Override
     protected void update() throws ContradictionException {
         while (logSum > fgmtSize && fragment.cardinality() > 0) {
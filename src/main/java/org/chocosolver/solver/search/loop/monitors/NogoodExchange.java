@@ -0,0 +1,313 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.monitors;
+
+import org.chocosolver.sat.PropNogoods;
+import org.chocosolver.sat.SatSolver;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * A lock-free exchange of no-goods between models solved concurrently,
+ * for instance by a {@link org.chocosolver.solver.ParallelPortfolio}.
+ * <p>
+ * Each connected model publishes into the exchange:
+ * <ul>
+ *     <li>the learnt no-goods of its no-good store whose cardinality does not exceed a given threshold
+ *     (see {@link Model#getNogoodStore()} and {@link NogoodFromRestarts}),</li>
+ *     <li>the variables instantiated at root node after a restart (root-level fixings).</li>
+ * </ul>
+ * and imports, on each restart, the ones published by the other models.
+ * Nothing is published after a restart whose propagation fails.
+ * <br/>
+ * The no-goods are exchanged as (variable id, value, operator) literals,
+ * they are translated from a model to another one thanks to {@link Variable#getId()}.
+ * Consequently, <b>connected models must be identical</b>, that is, built by the same modelling code.
+ * Literals referring to unknown variables are ignored.
+ * </p>
+ * <p>
+ * The exchange is an append-only linked list, each connected model reads it from its own position.
+ * Publication is done with a compare-and-swap, and nodes are garbage collected as soon as they have been read by
+ * every connected model.
+ * Note that a model whose search never restarts never reads the exchange.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class NogoodExchange {
+
+    /**
+     * Bit set in literal's flag when the literal is positive
+     */
+    private static final int POSITIVE = 1;
+    /**
+     * Bit set in literal's flag when the literal encodes "=", "&le;" otherwise
+     */
+    private static final int EQUALITY = 2;
+
+    /**
+     * Maximum cardinality of a no-good to be published
+     */
+    private final int maxCard;
+
+    /**
+     * Last published node
+     */
+    private final AtomicReference<Node> tail;
+
+    /**
+     * Number of connected models
+     */
+    private int nbWorkers;
+
+    /**
+     * Number of no-goods published and imported, over all connected models
+     */
+    private final AtomicLong nbPublished = new AtomicLong();
+    private final AtomicLong nbImported = new AtomicLong();
+
+    /**
+     * Create an exchange of no-goods between models.
+     *
+     * @param maxCard maximum cardinality of a no-good to be published
+     */
+    public NogoodExchange(int maxCard) {
+        this.maxCard = maxCard;
+        this.tail = new AtomicReference<>(new Node(-1, new int[0]));
+    }
+
+    /**
+     * Connect a model to this exchange.
+     * This must be done before the resolution starts and it posts a no-good store in the model,
+     * if not already done.
+     *
+     * @param model a model
+     */
+    public synchronized void connect(Model model) {
+        Worker worker = new Worker(nbWorkers++, model);
+        model.getSolver().plugMonitor(worker);
+    }
+
+    /**
+     * @return the number of no-goods, root-level fixings included, published by the connected models
+     */
+    public long getNbPublished() {
+        return nbPublished.get();
+    }
+
+    /**
+     * @return the number of no-goods, root-level fixings included, imported by the connected models
+     */
+    public long getNbImported() {
+        return nbImported.get();
+    }
+
+    /**
+     * Append a node in a lock-free manner
+     *
+     * @param node the node to append
+     */
+    private void publish(Node node) {
+        while (true) {
+            Node t = tail.get();
+            Node n = t.next;
+            if (n == null) {
+                if (Node.NEXT.compareAndSet(t, null, node)) {
+                    tail.compareAndSet(t, node);
+                    nbPublished.incrementAndGet();
+                    return;
+                }
+            } else {
+                // help another thread to complete its publication
+                tail.compareAndSet(t, n);
+            }
+        }
+    }
+
+    /**
+     * A published no-good: each literal is encoded in three consecutive ints: variable id, value and flags.
+     */
+    private static final class Node {
+
+        private static final AtomicReferenceFieldUpdater<Node, Node> NEXT =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "next");
+
+        /**
+         * Index of the publishing worker
+         */
+        final int origin;
+        /**
+         * Encoded literals
+         */
+        final int[] literals;
+        /**
+         * Next published node
+         */
+        volatile Node next;
+
+        Node(int origin, int[] literals) {
+            this.origin = origin;
+            this.literals = literals;
+        }
+    }
+
+    /**
+     * The monitor in charge of exchanging no-goods for one model.
+     */
+    private final class Worker implements IMonitorInitialize, IMonitorRestart {
+
+        /**
+         * Index of this worker
+         */
+        private final int index;
+        /**
+         * The connected model
+         */
+        private final Model model;
+        /**
+         * The no-good store of the model
+         */
+        private final PropNogoods png;
+        /**
+         * Last node read
+         */
+        private Node cursor;
+        /**
+         * Set to <tt>true</tt> while importing to avoid publishing back no-goods
+         */
+        private boolean importing;
+        /**
+         * Binds variable id to integer variable
+         */
+        private IntVar[] id2var = new IntVar[0];
+        /**
+         * Integer variables of the model, for root-level fixings
+         */
+        private IntVar[] ivars;
+        /**
+         * Variables in {@link #ivars} already instantiated at root node
+         */
+        private final BitSet fixed;
+
+        Worker(int index, Model model) {
+            this.index = index;
+            this.model = model;
+            this.png = model.getNogoodStore().getPropNogoods();
+            this.cursor = tail.get();
+            this.fixed = new BitSet();
+            this.png.setLearntObserver(this::onLearnt);
+        }
+
+        @Override
+        public void afterInitialize(boolean correct) {
+            ivars = model.retrieveIntVars(true);
+            fixed.clear();
+            for (int i = 0; i < ivars.length; i++) {
+                if (ivars[i].isInstantiated()) {
+                    fixed.set(i);
+                }
+            }
+        }
+
+        @Override
+        public void beforeRestart() {
+            importing = true;
+            try {
+                for (Node n = cursor.next; n != null; n = n.next) {
+                    if (n.origin != index) {
+                        load(n.literals);
+                    }
+                    cursor = n;
+                }
+            } finally {
+                importing = false;
+            }
+        }
+
+        @Override
+        public void afterRestart() {
+            // when the propagation failed, the domains are not the ones of the root node
+            if (ivars == null || model.getSolver().isStopped()) return;
+            for (int i = fixed.nextClearBit(0); i < ivars.length; i = fixed.nextClearBit(i + 1)) {
+                if (ivars[i].isInstantiated()) {
+                    fixed.set(i);
+                    publish(new Node(index, new int[]{ivars[i].getId(), ivars[i].getValue(), POSITIVE | EQUALITY}));
+                }
+            }
+        }
+
+        /**
+         * Publish, if small enough, a no-good learnt by {@link #png}
+         * @param lits learnt no-good
+         */
+        private void onLearnt(int[] lits) {
+            if (importing || lits.length > maxCard) return;
+            int[] literals = new int[lits.length * 3];
+            for (int i = 0, j = 0; i < lits.length; i++) {
+                literals[j++] = png.getLiteralVariable(lits[i]).getId();
+                literals[j++] = png.getLiteralValue(lits[i]);
+                literals[j++] = (PropNogoods.isPositiveLiteral(lits[i]) ? POSITIVE : 0)
+                        | (png.isEqualityLiteral(lits[i]) ? EQUALITY : 0);
+            }
+            publish(new Node(index, literals));
+        }
+
+        /**
+         * Translate a published no-good and add it to {@link #png}
+         * @param literals encoded literals
+         */
+        private void load(int[] literals) {
+            int[] lits = new int[literals.length / 3];
+            for (int i = 0, j = 0; i < lits.length; i++) {
+                IntVar var = getVar(literals[j++]);
+                if (var == null) return;
+                int value = literals[j++];
+                int flags = literals[j++];
+                lits[i] = png.Literal(var, value, (flags & EQUALITY) != 0);
+                if ((flags & POSITIVE) == 0) {
+                    lits[i] = SatSolver.negated(lits[i]);
+                }
+            }
+            png.addLearnt(lits);
+            nbImported.incrementAndGet();
+        }
+
+        /**
+         * @param id a variable id
+         * @return the integer variable of the model whose id is <i>id</i>, or <tt>null</tt>
+         */
+        private IntVar getVar(int id) {
+            if (id >= id2var.length) {
+                Variable[] vars = model.getVars();
+                int max = id;
+                for (Variable v : vars) {
+                    max = Math.max(max, v.getId());
+                }
+                id2var = new IntVar[max + 1];
+                for (Variable v : vars) {
+                    int kind = v.getTypeAndKind() & Variable.KIND;
+                    if (kind == Variable.INT || kind == Variable.BOOL) {
+                        id2var[v.getId()] = (IntVar) v;
+                    }
+                }
+            }
+            return id2var[id];
+        }
+    }
+}
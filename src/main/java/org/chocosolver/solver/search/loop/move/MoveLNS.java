@@ -195,10 +195,10 @@ public class MoveLNS implements Move {
         boolean repair = true;
         if(solutions > 0
                 // the second condition is only here for intiale calls, when solutions is not already up to date
-                || solver.getSolutionCount() > 0) {
+                || solutionCount(solver) > 0) {
             // the detection of a new solution can only be met here
-            if (solutions < solver.getSolutionCount()) {
-                assert solutions == solver.getSolutionCount() - 1;
+            if (solutions < solutionCount(solver)) {
+                assert solutions == solutionCount(solver) - 1;
                 solutions++;
                 neighbor.recordSolution();
                 doRestart(solver);
@@ -263,12 +263,20 @@ public class MoveLNS implements Move {
         move.removeStrategy();
     }
 
+    /**
+     * @param solver SearchLoop
+     * @return the number of solutions the neighbor could have been built on
+     */
+    protected long solutionCount(Solver solver) {
+        return solver.getSolutionCount();
+    }
+
     /**
      * Extend the neighbor when conditions are met and do the restart
      *
      * @param solver SearchLoop
      */
-    private void doRestart(Solver solver) {
+    protected void doRestart(Solver solver) {
         if (!freshRestart) {
             neighbor.restrictLess();
         }
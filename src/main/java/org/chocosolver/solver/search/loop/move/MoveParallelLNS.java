@@ -0,0 +1,73 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.move;
+
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.search.limits.ICounter;
+import org.chocosolver.solver.search.loop.lns.SharedIncumbent;
+import org.chocosolver.solver.search.loop.lns.neighbors.INeighbor;
+
+/**
+ * A {@link MoveLNS} run by a worker of a parallel LNS.
+ * <p>
+ * As long as the worker has not found any solution on its own, it looks for the shared incumbent on each repair:
+ * once one is available, the worker restarts and relaxes it instead of carrying on its initial complete search.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class MoveParallelLNS extends MoveLNS {
+
+    /**
+     * The shared incumbent
+     */
+    private final SharedIncumbent shared;
+    /**
+     * Number of solutions found by other workers and loaded
+     */
+    private long imported;
+
+    /**
+     * Create a move which defines the Large Neighborhood Search of a worker.
+     *
+     * @param move           how the subtree is explored
+     * @param neighbor       how the fragment are computed
+     * @param restartCounter when a restart should occur
+     * @param shared         the incumbent shared by workers
+     */
+    public MoveParallelLNS(Move move, INeighbor neighbor, ICounter restartCounter, SharedIncumbent shared) {
+        super(move, neighbor, restartCounter);
+        this.shared = shared;
+    }
+
+    @Override
+    public boolean repair(Solver solver) {
+        if (solutions == 0 && solver.getSolutionCount() == 0) {
+            Solution incumbent = shared.getIncumbent();
+            if (incumbent != null) {
+                neighbor.loadFromSolution(incumbent);
+                imported++;
+                solutions++;
+                doRestart(solver);
+                return true;
+            }
+        }
+        return super.repair(solver);
+    }
+
+    @Override
+    protected long solutionCount(Solver solver) {
+        return solver.getSolutionCount() + imported;
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.move;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.strategy.assignments.DecisionOperator;
+import org.chocosolver.solver.search.strategy.decision.Decision;
+import org.chocosolver.solver.search.strategy.decision.DecisionPath;
+import org.chocosolver.solver.search.strategy.decision.IntDecision;
+import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+
+import java.util.Arrays;
+
+/**
+ * A move dedicated to run a Depth First Search with binary decisions, in parallel with other workers.
+ * <p>
+ * Each worker explores its own model, all models being identical,
+ * and all workers share a {@link WorkStealingPool}.
+ * When a worker has nothing more to explore, it waits for a branch in the pool.
+ * A busy worker, when extending its decision path while another worker is waiting,
+ * gives away the top-most open right branch of its decision path:
+ * the decision is made non-refutable and its refutation, preceded by the decisions above it,
+ * is put in the pool.
+ * The idle worker then replays this prefix of decisions, as a single decision at root node, on its own model.
+ * </p>
+ * <p>
+ * Only branches made of {@link IntDecision}s can be given away.
+ * Restarts are not supported.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class MoveWorkStealing extends MoveBinaryDFS {
+
+    /**
+     * The pool shared by all workers
+     */
+    private final WorkStealingPool pool;
+
+    /**
+     * Branch being explored
+     */
+    private WorkStealingPool.Task current;
+
+    /**
+     * Binds variable id to integer variable
+     */
+    private IntVar[] id2var = new IntVar[0];
+
+    /**
+     * Create this move with a search strategy
+     *
+     * @param strategy a search strategy, may be <tt>null</tt>
+     * @param pool     the pool shared by all workers
+     */
+    public MoveWorkStealing(AbstractStrategy strategy, WorkStealingPool pool) {
+        super(strategy);
+        this.pool = pool;
+    }
+
+    @Override
+    public boolean extend(Solver solver) {
+        DecisionPath path = solver.getDecisionPath();
+        if (path.size() == 1) {
+            path.pushDecision(new BranchDecision(solver.getModel()));
+            solver.getEnvironment().worldPush();
+            return true;
+        }
+        if (pool.isHungry()) {
+            giveAway(path);
+        }
+        return super.extend(solver);
+    }
+
+    /**
+     * Make the top-most refutable decision of <i>path</i> non-refutable and put its refutation in the pool.
+     *
+     * @param path the current decision path, its decision at position 1 being a {@link BranchDecision}
+     */
+    @SuppressWarnings("unchecked")
+    private void giveAway(DecisionPath path) {
+        int size = path.size();
+        int p = 2;
+        while (p < size && path.getDecision(p) instanceof IntDecision
+                && !(path.getDecision(p).getArity() == 2 && path.getDecision(p).triesLeft() == 1)) {
+            p++;
+        }
+        if (p == size || !(path.getDecision(p) instanceof IntDecision)) {
+            return;
+        }
+        int n = current.ids.length;
+        int m = n + p - 1;
+        int[] ids = Arrays.copyOf(current.ids, m);
+        int[] values = Arrays.copyOf(current.values, m);
+        DecisionOperator<IntVar>[] operators = Arrays.copyOf(current.operators, m);
+        boolean[] refuted = Arrays.copyOf(current.refuted, m);
+        for (int i = 2; i <= p; i++) {
+            IntDecision d = (IntDecision) path.getDecision(i);
+            int k = n + i - 2;
+            ids[k] = d.getDecisionVariable().getId();
+            values[k] = d.getDecisionValue();
+            operators[k] = d.getDecOp();
+            refuted[k] = i == p || d.triesLeft() == 0 && d.getArity() == 2;
+        }
+        path.getDecision(p).setRefutable(false);
+        pool.give(new WorkStealingPool.Task(ids, values, operators, refuted));
+    }
+
+    /**
+     * @param model the model explored by this worker
+     * @param id    a variable id
+     * @return the integer variable of <i>model</i> whose id is <i>id</i>
+     */
+    private IntVar getVar(Model model, int id) {
+        if (id >= id2var.length) {
+            Variable[] vars = model.getVars();
+            int max = id;
+            for (Variable v : vars) {
+                max = Math.max(max, v.getId());
+            }
+            id2var = new IntVar[max + 1];
+            for (Variable v : vars) {
+                int kind = v.getTypeAndKind() & Variable.KIND;
+                if (kind == Variable.INT || kind == Variable.BOOL) {
+                    id2var[v.getId()] = (IntVar) v;
+                }
+            }
+        }
+        return id2var[id];
+    }
+
+    /**
+     * The decision at root node which applies, on each branch, a branch taken from the pool.
+     * When the search is over, it fails and cannot be refuted anymore, which ends the search of the worker.
+     */
+    private final class BranchDecision extends Decision<IntVar> {
+
+        private final Model model;
+
+        BranchDecision(Model model) {
+            super(Integer.MAX_VALUE);
+            this.model = model;
+        }
+
+        @Override
+        public void apply() throws ContradictionException {
+            current = pool.take();
+            if (current == null) {
+                max_branching = branch;
+                model.getSolver().throwsException(this, null, "no more branch");
+            } else {
+                for (int i = 0; i < current.ids.length; i++) {
+                    IntVar var = getVar(model, current.ids[i]);
+                    if (current.refuted[i]) {
+                        current.operators[i].unapply(var, current.values[i], this);
+                    } else {
+                        current.operators[i].apply(var, current.values[i], this);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public Object getDecisionValue() {
+            return current;
+        }
+
+        @Override
+        public void free() {
+            // nothing to do
+        }
+
+        @Override
+        public String toString() {
+            return "branch of depth " + (current == null ? 0 : current.ids.length);
+        }
+    }
+}
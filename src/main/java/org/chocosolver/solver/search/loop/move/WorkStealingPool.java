@@ -0,0 +1,164 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.move;
+
+import org.chocosolver.solver.search.strategy.assignments.DecisionOperator;
+import org.chocosolver.solver.variables.IntVar;
+
+import java.util.ArrayDeque;
+
+/**
+ * The pool shared by the workers of a parallel tree search based on {@link MoveWorkStealing}.
+ * <p>
+ * It stores the open branches given by busy workers to idle ones, and detects termination:
+ * the search is over as soon as every worker is idle and no branch remains to be explored.
+ * Initially, the pool contains the root node only.
+ * </p>
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class WorkStealingPool {
+
+    /**
+     * Open branches to explore, FIFO
+     */
+    private final ArrayDeque<Task> tasks;
+
+    /**
+     * Number of workers still running
+     */
+    private int active;
+
+    /**
+     * Number of workers waiting for a branch
+     */
+    private int idle;
+
+    /**
+     * Set to <tt>true</tt> when no more branch will be given
+     */
+    private boolean terminated;
+
+    /**
+     * Number of branches requested and not given yet, read by busy workers
+     */
+    private volatile int requests;
+
+    /**
+     * Number of branches given
+     */
+    private int steals;
+
+    /**
+     * Create a pool for <i>nbWorkers</i> workers
+     *
+     * @param nbWorkers number of workers sharing the search tree
+     */
+    @SuppressWarnings("unchecked")
+    public WorkStealingPool(int nbWorkers) {
+        this.tasks = new ArrayDeque<>();
+        this.tasks.add(new Task(new int[0], new int[0], new DecisionOperator[0], new boolean[0]));
+        this.active = nbWorkers;
+    }
+
+    /**
+     * @return <tt>true</tt> if at least one worker waits for a branch
+     */
+    boolean isHungry() {
+        return requests > 0;
+    }
+
+    /**
+     * Give a branch to an idle worker
+     *
+     * @param task the branch
+     */
+    synchronized void give(Task task) {
+        tasks.addLast(task);
+        steals++;
+        updateRequests();
+        notifyAll();
+    }
+
+    /**
+     * Wait for a branch to explore.
+     *
+     * @return a branch, or <tt>null</tt> if the search is over
+     */
+    synchronized Task take() {
+        idle++;
+        updateRequests();
+        try {
+            while (tasks.isEmpty() && !terminated) {
+                if (idle == active) {
+                    terminated = true;
+                    notifyAll();
+                } else {
+                    wait();
+                }
+            }
+            return terminated ? null : tasks.pollFirst();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            idle--;
+            updateRequests();
+        }
+    }
+
+    /**
+     * Declare that a worker stops running
+     */
+    public synchronized void retire() {
+        active--;
+        notifyAll();
+    }
+
+    /**
+     * Stop the search: all waiting workers are released
+     */
+    public synchronized void terminate() {
+        terminated = true;
+        notifyAll();
+    }
+
+    /**
+     * @return the number of branches given by a worker to another one
+     */
+    public synchronized int getStealCount() {
+        return steals;
+    }
+
+    private void updateRequests() {
+        requests = Math.max(0, idle - tasks.size());
+    }
+
+    /**
+     * A branch of the search tree, defined by a sequence of applied or refuted decisions from the root node.
+     * Variables are referred by their id.
+     */
+    static final class Task {
+        final int[] ids;
+        final int[] values;
+        final DecisionOperator<IntVar>[] operators;
+        final boolean[] refuted;
+
+        Task(int[] ids, int[] values, DecisionOperator<IntVar>[] operators, boolean[] refuted) {
+            this.ids = ids;
+            this.values = values;
+            this.operators = operators;
+            this.refuted = refuted;
+        }
+    }
+}
@@ -22,6 +22,7 @@ import javax.swing.WindowConstants;
 import org.chocosolver.solver.ISelf;
 import org.chocosolver.solver.Solution;
 import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.propagation.PropagationProfiler;
 import org.chocosolver.solver.search.loop.monitors.IMonitorClose;
 import org.chocosolver.solver.search.loop.monitors.IMonitorContradiction;
 import org.chocosolver.solver.search.loop.monitors.IMonitorDownBranch;
@@ -183,6 +184,68 @@ public interface IOutputFactory extends ISelf<Solver> {
         Runtime.getRuntime().addShutdownHook(new Thread(()-> ref().printShortStatistics()));
     }
 
+    /**
+     * Plug a profiler in the propagation engine, if not already done, which records for each propagator
+     * its number of executions, the time spent in it, the number of domain reductions it caused
+     * and the number of contradictions it raised.
+     * <p>
+     * Recommended usage: to be called before the resolution step.
+     * @return the profiler plugged in the propagation engine
+     * @see #printPropagationProfile()
+     */
+    default PropagationProfiler profilePropagation() {
+        PropagationProfiler profiler = ref().getEngine().getProfiler();
+        if (profiler == null) {
+            profiler = new PropagationProfiler();
+            ref().getEngine().setProfiler(profiler);
+        }
+        return profiler;
+    }
+
+    /**
+     * Output the propagation profile, per class of propagators then for the ten most time-consuming propagators.
+     * Nothing is printed when {@link #profilePropagation()} has not been called.
+     * <p>
+     * Recommended usage: to be called after the resolution step.
+     */
+    default void printPropagationProfile() {
+        PropagationProfiler profiler = ref().getEngine().getProfiler();
+        if (profiler != null) {
+            getOut().print(profiler.toString());
+        }
+    }
+
+    /**
+     * Output the propagation profile per class of propagators in a comma-separated format.
+     * The header is:
+     * <pre>
+     *     name;instances;calls;time(sec);reductions;fails;
+     * </pre>
+     * Nothing is printed when {@link #profilePropagation()} has not been called.
+     */
+    default void printCSVPropagationProfile() {
+        PropagationProfiler profiler = ref().getEngine().getProfiler();
+        if (profiler != null) {
+            getOut().print(PropagationProfiler.toCSV(profiler.getClassEntries()));
+        }
+    }
+
+    /**
+     * Plug a profiler in the propagation engine (see {@link #profilePropagation()})
+     * and a search monitor which calls {@link #printPropagationProfile()} after closing the search.
+     * <p>
+     * Recommended usage: to be called before the resolution step.
+     */
+    default void showPropagationProfile() {
+        profilePropagation();
+        ref().plugMonitor(new IMonitorClose() {
+            @Override
+            public void afterClose() {
+                printPropagationProfile();
+            }
+        });
+    }
+
 
     /**
      * Plug a search monitor which outputs {@code message} on each solution.
@@ -244,6 +244,9 @@ public interface IVariableFactory extends ISelf<Model> {
      */
     default IntVar intVar(String name, int lb, int ub) {
         boolean bounded = ub - lb + 1 >= ref().getSettings().getMaxDomSizeForEnumerated();
+        if (!bounded && ub - lb + 1 >= ref().getSettings().getMinDomSizeForSparseSet()) {
+            return sparseIntVar(name, lb, ub);
+        }
         return intVar(name, lb, ub, bounded);
     }
 
@@ -263,7 +266,9 @@ public interface IVariableFactory extends ISelf<Model> {
             return boolVar(name);
         } else {
             int gap = values[values.length - 1] - values[0];
-            if (gap > 30 && gap / values.length > 5) {
+            if (values.length >= ref().getSettings().getMinDomSizeForSparseSet()) {
+                return new SparseSetIntVarImpl(name, values, ref());
+            } else if (gap > 30 && gap / values.length > 5) {
                 return new BitsetArrayIntVarImpl(name, values, ref());
             } else {
                 return new BitsetIntVarImpl(name, values, ref());
@@ -271,6 +276,46 @@ public interface IVariableFactory extends ISelf<Model> {
         }
     }
 
+    /**
+     * Create an integer variable of initial domain [<i>lb</i>, <i>ub</i>], based on a reversible sparse set.
+     * Such a domain supports holes and is fitted for large domains which shrink fast,
+     * since its values are iterated in time linear in the current domain size.
+     * @param name name of the variable
+     * @param lb initial domain lower bound
+     * @param ub initial domain upper bound
+     * @return an IntVar of domain [<i>lb</i>, <i>ub</i>]
+     */
+    default IntVar sparseIntVar(String name, int lb, int ub) {
+        checkIntDomainRange(name, lb, ub);
+        if (lb == ub) {
+            return intVar(name, lb);
+        } else if (lb == 0 && ub == 1) {
+            return boolVar(name);
+        } else {
+            return new SparseSetIntVarImpl(name, lb, ub, ref());
+        }
+    }
+
+    /**
+     * Create an integer variable of initial domain <i>values</i>, based on a reversible sparse set.
+     * Such a domain supports holes and is fitted for large domains which shrink fast,
+     * since its values are iterated in time linear in the current domain size.
+     * @param name name of the variable
+     * @param values initial domain
+     * @return an IntVar of domain <i>values</i>
+     */
+    default IntVar sparseIntVar(String name, int[] values) {
+        values = ArrayUtils.mergeAndSortIfNot(values.clone());
+        checkIntDomainRange(name, values[0], values[values.length - 1]);
+        if (values.length == 1) {
+            return intVar(name, values[0]);
+        } else if (values.length == 2 && values[0] == 0 && values[1] == 1) {
+            return boolVar(name);
+        } else {
+            return new SparseSetIntVarImpl(name, values, ref());
+        }
+    }
+
     // ARRAY
 
     /**
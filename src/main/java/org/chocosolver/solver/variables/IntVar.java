@@ -16,6 +16,7 @@ import org.chocosolver.solver.variables.delta.IIntDeltaMonitor;
 import org.chocosolver.solver.variables.events.IEventType;
 import org.chocosolver.util.iterators.DisposableRangeIterator;
 import org.chocosolver.util.iterators.DisposableValueIterator;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableSet;
 
 import java.util.function.Consumer;
@@ -119,6 +120,31 @@ public interface IntVar extends ICause, Variable, Iterable<Integer>, ArExpressio
      */
     boolean removeInterval(int from, int to, ICause cause) throws ContradictionException;
 
+    /**
+     * Removes all values from the domain of <code>this</code> except those in <code>mask</code>.
+     * The value <code>offset + j</code> is kept if the bit <code>j</code> of <code>mask</code> is on,
+     * that is, if <code>(mask[j / 64] &amp; (1L &lt;&lt; j)) != 0</code>.
+     * This behaves like {@link #removeAllValuesBut(IntIterableSet, ICause)}, but domains based on bit sets
+     * may intersect their words with the mask directly.
+     *
+     * @param mask   words of values to keep
+     * @param offset value of the first bit of <code>mask</code>
+     * @param cause  removal release
+     * @return true if a at least a value has been removed, false otherwise
+     * @throws ContradictionException if the domain become empty due to this action
+     */
+    default boolean removeAllValuesBut(long[] mask, int offset, ICause cause) throws ContradictionException {
+        IntIterableRangeSet values = new IntIterableRangeSet();
+        for (int w = 0; w < mask.length; w++) {
+            long word = mask[w];
+            while (word != 0) {
+                values.add(offset + w * 64 + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return removeAllValuesBut(values, cause);
+    }
+
     /**
      * Instantiates the domain of <code>this</code> to <code>value</code>. The instruction comes from <code>propagator</code>.
      * <ul>
@@ -246,6 +272,29 @@ public interface IntVar extends ICause, Variable, Iterable<Integer>, ArExpressio
      */
     int getDomainSize();
 
+    /**
+     * Returns the number of values of this domain in [<code>from</code>, <code>to</code>].
+     *
+     * @param from lower bound of the interval (inclusive)
+     * @param to   upper bound of the interval (inclusive)
+     * @return number of values of the domain in the interval
+     */
+    default int countValues(int from, int to) {
+        from = Math.max(from, getLB());
+        to = Math.min(to, getUB());
+        if (from > to) {
+            return 0;
+        }
+        if (!hasEnumeratedDomain()) {
+            return to - from + 1;
+        }
+        int count = 0;
+        for (int v = nextValue(from - 1); v <= to; v = nextValue(v)) {
+            count++;
+        }
+        return count;
+    }
+
 
     /**
      * Returns the range of this domain, that is, the difference between the upper bound and the lower bound.
@@ -15,11 +15,14 @@ import org.chocosolver.solver.Identity;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.exception.SolverException;
 import org.chocosolver.solver.variables.delta.IDelta;
 import org.chocosolver.solver.variables.events.IEventType;
 import org.chocosolver.solver.variables.view.IView;
 import org.chocosolver.util.iterators.EvtScheduler;
 
+import java.util.Map;
+
 /**
  *
  * To developers: any constructor of variable must pass in parameter
@@ -362,4 +365,18 @@ public interface Variable extends Identity, Comparable<Variable> {
      * if differents causes modified this variable (this may happen when a view refers to this).
      */
     ICause getCause();
+
+    /**
+     * Creates, in <i>model</i>, a copy of this variable with the same name and the same current domain.
+     * The variables this one depends on (e.g., the one observed by a view) are already copied.
+     * Should not be called by the user, see {@link Model#copy()}.
+     *
+     * @param model  the model to declare the copy in
+     * @param copies maps the objects of the original model already copied to their copies
+     * @return a copy of this variable
+     * @throws SolverException if this variable does not support copy
+     */
+    default Variable copy(Model model, Map<Object, Object> copies) {
+        throw new SolverException(getClass().getSimpleName() + " " + getName() + " cannot be copied");
+    }
 }
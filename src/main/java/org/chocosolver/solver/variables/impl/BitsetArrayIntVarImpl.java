@@ -31,8 +31,10 @@ import org.chocosolver.util.iterators.EvtScheduler;
 import org.chocosolver.util.iterators.IntVarValueIterator;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableSet;
 import org.chocosolver.util.tools.ArrayUtils;
+import org.chocosolver.util.tools.VariableUtils;
 
 import java.util.Iterator;
+import java.util.Map;
 
 /**
  * <br/>IntVar implementation for quite small domains bit with very distant values e.g. {-51900,42,235923}
@@ -759,6 +761,11 @@ public final class BitsetArrayIntVarImpl extends AbstractVariable implements Int
         return VAR | INT;
     }
 
+    @Override
+    public IntVar copy(Model model, Map<Object, Object> copies) {
+        return new BitsetArrayIntVarImpl(getName(), VariableUtils.values(this), model);
+    }
+
     @Override
     protected EvtScheduler createScheduler() {
         return new IntEvtScheduler();
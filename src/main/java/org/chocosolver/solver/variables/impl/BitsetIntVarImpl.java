@@ -15,6 +15,7 @@ import org.chocosolver.memory.IStateInt;
 import org.chocosolver.solver.ICause;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.learn.AbstractEventObserver;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.delta.EnumDelta;
 import org.chocosolver.solver.variables.delta.IEnumDelta;
@@ -28,8 +29,10 @@ import org.chocosolver.util.iterators.DisposableValueIterator;
 import org.chocosolver.util.iterators.EvtScheduler;
 import org.chocosolver.util.iterators.IntVarValueIterator;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableSet;
+import org.chocosolver.util.tools.VariableUtils;
 
 import java.util.Iterator;
+import java.util.Map;
 
 /**
  * <br/>
@@ -233,6 +236,56 @@ public final class BitsetIntVarImpl extends AbstractVariable implements IntVar {
         return hasRemoved || hasChanged;
     }
 
+    /**
+     * @return <i>true</i> if removals do not need to be explained
+     */
+    private boolean isSilent() {
+        return model.getSolver().getEventObserver() == AbstractEventObserver.SILENT_OBSERVER;
+    }
+
+    @Override
+    public boolean removeAllValuesBut(long[] mask, int offset, ICause cause) throws ContradictionException {
+        assert cause != null;
+        if (reactOnRemoval || !isSilent()) {
+            // the iteration is mandatory for delta and observers
+            return IntVar.super.removeAllValuesBut(mask, offset, cause);
+        }
+        int count = SIZE.get();
+        VALUES.and(mask, offset - OFFSET);
+        int ncount = VALUES.cardinality();
+        if (ncount == count) {
+            return false;
+        }
+        if (ncount == 0) {
+            this.contradiction(cause, MSG_EMPTY);
+        }
+        IntEventType e = IntEventType.REMOVE;
+        if (!VALUES.get(LB.get())) {
+            LB.set(VALUES.nextSetBit(LB.get()));
+            e = IntEventType.INCLOW;
+        }
+        if (!VALUES.get(UB.get())) {
+            UB.set(VALUES.prevSetBit(UB.get()));
+            e = e == IntEventType.INCLOW ? IntEventType.BOUND : IntEventType.DECUPP;
+        }
+        if (ncount == 1) {
+            e = IntEventType.INSTANTIATE;
+        }
+        SIZE.set(ncount);
+        this.notifyPropagators(e, cause);
+        return true;
+    }
+
+    @Override
+    public int countValues(int from, int to) {
+        from = Math.max(from, getLB());
+        to = Math.min(to, getUB());
+        if (from > to) {
+            return 0;
+        }
+        return VALUES.cardinality(from - OFFSET, to - OFFSET + 1);
+    }
+
     private void notifyRemovals(int count, ICause cause) throws ContradictionException {
         SIZE.set(count);
         IntEventType e = IntEventType.REMOVE;
@@ -316,6 +369,16 @@ public final class BitsetIntVarImpl extends AbstractVariable implements IntVar {
             else if (getUB() <= to)
                 return updateUpperBound(from - 1, cause);
             else {
+                if (!reactOnRemoval && isSilent()) {
+                    // no one looks at removed values: clear words at once
+                    int removed = VALUES.cardinality(from - OFFSET, to - OFFSET + 1);
+                    if (removed > 0) {
+                        VALUES.clear(from - OFFSET, to - OFFSET + 1);
+                        SIZE.add(-removed);
+                        this.notifyPropagators(IntEventType.REMOVE, cause);
+                    }
+                    return removed > 0;
+                }
                 boolean anyChange = false;
                 int i = VALUES.nextSetBit(from - OFFSET);
                 to -= OFFSET;
@@ -422,10 +485,10 @@ public final class BitsetIntVarImpl extends AbstractVariable implements IntVar {
                             delta.add(i + OFFSET, cause);
                         }
                     }
+                    SIZE.add(-VALUES.cardinality(old - OFFSET, aValue));
                     VALUES.clear(old - OFFSET, aValue);
                     LB.set(VALUES.nextSetBit(aValue));
-                    assert SIZE.get() > VALUES.cardinality();
-                    SIZE.set(VALUES.cardinality());
+                    assert SIZE.get() == VALUES.cardinality();
                     if (isInstantiated()) {
                         e = IntEventType.INSTANTIATE;
                     }
@@ -472,10 +535,10 @@ public final class BitsetIntVarImpl extends AbstractVariable implements IntVar {
                             delta.add(i + OFFSET, cause);
                         }
                     }
+                    SIZE.add(-VALUES.cardinality(aValue + 1, oub - OFFSET + 1));
                     VALUES.clear(aValue + 1, oub - OFFSET + 1);
                     UB.set(VALUES.prevSetBit(aValue));
-                    assert SIZE.get() > VALUES.cardinality();
-                    SIZE.set(VALUES.cardinality());
+                    assert SIZE.get() == VALUES.cardinality();
                     if (isInstantiated()) {
                         e = IntEventType.INSTANTIATE;
                     }
@@ -507,10 +570,10 @@ public final class BitsetIntVarImpl extends AbstractVariable implements IntVar {
                             delta.add(i + OFFSET, cause);
                         }
                     }
+                    SIZE.add(-VALUES.cardinality(olb - OFFSET, aLB));
                     VALUES.clear(olb - OFFSET, aLB);
                     olb = VALUES.nextSetBit(aLB); // olb is used as a temporary variable
                     LB.set(olb);
-                    SIZE.set(VALUES.cardinality());
                     olb += OFFSET; // required because we will treat upper bound just after
                 }
                 if (olb > ub) {
@@ -526,9 +589,9 @@ public final class BitsetIntVarImpl extends AbstractVariable implements IntVar {
                             delta.add(i + OFFSET, cause);
                         }
                     }
+                    SIZE.add(-VALUES.cardinality(aUB + 1, oub - OFFSET + 1));
                     VALUES.clear(aUB + 1, oub - OFFSET + 1);
                     UB.set(VALUES.prevSetBit(aUB));
-                    SIZE.set(VALUES.cardinality());
                 }
                 if (isInstantiated()) {
                     e = IntEventType.INSTANTIATE;
@@ -696,6 +759,11 @@ public final class BitsetIntVarImpl extends AbstractVariable implements IntVar {
             return VAR | INT;
         }
 
+        @Override
+        public IntVar copy (Model model, Map<Object, Object> copies){
+            return new BitsetIntVarImpl(getName(), VariableUtils.values(this), model);
+        }
+
         @Override
         protected EvtScheduler createScheduler () {
             return new IntEvtScheduler();
@@ -31,6 +31,7 @@ import org.chocosolver.util.iterators.IntVarValueIterator;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableSet;
 
 import java.util.Iterator;
+import java.util.Map;
 
 /**
  * <br/>
@@ -430,6 +431,14 @@ public class BoolVarImpl extends AbstractVariable implements BoolVar {
         return VAR | BOOL;
     }
 
+    @Override
+    public BoolVar copy(Model model, Map<Object, Object> copies) {
+        BoolVarImpl copy = new BoolVarImpl(getName(), model);
+        // the copy is at the root of its search tree, nothing to restore
+        copy.mValue = mValue;
+        return copy;
+    }
+
     @Override
     protected EvtScheduler createScheduler() {
         return new BoolEvtScheduler();
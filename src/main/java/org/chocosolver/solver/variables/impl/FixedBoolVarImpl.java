@@ -18,6 +18,8 @@ import org.chocosolver.solver.variables.impl.scheduler.BoolEvtScheduler;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.iterators.EvtScheduler;
 
+import java.util.Map;
+
 /**
  * A constant view specific to boolean variable
  * <p/>
@@ -41,6 +43,11 @@ public class FixedBoolVarImpl extends FixedIntVarImpl implements BoolVar {
         return Variable.BOOL | Variable.CSTE;
     }
 
+    @Override
+    public BoolVar copy(Model model, Map<Object, Object> copies) {
+        return new FixedBoolVarImpl(getName(), constante, model);
+    }
+
     @Override
     protected EvtScheduler createScheduler() {
         return new BoolEvtScheduler();
@@ -27,6 +27,7 @@ import org.chocosolver.util.iterators.IntVarValueIterator;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableSet;
 
 import java.util.Iterator;
+import java.util.Map;
 
 /**
  * A IntVar with one domain value.
@@ -280,6 +281,11 @@ public class FixedIntVarImpl extends AbstractVariable implements IntVar {
         return Variable.INT | Variable.CSTE;
     }
 
+    @Override
+    public IntVar copy(Model model, Map<Object, Object> copies) {
+        return new FixedIntVarImpl(getName(), constante, model);
+    }
+
     @Override
     protected EvtScheduler createScheduler() {
         return new IntEvtScheduler();
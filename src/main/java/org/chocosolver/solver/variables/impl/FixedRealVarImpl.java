@@ -20,6 +20,8 @@ import org.chocosolver.solver.variables.events.IEventType;
 import org.chocosolver.solver.variables.impl.scheduler.RealEvtScheduler;
 import org.chocosolver.util.iterators.EvtScheduler;
 
+import java.util.Map;
+
 /**
  *
  * <p>
@@ -113,6 +115,11 @@ public class FixedRealVarImpl extends AbstractVariable implements RealVar {
         return Variable.REAL | Variable.CSTE;
     }
 
+    @Override
+    public RealVar copy(Model model, Map<Object, Object> copies) {
+        return new FixedRealVarImpl(getName(), value, model);
+    }
+
     @Override
     protected EvtScheduler createScheduler() {
         return new RealEvtScheduler();
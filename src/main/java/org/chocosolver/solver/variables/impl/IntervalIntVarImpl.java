@@ -31,6 +31,7 @@ import org.chocosolver.util.iterators.IntVarValueIterator;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableSet;
 
 import java.util.Iterator;
+import java.util.Map;
 
 /**
  * <br/>
@@ -499,6 +500,11 @@ public final class IntervalIntVarImpl extends AbstractVariable implements IntVar
         return VAR | INT;
     }
 
+    @Override
+    public IntVar copy(Model model, Map<Object, Object> copies) {
+        return new IntervalIntVarImpl(getName(), getLB(), getUB(), model);
+    }
+
     @Override
     protected EvtScheduler createScheduler() {
         return new IntEvtScheduler();
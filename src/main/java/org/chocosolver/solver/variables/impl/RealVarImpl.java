@@ -20,6 +20,8 @@ import org.chocosolver.solver.variables.events.RealEventType;
 import org.chocosolver.solver.variables.impl.scheduler.RealEvtScheduler;
 import org.chocosolver.util.iterators.EvtScheduler;
 
+import java.util.Map;
+
 /**
  * An implementation of RealVar, variable for continuous constraints (solved using IBEX).
  * <br/>
@@ -155,6 +157,11 @@ public class RealVarImpl extends AbstractVariable implements RealVar {
         return VAR | REAL;
     }
 
+    @Override
+    public RealVar copy(Model model, Map<Object, Object> copies) {
+        return new RealVarImpl(getName(), getLB(), getUB(), precision, model);
+    }
+
     @Override
     protected EvtScheduler createScheduler() {
         return new RealEvtScheduler();
@@ -29,6 +29,8 @@ import org.chocosolver.util.objects.setDataStructures.SetFactory;
 import org.chocosolver.util.objects.setDataStructures.SetType;
 import org.chocosolver.util.objects.setDataStructures.Set_ReadOnly;
 
+import java.util.Map;
+
 /**
  * Set variable to represent a set of integers, i.e. a value is a set
  *
@@ -254,6 +256,14 @@ public class SetVarImpl extends AbstractVariable implements SetVar {
         return VAR | SET;
     }
 
+    @Override
+    public SetVar copy(Model model, Map<Object, Object> copies) {
+        if (lb == ub) {
+            return new SetVarImpl(getName(), lb.toArray(), model);
+        }
+        return new SetVarImpl(getName(), lb.toArray(), lb.getSetType(), ub.toArray(), ub.getSetType(), model);
+    }
+
     @Override
     protected EvtScheduler createScheduler() {
         return new SetEvtScheduler();
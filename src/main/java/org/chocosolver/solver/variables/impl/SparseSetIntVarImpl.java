@@ -0,0 +1,1051 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.variables.impl;
+
+import gnu.trove.map.hash.TIntIntHashMap;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.delta.EnumDelta;
+import org.chocosolver.solver.variables.delta.IEnumDelta;
+import org.chocosolver.solver.variables.delta.IIntDeltaMonitor;
+import org.chocosolver.solver.variables.delta.NoDelta;
+import org.chocosolver.solver.variables.delta.monitor.EnumDeltaMonitor;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.solver.variables.impl.scheduler.IntEvtScheduler;
+import org.chocosolver.util.iterators.DisposableRangeIterator;
+import org.chocosolver.util.iterators.DisposableValueIterator;
+import org.chocosolver.util.iterators.EvtScheduler;
+import org.chocosolver.util.iterators.IntVarValueIterator;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableSet;
+import org.chocosolver.util.tools.ArrayUtils;
+import org.chocosolver.util.tools.VariableUtils;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * <br/>IntVar implementation based on a reversible sparse set, for large domains which shrink fast.
+ * <p>
+ * The initial values are sorted and referred to by their index.
+ * The indices of the current values are stored in the prefix of a dense array, of which only the size is trailed:
+ * a value is removed in constant time by swapping its index with the last one of the prefix,
+ * and any number of removals are undone in constant time on backtrack.
+ * Values can then be visited in time linear in the current domain size, whatever the holes are.
+ * The bounds are trailed too, so that they remain available in constant time.
+ * </p>
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public final class SparseSetIntVarImpl extends AbstractVariable implements IntVar {
+
+    /**
+     * When the number of initial values between the bounds is less than this factor times the domain size,
+     * ordered visits walk through the indices, otherwise the current indices are sorted.
+     */
+    private static final int DENSITY = 8;
+
+    /**
+     * Valuated to <tt>true</tt> when removed values are stored.
+     */
+    private boolean reactOnRemoval = false;
+
+    /**
+     * Array of initial domain values, sorted
+     */
+    private final int[] VALUES;
+
+    /**
+     * Value to index in {@link #VALUES} mapping, <tt>null</tt> when initial values are consecutive
+     */
+    private final TIntIntHashMap V2I;
+
+    /**
+     * Indices of the values, those of the current domain are in [0, {@link #SIZE}[
+     */
+    private final int[] DENSE;
+
+    /**
+     * Position of each index in {@link #DENSE}
+     */
+    private final int[] POSITIONS;
+
+    /**
+     * Index of the lower bound of the current domain
+     */
+    private final IStateInt LB;
+    /**
+     * Index of the upper bound of the current domain
+     */
+    private final IStateInt UB;
+    /**
+     * Size of the current domain
+     */
+    private final IStateInt SIZE;
+
+    /**
+     * Number of initial values
+     */
+    private final int LENGTH;
+
+    /**
+     * Delta object to store removed values
+     */
+    private IEnumDelta delta = NoDelta.singleton;
+
+    /**
+     * Disposable values iterator
+     */
+    private DisposableValueIterator _viterator;
+
+    /**
+     * Disposable ranges iterator
+     */
+    private DisposableRangeIterator _riterator;
+
+    /**
+     * Value iterator allowing for(int i:this) loops
+     */
+    private IntVarValueIterator _javaIterator;
+
+    //////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates an {@link IntVar} based on a sparse set of the values in [<i>min</i>, <i>max</i>].
+     *
+     * @param name  name of the variable
+     * @param min   initial lower bound
+     * @param max   initial upper bound
+     * @param model the model to declare this variable in
+     */
+    public SparseSetIntVarImpl(String name, int min, int max, Model model) {
+        this(name, ArrayUtils.array(min, max), model);
+    }
+
+    /**
+     * Creates an {@link IntVar} based on a sparse set of ordered values.
+     *
+     * @param name         name of the variable
+     * @param sortedValues domain values
+     * @param model        the model to declare this variable in
+     */
+    public SparseSetIntVarImpl(String name, int[] sortedValues, Model model) {
+        super(name, model);
+        IEnvironment env = this.model.getEnvironment();
+        this.LENGTH = sortedValues.length;
+        this.VALUES = sortedValues.clone();
+        if (VALUES[LENGTH - 1] - VALUES[0] + 1 == LENGTH) {
+            this.V2I = null;
+        } else {
+            this.V2I = new TIntIntHashMap(LENGTH, .5f, Integer.MIN_VALUE, -1);
+            for (int i = 0; i < LENGTH; i++) {
+                V2I.put(VALUES[i], i);
+            }
+        }
+        this.DENSE = new int[LENGTH];
+        this.POSITIONS = new int[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            DENSE[i] = i;
+            POSITIONS[i] = i;
+        }
+        this.LB = env.makeInt(0);
+        this.UB = env.makeInt(LENGTH - 1);
+        this.SIZE = env.makeInt(LENGTH);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @param value a value
+     * @return the index of <i>value</i> in {@link #VALUES}, or -1 if it is not an initial value
+     */
+    private int indexOf(int value) {
+        if (value < VALUES[0] || value > VALUES[LENGTH - 1]) {
+            return -1;
+        }
+        return V2I == null ? value - VALUES[0] : V2I.get(value);
+    }
+
+    /**
+     * Moves <i>index</i> at position <i>pos</i> in {@link #DENSE}, and the index at that position where
+     * <i>index</i> was.
+     */
+    private void moveTo(int index, int pos) {
+        int from = POSITIONS[index];
+        int other = DENSE[pos];
+        DENSE[from] = other;
+        POSITIONS[other] = from;
+        DENSE[pos] = index;
+        POSITIONS[index] = pos;
+    }
+
+    /**
+     * @param from first index to consider
+     * @param to   last index to consider
+     * @param size size of the domain
+     * @return the smallest index of the domain in [<i>from</i>, <i>to</i>], or -1 if none
+     */
+    private int nextIndex(int from, int to, int size) {
+        // walk through, at most, as many indices as the domain size
+        int last = Math.min(to, from + size);
+        for (; from <= last; from++) {
+            if (POSITIONS[from] < size) {
+                return from;
+            }
+        }
+        int next = -1;
+        if (from <= to) {
+            for (int k = 0; k < size; k++) {
+                int i = DENSE[k];
+                if (i >= from && i <= to && (next == -1 || i < next)) {
+                    next = i;
+                }
+            }
+        }
+        return next;
+    }
+
+    /**
+     * @param from last index to consider
+     * @param to   first index to consider
+     * @param size size of the domain
+     * @return the largest index of the domain in [<i>to</i>, <i>from</i>], or -1 if none
+     */
+    private int prevIndex(int from, int to, int size) {
+        // walk through, at most, as many indices as the domain size
+        int last = Math.max(to, from - size);
+        for (; from >= last; from--) {
+            if (POSITIONS[from] < size) {
+                return from;
+            }
+        }
+        int prev = -1;
+        if (from >= to) {
+            for (int k = 0; k < size; k++) {
+                int i = DENSE[k];
+                if (i >= to && i <= from && i > prev) {
+                    prev = i;
+                }
+            }
+        }
+        return prev;
+    }
+
+    /**
+     * Removes from the domain all the indices in [<i>from</i>, <i>to</i>],
+     * either by walking through these indices or by scanning the current ones, whichever is the smallest.
+     *
+     * @param from    first index to remove
+     * @param to      last index to remove
+     * @param size    size of the domain
+     * @param observe set to <tt>true</tt> to declare each removal to the event observer
+     * @param cause   removal releaser
+     * @return the new size of the domain
+     */
+    private int removeIndices(int from, int to, int size, boolean observe, ICause cause) {
+        if (to - from < size) {
+            for (int i = from; i <= to; i++) {
+                if (POSITIONS[i] < size) {
+                    size = removeIndex(i, size, observe, cause);
+                }
+            }
+        } else {
+            int k = 0;
+            while (k < size) {
+                int i = DENSE[k];
+                if (i >= from && i <= to) {
+                    size = removeIndex(i, size, observe, cause);
+                } else {
+                    k++;
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Removes <i>index</i> from the domain, its size is not updated.
+     *
+     * @return the new size of the domain
+     */
+    private int removeIndex(int index, int size, boolean observe, ICause cause) {
+        moveTo(index, --size);
+        if (reactOnRemoval) {
+            delta.add(VALUES[index], cause);
+        }
+        if (observe) {
+            model.getSolver().getEventObserver().removeValue(this, VALUES[index], cause);
+        }
+        return size;
+    }
+
+    /**
+     * Removes {@code value}from the domain of {@code this}. The instruction comes from {@code propagator}.
+     * <ul>
+     * <li>If {@code value} is out of the domain, nothing is done and the return value is {@code false},</li>
+     * <li>if removing {@code value} leads to a dead-end (domain wipe-out),
+     * a {@code ContradictionException} is thrown,</li>
+     * <li>otherwise, if removing {@code value} from the domain can be done safely,
+     * the event type is created (the original event can be promoted) and observers are notified
+     * and the return value is {@code true}</li>
+     * </ul>
+     *
+     * @param value value to remove from the domain (int)
+     * @param cause removal releaser
+     * @return true if the value has been removed, false otherwise
+     * @throws ContradictionException if the domain become empty due to this action
+     */
+    @Override
+    public boolean removeValue(int value, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int index = indexOf(value);
+        int size = SIZE.get();
+        if (index > -1 && POSITIONS[index] < size) {
+            if (size == 1) {
+                model.getSolver().getEventObserver().removeValue(this, value, cause);
+                this.contradiction(cause, MSG_REMOVE);
+            }
+            IntEventType e = IntEventType.REMOVE;
+            size = removeIndex(index, size, false, cause);
+            SIZE.set(size);
+            int lb = LB.get();
+            int ub = UB.get();
+            if (index == lb) {
+                LB.set(nextIndex(lb + 1, ub, size));
+                e = IntEventType.INCLOW;
+            } else if (index == ub) {
+                UB.set(prevIndex(ub - 1, lb, size));
+                e = IntEventType.DECUPP;
+            }
+            if (size == 1) {
+                e = IntEventType.INSTANTIATE;
+            }
+            model.getSolver().getEventObserver().removeValue(this, value, cause);
+            this.notifyPropagators(e, cause);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean removeValues(IntIterableSet values, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int size = SIZE.get();
+        int lb = LB.get();
+        int ub = UB.get();
+        int count = size;
+        boolean lbRemoved = false, ubRemoved = false;
+        if (values.size() < size) {
+            // iterate over the values to remove
+            int to = VALUES[ub];
+            for (int value = values.nextValue(VALUES[lb] - 1); value <= to; value = values.nextValue(value)) {
+                int index = indexOf(value);
+                if (index > -1 && POSITIONS[index] < count) {
+                    if (count == 1) {
+                        model.getSolver().getEventObserver().removeValue(this, value, cause);
+                        this.contradiction(cause, MSG_REMOVE);
+                    }
+                    count = removeIndex(index, count, true, cause);
+                    lbRemoved |= index == lb;
+                    ubRemoved |= index == ub;
+                }
+            }
+        } else {
+            // iterate over the values in the domain
+            int k = 0;
+            while (k < count) {
+                int index = DENSE[k];
+                if (values.contains(VALUES[index])) {
+                    if (count == 1) {
+                        model.getSolver().getEventObserver().removeValue(this, VALUES[index], cause);
+                        this.contradiction(cause, MSG_REMOVE);
+                    }
+                    count = removeIndex(index, count, true, cause);
+                    lbRemoved |= index == lb;
+                    ubRemoved |= index == ub;
+                } else {
+                    k++;
+                }
+            }
+        }
+        if (count < size) {
+            notifyOnRemovals(count, lbRemoved, ubRemoved, cause);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean removeAllValuesBut(IntIterableSet values, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int size = SIZE.get();
+        int lb = LB.get();
+        int ub = UB.get();
+        int count = size;
+        boolean lbRemoved = false, ubRemoved = false;
+        // iterate over the values in the domain, remove the ones that are not in values
+        int k = 0;
+        while (k < count) {
+            int index = DENSE[k];
+            if (!values.contains(VALUES[index])) {
+                if (count == 1) {
+                    model.getSolver().getEventObserver().removeValue(this, VALUES[index], cause);
+                    this.contradiction(cause, MSG_REMOVE);
+                }
+                count = removeIndex(index, count, true, cause);
+                lbRemoved |= index == lb;
+                ubRemoved |= index == ub;
+            } else {
+                k++;
+            }
+        }
+        if (count < size) {
+            notifyOnRemovals(count, lbRemoved, ubRemoved, cause);
+            return true;
+        }
+        return false;
+    }
+
+    private void notifyOnRemovals(int count, boolean lbRemoved, boolean ubRemoved, ICause cause)
+            throws ContradictionException {
+        SIZE.set(count);
+        IntEventType e = IntEventType.REMOVE;
+        int lb = LB.get();
+        int ub = UB.get();
+        if (lbRemoved) {
+            lb = nextIndex(lb + 1, ub, count);
+            LB.set(lb);
+            e = IntEventType.INCLOW;
+        }
+        if (ubRemoved) {
+            UB.set(prevIndex(ub - 1, lb, count));
+            e = lbRemoved ? IntEventType.BOUND : IntEventType.DECUPP;
+        }
+        if (count == 1) {
+            e = IntEventType.INSTANTIATE;
+        }
+        this.notifyPropagators(e, cause);
+    }
+
+    @Override
+    public boolean removeInterval(int from, int to, ICause cause) throws ContradictionException {
+        assert cause != null;
+        if (from <= getLB())
+            return updateLowerBound(to + 1, cause);
+        else if (getUB() <= to)
+            return updateUpperBound(from - 1, cause);
+        else if (from <= to) {
+            // the interval is strictly between the bounds, which thus remain
+            int lb = LB.get();
+            int ub = UB.get();
+            int size = SIZE.get();
+            int i = ArrayUtils.binarySearchInc(VALUES, lb, ub + 1, from, true);
+            int j = ArrayUtils.binarySearchInc(VALUES, lb, ub + 1, to, false);
+            int count = removeIndices(i, j, size, true, cause);
+            if (count < size) {
+                SIZE.set(count);
+                this.notifyPropagators(IntEventType.REMOVE, cause);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Instantiates the domain of {@code this} to {@code value}. The instruction comes from {@code propagator}.
+     * <ul>
+     * <li>If the domain of {@code this} is already instantiated to {@code value},
+     * nothing is done and the return value is {@code false},</li>
+     * <li>If the domain of {@code this} is already instantiated to another value,
+     * then a {@code ContradictionException} is thrown,</li>
+     * <li>Otherwise, the domain of {@code this} is restricted to {@code value} and the observers are notified
+     * and the return value is {@code true}.</li>
+     * </ul>
+     *
+     * @param value instantiation value (int)
+     * @param cause instantiation releaser
+     * @return true if the instantiation is done, false otherwise
+     * @throws ContradictionException if the domain become empty due to this action
+     */
+    @Override
+    public boolean instantiateTo(int value, ICause cause) throws ContradictionException {
+        assert cause != null;
+        if (!contains(value)) {
+            model.getSolver().getEventObserver().instantiateTo(this, value, cause, getLB(), getUB());
+            this.contradiction(cause, MSG_INST);
+        } else if (!isInstantiated()) {
+            model.getSolver().getEventObserver().instantiateTo(this, value, cause, getLB(), getUB());
+            int index = indexOf(value);
+            if (reactOnRemoval) {
+                for (int k = SIZE.get() - 1; k >= 0; k--) {
+                    if (DENSE[k] != index) {
+                        delta.add(VALUES[DENSE[k]], cause);
+                    }
+                }
+            }
+            moveTo(index, 0);
+            this.LB.set(index);
+            this.UB.set(index);
+            this.SIZE.set(1);
+            this.notifyPropagators(IntEventType.INSTANTIATE, cause);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Updates the lower bound of the domain of {@code this} to {@code value}.
+     * The instruction comes from {@code propagator}.
+     * <ul>
+     * <li>If {@code value} is smaller than the lower bound of the domain, nothing is done and the return value is {@code false},</li>
+     * <li>if updating the lower bound to {@code value} leads to a dead-end (domain wipe-out),
+     * a {@code ContradictionException} is thrown,</li>
+     * <li>otherwise, if updating the lower bound to {@code value} can be done safely,
+     * the event type is created (the original event can be promoted) and observers are notified
+     * and the return value is {@code true}</li>
+     * </ul>
+     *
+     * @param value new lower bound (included)
+     * @param cause updating releaser
+     * @return true if the lower bound has been updated, false otherwise
+     * @throws ContradictionException if the domain become empty due to this action
+     */
+    @Override
+    public boolean updateLowerBound(int value, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int lb = LB.get();
+        int old = VALUES[lb];
+        if (old < value) {
+            model.getSolver().getEventObserver().updateLowerBound(this, value, old, cause);
+            int ub = UB.get();
+            if (VALUES[ub] < value) {
+                this.contradiction(cause, MSG_LOW);
+            } else {
+                IntEventType e = IntEventType.INCLOW;
+                int size = SIZE.get();
+                int index = nextIndex(ArrayUtils.binarySearchInc(VALUES, lb, ub + 1, value, true), ub, size);
+                assert index >= 0 && VALUES[index] >= value;
+                size = removeIndices(lb, index - 1, size, false, cause);
+                SIZE.set(size);
+                LB.set(index);
+                if (size == 1) {
+                    e = IntEventType.INSTANTIATE;
+                }
+                this.notifyPropagators(e, cause);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Updates the upper bound of the domain of {@code this} to {@code value}.
+     * The instruction comes from {@code propagator}.
+     * <ul>
+     * <li>If {@code value} is greater than the upper bound of the domain, nothing is done and the return value is {@code false},</li>
+     * <li>if updating the upper bound to {@code value} leads to a dead-end (domain wipe-out),
+     * a {@code ContradictionException} is thrown,</li>
+     * <li>otherwise, if updating the upper bound to {@code value} can be done safely,
+     * the event type is created (the original event can be promoted) and observers are notified
+     * and the return value is {@code true}</li>
+     * </ul>
+     *
+     * @param value new upper bound (included)
+     * @param cause update releaser
+     * @return true if the upper bound has been updated, false otherwise
+     * @throws ContradictionException if the domain become empty due to this action
+     */
+    @Override
+    public boolean updateUpperBound(int value, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int ub = UB.get();
+        int old = VALUES[ub];
+        if (old > value) {
+            model.getSolver().getEventObserver().updateUpperBound(this, value, old, cause);
+            int lb = LB.get();
+            if (VALUES[lb] > value) {
+                this.contradiction(cause, MSG_UPP);
+            } else {
+                IntEventType e = IntEventType.DECUPP;
+                int size = SIZE.get();
+                int index = prevIndex(ArrayUtils.binarySearchInc(VALUES, lb, ub + 1, value, false), lb, size);
+                assert index >= 0 && VALUES[index] <= value;
+                size = removeIndices(index + 1, ub, size, false, cause);
+                SIZE.set(size);
+                UB.set(index);
+                if (size == 1) {
+                    e = IntEventType.INSTANTIATE;
+                }
+                this.notifyPropagators(e, cause);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean updateBounds(int aLB, int aUB, ICause cause) throws ContradictionException {
+        assert cause != null;
+        int lb = LB.get();
+        int ub = UB.get();
+        int olb = VALUES[lb];
+        int oub = VALUES[ub];
+        boolean update = false;
+        if (olb < aLB || oub > aUB) {
+            IntEventType e = null;
+            int index;
+            int size = SIZE.get();
+            if (oub < aLB) {
+                model.getSolver().getEventObserver().updateLowerBound(this, aLB, olb, cause);
+                this.contradiction(cause, MSG_LOW);
+            } else if (olb < aLB) {
+                model.getSolver().getEventObserver().updateLowerBound(this, aLB, olb, cause);
+                e = IntEventType.INCLOW;
+                index = nextIndex(ArrayUtils.binarySearchInc(VALUES, lb, ub + 1, aLB, true), ub, size);
+                assert index >= 0 && VALUES[index] >= aLB;
+                size = removeIndices(lb, index - 1, size, false, cause);
+                SIZE.set(size);
+                LB.set(index);
+                lb = index;
+                olb = VALUES[index];
+            }
+            if (olb > aUB) {
+                model.getSolver().getEventObserver().updateUpperBound(this, aUB, oub, cause);
+                this.contradiction(cause, MSG_UPP);
+            } else if (oub > aUB) {
+                model.getSolver().getEventObserver().updateUpperBound(this, aUB, oub, cause);
+                e = e == null ? IntEventType.DECUPP : IntEventType.BOUND;
+                index = prevIndex(ArrayUtils.binarySearchInc(VALUES, lb, ub + 1, aUB, false), lb, size);
+                assert index >= 0 && VALUES[index] <= aUB;
+                size = removeIndices(index + 1, ub, size, false, cause);
+                SIZE.set(size);
+                UB.set(index);
+            }
+            if (size == 1) {
+                e = IntEventType.INSTANTIATE;
+            }
+            this.notifyPropagators(e, cause);
+            update = true;
+        }
+        return update;
+    }
+
+    @Override
+    public boolean isInstantiated() {
+        return SIZE.get() == 1;
+    }
+
+    @Override
+    public boolean isInstantiatedTo(int value) {
+        return isInstantiated() && getLB() == value;
+    }
+
+    @Override
+    public boolean contains(int aValue) {
+        int i = indexOf(aValue);
+        return i > -1 && POSITIONS[i] < SIZE.get();
+    }
+
+    /**
+     * Retrieves the current value of the variable if instantiated, otherwier the lower bound.
+     *
+     * @return the current value (or lower bound if not yet instantiated).
+     */
+    @Override
+    public int getValue() {
+        assert isInstantiated() : name + " not instantiated";
+        return getLB();
+    }
+
+    /**
+     * Retrieves the lower bound of the variable
+     *
+     * @return the lower bound
+     */
+    @Override
+    public int getLB() {
+        return VALUES[LB.get()];
+    }
+
+    /**
+     * Retrieves the upper bound of the variable
+     *
+     * @return the upper bound
+     */
+    @Override
+    public int getUB() {
+        return VALUES[UB.get()];
+    }
+
+    @Override
+    public int getDomainSize() {
+        return SIZE.get();
+    }
+
+    @Override
+    public int countValues(int from, int to) {
+        from = Math.max(from, getLB());
+        to = Math.min(to, getUB());
+        if (from > to) {
+            return 0;
+        }
+        int lb = LB.get();
+        int ub = UB.get();
+        int size = SIZE.get();
+        int i = ArrayUtils.binarySearchInc(VALUES, lb, ub + 1, from, true);
+        int j = ArrayUtils.binarySearchInc(VALUES, lb, ub + 1, to, false);
+        int count = 0;
+        if (j - i < size) {
+            for (; i <= j; i++) {
+                if (POSITIONS[i] < size) {
+                    count++;
+                }
+            }
+        } else {
+            for (int k = 0; k < size; k++) {
+                if (DENSE[k] >= i && DENSE[k] <= j) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int getRange() {
+        return getUB() - getLB() + 1;
+    }
+
+    @Override
+    public int nextValue(int aValue) {
+        int lb = LB.get();
+        if (aValue < VALUES[lb]) return VALUES[lb];
+        int ub = UB.get();
+        if (aValue >= VALUES[ub]) return Integer.MAX_VALUE;
+        int i = indexOf(aValue); // if aValue is known
+        if (i == -1) {
+            //otherwise, a dichotomic search of the closest value smaller than key
+            i = ArrayUtils.binarySearchInc(VALUES, lb, ub + 1, aValue, false);
+        }
+        return VALUES[nextIndex(i + 1, ub, SIZE.get())];
+    }
+
+    @Override
+    public int nextValueOut(int aValue) {
+        int lb = LB.get();
+        int ub = UB.get();
+        if (VALUES[lb] - 1 <= aValue && aValue <= VALUES[ub]) {
+            int size = SIZE.get();
+            int i = ArrayUtils.binarySearchInc(VALUES, lb, ub + 1, aValue + 1, true);
+            while (i <= ub && VALUES[i] == aValue + 1 && POSITIONS[i] < size) {
+                aValue++;
+                i++;
+            }
+        }
+        return aValue + 1;
+    }
+
+    @Override
+    public int previousValue(int aValue) {
+        int ub = UB.get();
+        if (aValue > VALUES[ub]) return VALUES[ub];
+        int lb = LB.get();
+        if (aValue <= VALUES[lb]) return Integer.MIN_VALUE;
+        int i = indexOf(aValue); // if aValue is known
+        if (i == -1) {
+            //otherwise, a dichotomic search of the closest value greater than key
+            i = ArrayUtils.binarySearchInc(VALUES, lb, ub + 1, aValue, true);
+        }
+        return VALUES[prevIndex(i - 1, lb, SIZE.get())];
+    }
+
+    @Override
+    public int previousValueOut(int aValue) {
+        int lb = LB.get();
+        int ub = UB.get();
+        if (VALUES[lb] <= aValue && aValue <= VALUES[ub] + 1) {
+            int size = SIZE.get();
+            int i = ArrayUtils.binarySearchInc(VALUES, lb, ub + 1, aValue - 1, false);
+            while (i >= lb && VALUES[i] == aValue - 1 && POSITIONS[i] < size) {
+                aValue--;
+                i--;
+            }
+        }
+        return aValue - 1;
+    }
+
+    /**
+     * Copies the indices of the current domain in increasing order in <i>buffer</i>.
+     * Either the indices between the bounds are walked through or the current ones are sorted,
+     * depending on the density of the domain.
+     *
+     * @param buffer array of size {@link #LENGTH}, at least
+     * @return the number of indices copied
+     */
+    private int sortedIndices(int[] buffer) {
+        int lb = LB.get();
+        int ub = UB.get();
+        int size = SIZE.get();
+        if ((ub - lb) / DENSITY < size) {
+            int n = 0;
+            for (int i = lb; i <= ub; i++) {
+                if (POSITIONS[i] < size) {
+                    buffer[n++] = i;
+                }
+            }
+            return n;
+        }
+        System.arraycopy(DENSE, 0, buffer, 0, size);
+        Arrays.sort(buffer, 0, size);
+        return size;
+    }
+
+    @Override
+    public boolean hasEnumeratedDomain() {
+        return true;
+    }
+
+    @Override
+    public IEnumDelta getDelta() {
+        return delta;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder s = new StringBuilder(20);
+        s.append(name).append(" = ");
+        if (SIZE.get() == 1) {
+            s.append(this.getLB());
+        } else {
+            s.append('{').append(getLB());
+            int nb = 5;
+            for (int i = nextValue(getLB()); i < Integer.MAX_VALUE && nb > 0; i = nextValue(i)) {
+                s.append(',').append(i);
+                nb--;
+            }
+            if (nb == 0 && SIZE.get() > 6) {
+                s.append("...,").append(this.getUB());
+            }
+            s.append('}');
+        }
+        return s.toString();
+    }
+
+    ////////////////////////////////////////////////////////////////
+    ///// methode liees au fait qu'une variable est observable /////
+    ////////////////////////////////////////////////////////////////
+
+
+    @Override
+    public void createDelta() {
+        if (!reactOnRemoval) {
+            delta = new EnumDelta(model.getEnvironment());
+            reactOnRemoval = true;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public IIntDeltaMonitor monitorDelta(ICause propagator) {
+        createDelta();
+        return new EnumDeltaMonitor(delta, propagator);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public int getTypeAndKind() {
+        return VAR | INT;
+    }
+
+    @Override
+    public IntVar copy(Model model, Map<Object, Object> copies) {
+        return new SparseSetIntVarImpl(getName(), VariableUtils.values(this), model);
+    }
+
+    @Override
+    protected EvtScheduler createScheduler() {
+        return new IntEvtScheduler();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public DisposableValueIterator getValueIterator(boolean bottomUp) {
+        if (_viterator == null || _viterator.isNotReusable()) {
+            _viterator = new DisposableValueIterator() {
+
+                /**
+                 * Indices of the domain, in increasing order
+                 */
+                final int[] indices = new int[LENGTH];
+                /**
+                 * Number of indices
+                 */
+                int end;
+                /**
+                 * Current position of the iterator
+                 */
+                int pos;
+
+                @Override
+                public void bottomUpInit() {
+                    super.bottomUpInit();
+                    end = sortedIndices(indices);
+                    pos = 0;
+                }
+
+                @Override
+                public void topDownInit() {
+                    super.topDownInit();
+                    end = sortedIndices(indices);
+                    pos = end - 1;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return pos < end;
+                }
+
+                @Override
+                public boolean hasPrevious() {
+                    return pos >= 0;
+                }
+
+                @Override
+                public int next() {
+                    return VALUES[indices[pos++]];
+                }
+
+                @Override
+                public int previous() {
+                    return VALUES[indices[pos--]];
+                }
+            };
+        }
+        if (bottomUp) {
+            _viterator.bottomUpInit();
+        } else {
+            _viterator.topDownInit();
+        }
+        return _viterator;
+    }
+
+    @Override
+    public DisposableRangeIterator getRangeIterator(boolean bottomUp) {
+        if (_riterator == null || _riterator.isNotReusable()) {
+            _riterator = new DisposableRangeIterator() {
+
+                /**
+                 * Indices of the domain, in increasing order
+                 */
+                final int[] indices = new int[LENGTH];
+                /**
+                 * Number of indices
+                 */
+                int end;
+                /**
+                 * Position of the current range starting point
+                 */
+                int from;
+                /**
+                 * Position of the current range ending point
+                 */
+                int to;
+
+                @Override
+                public void bottomUpInit() {
+                    super.bottomUpInit();
+                    end = sortedIndices(indices);
+                    from = 0;
+                    extendUp();
+                }
+
+                @Override
+                public void topDownInit() {
+                    super.topDownInit();
+                    end = sortedIndices(indices);
+                    to = end - 1;
+                    extendDown();
+                }
+
+                private void extendUp() {
+                    to = from;
+                    while (to + 1 < end && VALUES[indices[to + 1]] == VALUES[indices[to]] + 1) {
+                        to++;
+                    }
+                }
+
+                private void extendDown() {
+                    from = to;
+                    while (from > 0 && VALUES[indices[from - 1]] == VALUES[indices[from]] - 1) {
+                        from--;
+                    }
+                }
+
+                public boolean hasNext() {
+                    return this.from < end;
+                }
+
+                @Override
+                public boolean hasPrevious() {
+                    return this.to >= 0;
+                }
+
+                public void next() {
+                    this.from = to + 1;
+                    if (from < end) {
+                        extendUp();
+                    }
+                }
+
+                @Override
+                public void previous() {
+                    this.to = from - 1;
+                    if (to >= 0) {
+                        extendDown();
+                    }
+                }
+
+                @Override
+                public int min() {
+                    return VALUES[indices[from]];
+                }
+
+                @Override
+                public int max() {
+                    return VALUES[indices[to]];
+                }
+            };
+        }
+        if (bottomUp) {
+            _riterator.bottomUpInit();
+        } else {
+            _riterator.topDownInit();
+        }
+        return _riterator;
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        if (_javaIterator == null) {
+            _javaIterator = new IntVarValueIterator(this);
+        }
+        _javaIterator.reset();
+        return _javaIterator;
+    }
+}
@@ -36,6 +36,16 @@ public class BoolEvtScheduler implements EvtScheduler<IntEventType> {
         }
     }
 
+    @Override
+    public int[] table() {
+        return DIS;
+    }
+
+    @Override
+    public int start(int mask) {
+        return 0;
+    }
+
     @Override
     public boolean hasNext() {
         return DIS[i] > -1;
@@ -61,6 +61,16 @@ public class IntEvtScheduler implements EvtScheduler<IntEventType> {
         }
     }
 
+    @Override
+    public int[] table() {
+        return DIS;
+    }
+
+    @Override
+    public int start(int mask) {
+        return IDX[mask];
+    }
+
     @Override
     public boolean hasNext() {
         return DIS[i] > -1;
@@ -49,6 +49,16 @@ public class RealEvtScheduler implements EvtScheduler<RealEventType> {
         }
     }
 
+    @Override
+    public int[] table() {
+        return DIS;
+    }
+
+    @Override
+    public int start(int mask) {
+        return IDX[mask];
+    }
+
     @Override
     public boolean hasNext() {
         return DIS[i] > -1;
@@ -10,6 +10,8 @@
 package org.chocosolver.solver.variables.view;
 
 import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.learn.ExplanationForSignedClause;
 import org.chocosolver.solver.learn.Implications;
@@ -25,6 +27,8 @@ import org.chocosolver.util.iterators.EvtScheduler;
 import org.chocosolver.util.objects.ValueSortedMap;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableSet;
 
+import java.util.Map;
+
 /**
  * A view for boolean variable, that enforce not(b). <br/>
  *
@@ -41,6 +45,11 @@ public final class BoolNotView extends IntView<BoolVar> implements BoolVar {
         super("not(" + var.getName() + ")", var);
     }
 
+    @Override
+    public BoolVar copy(Model model, Map<Object, Object> copies) {
+        return new BoolNotView(ModelCopier.copyOf(var, copies));
+    }
+
     @Override
     public ESat getBooleanValue() {
         return ESat.not(var.getBooleanValue());
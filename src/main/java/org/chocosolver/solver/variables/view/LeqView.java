@@ -10,6 +10,8 @@
 package org.chocosolver.solver.variables.view;
 
 import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.learn.ExplanationForSignedClause;
 import org.chocosolver.solver.learn.Implications;
@@ -19,6 +21,8 @@ import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.ValueSortedMap;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 
+import java.util.Map;
+
 
 /**
  * declare an BoolVar based on X and C, such as (X <= C) is reified by this. <br/> Based on "Views
@@ -40,6 +44,11 @@ public final class LeqView extends IntBoolView {
         super(var, "≤", cste);
     }
 
+    @Override
+    public BoolVar copy(Model model, Map<Object, Object> copies) {
+        return new LeqView(ModelCopier.copyOf(var, copies), cste);
+    }
+
     @Override
     public ESat getBooleanValue() {
         if (var.getUB() <= cste) {
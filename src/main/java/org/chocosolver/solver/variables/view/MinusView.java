@@ -10,6 +10,8 @@
 package org.chocosolver.solver.variables.view;
 
 import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.delta.IIntDeltaMonitor;
@@ -21,6 +23,8 @@ import org.chocosolver.util.iterators.DisposableRangeIterator;
 import org.chocosolver.util.iterators.DisposableValueIterator;
 import org.chocosolver.util.iterators.EvtScheduler;
 
+import java.util.Map;
+
 import static org.chocosolver.solver.variables.events.IntEventType.BOUND;
 import static org.chocosolver.solver.variables.events.IntEventType.DECUPP;
 import static org.chocosolver.solver.variables.events.IntEventType.INCLOW;
@@ -48,6 +52,11 @@ public class MinusView extends IntView<IntVar> {
         super("-(" + var.getName() + ")", var);
     }
 
+    @Override
+    public IntVar copy(Model model, Map<Object, Object> copies) {
+        return new MinusView(ModelCopier.copyOf(var, copies));
+    }
+
     @Override
     public IIntDeltaMonitor monitorDelta(ICause propagator) {
         var.createDelta();
@@ -11,6 +11,8 @@ package org.chocosolver.solver.variables.view;
 
 
 import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.learn.ExplanationForSignedClause;
 import org.chocosolver.solver.learn.Implications;
@@ -25,6 +27,8 @@ import org.chocosolver.solver.variables.impl.scheduler.RealEvtScheduler;
 import org.chocosolver.util.iterators.EvtScheduler;
 import org.chocosolver.util.objects.ValueSortedMap;
 
+import java.util.Map;
+
 /**
  * <br/>
  *
@@ -44,6 +48,11 @@ public class RealView extends AbstractVariable implements IView, RealVar {
         this.var.subscribeView(this);
     }
 
+    @Override
+    public RealVar copy(Model model, Map<Object, Object> copies) {
+        return new RealView(ModelCopier.copyOf(var, copies), precision);
+    }
+
     @Override
     public IntVar getVariable() {
         return var;
@@ -10,6 +10,8 @@
 package org.chocosolver.solver.variables.view;
 
 import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ModelCopier;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.delta.IIntDeltaMonitor;
@@ -21,6 +23,8 @@ import org.chocosolver.util.iterators.DisposableValueIterator;
 import org.chocosolver.util.iterators.EvtScheduler;
 import org.chocosolver.util.tools.MathUtils;
 
+import java.util.Map;
+
 /**
  * declare an IntVar based on X and C, such as X * C
  * <p>
@@ -46,6 +50,11 @@ public final class ScaleView extends IntView<IntVar> {
         this.cste = cste;
     }
 
+    @Override
+    public IntVar copy(Model model, Map<Object, Object> copies) {
+        return new ScaleView(ModelCopier.copyOf(var, copies), cste);
+    }
+
     @Override
     public IIntDeltaMonitor monitorDelta(ICause propagator) {
         var.createDelta();
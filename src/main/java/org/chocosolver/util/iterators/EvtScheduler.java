@@ -25,4 +25,23 @@ public interface EvtScheduler<E extends IEventType> extends IntIterator {
 
     int select(int mask);
 
+    /**
+     * Returns the table iterated by this scheduler, if any, so that it can be read without calling
+     * {@link #init(int)}, {@link #hasNext()} and {@link #next()}.
+     * Starting from {@link #start(int)}, the table stores pairs of bucket indices,
+     * each of them delimiting the propagators to schedule, and is terminated by -1.
+     * @return the table of this scheduler, or <i>null</i> if it can only be iterated
+     */
+    default int[] table() {
+        return null;
+    }
+
+    /**
+     * @param mask event's mask received
+     * @return the index, in {@link #table()}, of the first bucket to schedule on <i>mask</i>
+     */
+    default int start(int mask) {
+        throw new UnsupportedOperationException();
+    }
+
 }
@@ -0,0 +1,183 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.util.objects;
+
+import org.chocosolver.solver.Identity;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * A {@link ValueSortedMap} whose keys are indexed by their id.
+ * <p>
+ * Keys are mapped to values through an array indexed by key ids,
+ * and values are ordered in a bitset, so that no hashing, boxing or tree node allocation
+ * is needed to maintain the map.
+ *
+ * @param <E> key's type
+ * @author Charles Prud'homme
+ * @implSpec The value is necessarily a primitive integer greater or equal to 0.
+ * <p>
+ * Project: choco-solver.
+ * @since 18/10/2019.
+ */
+public class IdValueSortedMap<E extends Identity> extends ValueSortedMap<E> {
+
+    /**
+     * Default value for no entry
+     */
+    private static final int NO_ENTRY = -1;
+    /**
+     * Keys -> values, indexed by key ids
+     */
+    private int[] values;
+    /**
+     * Values -> keys, indexed by values
+     */
+    private Object[] keys;
+    /**
+     * Ordered set of values
+     */
+    private final BitSet set;
+
+    /**
+     * Create a doubly-linked set E <-> value, where value is a int and keys are indexed by their id.
+     * Keys are unique, so do values.
+     * Value can be retrieved through key and key can be retrieved through value.
+     * In addition, values are sorted.
+     */
+    public IdValueSortedMap() {
+        super(null, null);
+        this.values = new int[16];
+        Arrays.fill(values, NO_ENTRY);
+        this.keys = new Object[16];
+        this.set = new BitSet();
+    }
+
+    @SuppressWarnings("unchecked")
+    private E keyAt(int v) {
+        return (E) keys[v];
+    }
+
+    @Override
+    public void clear() {
+        for (int v = set.nextSetBit(0); v >= 0; v = set.nextSetBit(v + 1)) {
+            values[keyAt(v).getId()] = NO_ENTRY;
+            keys[v] = null;
+        }
+        set.clear();
+    }
+
+    @Override
+    public void put(E k, int v) {
+        if (getValue(k) != NO_ENTRY) {
+            replace(k, v);
+        } else {
+            int id = k.getId();
+            if (id >= values.length) {
+                int n = values.length;
+                values = Arrays.copyOf(values, Math.max(id + 1, n * 3 / 2));
+                Arrays.fill(values, n, values.length, NO_ENTRY);
+            }
+            values[id] = v;
+            link(k, v);
+        }
+    }
+
+    private void link(E k, int v) {
+        if (v >= keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(v + 1, keys.length * 3 / 2));
+        }
+        keys[v] = k;
+        set.set(v);
+    }
+
+    private void unlink(int v) {
+        keys[v] = null;
+        set.clear(v);
+    }
+
+    @Override
+    public void replace(E k, int v) {
+        int id = k.getId();
+        int cValue = values[id];
+        assert cValue != NO_ENTRY;
+        if (v != cValue) {
+            unlink(cValue);
+            values[id] = v;
+            link(k, v);
+        }
+        assert keys[values[id]] == k;
+    }
+
+    @Override
+    public int getValue(E k) {
+        int id = k.getId();
+        return id < values.length ? values[id] : NO_ENTRY;
+    }
+
+    @Override
+    public int getValueOrDefault(E k, int defaultValue) {
+        int value = getValue(k);
+        if (value == NO_ENTRY) {
+            return defaultValue;
+        }
+        return value;
+    }
+
+    @Override
+    public int getLastValue() {
+        return set.length() - 1;
+    }
+
+    @Override
+    public int getLowerValue(int value) {
+        return value > 0 ? set.previousSetBit(value - 1) : -1;
+    }
+
+    @Override
+    public int pollLastValue() {
+        int v = set.length() - 1;
+        values[keyAt(v).getId()] = NO_ENTRY;
+        unlink(v);
+        return v;
+    }
+
+    @Override
+    public void remove(E k) {
+        int id = k.getId();
+        if (id < values.length && values[id] != NO_ENTRY) {
+            unlink(values[id]);
+            values[id] = NO_ENTRY;
+        }
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter);
+        boolean removed = false;
+        for (int v = set.nextSetBit(0); v >= 0; v = set.nextSetBit(v + 1)) {
+            E e = keyAt(v);
+            if (filter.test(e)) {
+                values[e.getId()] = NO_ENTRY;
+                unlink(v);
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return set.isEmpty();
+    }
+}
@@ -52,6 +52,16 @@ public class ValueSortedMap<E> {
         this.rmap = new TreeMap<>();
     }
 
+    /**
+     * Create a map whose entries are stored by a subclass.
+     * @param map the set : values -> E, may be null
+     * @param rmap the ordered set : values -> E, may be null
+     */
+    protected ValueSortedMap(TObjectIntHashMap<E> map, TreeMap<Integer, E> rmap) {
+        this.map = map;
+        this.rmap = rmap;
+    }
+
     /**
      * Remove all entries from this map.
      */
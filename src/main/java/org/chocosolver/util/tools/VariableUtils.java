@@ -319,6 +319,20 @@ public class VariableUtils {
         return Math.min(Integer.MAX_VALUE, card);
     }
 
+    /**
+     * @param var an integer variable
+     * @return the values of the current domain of <i>var</i>, in increasing order
+     */
+    public static int[] values(IntVar var) {
+        int[] values = new int[var.getDomainSize()];
+        int ub = var.getUB();
+        int k = 0;
+        for (int v = var.getLB(); v <= ub; v = var.nextValue(v)) {
+            values[k++] = v;
+        }
+        return values;
+    }
+
     /**
      * Compute the search space size
      *
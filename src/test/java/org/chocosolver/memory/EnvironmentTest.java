@@ -13,6 +13,10 @@ import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 /**
  * <p> Project: choco-solver.
  *
@@ -25,7 +29,8 @@ public class EnvironmentTest {
     private Object[][] env() {
         return new IEnvironment[][]{
                 {new EnvironmentBuilder().fromFlat().build()},
-                {new EnvironmentBuilder().fromChunk().build()}
+                {new EnvironmentBuilder().fromChunk().build()},
+                {new EnvironmentBuilder().fromSlots().build()}
         };
     }
 
@@ -148,5 +153,120 @@ public class EnvironmentTest {
         }catch (IndexOutOfBoundsException e){}
     }
 
-}
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "env")
+    public void testBitsetBulk(IEnvironment environment) {
+        IStateBitSet prim = environment.makeBitSet(300);
+        prim.set(10, 290);
+        Assert.assertEquals(prim.cardinality(0, 300), 280);
+        Assert.assertEquals(prim.cardinality(60, 130), 70);
+        Assert.assertEquals(prim.cardinality(290, 300), 0);
+        environment.worldPush();
+        prim.clear(64, 200);
+        Assert.assertEquals(prim.cardinality(), 144);
+        // keeps bits 100 + j, for j on in the mask
+        long[] mask = {0xF0F0F0F0F0F0F0F0L, -1L, 0L, 1L};
+        prim.and(mask, 100);
+        for (int i = 0; i < 300; i++) {
+            int j = i - 100;
+            boolean in = i >= 10 && i < 290 && (i < 64 || i >= 200)
+                    && j >= 0 && (j >> 6) < mask.length && (mask[j >> 6] & (1L << j)) != 0;
+            Assert.assertEquals(prim.get(i), in, "bit " + i);
+        }
+        Assert.assertEquals(prim.cardinality(), 28);
+        environment.worldPop();
+        Assert.assertEquals(prim.cardinality(), 280);
+        Assert.assertEquals(prim.nextSetBit(0), 10);
+        Assert.assertEquals(prim.prevSetBit(299), 289);
+    }
 
+    @Test(groups = "1s", timeOut = 60000)
+    public void testAgainstFlat() {
+        for (int seed = 0; seed < 20; seed++) {
+            Random rnd = new Random(seed);
+            IEnvironment[] envs = {
+                    new EnvironmentBuilder().fromFlat().build(),
+                    new EnvironmentBuilder().setWorldSize(4).setWorldNumber(4).fromSlots().build(),
+                    new EnvironmentBuilder().setWorldSize(4).setWorldNumber(4).buildCopying()};
+            int m = envs.length;
+            for (IEnvironment env : envs) {
+                env.buildFakeHistoryOn(() -> env.getWorldIndex() > 0);
+            }
+            List<IStateInt>[] ints = new List[m];
+            List<IStateLong>[] longs = new List[m];
+            List<IStateBool>[] bools = new List[m];
+            List<IStateDouble>[] doubles = new List[m];
+            List<IStateIntVector>[] vectors = new List[m];
+            for (int e = 0; e < m; e++) {
+                ints[e] = new ArrayList<>();
+                longs[e] = new ArrayList<>();
+                bools[e] = new ArrayList<>();
+                doubles[e] = new ArrayList<>();
+                vectors[e] = new ArrayList<>();
+            }
+            // elements appended to a trailed vector are not re-stamped on commit
+            boolean commit = seed % 2 == 0;
+            for (int step = 0; step < 2000; step++) {
+                int op = rnd.nextInt(10);
+                int v = rnd.nextInt(100);
+                int k = rnd.nextInt(ints[0].size() + 1);
+                int w = envs[0].getWorldIndex();
+                for (int e = 0; e < m; e++) {
+                    switch (op) {
+                        case 0:
+                            ints[e].add(envs[e].makeInt(v));
+                            longs[e].add(envs[e].makeLong(v * 1_000_000_000L));
+                            bools[e].add(envs[e].makeBool(v % 2 == 0));
+                            doubles[e].add(envs[e].makeFloat(v / 3d));
+                            if (w == 0) {
+                                // elements of trailed vectors have no fake history
+                                vectors[e].add(envs[e].makeIntVector(v % 4, v));
+                            }
+                            break;
+                        case 1:
+                            envs[e].worldPush();
+                            break;
+                        case 2:
+                            if (w > 0) envs[e].worldPop();
+                            break;
+                        case 3:
+                            if (w > 0 && commit) envs[e].worldCommit();
+                            break;
+                        default:
+                            if (k < ints[e].size()) {
+                                ints[e].get(k).set(v);
+                                longs[e].get(k).set(-v * 1_000_000_000L);
+                                bools[e].get(k).set(v % 3 == 0);
+                                doubles[e].get(k).set(v / 7d);
+                            }
+                            if (k < vectors[e].size() && !commit) {
+                                IStateIntVector vec = vectors[e].get(k);
+                                if (v % 2 == 0 || vec.size() == 0) {
+                                    vec.add(v);
+                                } else {
+                                    vec.set(v % vec.size(), -v);
+                                }
+                            }
+                            break;
+                    }
+                }
+                for (int e = 1; e < m; e++) {
+                    Assert.assertEquals(envs[e].getWorldIndex(), envs[0].getWorldIndex());
+                    for (int i = 0; i < ints[0].size(); i++) {
+                        Assert.assertEquals(ints[e].get(i).get(), ints[0].get(i).get());
+                        Assert.assertEquals(longs[e].get(i).get(), longs[0].get(i).get());
+                        Assert.assertEquals(bools[e].get(i).get(), bools[0].get(i).get());
+                        Assert.assertEquals(doubles[e].get(i).get(), doubles[0].get(i).get());
+                    }
+                    for (int i = 0; i < vectors[0].size(); i++) {
+                        IStateIntVector vec = vectors[e].get(i);
+                        IStateIntVector ref = vectors[0].get(i);
+                        Assert.assertEquals(vec.size(), ref.size());
+                        for (int j = 0; j < ref.size(); j++) {
+                            Assert.assertEquals(vec.quickGet(j), ref.quickGet(j));
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
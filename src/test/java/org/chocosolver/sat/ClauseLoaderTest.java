@@ -0,0 +1,186 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.sat;
+
+import gnu.trove.list.array.TIntArrayList;
+import org.chocosolver.solver.DefaultSettings;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.variables.BoolVar;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * <p> Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class ClauseLoaderTest {
+
+    private static int[] random3CNF(int n, int m, long seed) {
+        Random rnd = new Random(seed);
+        TIntArrayList dimacs = new TIntArrayList();
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < 3; j++) {
+                int v = rnd.nextInt(n) + 1;
+                dimacs.add(rnd.nextBoolean() ? v : -v);
+            }
+            dimacs.add(0);
+        }
+        return dimacs.toArray();
+    }
+
+    /**
+     * @param sat set to <i>true</i> to load the clauses in the SAT solver, to <i>false</i> to post them one by one
+     * @return a new model
+     */
+    private static Model model(boolean sat) {
+        return new Model(new DefaultSettings().setEnableSAT(sat));
+    }
+
+    private static long count(int n, int[] dimacs, boolean preprocessing, boolean sat, int... eliminable) {
+        Model model = model(sat);
+        BoolVar[] b = model.boolVarArray("b", n);
+        model.clauseLoader(b).preprocessing(preprocessing).add(dimacs).eliminable(eliminable).load();
+        while (model.getSolver().solve()) ;
+        return model.getSolver().getSolutionCount();
+    }
+
+    @DataProvider
+    public Object[][] seeds() {
+        Object[][] params = new Object[20][];
+        for (int i = 0; i < params.length; i++) {
+            params[i] = new Object[]{(long) i};
+        }
+        return params;
+    }
+
+    @DataProvider
+    public Object[][] sat() {
+        return new Object[][]{{false}, {true}};
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "seeds")
+    public void testRandom(long seed) {
+        int[] dimacs = random3CNF(10, 30, seed);
+        long expected = count(10, dimacs, false, false);
+        Assert.assertEquals(count(10, dimacs, true, false), expected);
+        Assert.assertEquals(count(10, dimacs, false, true), expected);
+        Assert.assertEquals(count(10, dimacs, true, true), expected);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "seeds")
+    public void testRandomEliminable(long seed) {
+        int[] dimacs = random3CNF(12, 40, seed);
+        boolean[] sat = new boolean[4];
+        for (int k = 0; k < 4; k++) {
+            Model model = model(k >= 2);
+            BoolVar[] b = model.boolVarArray("b", 12);
+            ClauseLoader loader = model.clauseLoader(b).add(dimacs);
+            if (k % 2 == 1) {
+                loader.eliminable(7, 8, 9, 10, 11, 12);
+            }
+            loader.load();
+            sat[k] = model.getSolver().solve();
+        }
+        Assert.assertEquals(sat[1], sat[0]);
+        Assert.assertEquals(sat[2], sat[0]);
+        Assert.assertEquals(sat[3], sat[0]);
+        // eliminated variables are left free, so both paths are compared with the same preprocessing
+        int[] dimacs2 = random3CNF(8, 20, seed);
+        Assert.assertEquals(count(8, dimacs2, true, true, 6, 7, 8), count(8, dimacs2, true, false, 6, 7, 8));
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "sat")
+    public void testSubsumption(boolean sat) {
+        Model model = model(sat);
+        BoolVar[] b = model.boolVarArray("b", 4);
+        ClauseLoader loader = model.clauseLoader(b)
+                .add(1, 2, 0)
+                .add(1, 2, 3, 0)
+                .add(-1, 2, 4, 0);
+        Assert.assertTrue(loader.load());
+        // (1 v 2) subsumes (1 v 2 v 3) and strengthens (-1 v 2 v 4) into (2 v 4)
+        Assert.assertEquals(loader.getPreprocessor().getNbSubsumed(), 1);
+        Assert.assertEquals(loader.getPreprocessor().getNbStrengthened(), 1);
+        Assert.assertEquals(loader.getPreprocessor().getNbClauses(), 2);
+        while (model.getSolver().solve()) ;
+        Assert.assertEquals(model.getSolver().getSolutionCount(), 10);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "sat")
+    public void testEquivalence(boolean sat) {
+        Model model = model(sat);
+        BoolVar[] b = model.boolVarArray("b", 3);
+        ClauseLoader loader = model.clauseLoader(b)
+                .add(-1, 2, 0, 1, -2, 0)
+                .add(2, 3, 0, -1, -3, 0);
+        Assert.assertTrue(loader.load());
+        // b2 and b3 are replaced by b1 and not(b1)
+        Assert.assertEquals(loader.getPreprocessor().getNbSubstituted(), 2);
+        while (model.getSolver().solve()) {
+            Assert.assertEquals(b[0].getValue(), b[1].getValue());
+            Assert.assertNotEquals(b[0].getValue(), b[2].getValue());
+        }
+        Assert.assertEquals(model.getSolver().getSolutionCount(), 2);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "sat")
+    public void testElimination(boolean sat) {
+        Model model = model(sat);
+        BoolVar[] b = model.boolVarArray("b", 3);
+        // b3 <-> (b1 and b2), and (b3 or b1)
+        ClauseLoader loader = model.clauseLoader(b)
+                .add(-3, 1, 0, -3, 2, 0, 3, -1, -2, 0)
+                .add(3, 1, 0)
+                .eliminable(3);
+        Assert.assertTrue(loader.load());
+        Assert.assertEquals(loader.getPreprocessor().getNbEliminated(), 1);
+        Assert.assertEquals(loader.getPreprocessor().getNbClauses(), 0);
+        while (model.getSolver().solve()) {
+            Assert.assertEquals(b[0].getValue(), 1);
+        }
+        // b1 is fixed, b2 and the eliminated b3 are free
+        Assert.assertEquals(model.getSolver().getSolutionCount(), 4);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testUnsat() {
+        Model model = new Model();
+        BoolVar[] b = model.boolVarArray("b", 2);
+        Assert.assertFalse(model.addClauses(b, new int[]{1, 2, 0, -1, 2, 0, 1, -2, 0, -1, -2, 0}));
+        Assert.assertFalse(model.getSolver().solve());
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testFile() throws IOException {
+        Path cnf = Files.createTempFile("clauses", ".cnf");
+        try {
+            Files.write(cnf, ("c a comment\n" +
+                    "p cnf 3 2\n" +
+                    "1 -2 0\n" +
+                    "2 3\n0\n").getBytes(StandardCharsets.US_ASCII));
+            Model model = new Model();
+            BoolVar[] b = model.addClausesFromFile(cnf.toString());
+            Assert.assertEquals(b.length, 3);
+            while (model.getSolver().solve()) ;
+            Assert.assertEquals(model.getSolver().getSolutionCount(), 4);
+        } finally {
+            Files.delete(cnf);
+        }
+    }
+}
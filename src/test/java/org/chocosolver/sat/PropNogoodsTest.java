@@ -14,15 +14,21 @@ import gnu.trove.list.array.TIntArrayList;
 
 import org.chocosolver.solver.Cause;
 import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.learn.ExplanationForSignedClause;
+import org.chocosolver.solver.learn.Implications;
+import org.chocosolver.solver.search.strategy.Search;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.ESat;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 import org.testng.Assert;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.Map;
 import java.util.Random;
 
 import static org.chocosolver.sat.PropNogoods.iseq;
@@ -157,6 +163,26 @@ public class PropNogoodsTest {
         }
     }
 
+    @Test(groups="1s", timeOut=60000)
+    public void testLiteral3() throws Exception {
+        // one variable whose literals are indexed in arrays, the other one in a map
+        IntVar small = vars[0].getModel().intVar("S", 0, PropNogoods.MAX_DENSE_SPAN - 1);
+        IntVar large = vars[0].getModel().intVar("L", 0, PropNogoods.MAX_DENSE_SPAN);
+        for (IntVar v : new IntVar[]{small, large}) {
+            int eq = PNG.Literal(v, 7, true);
+            int leq = PNG.Literal(v, 7, false);
+            Assert.assertNotEquals(eq, leq);
+            // values out of the initial domain are stored in a map
+            int out = PNG.Literal(v, -3, false);
+            Assert.assertEquals(PNG.Literal(v, 7, true), eq);
+            Assert.assertEquals(PNG.Literal(v, 7, false), leq);
+            Assert.assertEquals(PNG.Literal(v, -3, false), out);
+            Assert.assertEquals(PNG.getLiteralValue(out), -3);
+            Assert.assertFalse(PNG.isEqualityLiteral(out));
+            Assert.assertTrue(PNG.isEqualityLiteral(eq));
+        }
+    }
+
     @Test(groups="1s", timeOut=60000)
     public void testVariableBound1(){
         try {
@@ -276,4 +302,95 @@ public class PropNogoodsTest {
             Assert.assertEquals(ivalue(lvalue), value);
         }
     }
-}
\ No newline at end of file
+
+    @Test(groups="1s", timeOut=60000)
+    public void testExplain() throws ContradictionException {
+        Model model = new Model("nogoods");
+        IntVar x = model.intVar("x", 0, 5);
+        IntVar y = model.intVar("y", 0, 5);
+        IntVar z = model.intVar("z", 0, 5);
+        Solver solver = model.getSolver();
+        solver.setLearningLazyClauses();
+        PNG = model.getNogoodStore().getPropNogoods();
+        int x2 = PNG.Literal(x, 2, false);
+        int y3 = PNG.Literal(y, 3, true);
+        int z5 = PNG.Literal(z, 5, true);
+        PNG.initialize();
+        // [x <= 2] or [y = 3]
+        PNG.addNogood(new TIntArrayList(new int[]{x2, y3}));
+        // [z = 5] or [y = 3]
+        PNG.addNogood(new TIntArrayList(new int[]{z5, y3}));
+        solver.propagate();
+        model.getEnvironment().worldPush();
+        z.updateLowerBound(1, Cause.Null);
+        x.updateLowerBound(3, Cause.Null);
+        solver.propagate();
+        Assert.assertTrue(y.isInstantiatedTo(3));
+
+        Implications ig = solver.getEventObserver().getGI().get();
+        int p = ig.size() - 1;
+        while (p >= 0 && (ig.getCauseAt(p) != PNG || ig.getIntVarAt(p) != y)) {
+            p--;
+        }
+        Assert.assertTrue(p >= 0);
+        ExplanationForSignedClause explanation = new ExplanationForSignedClause(ig);
+        PNG.explain(explanation, explanation.getFront(), ig, p);
+        // the first clause, not the whole scope of the propagator
+        Map<IntVar, IntIterableRangeSet> literals = explanation.getLiterals();
+        Assert.assertEquals(literals.size(), 2);
+        Assert.assertEquals(literals.get(x), new IntIterableRangeSet(0, 2));
+        Assert.assertEquals(literals.get(y), new IntIterableRangeSet(3));
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testKeptClauses() {
+        // without lazy clause generation, clauses are not kept
+        Assert.assertEquals(PNG.getNbKeptClauses(), 0);
+
+        Model model = new Model("nogoods");
+        IntVar[] x = model.intVarArray("x", 3, -1, 1, false);
+        PropNogoods png = model.getNogoodStore().getPropNogoods();
+        png.keepClauses();
+        int a = png.Literal(x[0], 0, true);
+        int b = png.Literal(x[1], 0, true);
+        int c = png.Literal(x[2], 0, true);
+        png.initialize();
+        png.addNogood(new TIntArrayList(new int[]{a, b}));
+        png.addLearnt(a, b, c);
+        Assert.assertEquals(png.getNbKeptClauses(), 2);
+        // the first learnt clause is dominated, it is detached from the SAT solver and dropped
+        png.addLearnt(b, c);
+        Assert.assertEquals(png.getNbKeptClauses(), 2);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testLazyClauses() {
+        int[] best = new int[2];
+        int[] nbLearnts = new int[1];
+        for (int k = 0; k < 2; k++) {
+            Model model = new Model("lcg");
+            IntVar[] x = model.intVarArray("x", 6, 0, 6);
+            for (int i = 0; i < x.length; i++) {
+                for (int j = i + 1; j < x.length; j++) {
+                    model.arithm(x[i], "!=", x[j]).post();
+                }
+            }
+            for (int i = 0; i < x.length - 1; i++) {
+                model.arithm(x[i], "-", x[i + 1], "!=", 1).post();
+            }
+            IntVar obj = model.intVar("obj", 0, 36);
+            model.sum(x, "=", obj).post();
+            model.setObjective(Model.MINIMIZE, obj);
+            Solver solver = model.getSolver();
+            solver.setSearch(Search.inputOrderUBSearch(x));
+            if (k == 1) {
+                solver.setLearningLazyClauses();
+                model.getNogoodStore().getPropNogoods().setLearntObserver(lits -> nbLearnts[0]++);
+            }
+            while (solver.solve()) ;
+            best[k] = solver.getBestSolutionValue().intValue();
+        }
+        Assert.assertEquals(best[1], best[0]);
+        Assert.assertTrue(nbLearnts[0] > 0);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.restart.MonotonicRestartStrategy;
+import org.chocosolver.solver.variables.IntVar;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.chocosolver.solver.ModelTest.knapsack;
+import static org.chocosolver.solver.search.strategy.Search.inputOrderLBSearch;
+
+/**
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class EmbarrassinglyParallelSearchTest {
+
+    static Model queens(int n) {
+        Model model = new Model("queens");
+        IntVar[] vars = model.intVarArray("Q", n, 1, n, false);
+        IntVar[] diag1 = new IntVar[n];
+        IntVar[] diag2 = new IntVar[n];
+        for (int i = 0; i < n; i++) {
+            diag1[i] = model.intOffsetView(vars[i], i);
+            diag2[i] = model.intOffsetView(vars[i], -i);
+        }
+        model.allDifferent(vars).post();
+        model.allDifferent(diag1).post();
+        model.allDifferent(diag2).post();
+        model.getSolver().setSearch(inputOrderLBSearch(vars));
+        return model;
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testAllSolutions() {
+        EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch();
+        for (int i = 0; i < 4; i++) {
+            eps.addModel(queens(8));
+        }
+        List<Solution> solutions = eps.findAllSolutions();
+        Assert.assertEquals(solutions.size(), 92);
+        Assert.assertTrue(eps.getSubproblemCount() >= 4 * 30);
+        IntVar[] vars = eps.getModels().get(0).retrieveIntVars(true);
+        Set<String> distinct = new HashSet<>();
+        for (Solution s : solutions) {
+            StringBuilder st = new StringBuilder();
+            for (IntVar v : vars) {
+                st.append(s.getIntVal(v)).append(',');
+            }
+            distinct.add(st.toString());
+        }
+        Assert.assertEquals(distinct.size(), 92);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testOneSolution() {
+        EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch(5);
+        for (int i = 0; i < 3; i++) {
+            eps.addModel(queens(10));
+        }
+        Assert.assertTrue(eps.solve());
+        Model m = queens(10);
+        IntVar[] vars = m.retrieveIntVars(true);
+        for (IntVar v : vars) {
+            m.arithm(v, "=", eps.getBestSolution().getIntVal(v)).post();
+        }
+        Assert.assertTrue(m.getSolver().solve());
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testNoSolution() {
+        EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch();
+        for (int i = 0; i < 2; i++) {
+            eps.addModel(queens(3));
+        }
+        Assert.assertFalse(eps.solve());
+        Assert.assertNull(eps.getBestSolution());
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testOptimization() {
+        for (int k = 1; k < 5; k++) {
+            EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch(k * 10);
+            for (int i = 0; i < k; i++) {
+                eps.addModel(knapsack());
+            }
+            Assert.assertTrue(eps.solve());
+            IntVar obj = (IntVar) eps.getModels().get(0).getObjective();
+            Assert.assertEquals(eps.getBestSolution().getIntVal(obj), 51);
+        }
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testRestarts() {
+        EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch(10);
+        for (int i = 0; i < 3; i++) {
+            Model m = knapsack();
+            m.getSolver().setRestarts(count -> m.getSolver().getNodeCount() >= count,
+                    new MonotonicRestartStrategy(20), 50);
+            eps.addModel(m);
+        }
+        Assert.assertTrue(eps.solve());
+        IntVar obj = (IntVar) eps.getModels().get(0).getObjective();
+        Assert.assertEquals(eps.getBestSolution().getIntVal(obj), 51);
+    }
+
+    @Test(groups="1s", timeOut=60000, expectedExceptions = SolverException.class)
+    public void testRunTwice() {
+        EmbarrassinglyParallelSearch eps = new EmbarrassinglyParallelSearch();
+        eps.addModel(queens(4));
+        eps.solve();
+        eps.solve();
+    }
+}
@@ -16,6 +16,7 @@ package org.chocosolver.solver;
 
 
 import org.chocosolver.memory.EnvironmentBuilder;
+import org.chocosolver.memory.IEnvironment;
 import org.chocosolver.memory.trailing.EnvironmentTrailing;
 import org.chocosolver.memory.trailing.trail.chunck.ChunckedIntTrail;
 import org.chocosolver.memory.trailing.trail.flatten.StoredDoubleTrail;
@@ -34,7 +35,8 @@ public class EnvironmentTest {
 	public Object[][] getEnvs(){
 		return new EnvironmentTrailing[][]{
 				{new EnvironmentBuilder().fromFlat().build()},
-				{new EnvironmentBuilder().fromChunk().build()}
+				{new EnvironmentBuilder().fromChunk().build()},
+				{new EnvironmentBuilder().fromSlots().build()}
 		};
 	}
 
@@ -105,4 +107,49 @@ public class EnvironmentTest {
 		m.getEnvironment().makeDoubleVector(100, 0.0);
 		System.out.println(m.getSolver().solve());
 	}
-}
\ No newline at end of file
+
+	@Test(groups="1s", timeOut=60000)
+	public void testCopying() {
+		long[] counts = new long[2];
+		IEnvironment[] envs = {new EnvironmentBuilder().fromFlat().build(), new EnvironmentBuilder().buildCopying()};
+		for (int e = 0; e < 2; e++) {
+			Model model = new Model(envs[e], "queens");
+			int n = 8;
+			IntVar[] vars = model.intVarArray("Q", n, 1, n, false);
+			IntVar[] diag1 = new IntVar[n];
+			IntVar[] diag2 = new IntVar[n];
+			for (int i = 0; i < n; i++) {
+				diag1[i] = model.intOffsetView(vars[i], i);
+				diag2[i] = model.intOffsetView(vars[i], -i);
+			}
+			model.allDifferent(vars, "AC").post();
+			model.allDifferent(diag1, "BC").post();
+			model.allDifferent(diag2).post();
+			counts[e] = model.getSolver().streamSolutions().count();
+		}
+		Assert.assertEquals(counts[0], 92);
+		Assert.assertEquals(counts[1], 92);
+	}
+
+	@Test(groups="1s", timeOut=60000)
+	public void testCopyingOptimization() {
+		Model model = new Model(new EnvironmentBuilder().buildCopying(), "golomb");
+		int m = 7;
+		IntVar[] ticks = model.intVarArray("a", m, 0, 50, false);
+		IntVar[] diffs = model.intVarArray("d", (m * m - m) / 2, 0, 50, false);
+		model.arithm(ticks[0], "=", 0).post();
+		for (int i = 0; i < m - 1; i++) {
+			model.arithm(ticks[i + 1], ">", ticks[i]).post();
+		}
+		for (int i = 0, k = 0; i < m - 1; i++) {
+			for (int j = i + 1; j < m; j++, k++) {
+				model.scalar(new IntVar[]{ticks[j], ticks[i]}, new int[]{1, -1}, "=", diffs[k]).post();
+			}
+		}
+		model.allDifferent(diffs, "BC").post();
+		model.arithm(diffs[0], "<", diffs[diffs.length - 1]).post();
+		Solution sol = model.getSolver().findOptimalSolution(ticks[m - 1], false);
+		Assert.assertNotNull(sol);
+		Assert.assertEquals(sol.getIntVal(ticks[m - 1]), 25);
+	}
+}
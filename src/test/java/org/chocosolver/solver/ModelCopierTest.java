@@ -0,0 +1,206 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.solver.constraints.extension.Tuples;
+import org.chocosolver.solver.constraints.nary.automata.FA.FiniteAutomaton;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.variables.BoolVar;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.SetVar;
+import org.chocosolver.solver.variables.Variable;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import static org.chocosolver.solver.EmbarrassinglyParallelSearchTest.queens;
+import static org.chocosolver.solver.ModelTest.knapsack;
+
+/**
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class ModelCopierTest {
+
+    @Test(groups="1s", timeOut=60000)
+    public void testQueens() {
+        Model model = queens(8);
+        Model copy = model.copy();
+        Assert.assertNotSame(copy, model);
+        Assert.assertNotSame(copy.getSolver(), model.getSolver());
+        Assert.assertNotSame(copy.getEnvironment(), model.getEnvironment());
+        Assert.assertEquals(copy.getNbVars(), model.getNbVars());
+        Assert.assertEquals(copy.getNbCstrs(), model.getNbCstrs());
+        Assert.assertEquals(copy.getSolver().findAllSolutions().size(), 92);
+        Assert.assertEquals(model.getSolver().getSolutionCount(), 0);
+        Assert.assertEquals(model.getSolver().findAllSolutions().size(), 92);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testOptimization() {
+        Model model = knapsack();
+        Model copy = model.copy();
+        Solution sol = copy.getSolver().findOptimalSolution((IntVar) copy.getObjective(), true);
+        IntVar obj = (IntVar) copy.getHook("obj");
+        Assert.assertNotSame(obj, model.getHook("obj"));
+        Assert.assertEquals(sol.getIntVal(obj), 51);
+        Assert.assertEquals(sol.getIntVal((IntVar) model.getHook("obj")), 51);
+        Assert.assertTrue(model.getSolver().solve());
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testIndependence() {
+        Model model = queens(6);
+        Model copy = model.copy();
+        IntVar[] vars = copy.retrieveIntVars(true);
+        copy.arithm(vars[0], "=", 2).post();
+        Assert.assertEquals(copy.getNbCstrs(), model.getNbCstrs() + 1);
+        Assert.assertEquals(copy.getSolver().findAllSolutions().size(), 1);
+        Assert.assertEquals(model.getSolver().findAllSolutions().size(), 4);
+        Assert.assertEquals(model.retrieveIntVars(true)[0].getLB(), 1);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testSharing() {
+        Model model = new Model();
+        IntVar[] xs = model.intVarArray("x", 3, 0, 3);
+        Tuples tuples = new Tuples(true);
+        tuples.add(0, 1, 2);
+        tuples.add(1, 2, 3);
+        tuples.add(3, 2, 1);
+        model.table(xs, tuples).post();
+        FiniteAutomaton fa = new FiniteAutomaton("[0-3]*");
+        model.regular(xs, fa).post();
+        int[] array = {1, 2, 3};
+        model.addHook("tuples", tuples);
+        model.addHook("fa", fa);
+        model.addHook("array", array);
+        Model copy = model.copy();
+        Assert.assertSame(copy.getHook("tuples"), tuples);
+        Assert.assertSame(copy.getHook("fa"), fa);
+        Assert.assertNotSame(copy.getHook("array"), array);
+        Assert.assertEquals((int[]) copy.getHook("array"), array);
+        Assert.assertEquals(copy.getSolver().findAllSolutions().size(), 3);
+        Assert.assertEquals(model.getSolver().findAllSolutions().size(), 3);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testVariousConstraints() {
+        Model model = new Model();
+        IntVar[] xs = model.intVarArray("x", 4, 0, 4);
+        BoolVar[] bs = model.boolVarArray("b", 3);
+        IntVar y = model.intVar("y", -4, 4, true);
+        model.allDifferent(xs, "AC").post();
+        model.arithm(xs[0], "<", xs[1]).post();
+        model.arithm(xs[2], "+", xs[3], "!=", 4).post();
+        model.sum(new BoolVar[]{bs[0], bs[1].not(), bs[2]}, ">=", xs[1]).post();
+        model.scalar(new IntVar[]{xs[0], xs[3], bs[0]}, new int[]{2, -1, 3}, "=", model.intMinusView(y)).post();
+        Tuples tuples = new Tuples(true);
+        tuples.add(1, 2, 3);
+        tuples.add(4, 2, 1);
+        tuples.add(3, 4, 0);
+        model.table(new IntVar[]{xs[1], xs[2], xs[3]}, tuples, "CT+").post();
+        model.regular(new IntVar[]{xs[1], xs[2]}, new FiniteAutomaton("[1-4][0-4]")).post();
+        Model copy = model.copy();
+        Assert.assertEquals(copy.getNbVars(), model.getNbVars());
+        Assert.assertEquals(copy.getNbCstrs(), model.getNbCstrs());
+        long expected = model.getSolver().streamSolutions().count();
+        Assert.assertTrue(expected > 0);
+        Assert.assertEquals(copy.getSolver().streamSolutions().count(), expected);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testIds() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 5);
+        model.intOffsetView(x, 2);
+        model.arithm(x, "!=", 3).post();
+        BoolVar b = model.boolVar("b");
+        BoolVar nb = b.not();
+        SetVar set = model.setVar("s", new int[]{1}, new int[]{0, 1, 2});
+        model.addHook("set", set);
+        Model copy = model.copy();
+        Variable[] vars = model.getVars();
+        Variable[] cvars = copy.getVars();
+        Assert.assertEquals(cvars.length, vars.length);
+        for (int i = 0; i < vars.length; i++) {
+            Assert.assertEquals(cvars[i].getId(), vars[i].getId());
+            Assert.assertEquals(cvars[i].getName(), vars[i].getName());
+            Assert.assertEquals(cvars[i].getClass(), vars[i].getClass());
+        }
+        Assert.assertEquals(copy.getCstrs()[0].getPropagator(0).getId(),
+                model.getCstrs()[0].getPropagator(0).getId());
+        BoolVar cb = (BoolVar) cvars[2];
+        Assert.assertTrue(cb.hasNot());
+        Assert.assertSame(cb.not(), cvars[3]);
+        Assert.assertNotSame(copy.getHook("set"), set);
+        Assert.assertEquals(((SetVar) copy.getHook("set")).getUB().size(), 3);
+        Assert.assertEquals(((IntVar) cvars[1]).getLB(), 2);
+        Assert.assertEquals(((BoolVar) cvars[3]).isNot(), nb.isNot());
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testCurrentDomains() throws ContradictionException {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 10, false);
+        IntVar y = model.intVar("y", 0, 10, true);
+        model.arithm(x, "!=", 5).post();
+        model.arithm(x, ">", y).post();
+        model.getSolver().propagate();
+        y.updateLowerBound(3, Cause.Null);
+        Model copy = model.copy();
+        IntVar cx = (IntVar) copy.getVar(0);
+        IntVar cy = (IntVar) copy.getVar(1);
+        Assert.assertFalse(cx.contains(5));
+        Assert.assertEquals(cx.getLB(), 1);
+        Assert.assertEquals(cy.getLB(), 3);
+        Assert.assertEquals(copy.getSolver().findAllSolutions().size(), model.getSolver().findAllSolutions().size());
+    }
+
+    @Test(groups="1s", timeOut=60000, expectedExceptions = SolverException.class)
+    public void testUnsupportedPropagator() {
+        Model model = new Model();
+        IntVar[] xs = model.intVarArray("x", 5, 0, 4);
+        model.circuit(xs).post();
+        model.copy();
+    }
+
+    @Test(groups="1s", timeOut=60000, expectedExceptions = SolverException.class)
+    public void testUnsupportedHook() {
+        Model model = queens(4);
+        model.addHook("builder", new StringBuilder());
+        model.copy();
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testPortfolio() {
+        ParallelPortfolio pf = new ParallelPortfolio();
+        pf.addModel(knapsack(), 3);
+        int nbSolutions = 0;
+        while (pf.solve()) {
+            nbSolutions++;
+        }
+        Assert.assertTrue(nbSolutions > 0);
+        Assert.assertEquals(pf.getModels().size(), 4);
+        Solver best = pf.getBestModel().getSolver();
+        Assert.assertEquals(best.getBestSolutionValue().intValue(), 51);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testWorkStealing() {
+        WorkStealingSearch wss = new WorkStealingSearch();
+        wss.addModel(queens(8), 3);
+        Assert.assertEquals(wss.findAllSolutions().size(), 92);
+        Assert.assertEquals(wss.getModels().size(), 4);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.loop.lns.INeighborFactory;
+import org.chocosolver.solver.search.loop.lns.SharedIncumbent;
+import org.chocosolver.solver.search.loop.lns.neighbors.INeighbor;
+import org.chocosolver.solver.variables.IntVar;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import static org.chocosolver.solver.EmbarrassinglyParallelSearchTest.queens;
+import static org.chocosolver.solver.ModelTest.knapsack;
+
+/**
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class ParallelLNSTest {
+
+    @Test(groups="1s", timeOut=60000)
+    public void testKnapsack() {
+        ParallelLNS plns = new ParallelLNS();
+        for (int i = 0; i < 4; i++) {
+            Model m = knapsack();
+            m.getSolver().limitFail(5000);
+            plns.addModel(m);
+        }
+        Assert.assertTrue(plns.solve());
+        IntVar obj = (IntVar) plns.getModels().get(0).getObjective();
+        int best = plns.getBestSolution().getIntVal(obj);
+        Assert.assertEquals(best, 51);
+        // the incumbent shared by the workers is the best solution, whose bound is known by every worker
+        Assert.assertSame(plns.getStatistics().getIncumbent(), plns.getBestSolution());
+        for (Model w : plns.getModels()) {
+            Assert.assertEquals(w.getSolver().getObjectiveManager().getBestLB().intValue(), best);
+        }
+        // the best solution is a solution of a fresh model
+        Model m = knapsack();
+        for (IntVar v : m.retrieveIntVars(true)) {
+            m.arithm(v, "=", plns.getBestSolution().getIntVal(v)).post();
+        }
+        Assert.assertTrue(m.getSolver().solve());
+        SharedIncumbent stats = plns.getStatistics();
+        Assert.assertEquals(stats.getNbNeighborhoods(), 3);
+        long fragments = 0;
+        for (int k = 0; k < stats.getNbNeighborhoods(); k++) {
+            fragments += stats.getNbFragments(k);
+            Assert.assertTrue(stats.getNbImprovements(k) <= stats.getNbFragments(k));
+        }
+        Assert.assertTrue(fragments > 0);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testCustomNeighborhoods() {
+        ParallelLNS plns = new ParallelLNS(m -> {
+            IntVar[] vars = m.retrieveIntVars(true);
+            return new INeighbor[]{INeighborFactory.random(vars)};
+        }, 100);
+        for (int i = 0; i < 2; i++) {
+            Model m = knapsack();
+            m.getSolver().limitFail(2000);
+            plns.addModel(m);
+        }
+        Assert.assertTrue(plns.solve());
+        Assert.assertEquals(plns.getStatistics().getNbNeighborhoods(), 1);
+    }
+
+    @Test(groups="1s", timeOut=60000, expectedExceptions = SolverException.class)
+    public void testSatisfaction() {
+        ParallelLNS plns = new ParallelLNS();
+        for (int i = 0; i < 2; i++) {
+            plns.addModel(queens(8));
+        }
+        plns.solve();
+    }
+}
@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver;
 
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.loop.monitors.NogoodExchange;
 import org.chocosolver.solver.search.restart.MonotonicRestartStrategy;
 import org.chocosolver.solver.variables.IntVar;
 import org.testng.Assert;
@@ -208,4 +210,58 @@ public class PortFolioTest {
             System.gc();
         }
     }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testNogoodSharing() {
+        for (int iter = 0; iter < 5; iter++) {
+            ParallelPortfolio pares = new ParallelPortfolio(false);
+            for (int i = 0; i < 4; i++) {
+                pares.addModel(restartingKnapsack());
+            }
+            pares.enableNogoodSharing(8);
+            while (pares.solve()) ;
+            Model finder = pares.getBestModel();
+            Assert.assertNotNull(finder);
+            Assert.assertEquals(finder.getSolver().getObjectiveManager().getBestSolutionValue(), 51);
+            NogoodExchange exchange = pares.getNogoodExchange();
+            Assert.assertNotNull(exchange);
+            Assert.assertTrue(exchange.getNbPublished() > 0);
+            // a no-good is imported at most once by each other model
+            Assert.assertTrue(exchange.getNbImported() <= 3 * exchange.getNbPublished());
+            System.gc();
+        }
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testNogoodExchange() {
+        NogoodExchange exchange = new NogoodExchange(8);
+        Model m1 = restartingKnapsack();
+        Model m2 = restartingKnapsack();
+        exchange.connect(m1);
+        exchange.connect(m2);
+        while (m1.getSolver().solve()) ;
+        long published = exchange.getNbPublished();
+        Assert.assertTrue(published > 0);
+        Assert.assertEquals(exchange.getNbImported(), 0);
+        // the second model imports everything published by the first one on its first restart
+        while (m2.getSolver().solve()) ;
+        Assert.assertEquals(exchange.getNbImported(), published);
+        Assert.assertEquals(m2.getSolver().getObjectiveManager().getBestSolutionValue(), 51);
+    }
+
+    private static Model restartingKnapsack() {
+        Model model = knapsack();
+        model.getSolver().setNoGoodRecordingFromRestarts();
+        model.getSolver().setRestartOnSolutions();
+        return model;
+    }
+
+    @Test(groups="1s", timeOut=60000, expectedExceptions = SolverException.class)
+    public void testNogoodSharingAfterPrepare() {
+        ParallelPortfolio pares = new ParallelPortfolio();
+        pares.addModel(knapsack());
+        pares.addModel(knapsack());
+        pares.prepare();
+        pares.enableNogoodSharing(8);
+    }
 }
@@ -9,6 +9,9 @@
  */
 package org.chocosolver.solver;
 
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.variables.IntVar;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -19,4 +22,38 @@ public class SolutionTest {
         final Solution emptySolution = new Solution(null);
         Assert.assertNotSame(emptySolution, emptySolution.copySolution());
     }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRecordChanges() throws ContradictionException {
+        Model model = new Model();
+        IntVar[] xs = model.intVarArray("x", 4, 0, 5);
+        IntVar y = model.intVar("y", 0, 5);
+        Solution solution = new Solution(model, xs);
+        model.getEnvironment().worldPush();
+        for (int i = 0; i < xs.length; i++) {
+            xs[i].instantiateTo(i, Cause.Null);
+        }
+        solution.record();
+        Assert.assertEquals(solution.getNbChanges(), 4);
+        Solution copy = solution.copySolution();
+        model.getEnvironment().worldPop();
+        model.getEnvironment().worldPush();
+        for (int i = 0; i < xs.length; i++) {
+            xs[i].instantiateTo(i % 2 == 0 ? i : 5, Cause.Null);
+        }
+        solution.record();
+        model.getEnvironment().worldPop();
+        Assert.assertEquals(solution.getNbChanges(), 2);
+        int[] ids = new int[2];
+        int[] k = {0};
+        solution.forEachChange(id -> ids[k[0]++] = id);
+        Assert.assertEquals(ids, new int[]{xs[1].getId(), xs[3].getId()});
+        for (int i = 0; i < xs.length; i++) {
+            Assert.assertEquals(solution.getIntVal(xs[i]), i % 2 == 0 ? i : 5);
+            Assert.assertEquals(copy.getIntVal(xs[i]), i);
+        }
+        solution.setIntVal(y, 3);
+        Assert.assertEquals(solution.getIntVal(y), 3);
+        Assert.assertThrows(SolverException.class, () -> copy.getIntVal(y));
+    }
 }
@@ -0,0 +1,134 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.loop.lns.INeighborFactory;
+import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
+import org.chocosolver.solver.search.limits.FailCounter;
+import org.chocosolver.solver.variables.IntVar;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.chocosolver.solver.EmbarrassinglyParallelSearchTest.queens;
+import static org.chocosolver.solver.ModelTest.knapsack;
+
+/**
+ * <p>
+ * Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class WorkStealingSearchTest {
+
+    @Test(groups="1s", timeOut=60000)
+    public void testAllSolutions() {
+        WorkStealingSearch wss = new WorkStealingSearch();
+        for (int i = 0; i < 4; i++) {
+            wss.addModel(queens(10));
+        }
+        List<Solution> solutions = wss.findAllSolutions();
+        Assert.assertEquals(solutions.size(), 724);
+        Assert.assertTrue(wss.getStealCount() > 0);
+        IntVar[] vars = wss.getModels().get(0).retrieveIntVars(true);
+        Set<String> distinct = new HashSet<>();
+        for (Solution s : solutions) {
+            StringBuilder st = new StringBuilder();
+            for (IntVar v : vars) {
+                st.append(s.getIntVal(v)).append(',');
+            }
+            distinct.add(st.toString());
+        }
+        Assert.assertEquals(distinct.size(), 724);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testAllSolutionsDefaultSearch() {
+        WorkStealingSearch wss = new WorkStealingSearch();
+        for (int i = 0; i < 3; i++) {
+            Model m = queens(8);
+            m.getSolver().getMove().setStrategy(null);
+            wss.addModel(m);
+        }
+        Assert.assertEquals(wss.findAllSolutions().size(), 92);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testWorkerFailure() {
+        WorkStealingSearch wss = new WorkStealingSearch();
+        for (int i = 0; i < 3; i++) {
+            Model m = queens(8);
+            m.getSolver().plugMonitor((IMonitorSolution) () -> {
+                throw new IllegalStateException("worker failure");
+            });
+            wss.addModel(m);
+        }
+        try {
+            wss.findAllSolutions();
+            Assert.fail();
+        } catch (SolverException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testOneSolution() {
+        WorkStealingSearch wss = new WorkStealingSearch();
+        for (int i = 0; i < 3; i++) {
+            wss.addModel(queens(12));
+        }
+        Assert.assertTrue(wss.solve());
+        Model m = queens(12);
+        for (IntVar v : m.retrieveIntVars(true)) {
+            m.arithm(v, "=", wss.getBestSolution().getIntVal(v)).post();
+        }
+        Assert.assertTrue(m.getSolver().solve());
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testNoSolution() {
+        WorkStealingSearch wss = new WorkStealingSearch();
+        for (int i = 0; i < 4; i++) {
+            wss.addModel(queens(3));
+        }
+        Assert.assertFalse(wss.solve());
+        Assert.assertNull(wss.getBestSolution());
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testOptimization() {
+        for (int k = 1; k < 5; k++) {
+            WorkStealingSearch wss = new WorkStealingSearch();
+            for (int i = 0; i < k; i++) {
+                wss.addModel(knapsack());
+            }
+            Assert.assertTrue(wss.solve());
+            IntVar obj = (IntVar) wss.getModels().get(0).getObjective();
+            Assert.assertEquals(wss.getBestSolution().getIntVal(obj), 51);
+        }
+    }
+
+    @Test(groups="1s", timeOut=60000, expectedExceptions = SolverException.class)
+    public void testLNS() {
+        WorkStealingSearch wss = new WorkStealingSearch();
+        for (int i = 0; i < 2; i++) {
+            Model m = knapsack();
+            IntVar[] vars = m.retrieveIntVars(true);
+            m.getSolver().setLNS(INeighborFactory.random(vars), new FailCounter(m, 100));
+            wss.addModel(m);
+        }
+        wss.solve();
+    }
+}
@@ -65,6 +65,9 @@ public class TestConsistency {
             checkConsistency(Modeler.modelAllDiffAC, 1, 0, 10, null, seed + i, "ac");
             checkConsistency(Modeler.modelAllDiffAC, 2, 0, 2, null, seed + i, "ac");
             checkConsistency(Modeler.modelAllDiffAC, 5, 2, 30, null, seed + i, "ac");
+            checkConsistency(Modeler.modelAllDiffACIncr, 1, 0, 10, null, seed + i, "ac");
+            checkConsistency(Modeler.modelAllDiffACIncr, 2, 0, 2, null, seed + i, "ac");
+            checkConsistency(Modeler.modelAllDiffACIncr, 5, 2, 30, null, seed + i, "ac");
         }
     }
     @Test(groups="checker", timeOut=60000)
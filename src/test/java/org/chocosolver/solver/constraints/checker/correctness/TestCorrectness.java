@@ -83,6 +83,7 @@ public class TestCorrectness {
             long seed = System.currentTimeMillis();
             for (int n = 2; n < (1 << 5) + 1; n *= 2) {
                 CorrectnessChecker.checkCorrectness(Modeler.modelAllDiffAC, n, -n / 2, 2 * n, seed, null);
+                CorrectnessChecker.checkCorrectness(Modeler.modelAllDiffACIncr, n, -n / 2, 2 * n, seed, null);
                 CorrectnessChecker.checkCorrectness(Modeler.modelAllDiffBC, n, -n / 2, 2 * n, seed, null);
             }
 
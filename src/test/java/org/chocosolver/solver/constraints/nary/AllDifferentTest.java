@@ -11,6 +11,7 @@ package org.chocosolver.solver.constraints.nary;
 
 import static org.chocosolver.solver.constraints.checker.DomainBuilder.buildFullDomains;
 import static org.chocosolver.solver.search.strategy.Search.inputOrderLBSearch;
+import static org.chocosolver.solver.search.strategy.Search.randomSearch;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
@@ -158,6 +159,11 @@ public class AllDifferentTest {
                         while (ac.getSolver().solve()) ;
                         assertEquals(ac.getSolver().getSolutionCount(), neqs.getSolver().getSolutionCount(), "nb sol incorrect " + seed);
                         assertTrue(ac.getSolver().getNodeCount() <= neqs.getSolver().getNodeCount(), "nb nod incorrect" + seed);
+
+                        Model aci = alldiffs(domains, 4, b == 0);
+                        while (aci.getSolver().solve()) ;
+                        assertEquals(aci.getSolver().getSolutionCount(), neqs.getSolver().getSolutionCount(), "nb sol incorrect " + seed);
+                        assertEquals(aci.getSolver().getNodeCount(), ac.getSolver().getNodeCount(), "nb nod incorrect" + seed);
                     }
                 }
             }
@@ -196,6 +202,9 @@ public class AllDifferentTest {
             case 3:
                 s.allDifferent(vars, "AC").post();
                 break;
+            case 4:
+                s.allDifferent(vars, "AC_INCR").post();
+                break;
         }
         s.getSolver().setSearch(inputOrderLBSearch(vars));
         return s;
@@ -318,6 +327,28 @@ public class AllDifferentTest {
         assertEquals(X[14].getDomainSize(), 2);
     }
 
+    @Test(groups="10s", timeOut=60000)
+    public void testACIncr() {
+        for (int seed = 0; seed < 20; seed++) {
+            Random rand = new Random(seed);
+            int n = 4 + rand.nextInt(8);
+            int[][] domains = buildFullDomains(n, 0, n + rand.nextInt(3), rand, .5 + rand.nextDouble() / 2, false);
+            Model[] models = new Model[2];
+            for (int k = 0; k < 2; k++) {
+                models[k] = new Model();
+                IntVar[] vars = new IntVar[n];
+                for (int i = 0; i < n; i++) {
+                    vars[i] = models[k].intVar("v_" + i, domains[i]);
+                }
+                models[k].allDifferent(vars, k == 0 ? "AC" : "AC_INCR").post();
+                models[k].getSolver().setSearch(randomSearch(vars, seed));
+                while (models[k].getSolver().solve()) ;
+            }
+            assertEquals(models[1].getSolver().getSolutionCount(), models[0].getSolver().getSolutionCount(), "nb sol incorrect " + seed);
+            assertEquals(models[1].getSolver().getNodeCount(), models[0].getSolver().getNodeCount(), "nb nod incorrect " + seed);
+        }
+    }
+
     @Test
     public void testUF() throws ContradictionException {
         Model choco = new Model();
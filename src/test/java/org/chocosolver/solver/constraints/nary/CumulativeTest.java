@@ -12,6 +12,7 @@ package org.chocosolver.solver.constraints.nary;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.constraints.nary.cumulative.Cumulative;
+import org.chocosolver.solver.constraints.nary.cumulative.TimetableProfile;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.Task;
@@ -19,6 +20,7 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.Arrays;
+import java.util.Random;
 
 import static org.chocosolver.solver.search.strategy.Search.lastConflict;
 import static org.chocosolver.solver.search.strategy.Search.randomSearch;
@@ -186,6 +188,94 @@ public class CumulativeTest {
 		}
 	}
 
+	private static Task[] tasks(Model m, int[] est, int[] lct, int[] p) {
+		Task[] tasks = new Task[est.length];
+		for (int i = 0; i < est.length; i++) {
+			tasks[i] = new Task(
+					m.intVar("s" + i, est[i], lct[i] - p[i]),
+					m.intVar(p[i]),
+					m.intVar("e" + i, est[i] + p[i], lct[i]));
+		}
+		return tasks;
+	}
+
+	@Test(groups="1s", timeOut=60000)
+	public void testTTEF() throws ContradictionException {
+		// the first two tasks fill [0,4[, without compulsory part
+		Model m = new Model();
+		Task[] t = tasks(m, new int[]{0, 0, 1}, new int[]{4, 4, 20}, new int[]{2, 2, 3});
+		m.cumulative(t, new IntVar[]{m.intVar(1), m.intVar(1), m.intVar(1)}, m.intVar(1), false, Cumulative.Filter.TTEF).post();
+		m.getSolver().propagate();
+		Assert.assertEquals(t[2].getStart().getLB(), 4);
+		// symmetric on the end side
+		m = new Model();
+		t = tasks(m, new int[]{16, 16, 0}, new int[]{20, 20, 19}, new int[]{2, 2, 3});
+		m.cumulative(t, new IntVar[]{m.intVar(1), m.intVar(1), m.intVar(1)}, m.intVar(1), false, Cumulative.Filter.TTEF).post();
+		m.getSolver().propagate();
+		Assert.assertEquals(t[2].getEnd().getUB(), 16);
+	}
+
+	@Test(groups="1s", timeOut=60000, expectedExceptions = ContradictionException.class)
+	public void testTTEFOverload() throws ContradictionException {
+		Model m = new Model();
+		Task[] t = tasks(m, new int[]{0, 0, 0}, new int[]{5, 5, 5}, new int[]{2, 2, 2});
+		m.cumulative(t, new IntVar[]{m.intVar(1), m.intVar(1), m.intVar(1)}, m.intVar(1), false, Cumulative.Filter.TTEF).post();
+		m.getSolver().propagate();
+	}
+
+	@Test(groups="1s", timeOut=60000)
+	public void testTimetableProfile() {
+		TimetableProfile profile = new TimetableProfile(3);
+		Assert.assertTrue(profile.update(0, 2, 6, 2));
+		Assert.assertTrue(profile.update(1, 4, 8, 1));
+		Assert.assertFalse(profile.update(2, 5, 5, 3));
+		Assert.assertEquals(profile.maxHeight(), 3);
+		Assert.assertEquals(profile.energyBefore(2), 0);
+		Assert.assertEquals(profile.energyBefore(5), 7);
+		Assert.assertEquals(profile.energyBefore(10), 12);
+		Assert.assertFalse(profile.update(0, 2, 6, 2));
+		Assert.assertTrue(profile.update(0, 3, 6, 2));
+		Assert.assertEquals(profile.energyBefore(10), 10);
+		Assert.assertTrue(profile.update(1, 0, 0, 0));
+		Assert.assertEquals(profile.maxHeight(), 2);
+		Assert.assertEquals(profile.size(), 2);
+	}
+
+	@Test(groups="10s", timeOut=60000)
+	public void testTTEFRandom() {
+		Random rnd = new Random(0);
+		for (int k = 0; k < 30; k++) {
+			int n = 2 + rnd.nextInt(3);
+			int[] est = new int[n], lct = new int[n], p = new int[n], h = new int[n];
+			for (int i = 0; i < n; i++) {
+				p[i] = 1 + rnd.nextInt(3);
+				h[i] = rnd.nextInt(3);
+				est[i] = rnd.nextInt(5);
+				lct[i] = est[i] + p[i] + rnd.nextInt(5);
+			}
+			int capa = 1 + rnd.nextInt(3);
+			boolean graph = rnd.nextBoolean();
+			long[] counts = new long[2];
+			for (int c = 0; c < 2; c++) {
+				Model m = new Model();
+				Task[] t = tasks(m, est, lct, p);
+				IntVar[] hs = new IntVar[n];
+				IntVar[] vars = new IntVar[n];
+				for (int i = 0; i < n; i++) {
+					hs[i] = m.intVar(h[i]);
+					vars[i] = t[i].getStart();
+				}
+				m.cumulative(t, hs, m.intVar(capa), graph,
+						c == 0 ? Cumulative.Filter.TIME : Cumulative.Filter.TTEF).post();
+				Solver solver = m.getSolver();
+				solver.setSearch(randomSearch(vars, k));
+				while (solver.solve()) ;
+				counts[c] = solver.getSolutionCount();
+			}
+			Assert.assertEquals(counts[1], counts[0], "seed " + k);
+		}
+	}
+
     @Test(groups="10s", timeOut=60000)
     public void testADelsol1(){
 		int[] height = new int[]{0, 1, 3, 5, 1, 4, 4, 3, 4, 3, 0};
@@ -0,0 +1,189 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary;
+
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.BoolVar;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Task;
+import org.chocosolver.util.tools.ArrayUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+import static org.chocosolver.solver.search.strategy.Search.minDomLBSearch;
+import static org.chocosolver.solver.search.strategy.Search.randomSearch;
+
+/**
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class DisjunctiveTest {
+
+    private static Task[] tasks(Model m, int[] est, int[] lct, int[] p) {
+        Task[] tasks = new Task[est.length];
+        for (int i = 0; i < est.length; i++) {
+            IntVar s = m.intVar("s" + i, est[i], lct[i] - p[i]);
+            IntVar d = m.intVar(p[i]);
+            IntVar e = m.intVar("e" + i, est[i] + p[i], lct[i]);
+            tasks[i] = new Task(s, d, e);
+        }
+        return tasks;
+    }
+
+    @Test(groups="1s", timeOut=60000, expectedExceptions = ContradictionException.class)
+    public void testOverload() throws ContradictionException {
+        Model m = new Model();
+        Task[] t = tasks(m, new int[]{0, 1, 2}, new int[]{10, 10, 10}, new int[]{4, 4, 3});
+        m.disjunctive(t).post();
+        m.getSolver().propagate();
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testEdgeFinding() throws ContradictionException {
+        // the first task cannot be scheduled with the other two before 13
+        Model m = new Model();
+        Task[] t = tasks(m, new int[]{4, 5, 5}, new int[]{30, 13, 13}, new int[]{4, 3, 3});
+        m.disjunctive(t).post();
+        m.getSolver().propagate();
+        Assert.assertEquals(t[0].getStart().getLB(), 11);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testDetectablePrecedences() throws ContradictionException {
+        Model m = new Model();
+        Task[] t = tasks(m, new int[]{0, 7}, new int[]{14, 25}, new int[]{11, 5});
+        m.disjunctive(t).post();
+        m.getSolver().propagate();
+        Assert.assertEquals(t[1].getStart().getLB(), 11);
+        // symmetric on the ending side
+        Model m2 = new Model();
+        Task[] t2 = tasks(m2, new int[]{11, 0}, new int[]{25, 18}, new int[]{11, 5});
+        m2.disjunctive(t2).post();
+        m2.getSolver().propagate();
+        Assert.assertEquals(t2[1].getEnd().getUB(), 14);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testNotLast() throws ContradictionException {
+        Model m = new Model();
+        // the last task cannot end after the other two
+        Task[] t = tasks(m, new int[]{0, 6, 0}, new int[]{10, 10, 11}, new int[]{4, 4, 2});
+        m.disjunctive(t).post();
+        m.getSolver().propagate();
+        Assert.assertEquals(t[2].getEnd().getUB(), 6);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testOptional() throws ContradictionException {
+        Model m = new Model();
+        Task[] t = tasks(m, new int[]{0, 1, 2}, new int[]{10, 10, 10}, new int[]{4, 3, 4});
+        BoolVar[] b = m.boolVarArray("b", 3);
+        m.disjunctive(t, b).post();
+        b[0].setToTrue(Cause.Null);
+        b[1].setToTrue(Cause.Null);
+        m.getSolver().propagate();
+        Assert.assertTrue(b[2].isInstantiatedTo(0));
+        // optional tasks do not filter
+        Assert.assertEquals(t[0].getStart().getLB(), 0);
+        Assert.assertEquals(t[1].getStart().getLB(), 1);
+    }
+
+    @Test(groups="10s", timeOut=60000)
+    public void testRandom() {
+        Random rnd = new Random(0);
+        for (int k = 0; k < 50; k++) {
+            int n = 2 + rnd.nextInt(4);
+            int[] est = new int[n], lct = new int[n], p = new int[n];
+            for (int i = 0; i < n; i++) {
+                p[i] = rnd.nextInt(4);
+                est[i] = rnd.nextInt(8);
+                lct[i] = est[i] + p[i] + rnd.nextInt(10);
+            }
+            boolean opt = rnd.nextBoolean();
+            long[] counts = new long[2];
+            for (int c = 0; c < 2; c++) {
+                Model m = new Model();
+                Task[] t = tasks(m, est, lct, p);
+                BoolVar[] b = opt ? m.boolVarArray("b", n) : null;
+                if (c == 0) {
+                    IntVar[] h = opt ? b : m.intVarArray("h", n, 1, 1);
+                    m.cumulative(t, h, m.intVar(1)).post();
+                } else {
+                    m.disjunctive(t, b).post();
+                }
+                IntVar[] vars = new IntVar[n];
+                for (int i = 0; i < n; i++) {
+                    vars[i] = t[i].getStart();
+                }
+                Solver solver = m.getSolver();
+                solver.setSearch(randomSearch(opt ? ArrayUtils.append(b, vars) : vars, k));
+                while (solver.solve()) ;
+                counts[c] = solver.getSolutionCount();
+            }
+            Assert.assertEquals(counts[1], counts[0], "seed " + k);
+        }
+    }
+
+    @Test(groups="10s", timeOut=60000)
+    public void testJobShop() {
+        // Fisher and Thompson 6x6 instance (optimum is 55)
+        int[][] machines = {
+                {2, 0, 1, 3, 5, 4},
+                {1, 2, 4, 5, 0, 3},
+                {2, 3, 5, 0, 1, 4},
+                {1, 0, 2, 3, 4, 5},
+                {2, 1, 4, 5, 0, 3},
+                {1, 3, 5, 0, 4, 2}};
+        int[][] durations = {
+                {1, 3, 6, 7, 3, 6},
+                {8, 5, 10, 10, 10, 4},
+                {5, 4, 8, 9, 1, 7},
+                {5, 5, 5, 3, 8, 9},
+                {9, 3, 5, 4, 3, 1},
+                {3, 3, 9, 10, 4, 1}};
+        int n = 6, horizon = 200;
+        Model m = new Model();
+        Task[][] onMachine = new Task[n][n];
+        IntVar[] starts = new IntVar[n * n];
+        IntVar[] ends = new IntVar[n];
+        for (int j = 0; j < n; j++) {
+            IntVar prev = null;
+            for (int o = 0; o < n; o++) {
+                IntVar s = m.intVar("s_" + j + "_" + o, 0, horizon);
+                IntVar e = m.intVar("e_" + j + "_" + o, 0, horizon);
+                Task t = new Task(s, m.intVar(durations[j][o]), e);
+                onMachine[machines[j][o]][j] = t;
+                starts[j * n + o] = s;
+                if (prev != null) {
+                    m.arithm(prev, "<=", s).post();
+                }
+                prev = e;
+            }
+            ends[j] = prev;
+        }
+        for (int k = 0; k < n; k++) {
+            m.disjunctive(onMachine[k]).post();
+        }
+        IntVar makespan = m.intVar("makespan", 0, horizon);
+        m.max(makespan, ends).post();
+        m.setObjective(Model.MINIMIZE, makespan);
+        Solver solver = m.getSolver();
+        solver.setSearch(minDomLBSearch(starts));
+        while (solver.solve()) ;
+        Assert.assertEquals(solver.getBestSolutionValue().intValue(), 55);
+    }
+}
@@ -21,6 +21,7 @@ import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.constraints.Constraint;
 import org.chocosolver.solver.constraints.extension.Tuples;
 import org.chocosolver.solver.constraints.extension.TuplesFactory;
+import org.chocosolver.solver.constraints.extension.nary.TableSupports;
 import org.chocosolver.solver.constraints.extension.nary.TuplesLargeTable;
 import org.chocosolver.solver.constraints.extension.nary.TuplesTable;
 import org.chocosolver.solver.constraints.extension.nary.TuplesVeryLargeTable;
@@ -620,4 +621,69 @@ public class TableTest {
 		cp.post(cp.table(new IntVar[]{x0}, t, "STR2+"));
 		cp.getSolver().propagate(); // should trigger an inconsistency
 	}
+
+	@Test(groups="1s", timeOut=60000)
+	public void testSharedSupports() {
+		Tuples tuples = TuplesFactory.allDifferent(new IntVar[]{
+				new Model().intVar(0, 4), new Model().intVar(0, 4), new Model().intVar(0, 4)});
+		Model m1 = new Model();
+		Model m2 = new Model();
+		IntVar[] xs1 = m1.intVarArray("x", 3, 0, 4);
+		IntVar[] ys1 = m1.intVarArray("y", 3, 0, 4);
+		IntVar[] xs2 = m2.intVarArray("x", 3, 0, 4);
+		IntVar[] zs2 = m2.intVarArray("z", 3, 1, 4);
+		TableSupports s1 = TableSupports.get(tuples, xs1, false);
+		Assert.assertSame(TableSupports.get(tuples, ys1, false), s1);
+		Assert.assertSame(TableSupports.get(tuples, xs2, false), s1);
+		Assert.assertNotSame(TableSupports.get(tuples, zs2, false), s1);
+		Assert.assertNotSame(TableSupports.get(new Tuples(tuples.toMatrix(), true), xs1, false), s1);
+		tuples.add(5, 5, 5);
+		Assert.assertNotSame(TableSupports.get(tuples, xs1, false), s1);
+	}
+
+	@Test(groups="1s", timeOut=60000)
+	public void testSharedSupportsConcurrent() throws InterruptedException {
+		Tuples tuples = TuplesFactory.allDifferent(new IntVar[]{
+				new Model().intVar(0, 9), new Model().intVar(0, 9), new Model().intVar(0, 9)});
+		TableSupports[] supports = new TableSupports[4];
+		Thread[] threads = new Thread[supports.length];
+		for (int i = 0; i < threads.length; i++) {
+			int k = i;
+			threads[i] = new Thread(() -> {
+				Model model = new Model();
+				supports[k] = TableSupports.get(tuples, model.intVarArray("x", 3, 0, 9), false);
+			});
+			threads[i].start();
+		}
+		for (Thread t : threads) {
+			t.join();
+		}
+		for (TableSupports s : supports) {
+			Assert.assertSame(s, supports[0]);
+		}
+	}
+
+	@Test(groups="1s", timeOut=60000)
+	public void testSharedSupportsSolutions() {
+		Random rnd = new Random(0);
+		for (int seed = 0; seed < 20; seed++) {
+			rnd.setSeed(seed);
+			Tuples tuples = new Tuples(true);
+			for (int t = 0; t < 40; t++) {
+				tuples.add(rnd.nextInt(4), rnd.nextInt(4), rnd.nextInt(4));
+			}
+			long[] counts = new long[2];
+			String[] algos = {"CT+", "GAC3rm"};
+			for (int a = 0; a < 2; a++) {
+				Model model = new Model();
+				IntVar[] vars = model.intVarArray("x", 5, 0, 3);
+				model.table(new IntVar[]{vars[0], vars[1], vars[2]}, tuples, algos[a]).post();
+				model.table(new IntVar[]{vars[2], vars[3], vars[4]}, tuples, algos[a]).post();
+				model.table(new IntVar[]{vars[4], vars[0], vars[3]}, tuples, algos[a]).post();
+				model.getSolver().setSearch(randomSearch(vars, seed));
+				counts[a] = model.getSolver().streamSolutions().count();
+			}
+			assertEquals(counts[0], counts[1]);
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,455 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.clauses;
+
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.learn.ExplanationForSignedClause;
+import org.chocosolver.solver.learn.Implications;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.chocosolver.solver.search.strategy.Search.inputOrderLBSearch;
+import static org.chocosolver.solver.search.strategy.Search.randomSearch;
+
+/**
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class ClauseStoreTest {
+
+    /**
+     * @param bounds pairs of bounds, one pair per literal
+     * @return one range per literal
+     */
+    private static IntIterableRangeSet[] ranges(int... bounds) {
+        IntIterableRangeSet[] ranges = new IntIterableRangeSet[bounds.length / 2];
+        for (int i = 0; i < ranges.length; i++) {
+            ranges[i] = new IntIterableRangeSet(bounds[2 * i], bounds[2 * i + 1]);
+        }
+        return ranges;
+    }
+
+    /**
+     * @return the last node of the implication graph which records a modification of <i>var</i> made by the store
+     */
+    private static int lastNodeOf(Implications ig, IntVar var) {
+        int p = ig.size() - 1;
+        while (p >= 0 && (ig.getIntVarAt(p) != var || ig.getCauseAt(p) == Cause.Null)) {
+            p--;
+        }
+        Assert.assertTrue(p >= 0);
+        return p;
+    }
+
+    private static Map<IntVar, IntIterableRangeSet> explain(Implications ig, int p) {
+        ExplanationForSignedClause explanation = new ExplanationForSignedClause(ig);
+        ig.getCauseAt(p).explain(explanation, explanation.getFront(), ig, p);
+        return explanation.getLiterals();
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testWatchMoves() throws ContradictionException {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 3);
+        IntVar y = model.intVar("y", 0, 3);
+        IntVar z = model.intVar("z", 0, 3);
+        ClauseStore store = model.getClauseConstraint().getClauseStore();
+        // (x = 0) or (y = 0) or (z = 0)
+        store.add(new IntVar[]{x, y, z}, ranges(0, 0, 0, 0, 0, 0));
+        Solver solver = model.getSolver();
+        solver.propagate();
+        Assert.assertEquals(store.getNbClauses(), 1);
+        Assert.assertEquals(store.getNbWatches(x), 1);
+        Assert.assertEquals(store.getNbWatches(y), 1);
+        Assert.assertEquals(store.getNbWatches(z), 0);
+
+        model.getEnvironment().worldPush();
+        x.removeValue(0, Cause.Null);
+        solver.propagate();
+        // the watch moves from x to z
+        Assert.assertEquals(store.getNbWatches(x), 0);
+        Assert.assertEquals(store.getNbWatches(y), 1);
+        Assert.assertEquals(store.getNbWatches(z), 1);
+        Assert.assertTrue(z.contains(0));
+        y.removeValue(0, Cause.Null);
+        solver.propagate();
+        Assert.assertTrue(z.isInstantiatedTo(0));
+        model.getEnvironment().worldPop();
+
+        // watches are kept on backtrack
+        Assert.assertEquals(store.getNbWatches(x), 0);
+        Assert.assertEquals(store.getNbWatches(y), 1);
+        Assert.assertEquals(store.getNbWatches(z), 1);
+        model.getEnvironment().worldPush();
+        z.removeValue(0, Cause.Null);
+        solver.propagate();
+        // the watch moves back to x
+        Assert.assertEquals(store.getNbWatches(x), 1);
+        Assert.assertEquals(store.getNbWatches(z), 0);
+        Assert.assertTrue(x.contains(0));
+        y.removeValue(0, Cause.Null);
+        solver.propagate();
+        Assert.assertTrue(x.isInstantiatedTo(0));
+        model.getEnvironment().worldPop();
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testSortedLiterals() throws ContradictionException {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 3);
+        IntVar y = model.intVar("y", 0, 3);
+        IntVar z = model.intVar("z", 0, 3);
+        ClauseStore store = model.getClauseConstraint().getClauseStore();
+        // (z = 0) or (y = 0) or (x = 0), stored as (x = 0) or (y = 0) or (z = 0)
+        store.add(new IntVar[]{z, y, x}, ranges(0, 0, 0, 0, 0, 0));
+        model.getSolver().propagate();
+        Assert.assertEquals(store.getNbWatches(x), 1);
+        Assert.assertEquals(store.getNbWatches(y), 1);
+        Assert.assertEquals(store.getNbWatches(z), 0);
+    }
+
+    @Test(groups="1s", timeOut=60000, expectedExceptions = ContradictionException.class)
+    public void testFalsified() throws ContradictionException {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 3);
+        IntVar y = model.intVar("y", 0, 3);
+        ClauseStore store = model.getClauseConstraint().getClauseStore();
+        store.add(new IntVar[]{x, y}, ranges(0, 0, 0, 0));
+        Solver solver = model.getSolver();
+        solver.propagate();
+        x.removeValue(0, Cause.Null);
+        y.removeValue(0, Cause.Null);
+        solver.propagate();
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testCollect() throws ContradictionException {
+        Model model = new Model();
+        IntVar[] x = model.intVarArray("x", 6, 0, 3);
+        ClauseStore store = model.getClauseConstraint().getClauseStore();
+        // (x0 = 0) or (x1 = 0)
+        store.add(new IntVar[]{x[0], x[1]}, ranges(0, 0, 0, 0));
+        Solver solver = model.getSolver();
+        solver.propagate();
+        // clauses added once the engine is initialized are learnt
+        // (x2 = 0) or (x3 = 0) or (x4 = 0) or (x5 = 0)
+        store.add(new IntVar[]{x[2], x[3], x[4], x[5]}, ranges(0, 0, 0, 0, 0, 0, 0, 0));
+        // (x0 = 1) or (x5 = 1)
+        store.add(new IntVar[]{x[0], x[5]}, ranges(1, 1, 1, 1));
+        solver.propagate();
+        Assert.assertEquals(store.getNbClauses(), 1);
+        Assert.assertEquals(store.getNbLearntClauses(), 2);
+        Assert.assertEquals(store.getArenaSize(), 36);
+        Assert.assertEquals(store.getNbWatches(x[2]), 1);
+        Assert.assertEquals(store.getNbWatches(x[3]), 1);
+
+        // the first learnt clause is satisfied at root node, it is removed and the arena compacted
+        x[2].instantiateTo(0, Cause.Null);
+        solver.propagate();
+        store.forget();
+        Assert.assertEquals(store.getNbClauses(), 1);
+        Assert.assertEquals(store.getNbLearntClauses(), 1);
+        Assert.assertEquals(store.getArenaSize(), 20);
+        Assert.assertEquals(store.getWasted(), 0);
+        Assert.assertEquals(store.getNbWatches(x[2]), 0);
+        Assert.assertEquals(store.getNbWatches(x[3]), 0);
+
+        // (x3 = 1) or (x4 = 1), which takes the place of the removed clause
+        store.add(new IntVar[]{x[3], x[4]}, ranges(1, 1, 1, 1));
+        solver.propagate();
+        Assert.assertEquals(store.getNbLearntClauses(), 2);
+        Assert.assertEquals(store.getArenaSize(), 30);
+
+        model.getEnvironment().worldPush();
+        x[0].instantiateTo(0, Cause.Null);
+        solver.propagate();
+        Assert.assertTrue(x[5].isInstantiatedTo(1));
+        Assert.assertEquals(x[1].getDomainSize(), 4);
+        x[3].instantiateTo(0, Cause.Null);
+        solver.propagate();
+        Assert.assertTrue(x[4].isInstantiatedTo(1));
+        model.getEnvironment().worldPop();
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testReasonAfterCollect() throws ContradictionException {
+        Model model = new Model();
+        IntVar[] x = model.intVarArray("x", 5, 0, 3);
+        Solver solver = model.getSolver();
+        solver.setLearningSignedClauses();
+        ClauseStore store = model.getClauseConstraint().getClauseStore();
+        solver.propagate();
+        // (x1 = 0) or (x2 = 0) or (x3 = 0) or (x4 = 0)
+        store.add(new IntVar[]{x[1], x[2], x[3], x[4]}, ranges(0, 0, 0, 0, 0, 0, 0, 0));
+        // (x0 = 1) or (x4 in [2,3])
+        store.add(new IntVar[]{x[0], x[4]}, ranges(1, 1, 2, 3));
+        solver.propagate();
+        x[1].instantiateTo(0, Cause.Null);
+        solver.propagate();
+        store.forget();
+        Assert.assertEquals(store.getNbLearntClauses(), 1);
+        Assert.assertEquals(store.getArenaSize(), 10);
+        // (x2 = 1) or (x3 = 1), which takes the number of the removed clause
+        store.add(new IntVar[]{x[2], x[3]}, ranges(1, 1, 1, 1));
+        solver.propagate();
+
+        model.getEnvironment().worldPush();
+        x[0].instantiateTo(0, Cause.Null);
+        solver.propagate();
+        Assert.assertEquals(x[4].getLB(), 2);
+        Assert.assertEquals(x[4].getUB(), 3);
+        x[2].instantiateTo(2, Cause.Null);
+        solver.propagate();
+        Assert.assertTrue(x[3].isInstantiatedTo(1));
+
+        // each modification is explained by the clause which made it
+        Implications ig = solver.getEventObserver().getGI().get();
+        Map<IntVar, IntIterableRangeSet> literals = explain(ig, lastNodeOf(ig, x[4]));
+        Assert.assertEquals(literals.size(), 2);
+        Assert.assertEquals(literals.get(x[0]), new IntIterableRangeSet(1));
+        Assert.assertEquals(literals.get(x[4]), new IntIterableRangeSet(2, 3));
+        literals = explain(ig, lastNodeOf(ig, x[3]));
+        Assert.assertEquals(literals.size(), 2);
+        Assert.assertEquals(literals.get(x[2]), new IntIterableRangeSet(1));
+        Assert.assertEquals(literals.get(x[3]), new IntIterableRangeSet(1));
+        model.getEnvironment().worldPop();
+    }
+
+    /**
+     * Learn the clause made of the literals (<i>x_i</i> = <i>v</i>), for <i>i</i> in [<i>from</i>, <i>to</i>[
+     */
+    private static void addLearnt(ClauseStore store, IntVar[] x, int from, int to, int v) {
+        IntVar[] vars = new IntVar[to - from];
+        IntIterableRangeSet[] ranges = new IntIterableRangeSet[to - from];
+        for (int i = from; i < to; i++) {
+            vars[i - from] = x[i];
+            ranges[i - from] = new IntIterableRangeSet(v);
+        }
+        store.add(vars, ranges);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testReduceByLBD() throws ContradictionException {
+        Model model = new Model();
+        model.getSettings().setNbMaxLearntClauses(4);
+        model.getSettings().setRatioForClauseStoreReduction(.5f);
+        model.getSettings().setLearntClausesReductionPolicy(ClauseStore.ReductionPolicy.LBD);
+        IntVar[] x = model.intVarArray("x", 10, 0, 3);
+        ClauseStore store = model.getClauseConstraint().getClauseStore();
+        Solver solver = model.getSolver();
+        solver.propagate();
+        // without implication graph, the LBD of a clause is its number of variables
+        addLearnt(store, x, 0, 7, 1); // local, LBD = 7, 25 ints
+        addLearnt(store, x, 0, 8, 2); // local, LBD = 8, 28 ints
+        addLearnt(store, x, 0, 9, 3); // local, LBD = 9, 31 ints
+        addLearnt(store, x, 2, 6, 0); // tier 2, LBD = 4, 16 ints
+        addLearnt(store, x, 0, 2, 0); // core, LBD = 2, 10 ints
+        solver.propagate();
+        Assert.assertEquals(store.getNbLearntClauses(), 5);
+        Assert.assertEquals(store.getArenaSize(), 110);
+        store.forget();
+        // core and tier 2 clauses are kept, and the best half of the local ones
+        Assert.assertEquals(store.getNbLearntClauses(), 4);
+        Assert.assertEquals(store.getArenaSize(), 79);
+        Assert.assertEquals(store.getWasted(), 0);
+
+        // the clauses still propagate
+        model.getEnvironment().worldPush();
+        x[0].removeValue(0, Cause.Null);
+        solver.propagate();
+        Assert.assertTrue(x[1].isInstantiatedTo(0));
+        for (int i = 1; i < 7; i++) {
+            x[i].removeValue(2, Cause.Null);
+        }
+        x[0].removeValue(2, Cause.Null);
+        solver.propagate();
+        Assert.assertTrue(x[7].isInstantiatedTo(2));
+        for (int i = 0; i < 8; i++) {
+            x[i].removeValue(3, Cause.Null);
+        }
+        solver.propagate();
+        // the clause with the worst LBD has been removed
+        Assert.assertTrue(x[8].contains(3));
+        model.getEnvironment().worldPop();
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testStrengthen() throws ContradictionException {
+        Model model = new Model();
+        model.getSettings().setLearntClausesReductionPolicy(ClauseStore.ReductionPolicy.LBD);
+        IntVar[] x = model.intVarArray("x", 3, 0, 3);
+        ClauseStore store = model.getClauseConstraint().getClauseStore();
+        Solver solver = model.getSolver();
+        solver.propagate();
+        // (x0 = 0) or (x1 = 0) or (x2 = 0)
+        addLearnt(store, x, 0, 3, 0);
+        solver.propagate();
+        store.forget();
+        Assert.assertEquals(store.getArenaSize(), 13);
+
+        // at root node, the falsified literal is removed
+        x[0].removeValue(0, Cause.Null);
+        solver.propagate();
+        store.forget();
+        Assert.assertEquals(store.getNbLearntClauses(), 1);
+        Assert.assertEquals(store.getArenaSize(), 10);
+        Assert.assertEquals(store.getWasted(), 0);
+        solver.propagate();
+        Assert.assertEquals(store.getNbWatches(x[0]), 0);
+        Assert.assertEquals(store.getNbWatches(x[1]), 1);
+        Assert.assertEquals(store.getNbWatches(x[2]), 1);
+
+        model.getEnvironment().worldPush();
+        x[1].removeValue(0, Cause.Null);
+        solver.propagate();
+        Assert.assertTrue(x[2].isInstantiatedTo(0));
+        model.getEnvironment().worldPop();
+    }
+
+    /**
+     * @return random clauses over <i>n</i> variables with domain [0,3], a literal is {var, lb, ub(, lb, ub)}
+     */
+    private static int[][][] randomClauses(Random rnd, int n, int m) {
+        int[][][] clauses = new int[m][][];
+        for (int c = 0; c < m; c++) {
+            int[] scope = new int[n];
+            int size = 0;
+            while (size < 2) {
+                size = 0;
+                for (int i = 0; i < n; i++) {
+                    if (rnd.nextBoolean()) {
+                        scope[size++] = i;
+                    }
+                }
+            }
+            clauses[c] = new int[size][];
+            for (int i = 0; i < size; i++) {
+                int l = rnd.nextInt(4);
+                int u = l + rnd.nextInt(4 - l);
+                if (l == 0 && u == 3) {
+                    u = 2;
+                }
+                if (u + 2 <= 3 && rnd.nextBoolean()) {
+                    clauses[c][i] = new int[]{scope[i], l, u, u + 2, 3};
+                } else {
+                    clauses[c][i] = new int[]{scope[i], l, u};
+                }
+            }
+        }
+        return clauses;
+    }
+
+    private static boolean satisfies(int[][][] clauses, int[] values) {
+        for (int[][] clause : clauses) {
+            boolean sat = false;
+            for (int[] lit : clause) {
+                for (int j = 1; j < lit.length && !sat; j += 2) {
+                    sat = lit[j] <= values[lit[0]] && values[lit[0]] <= lit[j + 1];
+                }
+            }
+            if (!sat) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long bruteForce(int[][][] clauses, int n) {
+        int[] values = new int[n];
+        long count = 0;
+        for (int t = 0; t < 1 << (2 * n); t++) {
+            for (int i = 0; i < n; i++) {
+                values[i] = (t >> (2 * i)) & 3;
+            }
+            if (satisfies(clauses, values)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testRandom() {
+        boolean tree = ClauseStore.INTERVAL_TREE;
+        try {
+            Random rnd = new Random(0);
+            for (int k = 0; k < 50; k++) {
+                int n = 4;
+                int[][][] clauses = randomClauses(rnd, n, 3 + rnd.nextInt(6));
+                long expected = bruteForce(clauses, n);
+                // the store is compared with one propagator per clause
+                for (int c = 0; c < 2; c++) {
+                    ClauseStore.INTERVAL_TREE = c == 0;
+                    Model model = new Model();
+                    IntVar[] x = model.intVarArray("x", n, 0, 3);
+                    for (int[][] clause : clauses) {
+                        IntVar[] vars = new IntVar[clause.length];
+                        IntIterableRangeSet[] ranges = new IntIterableRangeSet[clause.length];
+                        for (int i = 0; i < clause.length; i++) {
+                            vars[i] = x[clause[i][0]];
+                            ranges[i] = new IntIterableRangeSet();
+                            for (int j = 1; j < clause[i].length; j += 2) {
+                                ranges[i].addBetween(clause[i][j], clause[i][j + 1]);
+                            }
+                        }
+                        model.getClauseConstraint().addClause(vars, ranges);
+                    }
+                    Solver solver = model.getSolver();
+                    solver.setSearch(randomSearch(x, k));
+                    while (solver.solve()) ;
+                    Assert.assertEquals(solver.getSolutionCount(), expected, "seed " + k + ", store " + (c == 0));
+                }
+            }
+        } finally {
+            ClauseStore.INTERVAL_TREE = tree;
+        }
+    }
+
+    @Test(groups="10s", timeOut=60000)
+    public void testReduceDuringSearch() {
+        long[] counts = new long[3];
+        for (int c = 0; c < 3; c++) {
+            Model model = new Model();
+            int n = 7;
+            IntVar[] q = model.intVarArray("q", n, 1, n);
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    model.arithm(q[i], "!=", q[j]).post();
+                    model.arithm(q[i], "-", q[j], "!=", j - i).post();
+                    model.arithm(q[i], "-", q[j], "!=", i - j).post();
+                }
+            }
+            if (c > 0) {
+                // a small limit, so that the store is reduced and compacted many times
+                model.getSettings().setNbMaxLearntClauses(8);
+                model.getSettings().setLearntClausesReductionPolicy(
+                        c == 1 ? ClauseStore.ReductionPolicy.ACTIVITY : ClauseStore.ReductionPolicy.LBD);
+                model.getSolver().setLearningSignedClauses();
+            }
+            Solver solver = model.getSolver();
+            solver.setSearch(inputOrderLBSearch(q));
+            while (solver.solve()) ;
+            counts[c] = solver.getSolutionCount();
+        }
+        Assert.assertEquals(counts[0], 40);
+        Assert.assertEquals(counts[1], counts[0]);
+        Assert.assertEquals(counts[2], counts[0]);
+    }
+}
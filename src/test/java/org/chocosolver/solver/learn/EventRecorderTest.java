@@ -229,6 +229,14 @@ public class EventRecorderTest {
                 model.getSolver().setLearningSignedClauses();
                 break;
             }
+            case 3: {
+                System.out.print("SCL (LBD)    :");
+                ClauseStore.INTERVAL_TREE = true;
+                model.getSettings().setLearntClausesReductionPolicy(ClauseStore.ReductionPolicy.LBD);
+                model.getSettings().setNbMaxLearntClauses(100);
+                model.getSolver().setLearningSignedClauses();
+                break;
+            }
         }
     }
 
@@ -257,7 +265,7 @@ public class EventRecorderTest {
     public Object[][] dataLS() {
         List<Object[]> elt = new ArrayList<>();
         for (int m = 4; m < 15; m++) {
-            for (int a = 0; a < 3; a++) {
+            for (int a = 0; a < 4; a++) {
                 elt.add(new Object[]{m, a});
             }
         }
@@ -303,7 +311,7 @@ public class EventRecorderTest {
     public Object[][] dataCA() {
         List<Object[]> elt = new ArrayList<>();
         for (int m = 6; m < 15; m++) {
-            for (int a = 0; a < 3; a++) {
+            for (int a = 0; a < 4; a++) {
                 elt.add(new Object[]{m, a});
             }
         }
@@ -358,7 +366,7 @@ public class EventRecorderTest {
     public Object[][] dataGR() {
         List<Object[]> elt = new ArrayList<>();
         for (int m = 6; m < 12; m++) {
-            for (int a = 0; a < 3; a++) {
+            for (int a = 0; a < 4; a++) {
                 elt.add(new Object[]{m, a});
             }
         }
@@ -395,7 +403,7 @@ public class EventRecorderTest {
         for (int m = 0; m < params.length; m++) {
             int k = params[m][0];
             int n = params[m][1];
-            for (int a = 0; a < 3; a++) {
+            for (int a = 0; a < 4; a++) {
                 elt.add(new Object[]{n, k, a});
             }
         }
@@ -459,7 +467,7 @@ public class EventRecorderTest {
     public Object[][] dataMS() {
         List<Object[]> elt = new ArrayList<>();
         for (int m = 4; m < 7; m++) {
-            for (int a = 0; a < 3; a++) {
+            for (int a = 0; a < 4; a++) {
                 elt.add(new Object[]{m, a});
             }
         }
@@ -544,7 +552,7 @@ public class EventRecorderTest {
     public Object[][] dataPA() {
         List<Object[]> elt = new ArrayList<>();
         for (int m = 16; m < 32; m += 4) {
-            for (int a = 0; a < 3; a++) {
+            for (int a = 0; a < 4; a++) {
                 elt.add(new Object[]{m, a});
             }
         }
@@ -690,6 +698,16 @@ public class EventRecorderTest {
         Assert.assertTrue(s1.getSolver().getNodeCount() >= s2.getSolver().getNodeCount());
     }
 
+    @Test(groups = "1s,expl", timeOut = 60000)
+    public void test02() {
+        int n = 6;
+        int m = 10;
+        Model s1 = test(n, m, 1);
+        Model s3 = test(n, m, 3);
+        Assert.assertEquals(s1.getSolver().getSolutionCount(), s3.getSolver().getSolutionCount());
+        Assert.assertTrue(s1.getSolver().getNodeCount() >= s3.getSolver().getNodeCount());
+    }
+
     private Model test(int n, int m, int expMode) {
         // infeasible problem
         Model s = new Model();
@@ -699,6 +717,8 @@ public class EventRecorderTest {
         // explanations
         if (expMode == 2) {
             s.getSolver().setLearningSignedClauses();
+        } else if (expMode == 3) {
+            s.getSolver().setLearningLazyClauses();
         }
         // logging and solution
         s.getSolver().setSearch(Search.inputOrderLBSearch(x));
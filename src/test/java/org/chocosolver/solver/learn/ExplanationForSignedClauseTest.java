@@ -0,0 +1,101 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.learn;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.loop.learn.LearnSignedClauses;
+import org.chocosolver.solver.search.strategy.decision.DecisionPath;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.IdValueSortedMap;
+import org.chocosolver.util.objects.ValueSortedMap;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.chocosolver.solver.search.strategy.Search.randomSearch;
+
+/**
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class ExplanationForSignedClauseTest {
+
+    private static final String[] OPS = {"!=", "<=", ">=", "=", "<", ">"};
+
+    /**
+     * Solve a random model while learning signed clauses,
+     * the conflicting nodes being stored in <i>front</i>.
+     * @return the literals of each explanation computed during search, and the number of solutions, nodes and fails
+     */
+    private static List<String> solve(long seed, ValueSortedMap<IntVar> front) {
+        Random rnd = new Random(seed);
+        Model model = new Model();
+        int n = 8;
+        IntVar[] vars = model.intVarArray("x", n, 0, 5);
+        for (int i = 0; i < 14; i++) {
+            int a = rnd.nextInt(n);
+            int b = (a + 1 + rnd.nextInt(n - 1)) % n;
+            model.arithm(vars[a], OPS[rnd.nextInt(OPS.length)], vars[b], "+", rnd.nextInt(5) - 2).post();
+        }
+        model.sum(vars, "<=", 10 + rnd.nextInt(10)).post();
+        Solver solver = model.getSolver();
+        solver.setSearch(randomSearch(vars, seed));
+        solver.setLearningSignedClauses();
+        solver.limitFail(2000);
+        List<String> trace = new ArrayList<>();
+        Implications ig = solver.getEventObserver().getGI().get();
+        //noinspection unchecked
+        ((LearnSignedClauses<ExplanationForSignedClause>) solver.getLearner()).setExplanation(
+                new ExplanationForSignedClause(ig, front) {
+                    @Override
+                    public void learnSignedClause(ContradictionException cex) {
+                        super.learnSignedClause(cex);
+                        trace.add(getAssertingLevel() + ":" + literals(this));
+                    }
+
+                    @Override
+                    public void learnSolution(DecisionPath path) {
+                        super.learnSolution(path);
+                        trace.add("sol:" + literals(this));
+                    }
+                });
+        while (solver.solve()) ;
+        trace.add(solver.getSolutionCount() + "/" + solver.getNodeCount() + "/" + solver.getFailCount());
+        return trace;
+    }
+
+    private static String literals(ExplanationForSignedClause explanation) {
+        TreeMap<String, String> literals = new TreeMap<>();
+        explanation.getLiterals().forEach((v, s) -> literals.put(v.getName(), s.toString()));
+        return literals.toString();
+    }
+
+    @DataProvider
+    public Object[][] seeds() {
+        return new Object[][]{{0L}, {1L}, {2L}, {3L}, {4L}, {5L}, {6L}, {7L}};
+    }
+
+    @Test(groups="1s", timeOut=60000, dataProvider = "seeds")
+    public void testIdIndexedFront(long seed) {
+        List<String> expected = solve(seed, new ValueSortedMap<>());
+        List<String> actual = solve(seed, new IdValueSortedMap<>());
+        Assert.assertTrue(expected.size() > 1);
+        Assert.assertEquals(actual, expected);
+    }
+}
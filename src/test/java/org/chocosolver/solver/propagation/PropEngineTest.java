@@ -22,6 +22,10 @@ import org.chocosolver.util.ProblemMaker;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+
 import static java.util.Arrays.sort;
 import static org.chocosolver.solver.Cause.Null;
 import static org.chocosolver.solver.constraints.PropagatorPriority.UNARY;
@@ -210,4 +214,138 @@ public class PropEngineTest {
         solver.getEngine().clear();
         solver.reset(); // error (null)
     }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testProfiler() {
+        Model model = makeNQueenWithBinaryConstraints(8);
+        Solver solver = model.getSolver();
+        Assert.assertNull(solver.getEngine().getProfiler());
+        PropagationProfiler profiler = solver.profilePropagation();
+        Assert.assertSame(solver.profilePropagation(), profiler);
+        solver.setSearch(minDomLBSearch(model.retrieveIntVars(true)));
+        while (solver.solve()) ;
+        assertEquals(solver.getSolutionCount(), 92);
+        List<PropagationProfiler.Entry> classes = profiler.getClassEntries();
+        List<PropagationProfiler.Entry> instances = profiler.getInstanceEntries();
+        assertEquals(instances.size(), model.getNbCstrs());
+        long calls = 0, reductions = 0, fails = 0;
+        for (PropagationProfiler.Entry e : instances) {
+            Assert.assertTrue(e.getCalls() > 0);
+            Assert.assertTrue(e.getTime() >= 0);
+            calls += e.getCalls();
+            reductions += e.getReductions();
+            fails += e.getFails();
+        }
+        Assert.assertTrue(reductions > 0);
+        Assert.assertTrue(fails > 0);
+        Assert.assertTrue(fails <= solver.getFailCount());
+        int nbInstances = 0;
+        for (PropagationProfiler.Entry e : classes) {
+            nbInstances += e.getInstances();
+            calls -= e.getCalls();
+            reductions -= e.getReductions();
+            fails -= e.getFails();
+        }
+        assertEquals(nbInstances, instances.size());
+        assertEquals(calls, 0);
+        assertEquals(reductions, 0);
+        assertEquals(fails, 0);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testProfilerOutput() {
+        Model model = makeNQueenWithBinaryConstraints(6);
+        Solver solver = model.getSolver();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        solver.setOut(new PrintStream(bytes));
+        solver.printPropagationProfile();
+        assertEquals(bytes.size(), 0);
+        solver.showPropagationProfile();
+        solver.findAllSolutions();
+        assertEquals(solver.getSolutionCount(), 4);
+        Assert.assertTrue(bytes.toString().contains("Propagation profile"));
+        bytes.reset();
+        solver.printCSVPropagationProfile();
+        String[] lines = bytes.toString().split("\n");
+        assertEquals(lines[0], "name;instances;calls;time(sec);reductions;fails;");
+        assertEquals(lines.length, 1 + solver.getEngine().getProfiler().getClassEntries().size());
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testProfilerDisabled() {
+        Model model = makeNQueenWithBinaryConstraints(8);
+        Solver solver = model.getSolver();
+        PropagationProfiler profiler = solver.profilePropagation();
+        solver.getEngine().setProfiler(null);
+        solver.findAllSolutions();
+        assertEquals(solver.getSolutionCount(), 92);
+        Assert.assertTrue(profiler.getInstanceEntries().isEmpty());
+    }
+
+    private static Model queens(int n, boolean dense, byte hybrid) {
+        Model model = new Model(new DefaultSettings()
+                .setDensePropagationEngine(dense)
+                .setHybridizationOfPropagationEngine(hybrid));
+        IntVar[] vars = model.intVarArray("Q", n, 1, n, false);
+        IntVar[] diag1 = new IntVar[n];
+        IntVar[] diag2 = new IntVar[n];
+        for (int i = 0; i < n; i++) {
+            diag1[i] = model.intOffsetView(vars[i], i);
+            diag2[i] = model.intOffsetView(vars[i], -i);
+        }
+        model.allDifferent(vars, "BC").post();
+        model.allDifferent(diag1, "BC").post();
+        model.allDifferent(diag2, "BC").post();
+        for (int i = 0; i < n - 1; i++) {
+            model.arithm(vars[i], "!=", vars[i + 1]).post();
+        }
+        model.getSolver().setSearch(minDomLBSearch(vars));
+        return model;
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testDenseEngine() {
+        Model model = queens(8, true, (byte) 0b00);
+        Assert.assertTrue(model.getSolver().getEngine() instanceof DensePropagationEngine);
+        Model ref = queens(8, false, (byte) 0b00);
+        Assert.assertFalse(ref.getSolver().getEngine() instanceof DensePropagationEngine);
+        model.getSolver().findAllSolutions();
+        ref.getSolver().findAllSolutions();
+        assertEquals(model.getSolver().getSolutionCount(), 92);
+        assertEquals(model.getSolver().getNodeCount(), ref.getSolver().getNodeCount());
+        assertEquals(model.getSolver().getFailCount(), ref.getSolver().getFailCount());
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testDenseEngineHybrid() {
+        for (byte h = 0b00; h <= 0b10; h++) {
+            Model model = queens(10, true, h);
+            model.getSolver().findAllSolutions();
+            assertEquals(model.getSolver().getSolutionCount(), 724, "hybrid: " + h);
+        }
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testDenseEngineOptimization() {
+        Model model = new Model(new DefaultSettings().setDensePropagationEngine(true));
+        IntVar[] ticks = model.intVarArray("a", 7, 0, 30, false);
+        IntVar[] diffs = model.intVarArray("d", 21, 0, 30, false);
+        model.arithm(ticks[0], "=", 0).post();
+        for (int i = 0; i < 6; i++) {
+            model.arithm(ticks[i + 1], ">", ticks[i]).post();
+        }
+        for (int k = 0, i = 0; i < 6; i++) {
+            for (int j = i + 1; j < 7; j++, k++) {
+                model.scalar(new IntVar[]{ticks[j], ticks[i]}, new int[]{1, -1}, "=", diffs[k]).post();
+            }
+        }
+        model.allDifferent(diffs, "BC").post();
+        model.setObjective(Model.MINIMIZE, ticks[6]);
+        Solver solver = model.getSolver();
+        solver.setSearch(minDomLBSearch(ticks));
+        solver.profilePropagation();
+        while (solver.solve()) ;
+        assertEquals(solver.getBestSolutionValue().intValue(), 25);
+        Assert.assertFalse(solver.getEngine().getProfiler().getInstanceEntries().isEmpty());
+    }
 }
@@ -16,8 +16,16 @@ import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
 import org.chocosolver.solver.search.strategy.Search;
 import org.chocosolver.solver.variables.IntVar;
 import org.testng.Assert;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
 import static java.lang.Integer.parseInt;
 import static java.lang.Math.max;
 
@@ -39,6 +47,85 @@ public class ParetoTest {
         Assert.assertTrue(bestProfit1 > 60);
     }
 
+    @Test(groups="1s", timeOut=60000, dataProvider = "objectives")
+    public void testFrontAgainstEnumeration(int nbObj, boolean maximize) {
+        Random rnd = new Random(nbObj);
+        int[][] coeffs = new int[nbObj][5];
+        for (int j = 0; j < nbObj; j++) {
+            for (int i = 0; i < 5; i++) {
+                coeffs[j][i] = rnd.nextInt(11) - 5;
+            }
+        }
+        // expected front, by enumeration
+        Set<String> expected = new HashSet<>();
+        List<int[]> points = new ArrayList<>();
+        Model e = new Model();
+        IntVar[] ex = e.intVarArray("x", 5, 0, 3);
+        while (e.getSolver().solve()) {
+            int[] p = new int[nbObj];
+            for (int j = 0; j < nbObj; j++) {
+                for (int i = 0; i < 5; i++) {
+                    p[j] += coeffs[j][i] * ex[i].getValue();
+                }
+            }
+            points.add(p);
+        }
+        for (int[] p : points) {
+            boolean dominated = false;
+            for (int[] q : points) {
+                boolean leq = true, lt = false;
+                for (int j = 0; j < nbObj; j++) {
+                    int d = maximize ? p[j] - q[j] : q[j] - p[j];
+                    leq &= d <= 0;
+                    lt |= d < 0;
+                }
+                dominated |= leq && lt;
+            }
+            if (!dominated) {
+                expected.add(Arrays.toString(p));
+            }
+        }
+        // computed front
+        Model m = new Model();
+        IntVar[] x = m.intVarArray("x", 5, 0, 3);
+        IntVar[] o = m.intVarArray("o", nbObj, -100, 100);
+        for (int j = 0; j < nbObj; j++) {
+            m.scalar(x, coeffs[j], "=", o[j]).post();
+        }
+        m.getSolver().setSearch(Search.inputOrderLBSearch(x));
+        ParetoOptimizer pareto = new ParetoOptimizer(maximize, o);
+        int[] events = new int[2];
+        pareto.addListener(new ParetoOptimizer.FrontListener() {
+            @Override
+            public void onAdd(Solution solution) {
+                events[0]++;
+            }
+
+            @Override
+            public void onRemove(Solution solution) {
+                events[1]++;
+            }
+        });
+        m.getSolver().plugMonitor(pareto);
+        while (m.getSolver().solve()) ;
+        Set<String> computed = new HashSet<>();
+        for (Solution sol : pareto.getParetoFront()) {
+            int[] p = new int[nbObj];
+            for (int j = 0; j < nbObj; j++) {
+                p[j] = sol.getIntVal(o[j]);
+            }
+            computed.add(Arrays.toString(p));
+        }
+        Assert.assertEquals(computed, expected);
+        Assert.assertEquals(pareto.getParetoFrontSize(), expected.size());
+        Assert.assertEquals(events[0] - events[1], expected.size());
+    }
+
+    @DataProvider
+    public Object[][] objectives() {
+        return new Object[][]{{2, true}, {2, false}, {3, true}, {3, false}, {4, false}};
+    }
+
     private void runKnapsackPareto(final int capacity, final String... items) {
         int[] nbItems = new int[items.length];
         int[] weights = new int[items.length];
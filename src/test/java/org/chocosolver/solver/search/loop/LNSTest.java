@@ -15,6 +15,7 @@ import org.chocosolver.solver.Solution;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.search.limits.BacktrackCounter;
+import org.chocosolver.solver.search.limits.FailCounter;
 import org.chocosolver.solver.search.loop.lns.INeighborFactory;
 import org.chocosolver.solver.search.loop.lns.neighbors.*;
 import org.chocosolver.solver.search.loop.move.Move;
@@ -354,4 +355,51 @@ public class LNSTest {
 
         return bp;
     }
+
+    @DataProvider(name = "bandit")
+    public Object[][] createBandit() {
+        return new Object[][]{{BanditNeighborhood.Policy.UCB}, {BanditNeighborhood.Policy.THOMPSON}};
+    }
+
+    @Test(groups = "10s", timeOut = 60000, dataProvider = "bandit")
+    public void testBandit(BanditNeighborhood.Policy policy) {
+        int[] capacities = {99, 1101};
+        int[] volumes = {54, 12, 47, 33, 30, 65, 56, 57, 91, 88, 77, 99, 29, 23, 39, 86, 12, 85, 22, 64};
+        int[] energies = {38, 57, 69, 90, 79, 89, 28, 70, 38, 71, 46, 41, 49, 43, 36, 68, 92, 33, 84, 90};
+        Model model = new Model();
+        IntVar[] objects = new IntVar[volumes.length];
+        for (int i = 0; i < volumes.length; i++) {
+            objects[i] = model.intVar("o_" + (i + 1), 0, (int) ceil(capacities[1] / volumes[i]), true);
+        }
+        final IntVar power = model.intVar("power", 0, 99999, true);
+        IntVar scalar = model.intVar("weight", capacities[0], capacities[1], true);
+        model.scalar(objects, volumes, "=", scalar).post();
+        model.scalar(objects, energies, "=", power).post();
+        model.knapsack(objects, scalar, power, volumes, energies).post();
+        model.setObjective(Model.MAXIMIZE, power);
+
+        Solver r = model.getSolver();
+        r.setSearch(lastConflict(domOverWDegSearch(objects)));
+        FailCounter counter = new FailCounter(model, 50);
+        BanditNeighborhood bandit = new BanditNeighborhood(model, counter, policy, 0,
+                new PropagationGuidedNeighborhood(objects, 30, 10, 0),
+                new ReversePropagationGuidedNeighborhood(objects, 0, 30, 10),
+                new RandomNeighborhood(objects, 3, 0));
+        r.setLNS(bandit, counter);
+        r.limitTime("2s");
+        int bp = 0;
+        while (r.solve()) {
+            Assert.assertTrue(power.getValue() > bp);
+            bp = power.getValue();
+        }
+        Assert.assertTrue(bp > 0);
+        long fragments = 0;
+        for (int i = 0; i < 3; i++) {
+            fragments += bandit.getNbFragments(i);
+            Assert.assertTrue(bandit.getNbImprovements(i) <= bandit.getNbFragments(i));
+            Assert.assertTrue(bandit.getMeanReward(i) >= 0. && bandit.getMeanReward(i) <= 1.);
+            Assert.assertTrue(bandit.getRelaxationRatio(i) > 0. && bandit.getRelaxationRatio(i) < 1.);
+        }
+        Assert.assertTrue(fragments > 0);
+    }
 }
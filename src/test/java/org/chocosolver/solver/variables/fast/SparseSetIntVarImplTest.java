@@ -0,0 +1,236 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2019, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.variables.fast;
+
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.impl.SparseSetIntVarImpl;
+import org.chocosolver.util.iterators.DisposableRangeIterator;
+import org.chocosolver.util.iterators.DisposableValueIterator;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableBitSet;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+/**
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 18/10/2019.
+ */
+public class SparseSetIntVarImplTest {
+
+    SparseSetIntVarImpl var;
+
+    public void setUp() throws Exception {
+        var = new SparseSetIntVarImpl("test", new int[]{-5, 0, 3, 4, 5}, new Model());
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testRemoveValue() throws Exception {
+        setUp();
+        Assert.assertFalse(var.removeValue(7, Cause.Null));
+        Assert.assertTrue(var.removeValue(0, Cause.Null));
+        Assert.assertFalse(var.contains(0));
+        Assert.assertTrue(var.removeValue(-5, Cause.Null));
+        Assert.assertEquals(var.getLB(), 3);
+        Assert.assertTrue(var.removeValue(5, Cause.Null));
+        Assert.assertEquals(var.getUB(), 4);
+        Assert.assertEquals(var.getDomainSize(), 2);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testRemoveInterval() throws Exception {
+        setUp();
+        Assert.assertFalse(var.removeInterval(7, 8, Cause.Null));
+        Assert.assertTrue(var.removeInterval(0, 3, Cause.Null));
+        Assert.assertFalse(var.contains(0));
+        Assert.assertFalse(var.contains(3));
+        Assert.assertEquals(var.getDomainSize(), 3);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testUpdateBounds() throws Exception {
+        setUp();
+        Assert.assertFalse(var.updateLowerBound(-6, Cause.Null));
+        Assert.assertTrue(var.updateLowerBound(-4, Cause.Null));
+        Assert.assertEquals(var.getLB(), 0);
+        Assert.assertFalse(var.updateUpperBound(6, Cause.Null));
+        Assert.assertTrue(var.updateUpperBound(4, Cause.Null));
+        Assert.assertEquals(var.getUB(), 4);
+        Assert.assertEquals(var.getDomainSize(), 3);
+        Assert.assertTrue(var.updateBounds(1, 3, Cause.Null));
+        Assert.assertTrue(var.isInstantiatedTo(3));
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testNextPreviousValue() throws Exception {
+        setUp();
+        Assert.assertEquals(var.nextValue(-6), -5);
+        Assert.assertEquals(var.nextValue(-5), 0);
+        Assert.assertEquals(var.nextValue(1), 3);
+        Assert.assertEquals(var.nextValue(5), Integer.MAX_VALUE);
+        Assert.assertEquals(var.previousValue(6), 5);
+        Assert.assertEquals(var.previousValue(3), 0);
+        Assert.assertEquals(var.previousValue(-5), Integer.MIN_VALUE);
+        Assert.assertEquals(var.nextValueOut(2), 6);
+        Assert.assertEquals(var.nextValueOut(-5), -4);
+        Assert.assertEquals(var.previousValueOut(4), 2);
+        var.removeValue(4, Cause.Null);
+        Assert.assertEquals(var.nextValue(3), 5);
+        Assert.assertEquals(var.previousValue(5), 3);
+        Assert.assertEquals(var.nextValueOut(2), 4);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testIterators() throws Exception {
+        setUp();
+        var.removeValue(4, Cause.Null);
+        DisposableValueIterator vit = var.getValueIterator(true);
+        for (int v : new int[]{-5, 0, 3, 5}) {
+            Assert.assertTrue(vit.hasNext());
+            Assert.assertEquals(vit.next(), v);
+        }
+        Assert.assertFalse(vit.hasNext());
+        vit.dispose();
+        vit = var.getValueIterator(false);
+        for (int v : new int[]{5, 3, 0, -5}) {
+            Assert.assertTrue(vit.hasPrevious());
+            Assert.assertEquals(vit.previous(), v);
+        }
+        Assert.assertFalse(vit.hasPrevious());
+        vit.dispose();
+
+        var.removeValue(5, Cause.Null);
+        var.removeValue(3, Cause.Null);
+        var.removeInterval(-1, -1, Cause.Null);
+        DisposableRangeIterator rit = var.getRangeIterator(true);
+        Assert.assertTrue(rit.hasNext());
+        Assert.assertEquals(rit.min(), -5);
+        Assert.assertEquals(rit.max(), -5);
+        rit.next();
+        Assert.assertTrue(rit.hasNext());
+        Assert.assertEquals(rit.min(), 0);
+        Assert.assertEquals(rit.max(), 0);
+        rit.next();
+        Assert.assertFalse(rit.hasNext());
+        rit.dispose();
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testRangeIterator() throws Exception {
+        setUp();
+        DisposableRangeIterator rit = var.getRangeIterator(false);
+        Assert.assertTrue(rit.hasPrevious());
+        Assert.assertEquals(rit.min(), 3);
+        Assert.assertEquals(rit.max(), 5);
+        rit.previous();
+        Assert.assertTrue(rit.hasPrevious());
+        Assert.assertEquals(rit.min(), 0);
+        Assert.assertEquals(rit.max(), 0);
+        rit.previous();
+        Assert.assertTrue(rit.hasPrevious());
+        Assert.assertEquals(rit.min(), -5);
+        Assert.assertEquals(rit.max(), -5);
+        rit.previous();
+        Assert.assertFalse(rit.hasPrevious());
+        rit.dispose();
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testRemVals() throws ContradictionException {
+        Model model = new Model();
+        IntVar x = new SparseSetIntVarImpl("X", new int[]{2, 5, 6, 8, 9}, model);
+        IntIterableBitSet rems = new IntIterableBitSet();
+        rems.setOffset(0);
+        rems.addAll(2, 6, 9);
+        Assert.assertTrue(x.removeValues(rems, Cause.Null));
+        Assert.assertEquals(x.getDomainSize(), 2);
+        Assert.assertEquals(x.getLB(), 5);
+        Assert.assertEquals(x.getUB(), 8);
+        rems.clear();
+        rems.addAll(1, 5, 6, 7);
+        Assert.assertTrue(x.removeAllValuesBut(rems, Cause.Null));
+        Assert.assertTrue(x.isInstantiatedTo(5));
+    }
+
+    @Test(groups="1s", timeOut=60000, expectedExceptions = ContradictionException.class)
+    public void testRemVals2() throws ContradictionException {
+        Model model = new Model();
+        IntVar x = new SparseSetIntVarImpl("X", new int[]{2, 5, 6, 8, 9}, model);
+        IntIterableBitSet rems = new IntIterableBitSet();
+        rems.setOffset(0);
+        rems.addAll(1, 2, 5, 6, 8, 9);
+        x.removeValues(rems, Cause.Null);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testBacktrack() throws ContradictionException {
+        Model model = new Model();
+        IntVar x = new SparseSetIntVarImpl("X", 0, 99, model);
+        model.getEnvironment().worldPush();
+        for (int i = 1; i < 99; i += 2) {
+            x.removeValue(i, Cause.Null);
+        }
+        x.updateBounds(10, 50, Cause.Null);
+        Assert.assertEquals(x.getDomainSize(), 21);
+        model.getEnvironment().worldPush();
+        x.instantiateTo(20, Cause.Null);
+        Assert.assertTrue(x.isInstantiatedTo(20));
+        model.getEnvironment().worldPop();
+        Assert.assertEquals(x.getDomainSize(), 21);
+        Assert.assertEquals(x.getLB(), 10);
+        Assert.assertEquals(x.getUB(), 50);
+        Assert.assertFalse(x.contains(11));
+        model.getEnvironment().worldPop();
+        Assert.assertEquals(x.getDomainSize(), 100);
+        Assert.assertEquals(x.getLB(), 0);
+        Assert.assertEquals(x.getUB(), 99);
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue(x.contains(i));
+        }
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testSettings() {
+        Model model = new Model();
+        model.getSettings().setMinDomSizeForSparseSet(100);
+        Assert.assertFalse(model.intVar("X", 0, 98) instanceof SparseSetIntVarImpl);
+        Assert.assertTrue(model.intVar("Y", 0, 99) instanceof SparseSetIntVarImpl);
+        Assert.assertFalse(model.intVar("Z", new int[]{0, 10, 20}) instanceof SparseSetIntVarImpl);
+        Assert.assertTrue(model.sparseIntVar("W", new int[]{0, 10, 20}) instanceof SparseSetIntVarImpl);
+    }
+
+    @Test(groups="10s", timeOut=60000)
+    public void testSolveRandom() {
+        Random rnd = new Random(0);
+        for (int k = 0; k < 20; k++) {
+            Model m1 = new Model();
+            Model m2 = new Model();
+            m2.getSettings().setMinDomSizeForSparseSet(2);
+            int n = 5 + rnd.nextInt(3);
+            IntVar[] xs = m1.intVarArray("x", n, 0, n + 2);
+            IntVar[] ys = m2.intVarArray("x", n, 0, n + 2);
+            int[] coeffs = new int[n];
+            for (int i = 0; i < n; i++) {
+                coeffs[i] = rnd.nextInt(5) - 2;
+            }
+            m1.allDifferent(xs).post();
+            m2.allDifferent(ys).post();
+            m1.scalar(xs, coeffs, "=", 3).post();
+            m2.scalar(ys, coeffs, "=", 3).post();
+            Assert.assertTrue(ys[0] instanceof SparseSetIntVarImpl);
+            Assert.assertEquals(m2.getSolver().findAllSolutions().size(), m1.getSolver().findAllSolutions().size());
+        }
+    }
+}
@@ -12,12 +12,16 @@ package org.chocosolver.solver.variables.impl;
 import org.chocosolver.solver.Cause;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableBitSet;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableSet;
+import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.Arrays;
+
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
@@ -87,6 +91,40 @@ public class EnumIntVarTest extends IntVarTest {
         enumDomainNotIn(2, 3);
     }
 
+    @Test(groups = "1s", timeOut=60000)
+    public void testRemoveValuesButMask() throws ContradictionException {
+        // bits 0 and 3 stand for values 1 and 4
+        Assert.assertTrue(var.removeAllValuesBut(new long[]{0b1001L}, 1, Cause.Null));
+        enumDomainIn(1, 4);
+        enumDomainNotIn(2, 3);
+        Assert.assertEquals(var.getDomainSize(), 2);
+        Assert.assertFalse(var.removeAllValuesBut(new long[]{0b1001L}, 1, Cause.Null));
+    }
+
+    @Test(groups = "1s", timeOut=60000)
+    public void testWideDomain() throws ContradictionException {
+        Model model = new Model();
+        IntVar x = model.intVar("x", -1000, 10000, false);
+        Assert.assertEquals(x.countValues(0, 63), 64);
+        model.getEnvironment().worldPush();
+        x.removeInterval(100, 5000, Cause.Null);
+        Assert.assertEquals(x.getDomainSize(), 11001 - 4901);
+        Assert.assertEquals(x.countValues(0, 200), 100);
+        Assert.assertTrue(x.updateBounds(0, 9000, Cause.Null));
+        Assert.assertEquals(x.getDomainSize(), 9001 - 4901);
+        // keeps even values
+        long[] mask = new long[200];
+        Arrays.fill(mask, 0x5555555555555555L);
+        Assert.assertTrue(x.removeAllValuesBut(mask, 0, Cause.Null));
+        Assert.assertEquals(x.getDomainSize(), 50 + 2000);
+        Assert.assertEquals(x.getLB(), 0);
+        Assert.assertEquals(x.getUB(), 9000);
+        Assert.assertEquals(x.nextValue(99), 5002);
+        model.getEnvironment().worldPop();
+        Assert.assertEquals(x.getDomainSize(), 11001);
+        Assert.assertEquals(x.countValues(Integer.MIN_VALUE, Integer.MAX_VALUE), 11001);
+    }
+
     //------------------------------------
     //----------- Utilities  -------------
     //------------------------------------